@@ -1,7 +1,7 @@
 package org.jlinda.nest.dataio;
 
 import com.bc.ceres.core.ProgressMonitor;
-import eu.esa.sar.commons.io.FileImageOutputStreamExtImpl;
+import eu.esa.sar.commons.io.WriteBehindFile;
 import org.esa.snap.core.dataio.AbstractProductWriter;
 import org.esa.snap.core.dataio.ProductReader;
 import org.esa.snap.core.dataio.ProductWriterPlugIn;
@@ -21,7 +21,6 @@ import org.jlinda.core.Window;
 import org.jlinda.core.unwrapping.snaphu.SnaphuConfigFile;
 import org.jlinda.core.unwrapping.snaphu.SnaphuParameters;
 
-import javax.imageio.stream.ImageOutputStream;
 import java.io.*;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
@@ -35,7 +34,7 @@ public class SnaphuWriter extends AbstractProductWriter {
     // TODO: inherit EnviProductWriter of BEAM, and implement/override only new code for SNAPHU export
     private File _outputDir;
     private File _outputFile;
-    private Map _bandOutputStreams;
+    private Map<Band, WriteBehindFile> _bandOutputFiles;
     private boolean _incremental = true;
     public static final String SNAPHU_HEADER_EXTENSION = ".snaphu"+EnviHeader.FILE_EXTENSION;
     public static final String SNAPHU_IMAGE_EXTENSION = ".snaphu"+ DimapProductConstants.IMAGE_FILE_EXTENSION;
@@ -145,15 +144,12 @@ public class SnaphuWriter extends AbstractProductWriter {
         final int sourceBandHeight = sourceBand.getRasterHeight();
         checkSourceRegionInsideBandRegion(sourceWidth, sourceBandWidth, sourceHeight, sourceBandHeight, sourceOffsetX,
                 sourceOffsetY);
-        final ImageOutputStream outputStream = getOrCreateImageOutputStream(sourceBand);
-        long outputPos = sourceOffsetY * sourceBandWidth + sourceOffsetX;
+        final WriteBehindFile outputFile = getOrCreateOutputFile(sourceBand);
+        final long rowStride = (long) sourceBuffer.getElemSize() * sourceBandWidth;
+        final long outputPos = sourceOffsetY * rowStride + (long) sourceBuffer.getElemSize() * sourceOffsetX;
         pm.beginTask("Writing band '" + sourceBand.getName() + "'...", 1);//sourceHeight);
         try {
-            final long max = sourceHeight * sourceWidth;
-            for (int sourcePos = 0; sourcePos < max; sourcePos += sourceWidth) {
-                sourceBuffer.writeTo(sourcePos, sourceWidth, outputStream, outputPos);
-                outputPos += sourceBandWidth;
-            }
+            outputFile.write(sourceBuffer, sourceWidth, sourceHeight, outputPos, rowStride);
             pm.worked(1);
         } finally {
             pm.done();
@@ -187,12 +183,12 @@ public class SnaphuWriter extends AbstractProductWriter {
      *
      * @throws java.io.IOException on failure
      */
-    public void flush() throws IOException {
-        if (_bandOutputStreams == null) {
+    public synchronized void flush() throws IOException {
+        if (_bandOutputFiles == null) {
             return;
         }
-        for (Object o : _bandOutputStreams.values()) {
-            ((ImageOutputStream) o).flush();
+        for (WriteBehindFile file : _bandOutputFiles.values()) {
+            file.flush();
         }
 
         // at the very end also save SnaphuConfig file
@@ -207,37 +203,40 @@ public class SnaphuWriter extends AbstractProductWriter {
      *
      * @throws java.io.IOException on failure
      */
-    public void close() throws IOException {
-        if (_bandOutputStreams == null) {
+    public synchronized void close() throws IOException {
+        if (_bandOutputFiles == null) {
             return;
         }
-        for (Object o : _bandOutputStreams.values()) {
-            ((ImageOutputStream) o).close();
+        IOException failure = null;
+        for (WriteBehindFile file : _bandOutputFiles.values()) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        _bandOutputFiles.clear();
+        _bandOutputFiles = null;
+        if (failure != null) {
+            throw failure;
         }
-        _bandOutputStreams.clear();
-        _bandOutputStreams = null;
     }
     /**
-     * Returns the data output stream associated with the given <code>Band</code>. If no stream exists, one is created
+     * Returns the output file associated with the given <code>Band</code>. If no file exists, one is created
      * and fed into the hash map
      */
-    private ImageOutputStream getOrCreateImageOutputStream(Band band) throws IOException {
-        ImageOutputStream outputStream = getImageOutputStream(band);
-        if (outputStream == null) {
-            outputStream = createImageOutputStream(band);
-            if (_bandOutputStreams == null) {
-                _bandOutputStreams = new HashMap();
-            }
-            outputStream.setByteOrder(byteOrder);
-            _bandOutputStreams.put(band, outputStream);
+    private synchronized WriteBehindFile getOrCreateOutputFile(Band band) throws IOException {
+        if (_bandOutputFiles == null) {
+            _bandOutputFiles = new HashMap<>();
         }
-        return outputStream;
-    }
-    private ImageOutputStream getImageOutputStream(Band band) {
-        if (_bandOutputStreams != null) {
-            return (ImageOutputStream) _bandOutputStreams.get(band);
+        WriteBehindFile outputFile = _bandOutputFiles.get(band);
+        if (outputFile == null) {
+            outputFile = WriteBehindFile.open(getValidImageFile(band), byteOrder);
+            _bandOutputFiles.put(band, outputFile);
         }
-        return null;
+        return outputFile;
     }
     /**
      * Returns a file associated with the given <code>Band</code>. The method ensures that the file exists and have the
@@ -265,9 +264,6 @@ public class SnaphuWriter extends AbstractProductWriter {
                 band.getRasterWidth(),
                 band.getRasterHeight());
     }
-    private ImageOutputStream createImageOutputStream(Band band) throws IOException {
-        return new FileImageOutputStreamExtImpl(getValidImageFile(band));
-    }
     private static long getImageFileSize(RasterDataNode band) {
         return (long) ProductData.getElemSize(band.getDataType()) *
                 (long) band.getRasterWidth() *
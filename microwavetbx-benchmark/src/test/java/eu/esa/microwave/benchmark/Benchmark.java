@@ -23,6 +23,8 @@ import org.json.simple.JSONObject;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -75,6 +77,8 @@ public abstract class Benchmark {
             if (deleteTempOutputFiles)
                 FileUtils.deleteTree(outputFolder);
             long totalTime = 0L;
+            final long gcCountStart = getGCCount();
+            final long gcTimeStart = getGCTime();
 
             long minTime = Long.MAX_VALUE;
             long maxTime = Long.MIN_VALUE;
@@ -96,11 +100,15 @@ public abstract class Benchmark {
                 FileUtils.deleteTree(outputFolder);
             }
 
+            // garbage collections per run indicate the allocation pressure of the operator
+            final long gcCount = (getGCCount() - gcCountStart) / iterations;
+            final long gcTime = (getGCTime() - gcTimeStart) / iterations;
+
             String coldStartTime = StopWatch.getTimeString(coldStartTimer.getTimeDiff());
             String avgTime = StopWatch.getTimeString(totalTime / (long) iterations);
-            SystemUtils.LOG.warning(testName + " average time " + avgTime);
+            SystemUtils.LOG.warning(testName + " average time " + avgTime + ", GC count " + gcCount + ", GC time " + gcTime + " ms");
 
-            writeJSONResults(minTime, maxTime, avgTime, coldStartTime);
+            writeJSONResults(minTime, maxTime, avgTime, coldStartTime, gcCount, gcTime);
         } catch (Exception e) {
             SystemUtils.LOG.severe("Benchmark " + testName + " failed: " + e.getMessage());
             writeJSONFailedResults(e.getMessage());
@@ -120,7 +128,24 @@ public abstract class Benchmark {
         JSON.write(json, resultsFile);
     }
 
-    private void writeJSONResults(final long minTime, long maxTime, String avgTime, String coldStartTime) throws Exception {
+    private static long getGCCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(gc.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private static long getGCTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(gc.getCollectionTime(), 0);
+        }
+        return time;
+    }
+
+    private void writeJSONResults(final long minTime, long maxTime, String avgTime, String coldStartTime,
+                                  final long gcCount, final long gcTime) throws Exception {
         final JSONObject json = readJSON(resultsFile);
         final JSONObject group = (JSONObject) json.getOrDefault(groupName, new JSONObject());
         json.put(groupName, group);
@@ -139,6 +164,8 @@ public abstract class Benchmark {
         results.put("minTime", StopWatch.getTimeString(minTime));
         results.put("maxTime", StopWatch.getTimeString(maxTime));
         results.put("avgTime", avgTime);
+        results.put("gcCount", gcCount);
+        results.put("gcTimeMs", gcTime);
         group.put(testName, results);
 
         JSON.write(json, resultsFile);
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.microwave.benchmark;
+
+import eu.esa.sar.commons.io.ImageIOFile;
+import org.esa.snap.core.datamodel.ProductData;
+import org.esa.snap.core.util.SystemUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tile throughput of a GRD measurement image read concurrently with different reader pool sizes.
+ */
+public class TestBenchmark_ImageReaderPool extends BaseBenchmarks {
+
+    private final static int tileSize = 512;
+    private final static int numThreads = 8;
+
+    public TestBenchmark_ImageReaderPool() {
+        super("ImageReaderPool");
+    }
+
+    @Test
+    public void testGRD_read_tiles_pool1() throws Exception {
+        setName(new Throwable().getStackTrace()[0].getMethodName());
+        readTiles(grdFile, 1);
+    }
+
+    @Test
+    public void testGRD_read_tiles_pool2() throws Exception {
+        setName(new Throwable().getStackTrace()[0].getMethodName());
+        readTiles(grdFile, 2);
+    }
+
+    @Test
+    public void testGRD_read_tiles_pool4() throws Exception {
+        setName(new Throwable().getStackTrace()[0].getMethodName());
+        readTiles(grdFile, 4);
+    }
+
+    @Test
+    public void testGRD_read_tiles_pool8() throws Exception {
+        setName(new Throwable().getStackTrace()[0].getMethodName());
+        readTiles(grdFile, 8);
+    }
+
+    private void readTiles(final File manifestFile, final int poolSize) throws Exception {
+        Benchmark b = new Benchmark(groupName, testName) {
+            @Override
+            protected void execute() throws Exception {
+                final File imageFile = getMeasurementFile(manifestFile);
+                final ImageIOFile img = new ImageIOFile(imageFile, ImageIOFile.getIIOReader(imageFile), manifestFile);
+                img.setReaderPoolSize(poolSize);
+
+                final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+                try {
+                    final int width = Math.min(img.getSceneWidth(), rect.width);
+                    final int height = Math.min(img.getSceneHeight(), rect.height);
+                    final List<Future<?>> tiles = new ArrayList<>();
+                    for (int y = 0; y < height; y += tileSize) {
+                        for (int x = 0; x < width; x += tileSize) {
+                            final int x0 = x, y0 = y;
+                            final int w = Math.min(tileSize, width - x0), h = Math.min(tileSize, height - y0);
+                            tiles.add(executor.submit(() -> {
+                                final ProductData data = ProductData.createInstance(ProductData.TYPE_INT32, w * h);
+                                img.readImageIORasterBand(x0, y0, 1, 1, data, x0, y0, w, h, 0, 0);
+                                return null;
+                            }));
+                        }
+                    }
+                    for (Future<?> tile : tiles) {
+                        tile.get();
+                    }
+                    SystemUtils.LOG.info(tiles.size() + " tiles read with a reader pool of " + poolSize);
+                } finally {
+                    executor.shutdown();
+                    img.close();
+                }
+            }
+        };
+        b.run();
+    }
+
+    private static File getMeasurementFile(final File manifestFile) {
+        final File[] files = new File(manifestFile.getParentFile(), "measurement").listFiles(
+                (dir, name) -> name.endsWith(".tiff"));
+        if (files == null || files.length == 0) {
+            throw new IllegalStateException("No measurement image found for " + manifestFile);
+        }
+        return files[0];
+    }
+}
@@ -45,6 +45,30 @@ public class TestBenchmark_SAR extends BaseBenchmarks {
         terrain_correct(grdFile, WriteMode.PRODUCT_IO);
     }
 
+    @Test
+    public void testGRD_terraincorrect_allBands() throws Exception {
+        setName(new Throwable().getStackTrace()[0].getMethodName());
+        terrain_correct_allBands(grdFile, WriteMode.PRODUCT_IO);
+    }
+
+    @Test
+    public void testGRD_terraincorrect_sparseGrid8() throws Exception {
+        setName(new Throwable().getStackTrace()[0].getMethodName());
+        terrain_correct_sparse(grdFile, 8, 0.1, WriteMode.PRODUCT_IO);
+    }
+
+    @Test
+    public void testGRD_terraincorrect_sparseGrid16() throws Exception {
+        setName(new Throwable().getStackTrace()[0].getMethodName());
+        terrain_correct_sparse(grdFile, 16, 0.1, WriteMode.PRODUCT_IO);
+    }
+
+    @Test
+    public void testGRD_terraincorrect_sparseGrid16_coarse() throws Exception {
+        setName(new Throwable().getStackTrace()[0].getMethodName());
+        terrain_correct_sparse(grdFile, 16, 0.5, WriteMode.PRODUCT_IO);
+    }
+
     @Test
     public void testGRD_ellipsoidcorrect() throws Exception {
         setName(new Throwable().getStackTrace()[0].getMethodName());
@@ -119,6 +143,69 @@ public class TestBenchmark_SAR extends BaseBenchmarks {
         b.run();
     }
 
+    private void terrain_correct_allBands(final File srcFile, final WriteMode mode) throws Exception {
+        Benchmark b = new Benchmark(groupName, testName) {
+            @Override
+            protected void execute() throws Exception {
+                switch (mode) {
+                    case PRODUCT_IO:
+                    case GPF:
+                        final Product srcProduct = subset(srcFile, rect);
+
+                        RangeDopplerGeocodingOp op = new RangeDopplerGeocodingOp();
+                        op.setSourceProduct(srcProduct);
+                        op.setParameter("saveDEM", true);
+                        op.setParameter("saveLatLon", true);
+                        op.setParameter("saveLocalIncidenceAngle", true);
+                        op.setParameter("saveProjectedLocalIncidenceAngle", true);
+                        op.setParameter("saveIncidenceAngleFromEllipsoid", true);
+                        Product trgProduct = op.getTargetProduct();
+
+                        write(trgProduct, outputFolder, mode);
+
+                        trgProduct.dispose();
+                        srcProduct.dispose();
+                        break;
+                    case GRAPH:
+                        //processGraph(srcFile, outputFolder);
+                        break;
+                }
+            }
+        };
+        b.run();
+    }
+
+    private void terrain_correct_sparse(final File srcFile, final int gridSpacing, final double tolerance,
+                                        final WriteMode mode) throws Exception {
+        Benchmark b = new Benchmark(groupName, testName) {
+            @Override
+            protected void execute() throws Exception {
+                switch (mode) {
+                    case PRODUCT_IO:
+                    case GPF:
+                        final Product srcProduct = subset(srcFile, rect);
+
+                        RangeDopplerGeocodingOp op = new RangeDopplerGeocodingOp();
+                        op.setSourceProduct(srcProduct);
+                        op.setParameter("useSparseGeocodingGrid", true);
+                        op.setParameter("sparseGridSpacing", gridSpacing);
+                        op.setParameter("sparseGridTolerance", tolerance);
+                        Product trgProduct = op.getTargetProduct();
+
+                        write(trgProduct, outputFolder, mode);
+
+                        trgProduct.dispose();
+                        srcProduct.dispose();
+                        break;
+                    case GRAPH:
+                        //processGraph(srcFile, outputFolder);
+                        break;
+                }
+            }
+        };
+        b.run();
+    }
+
     private void ellipsoid_correct(final File srcFile, final WriteMode mode) throws Exception {
         Benchmark b = new Benchmark(groupName, testName) {
             @Override
@@ -92,6 +92,7 @@ class RadarsatProductDirectory extends CEOSProductDirectory {
         for (CeosFile imageFile : ceosFiles) {
             try {
                 final RadarsatImageFile imgFile = new RadarsatImageFile(imageFile.imgInputStream, histogramRec);
+                imgFile.setImageFile(imageFile.file);
                 imgArray.add(imgFile);
             } catch (Exception e) {
                 e.printStackTrace();
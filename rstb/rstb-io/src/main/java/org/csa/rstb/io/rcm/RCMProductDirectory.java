@@ -126,6 +126,7 @@ public class RCMProductDirectory extends XMLProductDirectory {
                     img = new ImageIOFile(imgPath, imgStream, GeoTiffUtils.getTiffIIOReader(imgStream), productInputFile);
                 }
                 bandImageFileMap.put(img.getName(), img);
+                enableConcurrentReads(img, imgPath);
             }
         }
     }
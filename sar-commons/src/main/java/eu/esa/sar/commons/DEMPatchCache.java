@@ -0,0 +1,318 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.commons;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.esa.snap.core.datamodel.GeoPos;
+import org.esa.snap.core.datamodel.Product;
+import org.esa.snap.core.dataop.dem.ElevationModel;
+import org.esa.snap.dem.dataio.DEMFactory;
+import org.esa.snap.dem.dataio.FileElevationModel;
+import org.esa.snap.engine_utilities.gpf.TileGeoreferencing;
+import org.esa.snap.runtime.Config;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Process wide cache of resampled DEM heights shared by the operators of a graph.
+ * <p>
+ * The (h+2) x (w+2) array of geoid corrected DEM heights produced by DEMFactory.getLocalDEM for a tile is assembled
+ * from fixed blocks of BLOCK_SIZE x BLOCK_SIZE pixels aligned on a grid independent of the tile layout. A block is
+ * keyed by DEM name, resampling method, no-data/geoid handling and the geographic positions of its corners and
+ * centre, so that operators resampling the DEM on the same geometry (e.g. terrain flattening and terrain
+ * correction of one product, or one operator with different tile sizes) share the blocks, whatever their tiling.
+ * Only the parts of a tile not covering whole blocks, e.g. its one pixel border, are resampled for every tile.
+ * Concurrent requests for a block resample it once. The cache is bounded in bytes and disabled with a size of 0.
+ * External DEM files are not cached as their heights also depend on the file and EGM settings of each operator.
+ */
+public final class DEMPatchCache {
+
+    public static final String CACHE_SIZE_PROPERTY = "sar.dem.patchCache.sizeMB";
+    private static final long DEFAULT_CACHE_SIZE_MB = 256;
+
+    static final int BLOCK_SIZE = 128;
+
+    // geographic positions are compared at about 1 cm on the ground
+    private static final double GEO_QUANTUM = 1.0e-7;
+
+    // a DEMFactory.getLocalDEM call covers at least 3 x 3 pixels
+    private static final int MIN_LOAD_SIZE = 3;
+
+    private static final DEMPatchCache instance = new DEMPatchCache(
+            Config.instance().preferences().getLong(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE_MB) * 1024L * 1024L);
+
+    private final long maxSizeInBytes;
+    private final Cache<BlockKey, Block> blocks;
+
+    /**
+     * Resamples the DEM heights of a rectangle of pixels.
+     */
+    interface PatchLoader {
+        /**
+         * @param x     The x coordinate of the upper left pixel.
+         * @param y     The y coordinate of the upper left pixel.
+         * @param patch The h x w array to be filled with the heights of the pixels.
+         * @return true if the patch contains valid heights.
+         */
+        boolean load(int x, int y, double[][] patch) throws Exception;
+    }
+
+    /**
+     * Gives the geographic identity of a block.
+     */
+    interface BlockLocator {
+        /**
+         * @param x    The x coordinate of the upper left pixel of the block.
+         * @param y    The y coordinate of the upper left pixel of the block.
+         * @param size The width and height of the block.
+         * @return the quantized geographic positions of the block.
+         */
+        long[] getGeoBlock(int x, int y, int size);
+    }
+
+    DEMPatchCache(final long maxSizeInBytes) {
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.blocks = CacheBuilder.newBuilder()
+                .maximumWeight(maxSizeInBytes)
+                .weigher((BlockKey key, Block block) -> (int) Math.min(block.sizeInBytes, Integer.MAX_VALUE))
+                .recordStats()
+                .build();
+    }
+
+    public static DEMPatchCache instance() {
+        return instance;
+    }
+
+    /**
+     * Get the DEM heights for a tile from the cache, resampling the DEM with DEMFactory.getLocalDEM on a miss.
+     * The arguments are those of DEMFactory.getLocalDEM.
+     *
+     * @param dem                 The elevation model.
+     * @param demNoDataValue      The DEM no data value.
+     * @param demResamplingMethod The DEM resampling method.
+     * @param tileGeoRef          The tile georeferencing.
+     * @param x0                  The x coordinate of the tile upper left corner.
+     * @param y0                  The y coordinate of the tile upper left corner.
+     * @param w                   The tile width.
+     * @param h                   The tile height.
+     * @param sourceProduct       The source product.
+     * @param nodataValueAtSea    True if no data value is used at sea, otherwise the geoid height is used.
+     * @param localDEM            The (h+2) x (w+2) array to be filled with the DEM heights.
+     * @return true if the tile contains valid heights.
+     * @throws Exception The exception.
+     */
+    public boolean getLocalDEM(final ElevationModel dem, final double demNoDataValue,
+                               final String demResamplingMethod, final TileGeoreferencing tileGeoRef,
+                               final int x0, final int y0, final int w, final int h, final Product sourceProduct,
+                               final boolean nodataValueAtSea, final double[][] localDEM) throws Exception {
+
+        if (maxSizeInBytes <= 0 || dem instanceof FileElevationModel) {
+            return DEMFactory.getLocalDEM(dem, demNoDataValue, demResamplingMethod, tileGeoRef, x0, y0, w, h,
+                    sourceProduct, nodataValueAtSea, localDEM);
+        }
+
+        final String demKey = dem.getDescriptor().getName() + '/' + demResamplingMethod + '/' +
+                nodataValueAtSea + '/' + demNoDataValue;
+
+        // getLocalDEM fills the pixels x-1..x+w, y-1..y+h of the patch given by x, y, w, h
+        return getLocalDEM(demKey, x0 - 1, y0 - 1, localDEM,
+                (x, y, size) -> getGeoBlock(tileGeoRef, x, y, size),
+                (x, y, patch) -> DEMFactory.getLocalDEM(dem, demNoDataValue, demResamplingMethod, tileGeoRef,
+                        x + 1, y + 1, patch[0].length - 2, patch.length - 2, sourceProduct, nodataValueAtSea, patch));
+    }
+
+    /**
+     * Fill the heights of a rectangle of pixels from the cached blocks it covers, loading the rest.
+     *
+     * @param demKey   The DEM, resampling method and no-data handling.
+     * @param x0       The x coordinate of the upper left pixel of the rectangle.
+     * @param y0       The y coordinate of the upper left pixel of the rectangle.
+     * @param localDEM The array to be filled, its dimensions are those of the rectangle.
+     * @param locator  The geographic identity of the blocks.
+     * @param loader   Resamples the heights of the pixels.
+     * @return true if the rectangle contains valid heights.
+     */
+    boolean getLocalDEM(final String demKey, final int x0, final int y0, final double[][] localDEM,
+                        final BlockLocator locator, final PatchLoader loader) throws Exception {
+
+        final int h = localDEM.length;
+        final int w = localDEM[0].length;
+        final int xEnd = x0 + w;
+        final int yEnd = y0 + h;
+
+        // whole blocks within the rectangle
+        final int bx0 = -Math.floorDiv(-x0, BLOCK_SIZE) * BLOCK_SIZE;
+        final int by0 = -Math.floorDiv(-y0, BLOCK_SIZE) * BLOCK_SIZE;
+        final int bxEnd = Math.floorDiv(xEnd, BLOCK_SIZE) * BLOCK_SIZE;
+        final int byEnd = Math.floorDiv(yEnd, BLOCK_SIZE) * BLOCK_SIZE;
+        if (bx0 >= bxEnd || by0 >= byEnd) {
+            return loader.load(x0, y0, localDEM);
+        }
+
+        boolean valid = false;
+        for (int by = by0; by < byEnd; by += BLOCK_SIZE) {
+            for (int bx = bx0; bx < bxEnd; bx += BLOCK_SIZE) {
+                final Block block = getBlock(new BlockKey(demKey, locator.getGeoBlock(bx, by, BLOCK_SIZE)),
+                        bx, by, loader);
+                for (int r = 0; r < BLOCK_SIZE; ++r) {
+                    System.arraycopy(block.heights[r], 0, localDEM[by - y0 + r], bx - x0, BLOCK_SIZE);
+                }
+                valid |= block.valid;
+            }
+        }
+
+        // the parts of the rectangle around the blocks
+        valid |= load(x0, y0, xEnd, by0, x0, y0, localDEM, loader);
+        valid |= load(x0, byEnd, xEnd, yEnd, x0, y0, localDEM, loader);
+        valid |= load(x0, by0, bx0, byEnd, x0, y0, localDEM, loader);
+        valid |= load(bxEnd, by0, xEnd, byEnd, x0, y0, localDEM, loader);
+        return valid;
+    }
+
+    private Block getBlock(final BlockKey key, final int bx, final int by, final PatchLoader loader)
+            throws Exception {
+        try {
+            return blocks.get(key, () -> {
+                final double[][] heights = new double[BLOCK_SIZE][BLOCK_SIZE];
+                final boolean valid = loader.load(bx, by, heights);
+                return new Block(heights, valid);
+            });
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    /**
+     * Load the pixels xMin..xMax-1, yMin..yMax-1 of the rectangle. Thin strips are loaded together with their
+     * neighbouring pixels inside the rectangle, so that DEMFactory.getLocalDEM always gets a tile of at least 1 x 1.
+     */
+    private static boolean load(final int xMin, final int yMin, final int xMax, final int yMax,
+                                final int x0, final int y0, final double[][] localDEM, final PatchLoader loader)
+            throws Exception {
+
+        if (xMin >= xMax || yMin >= yMax) {
+            return false;
+        }
+        final int xEnd = x0 + localDEM[0].length;
+        final int yEnd = y0 + localDEM.length;
+        final int lw = Math.min(Math.max(xMax - xMin, MIN_LOAD_SIZE), xEnd - x0);
+        final int lh = Math.min(Math.max(yMax - yMin, MIN_LOAD_SIZE), yEnd - y0);
+        final int lx = Math.min(xMin, xEnd - lw);
+        final int ly = Math.min(yMin, yEnd - lh);
+
+        final double[][] patch = new double[lh][lw];
+        final boolean valid = loader.load(lx, ly, patch);
+        for (int y = yMin; y < yMax; ++y) {
+            System.arraycopy(patch[y - ly], xMin - lx, localDEM[y - y0], xMin - x0, xMax - xMin);
+        }
+        return valid;
+    }
+
+    public long getMaxSizeInBytes() {
+        return maxSizeInBytes;
+    }
+
+    public long getSizeInBytes() {
+        long size = 0;
+        for (Block block : blocks.asMap().values()) {
+            size += block.sizeInBytes;
+        }
+        return size;
+    }
+
+    public long getNumBlocks() {
+        return blocks.size();
+    }
+
+    public long getHitCount() {
+        return blocks.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return blocks.stats().missCount();
+    }
+
+    public long getEvictionCount() {
+        return blocks.stats().evictionCount();
+    }
+
+    public void clear() {
+        blocks.invalidateAll();
+    }
+
+    /**
+     * The geographic block given by the quantized positions of the block corners and centre.
+     */
+    private static long[] getGeoBlock(final TileGeoreferencing tileGeoRef, final int x, final int y, final int size) {
+
+        final int[] xs = {x, x + size - 1, x, x + size - 1, x + size / 2};
+        final int[] ys = {y, y, y + size - 1, y + size - 1, y + size / 2};
+        final long[] block = new long[2 * xs.length + 1];
+        final GeoPos geoPos = new GeoPos();
+        for (int i = 0; i < xs.length; ++i) {
+            tileGeoRef.getGeoPos(xs[i], ys[i], geoPos);
+            block[2 * i] = Math.round(geoPos.lat / GEO_QUANTUM);
+            block[2 * i + 1] = Math.round(geoPos.lon / GEO_QUANTUM);
+        }
+        block[block.length - 1] = size;
+        return block;
+    }
+
+    static final class BlockKey {
+        private final String demKey;
+        private final long[] geoBlock;
+        private final int hash;
+
+        BlockKey(final String demKey, final long[] geoBlock) {
+            this.demKey = demKey;
+            this.geoBlock = geoBlock;
+            this.hash = 31 * demKey.hashCode() + Arrays.hashCode(geoBlock);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof BlockKey)) return false;
+            final BlockKey key = (BlockKey) o;
+            return hash == key.hash && demKey.equals(key.demKey) && Arrays.equals(geoBlock, key.geoBlock);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Block {
+        final double[][] heights;
+        final boolean valid;
+        final long sizeInBytes;
+
+        Block(final double[][] heights, final boolean valid) {
+            this.heights = heights;
+            this.valid = valid;
+            this.sizeInBytes = 64 + heights.length * (16 + 8L * heights[0].length);
+        }
+    }
+}
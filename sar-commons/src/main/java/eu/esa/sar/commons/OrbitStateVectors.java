@@ -4,19 +4,21 @@ import org.esa.snap.engine_utilities.datamodel.OrbitStateVector;
 import org.esa.snap.engine_utilities.datamodel.PosVector;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public final class OrbitStateVectors {
 
     public OrbitStateVector[] orbitStateVectors = null;
     public PosVector[] sensorPosition = null; // sensor position for all range lines
     public PosVector[] sensorVelocity = null; // sensor velocity for all range lines
+    public double[] sensorPositionArray = null; // sensor x,y,z position interleaved for all range lines
+    public double[] sensorVelocityArray = null; // sensor x,y,z velocity interleaved for all range lines
     private double dt = 0.0;
-    private final Map<Double, PositionVelocity> timeMap = new HashMap<>();
+    private final PositionVelocityCache timeMap = new PositionVelocityCache(DEFAULT_CACHE_SIZE);
 
     private static final int nv = 8;
+    private static final int DEFAULT_CACHE_SIZE = 8192;
 
     public OrbitStateVectors(final OrbitStateVector[] orbitStateVectors,
                              final double firstLineUTC, final double lineTimeInterval, final int sourceImageHeight) {
@@ -28,11 +30,21 @@ public final class OrbitStateVectors {
 
             this.sensorPosition = new PosVector[sourceImageHeight];
             this.sensorVelocity = new PosVector[sourceImageHeight];
+            this.sensorPositionArray = new double[3 * sourceImageHeight];
+            this.sensorVelocityArray = new double[3 * sourceImageHeight];
             for (int i = 0; i < sourceImageHeight; i++) {
                 final double time = firstLineUTC + i * lineTimeInterval;
-                PositionVelocity pv = getPositionVelocity(time);
+                final PositionVelocity pv = computePositionVelocity(time);
                 sensorPosition[i] = pv.position;
                 sensorVelocity[i] = pv.velocity;
+
+                final int k = 3 * i;
+                sensorPositionArray[k] = pv.position.x;
+                sensorPositionArray[k + 1] = pv.position.y;
+                sensorPositionArray[k + 2] = pv.position.z;
+                sensorVelocityArray[k] = pv.velocity.x;
+                sensorVelocityArray[k + 1] = pv.velocity.y;
+                sensorVelocityArray[k + 2] = pv.velocity.z;
             }
         }
     }
@@ -62,13 +74,52 @@ public final class OrbitStateVectors {
         return vectorList.toArray(new OrbitStateVector[0]);
     }
 
-    public PositionVelocity getPositionVelocity(final Double time) {
+    /**
+     * Get the interpolated sensor position and velocity at the given time. Results are memoized in a
+     * bounded cache that may be shared by all tile threads. The returned object must not be modified.
+     *
+     * @param time The time in days (MJD).
+     * @return The sensor position and velocity.
+     */
+    public PositionVelocity getPositionVelocity(final double time) {
 
-        PositionVelocity cachedPosVel = timeMap.get(time);
+        final PositionVelocity cachedPosVel = timeMap.get(time);
         if(cachedPosVel != null) {
             return cachedPosVel;
         }
 
+        final PositionVelocity pv = computePositionVelocity(time);
+        timeMap.put(time, pv);
+        return pv;
+    }
+
+    /**
+     * Get the sensor position and velocity of the given range line from the precomputed line table.
+     *
+     * @param line     The range line index.
+     * @param position The sensor position to be filled.
+     * @param velocity The sensor velocity to be filled.
+     */
+    public void getLinePositionVelocity(final int line, final PosVector position, final PosVector velocity) {
+
+        final int k = 3 * line;
+        position.x = sensorPositionArray[k];
+        position.y = sensorPositionArray[k + 1];
+        position.z = sensorPositionArray[k + 2];
+        velocity.x = sensorVelocityArray[k];
+        velocity.y = sensorVelocityArray[k + 1];
+        velocity.z = sensorVelocityArray[k + 2];
+    }
+
+    private PositionVelocity computePositionVelocity(final double time) {
+
+        final PositionVelocity pv = new PositionVelocity();
+        getPositionVelocity(time, pv.position, pv.velocity);
+        return pv;
+    }
+
+    PosVector getPosition(final double time, final PosVector position) {
+
         int i0, iN;
         if (orbitStateVectors.length <= nv) {
             i0 = 0;
@@ -80,7 +131,9 @@ public final class OrbitStateVectors {
         }
 
         //lagrangeInterpolatingPolynomial
-        final PositionVelocity pv = new PositionVelocity();
+        position.x = 0;
+        position.y = 0;
+        position.z = 0;
 
         for (int i = i0; i <= iN; ++i) {
             final OrbitStateVector orbI = orbitStateVectors[i];
@@ -92,21 +145,21 @@ public final class OrbitStateVectors {
                     weight *= (time - time2) / (orbI.time_mjd - time2);
                 }
             }
-
-            pv.position.x += weight * orbI.x_pos;
-            pv.position.y += weight * orbI.y_pos;
-            pv.position.z += weight * orbI.z_pos;
-
-            pv.velocity.x += weight * orbI.x_vel;
-            pv.velocity.y += weight * orbI.y_vel;
-            pv.velocity.z += weight * orbI.z_vel;
+            position.x += weight * orbI.x_pos;
+            position.y += weight * orbI.y_pos;
+            position.z += weight * orbI.z_pos;
         }
-
-        timeMap.put(time, pv);
-        return pv;
+        return position;
     }
 
-    PosVector getPosition(final double time, final PosVector position) {
+    /**
+     * Interpolate the sensor position and velocity at the given time without allocating.
+     *
+     * @param time     The time in days.
+     * @param position The sensor position to be filled.
+     * @param velocity The sensor velocity to be filled.
+     */
+    void getPositionVelocity(final double time, final PosVector position, final PosVector velocity) {
 
         int i0, iN;
         if (orbitStateVectors.length <= nv) {
@@ -122,6 +175,9 @@ public final class OrbitStateVectors {
         position.x = 0;
         position.y = 0;
         position.z = 0;
+        velocity.x = 0;
+        velocity.y = 0;
+        velocity.z = 0;
 
         for (int i = i0; i <= iN; ++i) {
             final OrbitStateVector orbI = orbitStateVectors[i];
@@ -133,11 +189,15 @@ public final class OrbitStateVectors {
                     weight *= (time - time2) / (orbI.time_mjd - time2);
                 }
             }
+
             position.x += weight * orbI.x_pos;
             position.y += weight * orbI.y_pos;
             position.z += weight * orbI.z_pos;
+
+            velocity.x += weight * orbI.x_vel;
+            velocity.y += weight * orbI.y_vel;
+            velocity.z += weight * orbI.z_vel;
         }
-        return position;
     }
 
     PosVector getVelocity(final double time) {
@@ -219,4 +279,52 @@ public final class OrbitStateVectors {
         public final PosVector position = new PosVector();
         public final PosVector velocity = new PosVector();
     }
+
+    /**
+     * Bounded, lock-free cache of interpolated position and velocity keyed on the primitive time.
+     * The table is direct mapped: a colliding time simply replaces the previous entry, which keeps
+     * the memory fixed no matter how many distinct times are requested.
+     */
+    static final class PositionVelocityCache {
+
+        private final AtomicReferenceArray<Entry> table;
+        private final int mask;
+
+        PositionVelocityCache(final int size) {
+            final int capacity = Integer.highestOneBit(Math.max(size - 1, 1)) << 1;
+            this.table = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        PositionVelocity get(final double time) {
+            final long bits = Double.doubleToLongBits(time);
+            final Entry entry = table.get(index(bits));
+            return entry != null && entry.bits == bits ? entry.pv : null;
+        }
+
+        void put(final double time, final PositionVelocity pv) {
+            final long bits = Double.doubleToLongBits(time);
+            table.set(index(bits), new Entry(bits, pv));
+        }
+
+        int capacity() {
+            return table.length();
+        }
+
+        private int index(final long bits) {
+            long h = bits * 0x9E3779B97F4A7C15L;
+            h ^= (h >>> 32);
+            return (int) h & mask;
+        }
+
+        private static final class Entry {
+            final long bits;
+            final PositionVelocity pv;
+
+            Entry(final long bits, final PositionVelocity pv) {
+                this.bits = bits;
+                this.pv = pv;
+            }
+        }
+    }
 }
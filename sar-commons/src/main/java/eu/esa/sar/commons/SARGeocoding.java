@@ -40,6 +40,8 @@ public final class SARGeocoding {
     public static final String USE_LOCAL_INCIDENCE_ANGLE_FROM_DEM = "Use local incidence angle from DEM";
     public static final String USE_INCIDENCE_ANGLE_FROM_ELLIPSOID = "Use incidence angle from Ellipsoid";
 
+    private static final int MAX_WARM_START_ITERATIONS = 5;
+
 
     public static boolean isNearRangeOnLeft(final TiePointGrid incidenceAngle, final int sourceImageWidth) {
         // for products without incidence angle tpg just assume left facing
@@ -106,6 +108,85 @@ public final class SARGeocoding {
         return firstLineUTC + y0 * lineTimeInterval;
     }
 
+    /**
+     * Compute zero Doppler time for given earth point using the previous solution as a seed. Neighbouring
+     * earth points differ by a few lines in azimuth, so a secant step on the Doppler equation from the seed
+     * usually brackets the root in one or two iterations. Falls back to the bisection search otherwise.
+     *
+     * @param firstLineUTC     The zero Doppler time for the first range line.
+     * @param lineTimeInterval The line time interval.
+     * @param wavelength       The radar wavelength.
+     * @param earthPoint       The earth point in xyz coordinate.
+     * @param sensorPosition   Array of sensor positions for all range lines.
+     * @param sensorVelocity   Array of sensor velocities for all range lines.
+     * @param initialTime      The zero Doppler time of a nearby earth point, or NonValidZeroDopplerTime.
+     * @return The zero Doppler time in days if it is found, NonValidZeroDopplerTime otherwise.
+     */
+    public static double getEarthPointZeroDopplerTime(final double firstLineUTC,
+                                                      final double lineTimeInterval, final double wavelength,
+                                                      final PosVector earthPoint, final PosVector[] sensorPosition,
+                                                      final PosVector[] sensorVelocity, final double initialTime) {
+
+        if (initialTime != NonValidZeroDopplerTime) {
+            final int maxLine = sensorPosition.length - 1;
+            double y = (initialTime - firstLineUTC) / lineTimeInterval;
+            for (int iter = 0; iter < MAX_WARM_START_ITERATIONS; ++iter) {
+                if (!(y >= 0.0 && y < maxLine)) {
+                    break;
+                }
+
+                final int i = (int) y;
+                final double f0 = getDopplerProduct(earthPoint, sensorPosition[i], sensorVelocity[i]);
+                final double f1 = getDopplerProduct(earthPoint, sensorPosition[i + 1], sensorVelocity[i + 1]);
+                if (f0 * f1 <= 0.0) {
+                    if (f0 == f1) { // both zero
+                        return firstLineUTC + i * lineTimeInterval;
+                    }
+                    return firstLineUTC + (i - f0 / (f1 - f0)) * lineTimeInterval;
+                }
+
+                if (f1 == f0) {
+                    break;
+                }
+                y = i - f0 / (f1 - f0);
+            }
+        }
+
+        return getEarthPointZeroDopplerTime(firstLineUTC, lineTimeInterval, wavelength, earthPoint,
+                sensorPosition, sensorVelocity);
+    }
+
+    /**
+     * Compute zero Doppler times for a row of earth points. Each point is seeded with the solution of the
+     * previous valid point.
+     *
+     * @param firstLineUTC     The zero Doppler time for the first range line.
+     * @param lineTimeInterval The line time interval.
+     * @param wavelength       The radar wavelength.
+     * @param earthPoints      The earth points in xyz coordinate. Null entries are skipped.
+     * @param sensorPosition   Array of sensor positions for all range lines.
+     * @param sensorVelocity   Array of sensor velocities for all range lines.
+     * @param zeroDopplerTimes The zero Doppler times in days, NonValidZeroDopplerTime where not found.
+     */
+    public static void getEarthPointZeroDopplerTimes(final double firstLineUTC,
+                                                     final double lineTimeInterval, final double wavelength,
+                                                     final PosVector[] earthPoints, final PosVector[] sensorPosition,
+                                                     final PosVector[] sensorVelocity, final double[] zeroDopplerTimes) {
+
+        double seed = NonValidZeroDopplerTime;
+        for (int i = 0; i < earthPoints.length; ++i) {
+            if (earthPoints[i] == null) {
+                zeroDopplerTimes[i] = NonValidZeroDopplerTime;
+                continue;
+            }
+            zeroDopplerTimes[i] = getEarthPointZeroDopplerTime(firstLineUTC, lineTimeInterval, wavelength,
+                    earthPoints[i], sensorPosition, sensorVelocity, seed);
+            if (zeroDopplerTimes[i] != NonValidZeroDopplerTime) {
+                seed = zeroDopplerTimes[i];
+            }
+        }
+    }
+
     public static double getEarthPointZeroDopplerTimeNewton(
             final double lineTimeInterval, final double wavelength,
             final PosVector earthPoint, final OrbitStateVectors orbit) {
@@ -246,6 +327,98 @@ public final class SARGeocoding {
         return lowerBoundTime - lowerBoundFreq * (upperBoundTime - lowerBoundTime) / (upperBoundFreq - lowerBoundFreq);
     }
 
+    /**
+     * Compute zero Doppler time for given point with the product orbit state vectors using the previous
+     * solution as a seed. Secant steps of one line time interval are taken on the Doppler equation until
+     * the root is bracketed. Falls back to the state vector scan and bisection otherwise.
+     *
+     * @param lineTimeInterval The line time interval.
+     * @param wavelength       The radar wavelength.
+     * @param earthPoint       The earth point in xyz coordinate.
+     * @param orbit            The object holding orbit state vectors.
+     * @param initialTime      The zero Doppler time of a nearby earth point, or NonValidZeroDopplerTime.
+     * @param sensorPosition   Scratch vector for the interpolated sensor position.
+     * @param sensorVelocity   Scratch vector for the interpolated sensor velocity.
+     * @return The zero Doppler time in days if it is found, NonValidZeroDopplerTime otherwise.
+     */
+    public static double getZeroDopplerTime(final double lineTimeInterval,
+                                            final double wavelength, final PosVector earthPoint,
+                                            final OrbitStateVectors orbit, final double initialTime,
+                                            final PosVector sensorPosition, final PosVector sensorVelocity) {
+
+        if (initialTime != NonValidZeroDopplerTime) {
+            final double firstVecTime = orbit.orbitStateVectors[0].time_mjd;
+            final double lastVecTime = orbit.orbitStateVectors[orbit.orbitStateVectors.length - 1].time_mjd;
+            final double absLineTimeInterval = Math.abs(lineTimeInterval);
+
+            double time = initialTime;
+            for (int iter = 0; iter < MAX_WARM_START_ITERATIONS; ++iter) {
+                if (!(time >= firstVecTime && time + absLineTimeInterval <= lastVecTime)) {
+                    break;
+                }
+
+                orbit.getPositionVelocity(time, sensorPosition, sensorVelocity);
+                final double f0 = getDopplerFrequency(earthPoint, sensorPosition, sensorVelocity, wavelength);
+                orbit.getPositionVelocity(time + absLineTimeInterval, sensorPosition, sensorVelocity);
+                final double f1 = getDopplerFrequency(earthPoint, sensorPosition, sensorVelocity, wavelength);
+                if (f0 * f1 <= 0.0) {
+                    if (f0 == f1) { // both zero
+                        return time;
+                    }
+                    return time - f0 * absLineTimeInterval / (f1 - f0);
+                }
+
+                if (f1 == f0) {
+                    break;
+                }
+                time -= f0 * absLineTimeInterval / (f1 - f0);
+            }
+        }
+
+        return getZeroDopplerTime(lineTimeInterval, wavelength, earthPoint, orbit);
+    }
+
+    /**
+     * Compute zero Doppler times for a row of earth points with the product orbit state vectors. Each point
+     * is seeded with the solution of the previous valid point.
+     *
+     * @param lineTimeInterval The line time interval.
+     * @param wavelength       The radar wavelength.
+     * @param earthPoints      The earth points in xyz coordinate. Null entries are skipped.
+     * @param orbit            The object holding orbit state vectors.
+     * @param zeroDopplerTimes The zero Doppler times in days, NonValidZeroDopplerTime where not found.
+     */
+    public static void getZeroDopplerTimes(final double lineTimeInterval, final double wavelength,
+                                           final PosVector[] earthPoints, final OrbitStateVectors orbit,
+                                           final double[] zeroDopplerTimes) {
+
+        final PosVector sensorPosition = new PosVector();
+        final PosVector sensorVelocity = new PosVector();
+        double seed = NonValidZeroDopplerTime;
+        for (int i = 0; i < earthPoints.length; ++i) {
+            if (earthPoints[i] == null) {
+                zeroDopplerTimes[i] = NonValidZeroDopplerTime;
+                continue;
+            }
+            zeroDopplerTimes[i] = getZeroDopplerTime(lineTimeInterval, wavelength, earthPoints[i], orbit, seed,
+                    sensorPosition, sensorVelocity);
+            if (zeroDopplerTimes[i] != NonValidZeroDopplerTime) {
+                seed = zeroDopplerTimes[i];
+            }
+        }
+    }
+
+    /**
+     * Compute the unnormalized Doppler term, the projection of the sensor velocity onto the line of sight.
+     */
+    private static double getDopplerProduct(
+            final PosVector earthPoint, final PosVector sensorPosition, final PosVector sensorVelocity) {
+
+        return sensorVelocity.x * (earthPoint.x - sensorPosition.x) +
+                sensorVelocity.y * (earthPoint.y - sensorPosition.y) +
+                sensorVelocity.z * (earthPoint.z - sensorPosition.z);
+    }
+
     /**
      * Compute Doppler frequency for given earthPoint and sensor position.
      *
@@ -677,6 +850,127 @@ public final class SARGeocoding {
         }
     }
 
+    /**
+     * Reusable scratch state for the allocation-free local incidence angle computation.
+     * An instance must not be shared between threads.
+     */
+    public static final class LocalGeometryScratch {
+        private final GeoPos geo = new GeoPos();
+        private final PosVector rightPoint = new PosVector();
+        private final PosVector leftPoint = new PosVector();
+        private final PosVector upPoint = new PosVector();
+        private final PosVector downPoint = new PosVector();
+    }
+
+    /**
+     * Compute local incidence angle and projected local incidence angle without allocating per pixel.
+     * Gives the same result as building a LocalGeometry for the pixel and calling
+     * computeLocalIncidenceAngle with it.
+     *
+     * @param x0                               The x coordinate of the pixel at the upper left corner of current tile.
+     * @param y0                               The y coordinate of the pixel at the upper left corner of current tile.
+     * @param x                                The x coordinate of the current pixel.
+     * @param y                                The y coordinate of the current pixel.
+     * @param tileGeoRef                       The tile georeferencing.
+     * @param centrePoint                      The earth point of the current pixel in xyz coordinate.
+     * @param sensorPos                        The sensor position in xyz coordinate.
+     * @param demNoDataValue                   The DEM no data value.
+     * @param saveLocalIncidenceAngle          Boolean flag indicating saving local incidence angle.
+     * @param saveProjectedLocalIncidenceAngle Boolean flag indicating saving projected local incidence angle.
+     * @param saveSigmaNought                  Boolean flag indicating applying radiometric calibration.
+     * @param localDEM                         The local DEM.
+     * @param localIncidenceAngles             The local incidence angle and projected local incidence angle.
+     * @param scratch                          The per tile scratch state.
+     */
+    public static void computeLocalIncidenceAngle(
+            final int x0, final int y0, final int x, final int y, final TileGeoreferencing tileGeoRef,
+            final PosVector centrePoint, final PosVector sensorPos, final double demNoDataValue,
+            final boolean saveLocalIncidenceAngle, final boolean saveProjectedLocalIncidenceAngle,
+            final boolean saveSigmaNought, final double[][] localDEM, final double[] localIncidenceAngles,
+            final LocalGeometryScratch scratch) {
+
+        final int yy = y - y0;
+        final int xx = x - x0;
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                if (Double.compare(localDEM[yy + i][xx + j], demNoDataValue) == 0) {
+                    return;
+                }
+            }
+        }
+
+        final double rightPointHeight = (localDEM[yy][xx + 2] + localDEM[yy + 1][xx + 2] + localDEM[yy + 2][xx + 2]) / 3.0;
+        final double leftPointHeight = (localDEM[yy][xx] + localDEM[yy + 1][xx] + localDEM[yy + 2][xx]) / 3.0;
+        final double upPointHeight = (localDEM[yy][xx] + localDEM[yy][xx + 1] + localDEM[yy][xx + 2]) / 3.0;
+        final double downPointHeight = (localDEM[yy + 2][xx] + localDEM[yy + 2][xx + 1] + localDEM[yy + 2][xx + 2]) / 3.0;
+
+        final GeoPos geo = scratch.geo;
+        final PosVector rightPoint = scratch.rightPoint;
+        final PosVector leftPoint = scratch.leftPoint;
+        final PosVector upPoint = scratch.upPoint;
+        final PosVector downPoint = scratch.downPoint;
+
+        tileGeoRef.getGeoPos(x + 1, y, geo);
+        GeoUtils.geo2xyzWGS84(geo.lat, geo.lon, rightPointHeight, rightPoint);
+        tileGeoRef.getGeoPos(x - 1, y, geo);
+        GeoUtils.geo2xyzWGS84(geo.lat, geo.lon, leftPointHeight, leftPoint);
+        tileGeoRef.getGeoPos(x, y - 1, geo);
+        GeoUtils.geo2xyzWGS84(geo.lat, geo.lon, upPointHeight, upPoint);
+        tileGeoRef.getGeoPos(x, y + 1, geo);
+        GeoUtils.geo2xyzWGS84(geo.lat, geo.lon, downPointHeight, downPoint);
+
+        final double ax = rightPoint.x - leftPoint.x, ay = rightPoint.y - leftPoint.y, az = rightPoint.z - leftPoint.z;
+        final double bx = downPoint.x - upPoint.x, by = downPoint.y - upPoint.y, bz = downPoint.z - upPoint.z;
+        final double cx = centrePoint.x, cy = centrePoint.y, cz = centrePoint.z;
+
+        // ground plane normal
+        double nx = ay * bz - az * by;
+        double ny = az * bx - ax * bz;
+        double nz = ax * by - ay * bx;
+        final double nNorm = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        nx /= nNorm;
+        ny /= nNorm;
+        nz /= nNorm;
+        if (nx * cx + ny * cy + nz * cz < 0) {
+            nx = -nx;
+            ny = -ny;
+            nz = -nz;
+        }
+
+        double sx = sensorPos.x - cx;
+        double sy = sensorPos.y - cy;
+        double sz = sensorPos.z - cz;
+        final double sNorm = Math.sqrt(sx * sx + sy * sy + sz * sz);
+        sx /= sNorm;
+        sy /= sNorm;
+        sz /= sNorm;
+
+        if (saveLocalIncidenceAngle) { // local incidence angle
+            localIncidenceAngles[0] = FastMath.acos(nx * sx + ny * sy + nz * sz) * Constants.RTOD;
+        }
+
+        if (saveProjectedLocalIncidenceAngle || saveSigmaNought) { // projected local incidence angle
+            // range plane normal
+            double mx = sy * cz - sz * cy;
+            double my = sz * cx - sx * cz;
+            double mz = sx * cy - sy * cx;
+            final double mNorm = Math.sqrt(mx * mx + my * my + mz * mz);
+            mx /= mNorm;
+            my /= mNorm;
+            mz /= mNorm;
+
+            final double mnInnerProduct = mx * nx + my * ny + mz * nz;
+            double n1x = nx - mx * mnInnerProduct;
+            double n1y = ny - my * mnInnerProduct;
+            double n1z = nz - mz * mnInnerProduct;
+            final double n1Norm = Math.sqrt(n1x * n1x + n1y * n1y + n1z * n1z);
+            n1x /= n1Norm;
+            n1y /= n1Norm;
+            n1z /= n1Norm;
+            localIncidenceAngles[1] = FastMath.acos(n1x * sx + n1y * sy + n1z * sz) * Constants.RTOD;
+        }
+    }
+
     public static void computeLocalIncidenceAngle(
             final LocalGeometry lg, final double demNoDataValue, final boolean saveLocalIncidenceAngle,
             final boolean saveProjectedLocalIncidenceAngle, final boolean saveSigmaNought, final int x0,
@@ -0,0 +1,373 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.commons;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.esa.snap.core.datamodel.MetadataElement;
+import org.esa.snap.core.datamodel.Product;
+import org.esa.snap.engine_utilities.datamodel.AbstractMetadata;
+import org.esa.snap.runtime.Config;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Process wide cache of the interpolated Sentinel-1 calibration and noise LUTs shared by the operators of a graph.
+ * <p>
+ * A LUT is built once per product, sub-swath, polarisation and vector type from the sparse calibration or noise
+ * vectors of the annotation. It is separable: the vectors are interpolated in range once over the whole swath
+ * width, and the vector pair and azimuth weight of every line are computed once, so that a line of the LUT is a
+ * linear combination of two precomputed rows. LUTs are keyed by the name of the original product, so that the
+ * operators of a graph working on the same scene (e.g. thermal noise removal and calibration) share them.
+ * The cache is bounded in bytes and evicts the least recently used LUTs. Concurrent requests for the same LUT
+ * build it once.
+ */
+public final class Sentinel1LUTCache {
+
+    public static final String CACHE_SIZE_PROPERTY = "sar.s1.lutCache.sizeMB";
+    private static final long DEFAULT_CACHE_SIZE_MB = 256;
+
+    private static final Sentinel1LUTCache instance = new Sentinel1LUTCache(
+            Config.instance().preferences().getLong(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE_MB) * 1024L * 1024L);
+
+    private final Cache<String, VectorLUT> luts;
+
+    Sentinel1LUTCache(final long maxSizeInBytes) {
+        luts = CacheBuilder.newBuilder()
+                .maximumWeight(maxSizeInBytes)
+                .weigher((String key, VectorLUT lut) -> (int) Math.min(lut.sizeInBytes, Integer.MAX_VALUE))
+                .recordStats()
+                .build();
+    }
+
+    public static Sentinel1LUTCache instance() {
+        return instance;
+    }
+
+    /**
+     * Get the LUT of a type of calibration vectors.
+     *
+     * @param product          The product the vectors are read from.
+     * @param subSwath         The sub-swath of the vectors.
+     * @param polarization     The polarisation of the vectors.
+     * @param lutName          The name of the vector type, e.g. sigmaNought.
+     * @param vectors          The calibration vectors.
+     * @param selector         Selects the values of a calibration vector, e.g. the sigmaNought array.
+     * @param firstLineTime    The azimuth time of the first line in days.
+     * @param lineTimeInterval The azimuth time interval between lines in days.
+     * @param numOfLines       The number of lines.
+     * @return the LUT.
+     */
+    public VectorLUT getCalibrationLUT(final Product product, final String subSwath, final String polarization,
+                                       final String lutName, final Sentinel1Utils.CalibrationVector[] vectors,
+                                       final Function<Sentinel1Utils.CalibrationVector, float[]> selector,
+                                       final double firstLineTime, final double lineTimeInterval,
+                                       final int numOfLines) {
+        long fingerprint = 0;
+        for (Sentinel1Utils.CalibrationVector vector : vectors) {
+            fingerprint = getFingerprint(fingerprint, vector.line, vector.timeMJD, vector.pixels,
+                    selector.apply(vector));
+        }
+        final String key = getKey(product, subSwath, polarization, lutName, fingerprint,
+                firstLineTime, lineTimeInterval, numOfLines);
+        return get(key, () -> VectorLUT.create(vectors, selector, firstLineTime, lineTimeInterval, numOfLines));
+    }
+
+    /**
+     * Get the LUT of noise range vectors.
+     *
+     * @param product          The product the vectors are read from.
+     * @param subSwath         The sub-swath of the vectors.
+     * @param polarization     The polarisation of the vectors.
+     * @param vectors          The noise vectors.
+     * @param firstLineTime    The azimuth time of the first line in days.
+     * @param lineTimeInterval The azimuth time interval between lines in days.
+     * @param numOfLines       The number of lines.
+     * @return the LUT.
+     */
+    public VectorLUT getNoiseLUT(final Product product, final String subSwath, final String polarization,
+                                 final Sentinel1Utils.NoiseVector[] vectors,
+                                 final double firstLineTime, final double lineTimeInterval, final int numOfLines) {
+        long fingerprint = 0;
+        for (Sentinel1Utils.NoiseVector vector : vectors) {
+            fingerprint = getFingerprint(fingerprint, vector.line, vector.timeMJD, vector.pixels, vector.noiseLUT);
+        }
+        final String key = getKey(product, subSwath, polarization, "noise", fingerprint,
+                firstLineTime, lineTimeInterval, numOfLines);
+        return get(key, () -> VectorLUT.create(vectors, firstLineTime, lineTimeInterval, numOfLines));
+    }
+
+    /**
+     * Add a vector to the fingerprint of a list of vectors.
+     */
+    private static long getFingerprint(final long fingerprint, final int line, final double time,
+                                       final int[] pixels, final float[] values) {
+        long hash = 31 * fingerprint + line;
+        hash = 31 * hash + Double.hashCode(time);
+        hash = 31 * hash + Arrays.hashCode(pixels);
+        return 31 * hash + Arrays.hashCode(values);
+    }
+
+    /**
+     * The key of a LUT is made of the name of the original product and of a fingerprint of the vectors and line
+     * times, as products derived from the same scene (e.g. debursted) may hold other vectors.
+     */
+    private static String getKey(final Product product, final String subSwath, final String polarization,
+                                 final String lutName, final long fingerprint, final double firstLineTime,
+                                 final double lineTimeInterval, final int numOfLines) {
+        final MetadataElement absRoot = AbstractMetadata.getAbstractedMetadata(product);
+        String productName = absRoot != null ? absRoot.getAttributeString(AbstractMetadata.PRODUCT, null) : null;
+        if (productName == null || productName.isEmpty()) {
+            productName = product.getName() + '@' + System.identityHashCode(product);
+        }
+        return productName + '/' + subSwath + '/' + polarization + '/' + lutName + '/' +
+                Long.toHexString(fingerprint) + '/' + firstLineTime + '/' + lineTimeInterval + '/' + numOfLines;
+    }
+
+    /**
+     * Get a LUT from the cache, building it on a miss. Threads requesting a LUT that is being built wait for it
+     * instead of building it again.
+     *
+     * @param key     The key of the LUT.
+     * @param builder The builder used if the LUT is not cached.
+     * @return the LUT.
+     */
+    VectorLUT get(final String key, final Supplier<VectorLUT> builder) {
+        try {
+            return luts.get(key, builder::get);
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Unable to build the LUT " + key, cause);
+        }
+    }
+
+    public int getNumLUTs() {
+        return (int) luts.size();
+    }
+
+    public long getHitCount() {
+        return luts.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return luts.stats().missCount();
+    }
+
+    public void clear() {
+        luts.invalidateAll();
+    }
+
+    /**
+     * A LUT interpolated bilinearly from sparse vectors given at some lines and range pixels. The rows of the
+     * vectors interpolated in range are computed on first use and may be read concurrently.
+     */
+    public static final class VectorLUT {
+
+        private final int[] vectorLines;
+        private final double[] vectorTimes;
+        private final int[][] pixels;
+        private final float[][] values;
+        private final double firstLineTime;
+        private final double lineTimeInterval;
+        private final int width;
+        private final AtomicReferenceArray<double[]> rows;
+
+        // the first vector of the pair around every line and the azimuth weight of the second one
+        private final int[] lineVectorIndex;
+        private final double[] lineMu;
+
+        private final long sizeInBytes;
+
+        /**
+         * @param vectorLines      The lines of the vectors or null to find the vectors of a line by time.
+         * @param vectorTimes      The azimuth times of the vectors in days.
+         * @param pixels           The range pixels of every vector.
+         * @param values           The values of every vector at its pixels.
+         * @param firstLineTime    The azimuth time of the first line in days.
+         * @param lineTimeInterval The azimuth time interval between lines in days.
+         * @param numOfLines       The number of lines.
+         */
+        VectorLUT(final int[] vectorLines, final double[] vectorTimes, final int[][] pixels, final float[][] values,
+                  final double firstLineTime, final double lineTimeInterval, final int numOfLines) {
+            if (vectorTimes.length < 2) {
+                throw new IllegalArgumentException("At least 2 vectors are needed");
+            }
+            this.vectorLines = vectorLines;
+            this.vectorTimes = vectorTimes;
+            this.pixels = pixels;
+            this.values = values;
+            this.firstLineTime = firstLineTime;
+            this.lineTimeInterval = lineTimeInterval;
+
+            int maxPixel = 0;
+            for (int[] vectorPixels : pixels) {
+                maxPixel = Math.max(maxPixel, vectorPixels[vectorPixels.length - 1]);
+            }
+            this.width = maxPixel + 1;
+            this.rows = new AtomicReferenceArray<>(vectorTimes.length);
+
+            lineVectorIndex = new int[numOfLines];
+            lineMu = new double[numOfLines];
+            for (int y = 0; y < numOfLines; ++y) {
+                lineVectorIndex[y] = getVectorIndex(y);
+                lineMu[y] = getMu(y, lineVectorIndex[y]);
+            }
+
+            sizeInBytes = (long) vectorTimes.length * width * 8L + numOfLines * 12L;
+        }
+
+        /**
+         * Create the LUT of a type of calibration vectors, the vectors of a line are found by line number.
+         *
+         * @param vectors          The calibration vectors.
+         * @param selector         Selects the values of a calibration vector, e.g. the sigmaNought array.
+         * @param firstLineTime    The azimuth time of the first line in days.
+         * @param lineTimeInterval The azimuth time interval between lines in days.
+         * @param numOfLines       The number of lines.
+         * @return the LUT.
+         */
+        static VectorLUT create(final Sentinel1Utils.CalibrationVector[] vectors,
+                                final Function<Sentinel1Utils.CalibrationVector, float[]> selector,
+                                final double firstLineTime, final double lineTimeInterval, final int numOfLines) {
+            final int[] lines = new int[vectors.length];
+            final double[] times = new double[vectors.length];
+            final int[][] pixels = new int[vectors.length][];
+            final float[][] values = new float[vectors.length][];
+            for (int i = 0; i < vectors.length; ++i) {
+                lines[i] = vectors[i].line;
+                times[i] = vectors[i].timeMJD;
+                pixels[i] = vectors[i].pixels;
+                values[i] = selector.apply(vectors[i]);
+            }
+            return new VectorLUT(lines, times, pixels, values, firstLineTime, lineTimeInterval, numOfLines);
+        }
+
+        /**
+         * Create the LUT of noise range vectors, the vectors of a line are found by azimuth time.
+         *
+         * @param vectors          The noise vectors.
+         * @param firstLineTime    The azimuth time of the first line in days.
+         * @param lineTimeInterval The azimuth time interval between lines in days.
+         * @param numOfLines       The number of lines.
+         * @return the LUT.
+         */
+        static VectorLUT create(final Sentinel1Utils.NoiseVector[] vectors,
+                                final double firstLineTime, final double lineTimeInterval, final int numOfLines) {
+            final double[] times = new double[vectors.length];
+            final int[][] pixels = new int[vectors.length][];
+            final float[][] values = new float[vectors.length][];
+            for (int i = 0; i < vectors.length; ++i) {
+                times[i] = vectors[i].timeMJD;
+                pixels[i] = vectors[i].pixels;
+                values[i] = vectors[i].noiseLUT;
+            }
+            return new VectorLUT(null, times, pixels, values, firstLineTime, lineTimeInterval, numOfLines);
+        }
+
+        /**
+         * Get the LUT values of consecutive pixels of a line.
+         *
+         * @param y   The line in the coordinates of the vectors.
+         * @param x0  The first pixel in the coordinates of the vectors.
+         * @param w   The number of pixels.
+         * @param lut The array filled with the w values.
+         */
+        public void getRow(final int y, final int x0, final int w, final double[] lut) {
+            final boolean inLUT = y >= 0 && y < lineVectorIndex.length;
+            final int vecIdx = inLUT ? lineVectorIndex[y] : getVectorIndex(y);
+            final double muY = inLUT ? lineMu[y] : getMu(y, vecIdx);
+            final double[] row0 = getVectorRow(vecIdx);
+            final double[] row1 = getVectorRow(vecIdx + 1);
+
+            final int maxX = Math.min(x0 + w, width);
+            for (int x = x0; x < maxX; ++x) {
+                lut[x - x0] = (1 - muY) * row0[x] + muY * row1[x];
+            }
+            for (int x = Math.max(x0, width); x < x0 + w; ++x) {
+                lut[x - x0] = (1 - muY) * interpolate(vecIdx, x) + muY * interpolate(vecIdx + 1, x);
+            }
+        }
+
+        private int getVectorIndex(final int y) {
+            final int numVectors = vectorTimes.length;
+            if (vectorLines != null) {
+                for (int i = 1; i < numVectors; ++i) {
+                    if (y < vectorLines[i]) {
+                        return i - 1;
+                    }
+                }
+            } else {
+                final double azTime = firstLineTime + y * lineTimeInterval;
+                for (int i = 1; i < numVectors; ++i) {
+                    if (azTime < vectorTimes[i]) {
+                        return i - 1;
+                    }
+                }
+            }
+            return numVectors - 2;
+        }
+
+        private double getMu(final int y, final int vecIdx) {
+            final double azTime = firstLineTime + y * lineTimeInterval;
+            return (azTime - vectorTimes[vecIdx]) / (vectorTimes[vecIdx + 1] - vectorTimes[vecIdx]);
+        }
+
+        private double[] getVectorRow(final int vecIdx) {
+            double[] row = rows.get(vecIdx);
+            if (row == null) {
+                row = new double[width];
+                final int[] vectorPixels = pixels[vecIdx];
+                int pixelIdx = 0;
+                for (int x = 0; x < width; ++x) {
+                    while (pixelIdx < vectorPixels.length - 2 && x >= vectorPixels[pixelIdx + 1]) {
+                        ++pixelIdx;
+                    }
+                    row[x] = interpolate(vecIdx, pixelIdx, x);
+                }
+                rows.set(vecIdx, row);
+            }
+            return row;
+        }
+
+        private double interpolate(final int vecIdx, final int x) {
+            final int[] vectorPixels = pixels[vecIdx];
+            int pixelIdx = vectorPixels.length - 2;
+            while (pixelIdx > 0 && x < vectorPixels[pixelIdx]) {
+                --pixelIdx;
+            }
+            return interpolate(vecIdx, pixelIdx, x);
+        }
+
+        private double interpolate(final int vecIdx, final int pixelIdx, final int x) {
+            final int[] vectorPixels = pixels[vecIdx];
+            final float[] vectorValues = values[vecIdx];
+            final double muX = (x - vectorPixels[pixelIdx]) /
+                    (double) (vectorPixels[pixelIdx + 1] - vectorPixels[pixelIdx]);
+            return (1 - muX) * vectorValues[pixelIdx] + muX * vectorValues[pixelIdx + 1];
+        }
+    }
+}
@@ -304,6 +304,19 @@ public abstract class AbstractProductDirectory {
         return getProductDir().getFile(path);
     }
 
+    /**
+     * Let an image of an uncompressed product be decoded by several readers concurrently.
+     */
+    protected void enableConcurrentReads(final ImageIOFile img, final String imgPath) {
+        if (isCompressed())
+            return;
+        try {
+            img.setImageFile(getFile(imgPath));
+        } catch (IOException e) {
+            SystemUtils.LOG.warning("Unable to open " + imgPath + " for concurrent reading: " + e.getMessage());
+        }
+    }
+
     public boolean exists(final String path) {
         return getProductDir().exists(path);
     }
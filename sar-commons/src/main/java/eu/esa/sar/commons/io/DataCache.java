@@ -0,0 +1,217 @@
+package eu.esa.sar.commons.io;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.esa.snap.runtime.Config;
+
+import java.awt.*;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of raster blocks decoded from ImageIO files, shared by the readers.
+ * <p>
+ * Blocks are weighted by their size in bytes and the cache is bounded by a global memory budget read from the
+ * preference sar.io.dataCache.sizeMB. Concurrent requests for the same block are decoded once. The blocks of an
+ * image file are removed when the file is closed.
+ * <p>
+ * Created by lveci on 20/05/2014.
+ */
+public class DataCache {
+
+    private static final String SIZE_PREFERENCE = "sar.io.dataCache.sizeMB";
+    private static final long DEFAULT_SIZE_MB = 256;
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private static DataCache instance;
+
+    private final Cache<DataKey, Data> cache;
+    private final long maxSizeInBytes;
+
+    public interface Loader {
+        Data load() throws Exception;
+    }
+
+    /**
+     * @return the cache shared by all readers.
+     */
+    public static synchronized DataCache instance() {
+        if (instance == null) {
+            final long sizeMB = Config.instance().preferences().getLong(SIZE_PREFERENCE, DEFAULT_SIZE_MB);
+            instance = new DataCache(sizeMB * 1024 * 1024);
+        }
+        return instance;
+    }
+
+    public DataCache(final long maxSizeInBytes) {
+        this.maxSizeInBytes = maxSizeInBytes;
+        cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxSizeInBytes)
+                .weigher((DataKey key, Data value) -> (int) Math.min(value.getSizeInBytes(), Integer.MAX_VALUE))
+                .expireAfterAccess(10, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public String stats() {
+        return cache.stats().toString();
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    public long getMaxSizeInBytes() {
+        return maxSizeInBytes;
+    }
+
+    public long getSizeInBytes() {
+        long size = 0;
+        for (Data data : cache.asMap().values()) {
+            size += data.getSizeInBytes();
+        }
+        return size;
+    }
+
+    /**
+     * @return the cached block or null if the block is not in the cache.
+     */
+    public Data get(DataKey key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Get a block, loading it if it is not in the cache. Threads requesting a block that is being loaded wait for
+     * the load to complete instead of loading it again.
+     */
+    public Data get(final DataKey key, final Loader loader) throws IOException {
+        try {
+            return cache.get(key, loader::load);
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Unable to read " + key + ": " + cause.getMessage(), cause);
+        }
+    }
+
+    public void put(DataKey key, Data value) {
+        cache.put(key, value);
+    }
+
+    /**
+     * Remove the blocks of an image file.
+     */
+    public void invalidate(final ImageIOFile img) {
+        cache.asMap().keySet().removeIf(key -> key.img == img);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public static class DataKey {
+        private final ImageIOFile img;
+        private final Rectangle rect;
+        private final int stepX, stepY;
+        private final int gridX, gridY;
+        private final int bandSampleOffset;
+
+        public DataKey(final ImageIOFile img, final Rectangle rect) {
+            this(img, rect, 1, 1, 0, 0, 0);
+        }
+
+        /**
+         * @param img              The image file.
+         * @param rect             The rectangle in the subsampled image.
+         * @param stepX            The subsampling step in x.
+         * @param stepY            The subsampling step in y.
+         * @param gridX            The subsampling grid offset in x.
+         * @param gridY            The subsampling grid offset in y.
+         * @param bandSampleOffset The band read from the image.
+         */
+        public DataKey(final ImageIOFile img, final Rectangle rect, final int stepX, final int stepY,
+                       final int gridX, final int gridY, final int bandSampleOffset) {
+            this.img = img;
+            this.rect = new Rectangle(rect);
+            this.stepX = stepX;
+            this.stepY = stepY;
+            this.gridX = gridX;
+            this.gridY = gridY;
+            this.bandSampleOffset = bandSampleOffset;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof DataKey)) {
+                return false;
+            }
+            final DataKey key = (DataKey) obj;
+            return img == key.img && rect.equals(key.rect) &&
+                    stepX == key.stepX && stepY == key.stepY &&
+                    gridX == key.gridX && gridY == key.gridY &&
+                    bandSampleOffset == key.bandSampleOffset;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(img), rect.x, rect.y, rect.width, rect.height,
+                    stepX, stepY, gridX, gridY, bandSampleOffset);
+        }
+
+        @Override
+        public String toString() {
+            return rect.toString();
+        }
+    }
+
+    public static class Data {
+
+        public final boolean valid;
+        public int[] intArray;
+        public Raster raster;
+
+        public Data() {
+            valid = false;
+        }
+
+        public Data(final int[] srcArray) {
+            this.intArray = srcArray;
+            this.valid = true;
+        }
+
+        public Data(final Raster raster) {
+            this.raster = raster;
+            this.valid = true;
+        }
+
+        long getSizeInBytes() {
+            long size = ENTRY_OVERHEAD + (intArray != null ? 4L * intArray.length : 0);
+            if (raster != null) {
+                final DataBuffer dataBuffer = raster.getDataBuffer();
+                size += (long) dataBuffer.getSize() * dataBuffer.getNumBanks() *
+                        DataBuffer.getDataTypeSize(dataBuffer.getDataType()) / 8;
+            }
+            return size;
+        }
+    }
+}
@@ -36,8 +36,10 @@
 package eu.esa.sar.commons.io;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
 /**
  * @author Simone Giannecchini, GeoSolutions.
@@ -152,6 +154,11 @@ public final class EnhancedRandomAccessFile implements DataInput, DataOutput {
      */
     protected long minLength = 0;
 
+    /**
+     * channel of the positional reads, opened on first use
+     */
+    private volatile SharedFileChannel positionalChannel;
+
     /**
      * _more_
      *
@@ -238,7 +245,13 @@ public final class EnhancedRandomAccessFile implements DataInput, DataOutput {
         }
 
         // Close the underlying eraf object.
-        eraf.close();
+        try {
+            if (positionalChannel != null) {
+                positionalChannel.close();
+            }
+        } finally {
+            eraf.close();
+        }
 
     }
 
@@ -866,8 +879,11 @@ public final class EnhancedRandomAccessFile implements DataInput, DataOutput {
      * @throws IOException _more_
      */
     public void readShort(short[] pa, int start, int n) throws IOException {
-        for (int i = start, end = n + start; i < end; i++) {
-            pa[i] = readShort();
+        final byte[] chunk = new byte[chunkSize(n, 2)];
+        for (int i = start, end = n + start; i < end; ) {
+            final int count = Math.min(end - i, chunk.length / 2);
+            readChunk(chunk, count * 2).asShortBuffer().get(pa, i, count);
+            i += count;
         }
     }
 
@@ -1020,8 +1036,11 @@ public final class EnhancedRandomAccessFile implements DataInput, DataOutput {
      * @throws IOException  if an I/O error occurs.
      */
     public void readInt(int[] pa, int start, int n) throws IOException {
-        for (int i = start, end = n + start; i < end; i++) {
-            pa[i] = readInt();
+        final byte[] chunk = new byte[chunkSize(n, 4)];
+        for (int i = start, end = n + start; i < end; ) {
+            final int count = Math.min(end - i, chunk.length / 4);
+            readChunk(chunk, count * 4).asIntBuffer().get(pa, i, count);
+            i += count;
         }
     }
 
@@ -1083,8 +1102,11 @@ public final class EnhancedRandomAccessFile implements DataInput, DataOutput {
      * @throws IOException _more_
      */
     public void readLong(long[] pa, int start, int n) throws IOException {
-        for (int i = start, end = n + start; i < end; i++) {
-            pa[i] = readLong();
+        final byte[] chunk = new byte[chunkSize(n, 8)];
+        for (int i = start, end = n + start; i < end; ) {
+            final int count = Math.min(end - i, chunk.length / 8);
+            readChunk(chunk, count * 8).asLongBuffer().get(pa, i, count);
+            i += count;
         }
     }
 
@@ -1117,8 +1139,11 @@ public final class EnhancedRandomAccessFile implements DataInput, DataOutput {
      * @throws IOException _more_
      */
     public void readFloat(float[] pa, int start, int n) throws IOException {
-        for (int i = start, end = n + start; i < end; i++) {
-            pa[i] = Float.intBitsToFloat(readInt());
+        final byte[] chunk = new byte[chunkSize(n, 4)];
+        for (int i = start, end = n + start; i < end; ) {
+            final int count = Math.min(end - i, chunk.length / 4);
+            readChunk(chunk, count * 4).asFloatBuffer().get(pa, i, count);
+            i += count;
         }
     }
 
@@ -1151,9 +1176,150 @@ public final class EnhancedRandomAccessFile implements DataInput, DataOutput {
      * @throws IOException _more_
      */
     public void readDouble(double[] pa, int start, int n) throws IOException {
-        for (int i = start, end = n + start; i < end; i++) {
-            pa[i] = Double.longBitsToDouble(readLong());
+        final byte[] chunk = new byte[chunkSize(n, 8)];
+        for (int i = start, end = n + start; i < end; ) {
+            final int count = Math.min(end - i, chunk.length / 8);
+            readChunk(chunk, count * 8).asDoubleBuffer().get(pa, i, count);
+            i += count;
+        }
+    }
+
+    /**
+     * The size of the byte chunks in which arrays are read and converted, at most one buffer.
+     */
+    private int chunkSize(final int n, final int elemSize) {
+        final long size = Math.min((long) n * elemSize, buffer.length);
+        return (int) Math.max(elemSize, size - size % elemSize);
+    }
+
+    /**
+     * Read <code>len</code> bytes through the buffer and wrap them in the current byte order.
+     */
+    private ByteBuffer readChunk(final byte[] chunk, final int len) throws IOException {
+        readFully(chunk, 0, len);
+        return ByteBuffer.wrap(chunk, 0, len).order(getByteOrder());
+    }
+
+    // ////////////////////////////////////////////////////////////////////////////////////////////
+    // Positional reads.
+    //
+    // These read at an absolute position from a file channel of their own. They neither use the
+    // buffer nor move the eraf pointer, so several threads can read concurrently without seeking or
+    // locking, and a reader interrupted during a read does not close the eraf for the other threads.
+    // Data written through the buffer is only seen after a flush().
+    //
+
+    /**
+     * Reads exactly <code>len</code> bytes at the given position, without moving the eraf pointer.
+     *
+     * @param position the offset in bytes from the start of the eraf.
+     * @param b        the buffer into which the data is read.
+     * @param off      the start offset of the data.
+     * @param len      the number of bytes to read.
+     * @throws EOFException if the eraf ends before all the bytes are read.
+     * @throws IOException  if an I/O error occurs.
+     */
+    public void readFully(long position, byte[] b, int off, int len) throws IOException {
+        readFully(position, ByteBuffer.wrap(b, off, len));
+    }
+
+    /**
+     * Reads <code>n</code> shorts at the given position, without moving the eraf pointer.
+     */
+    public void readShort(long position, short[] pa, int start, int n) throws IOException {
+        final ByteBuffer chunk = ByteBuffer.allocate(chunkSize(n, 2)).order(getByteOrder());
+        for (int i = start, end = n + start; i < end; ) {
+            final int count = Math.min(end - i, chunk.capacity() / 2);
+            position = readChunk(position, chunk, count * 2);
+            chunk.asShortBuffer().get(pa, i, count);
+            i += count;
+        }
+    }
+
+    /**
+     * Reads <code>n</code> ints at the given position, without moving the eraf pointer.
+     */
+    public void readInt(long position, int[] pa, int start, int n) throws IOException {
+        final ByteBuffer chunk = ByteBuffer.allocate(chunkSize(n, 4)).order(getByteOrder());
+        for (int i = start, end = n + start; i < end; ) {
+            final int count = Math.min(end - i, chunk.capacity() / 4);
+            position = readChunk(position, chunk, count * 4);
+            chunk.asIntBuffer().get(pa, i, count);
+            i += count;
+        }
+    }
+
+    /**
+     * Reads <code>n</code> longs at the given position, without moving the eraf pointer.
+     */
+    public void readLong(long position, long[] pa, int start, int n) throws IOException {
+        final ByteBuffer chunk = ByteBuffer.allocate(chunkSize(n, 8)).order(getByteOrder());
+        for (int i = start, end = n + start; i < end; ) {
+            final int count = Math.min(end - i, chunk.capacity() / 8);
+            position = readChunk(position, chunk, count * 8);
+            chunk.asLongBuffer().get(pa, i, count);
+            i += count;
+        }
+    }
+
+    /**
+     * Reads <code>n</code> floats at the given position, without moving the eraf pointer.
+     */
+    public void readFloat(long position, float[] pa, int start, int n) throws IOException {
+        final ByteBuffer chunk = ByteBuffer.allocate(chunkSize(n, 4)).order(getByteOrder());
+        for (int i = start, end = n + start; i < end; ) {
+            final int count = Math.min(end - i, chunk.capacity() / 4);
+            position = readChunk(position, chunk, count * 4);
+            chunk.asFloatBuffer().get(pa, i, count);
+            i += count;
+        }
+    }
+
+    /**
+     * Reads <code>n</code> doubles at the given position, without moving the eraf pointer.
+     */
+    public void readDouble(long position, double[] pa, int start, int n) throws IOException {
+        final ByteBuffer chunk = ByteBuffer.allocate(chunkSize(n, 8)).order(getByteOrder());
+        for (int i = start, end = n + start; i < end; ) {
+            final int count = Math.min(end - i, chunk.capacity() / 8);
+            position = readChunk(position, chunk, count * 8);
+            chunk.asDoubleBuffer().get(pa, i, count);
+            i += count;
+        }
+    }
+
+    /**
+     * Fill the first <code>len</code> bytes of the chunk from the given position.
+     *
+     * @return the position following the chunk.
+     */
+    private long readChunk(final long position, final ByteBuffer chunk, final int len) throws IOException {
+        chunk.clear();
+        chunk.limit(len);
+        readFully(position, chunk);
+        chunk.flip();
+        return position + len;
+    }
+
+    private void readFully(final long position, final ByteBuffer dst) throws IOException {
+        getPositionalChannel().readFully(dst, position);
+    }
+
+    private SharedFileChannel getPositionalChannel() throws IOException {
+        SharedFileChannel channel = positionalChannel;
+        if (channel == null) {
+            synchronized (this) {
+                channel = positionalChannel;
+                if (channel == null) {
+                    if (file == null) {
+                        throw new IOException("Positional reads need a file");
+                    }
+                    channel = new SharedFileChannel(file.toPath(), StandardOpenOption.READ);
+                    positionalChannel = channel;
+                }
+            }
         }
+        return channel;
     }
 
     /**
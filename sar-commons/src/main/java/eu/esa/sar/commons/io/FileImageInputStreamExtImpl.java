@@ -83,6 +83,36 @@ public final class FileImageInputStreamExtImpl extends ImageInputStreamImpl
         eraf.readFully(b);
     }
 
+    @Override
+    public void readFully(short[] s, int off, int len) throws IOException {
+        bitOffset = 0;
+        eraf.readShort(s, off, len);
+    }
+
+    @Override
+    public void readFully(int[] i, int off, int len) throws IOException {
+        bitOffset = 0;
+        eraf.readInt(i, off, len);
+    }
+
+    @Override
+    public void readFully(long[] l, int off, int len) throws IOException {
+        bitOffset = 0;
+        eraf.readLong(l, off, len);
+    }
+
+    @Override
+    public void readFully(float[] f, int off, int len) throws IOException {
+        bitOffset = 0;
+        eraf.readFloat(f, off, len);
+    }
+
+    @Override
+    public void readFully(double[] d, int off, int len) throws IOException {
+        bitOffset = 0;
+        eraf.readDouble(d, off, len);
+    }
+
     @Override
     public int readInt() throws IOException {
 
@@ -33,7 +33,10 @@ import java.awt.image.*;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.Iterator;
 
 /**
@@ -55,11 +58,27 @@ public class ImageIOFile {
     private ImageInputStream stream;
     private ImageReader reader;
 
+    // additional readers opened on the image file so that regions can be decoded concurrently
+    private File imageFile = null;
+    private int readerPoolSize = defaultReaderPoolSize;
+    private int numPooledReaders = 0;
+    private int numReadersInUse = 0;
+    private final Deque<ImageReader> idleReaders = new ArrayDeque<>();
+    private final Object poolLock = new Object();
+    private volatile boolean closed = false;
+
+    // decoded regions of band interleaved images hold the samples of all bands and are shared by the bands read
+    // from the image. Regions of single band images are only cached by the JAI tile cache of the band images.
+    private static final int ALL_BANDS = -1;
+
     private static final boolean useFileCache = Config.instance().preferences().getBoolean("s1tbx.readers.useFileCache", false);
+    private static final int defaultReaderPoolSize = Config.instance().preferences().getInt("sar.readers.imageReaderPoolSize",
+            Math.min(4, Runtime.getRuntime().availableProcessors()));
 
     public ImageIOFile(final File inputFile, final ImageReader iioReader,
                        final File productInputFile) throws IOException {
         this(inputFile.getName(), ImageIO.createImageInputStream(inputFile), iioReader, productInputFile);
+        setImageFile(inputFile);
     }
 
     public ImageIOFile(final String name, final ImageInputStream inputStream, final ImageReader iioReader,
@@ -141,6 +160,121 @@ public class ImageIOFile {
         return imageReaders.next();
     }
 
+    /**
+     * Set the file the image is read from. When the file is known, up to readerPoolSize independent readers are
+     * opened on it on demand so that different regions can be decoded in parallel.
+     * Images read from a compressed archive have no file and are decoded by the single shared reader.
+     *
+     * @param imageFile the uncompressed image file
+     */
+    public void setImageFile(final File imageFile) {
+        if (imageFile != null && imageFile.isFile() && reader != null && reader.getOriginatingProvider() != null) {
+            synchronized (poolLock) {
+                this.imageFile = imageFile;
+            }
+        }
+    }
+
+    /**
+     * Set the maximum number of readers decoding the image concurrently. Readers in use are kept until they are
+     * released, so the pool shrinks as they are returned.
+     *
+     * @param poolSize the number of readers. A pool size of 1 decodes all regions with the shared reader.
+     */
+    public void setReaderPoolSize(final int poolSize) {
+        synchronized (poolLock) {
+            readerPoolSize = Math.max(1, poolSize);
+            while (numPooledReaders > readerPoolSize && !idleReaders.isEmpty()) {
+                disposePooledReader(idleReaders.pop());
+            }
+            poolLock.notifyAll();
+        }
+    }
+
+    public int getReaderPoolSize() {
+        synchronized (poolLock) {
+            return readerPoolSize;
+        }
+    }
+
+    private boolean usePooledReaders() {
+        synchronized (poolLock) {
+            return imageFile != null && readerPoolSize > 1;
+        }
+    }
+
+    private ImageReader acquireReader() throws IOException {
+        synchronized (poolLock) {
+            while (numReadersInUse >= readerPoolSize) {
+                checkOpen();
+                try {
+                    poolLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for a reader of " + name);
+                }
+            }
+            checkOpen();
+            ++numReadersInUse;
+            final ImageReader pooledReader = idleReaders.poll();
+            if (pooledReader != null) {
+                return pooledReader;
+            }
+            ++numPooledReaders;
+        }
+        try {
+            return openPooledReader();
+        } catch (IOException | RuntimeException e) {
+            synchronized (poolLock) {
+                --numPooledReaders;
+                --numReadersInUse;
+                poolLock.notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    private void releaseReader(final ImageReader pooledReader) {
+        synchronized (poolLock) {
+            --numReadersInUse;
+            if (closed || numPooledReaders > readerPoolSize) {
+                disposePooledReader(pooledReader);
+            } else {
+                idleReaders.push(pooledReader);
+            }
+            poolLock.notifyAll();
+        }
+    }
+
+    private ImageReader openPooledReader() throws IOException {
+        final ImageInputStream pooledStream = ImageIO.createImageInputStream(imageFile);
+        if (pooledStream == null)
+            throw new IOException("Unable to open " + imageFile);
+
+        final ImageReader pooledReader = reader.getOriginatingProvider().createReaderInstance();
+        pooledReader.setInput(pooledStream, false, true);
+        return pooledReader;
+    }
+
+    // called with the pool lock held
+    private void disposePooledReader(final ImageReader pooledReader) {
+        --numPooledReaders;
+        final Object input = pooledReader.getInput();
+        try {
+            if (input instanceof ImageInputStream)
+                ((ImageInputStream) input).close();
+        } catch (IOException e) {
+            SystemUtils.LOG.warning("Unable to close reader of " + name + ": " + e.getMessage());
+        }
+        pooledReader.dispose();
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException(name + " is closed");
+        }
+    }
+
     public ImageReader getReader() throws IOException {
         if (reader == null) {
             throw new IOException("no reader created");
@@ -198,11 +332,30 @@ public class ImageIOFile {
         return imageInfo;
     }
 
+    /**
+     * Close the image. Reads in progress complete, their pooled readers being disposed when released, and
+     * later reads fail.
+     */
     public void close() throws IOException {
-        if (stream != null)
+        synchronized (poolLock) {
+            closed = true;
+            while (!idleReaders.isEmpty()) {
+                disposePooledReader(idleReaders.pop());
+            }
+            poolLock.notifyAll();
+        }
+
+        DataCache.instance().invalidate(this);
+
+        if (reader != null) {
+            synchronized (reader) {
+                if (stream != null)
+                    stream.close();
+                reader.dispose();
+            }
+        } else if (stream != null) {
             stream.close();
-        if (reader != null)
-            reader.dispose();
+        }
     }
 
     public int getSceneWidth() throws IOException {
@@ -242,17 +395,18 @@ public class ImageIOFile {
                                       final int destWidth, final int destHeight,
                                       final int imageID,
                                       final int bandSampleOffset) throws IOException {
-        final ImageReadParam param = reader.getDefaultReadParam();
-        param.setSourceSubsampling(sourceStepX, sourceStepY,
-                sourceOffsetX % sourceStepX,
-                sourceOffsetY % sourceStepY);
-        
-        // Read only the required region
-        param.setSourceRegion(new Rectangle(destOffsetX, destOffsetY, destWidth, destHeight));
-        
+        checkOpen();
         final Raster data;
-        synchronized (reader) {
-            data = getData(param, destOffsetX, destOffsetY, destWidth, destHeight);
+        if (numBands > 1) {
+            final DataCache.DataKey key = new DataCache.DataKey(this,
+                    new Rectangle(destOffsetX, destOffsetY, destWidth, destHeight), sourceStepX, sourceStepY,
+                    sourceOffsetX % sourceStepX, sourceOffsetY % sourceStepY, ALL_BANDS);
+            data = DataCache.instance().get(key, () -> new DataCache.Data(
+                    decode(sourceOffsetX, sourceOffsetY, sourceStepX, sourceStepY,
+                            destOffsetX, destOffsetY, destWidth, destHeight))).raster;
+        } else {
+            data = decode(sourceOffsetX, sourceOffsetY, sourceStepX, sourceStepY,
+                    destOffsetX, destOffsetY, destWidth, destHeight);
         }
 
         final DataBuffer dataBuffer = data.getDataBuffer();
@@ -295,11 +449,42 @@ public class ImageIOFile {
         }
     }
 
-    private Raster getData(final ImageReadParam param,
-                                        final int destOffsetX, final int destOffsetY,
-                                        final int destWidth, final int destHeight) throws IOException {
+    private Raster decode(final int sourceOffsetX, final int sourceOffsetY,
+                          final int sourceStepX, final int sourceStepY,
+                          final int destOffsetX, final int destOffsetY,
+                          final int destWidth, final int destHeight) throws IOException {
+        if (usePooledReaders()) {
+            final ImageReader pooledReader = acquireReader();
+            try {
+                return getData(pooledReader, sourceOffsetX, sourceOffsetY, sourceStepX, sourceStepY,
+                        destOffsetX, destOffsetY, destWidth, destHeight);
+            } finally {
+                releaseReader(pooledReader);
+            }
+        } else {
+            synchronized (reader) {
+                checkOpen();
+                return getData(reader, sourceOffsetX, sourceOffsetY, sourceStepX, sourceStepY,
+                        destOffsetX, destOffsetY, destWidth, destHeight);
+            }
+        }
+    }
+
+    private Raster getData(final ImageReader imageReader,
+                           final int sourceOffsetX, final int sourceOffsetY,
+                           final int sourceStepX, final int sourceStepY,
+                           final int destOffsetX, final int destOffsetY,
+                           final int destWidth, final int destHeight) throws IOException {
+        final ImageReadParam param = imageReader.getDefaultReadParam();
+        param.setSourceSubsampling(sourceStepX, sourceStepY,
+                sourceOffsetX % sourceStepX,
+                sourceOffsetY % sourceStepY);
+
+        // Read only the required region
+        param.setSourceRegion(new Rectangle(destOffsetX, destOffsetY, destWidth, destHeight));
+
         try {
-            final RenderedImage image = reader.readAsRenderedImage(0, param);
+            final RenderedImage image = imageReader.readAsRenderedImage(0, param);
             return image.getData(new Rectangle(destOffsetX, destOffsetY, destWidth, destHeight));
         } catch (Exception e) {
             if(ZipUtils.isZip(productInputFile) && !ZipUtils.isValid(productInputFile)) {
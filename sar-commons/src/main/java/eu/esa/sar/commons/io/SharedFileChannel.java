@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.commons.io;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+
+/**
+ * File channel shared by threads doing positional reads and writes.
+ * <p>
+ * A thread interrupted during an operation on a FileChannel closes the channel for every thread using it.
+ * The interrupted thread gets its ClosedByInterruptException, while the other threads reopen the channel under
+ * a lock and repeat their operation, so a canceled tile does not fail the tiles computed concurrently.
+ */
+public final class SharedFileChannel implements Closeable {
+
+    private final Path path;
+    private final OpenOption[] options;
+    private volatile FileChannel channel;
+    private boolean closed;
+
+    /**
+     * @param path    The file.
+     * @param options The options to open the file, which are also used to reopen it.
+     * @throws IOException if the file cannot be opened.
+     */
+    public SharedFileChannel(final Path path, final OpenOption... options) throws IOException {
+        this.path = path;
+        this.options = options.clone();
+        this.channel = FileChannel.open(path, options);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Read bytes at an absolute position.
+     *
+     * @return the number of bytes read, or -1 at the end of the file.
+     * @throws IOException if the file cannot be read or the calling thread was interrupted.
+     */
+    public int read(final ByteBuffer dst, final long position) throws IOException {
+        return run(channel -> channel.read(dst, position));
+    }
+
+    /**
+     * Read bytes at an absolute position until the buffer is full.
+     *
+     * @throws EOFException if the end of the file is reached first.
+     * @throws IOException  if the file cannot be read or the calling thread was interrupted.
+     */
+    public void readFully(final ByteBuffer dst, final long position) throws IOException {
+        long pos = position;
+        while (dst.hasRemaining()) {
+            final int n = read(dst, pos);
+            if (n < 0) {
+                throw new EOFException("Unexpected end of file " + path + " at " + pos);
+            }
+            pos += n;
+        }
+    }
+
+    /**
+     * Write bytes at an absolute position.
+     *
+     * @return the number of bytes written.
+     * @throws IOException if the file cannot be written or the calling thread was interrupted.
+     */
+    public int write(final ByteBuffer src, final long position) throws IOException {
+        return run(channel -> channel.write(src, position));
+    }
+
+    /**
+     * Write bytes at an absolute position until the buffer is empty.
+     *
+     * @throws IOException if the file cannot be written or the calling thread was interrupted.
+     */
+    public void writeFully(final ByteBuffer src, final long position) throws IOException {
+        long pos = position;
+        while (src.hasRemaining()) {
+            pos += write(src, pos);
+        }
+    }
+
+    public long size() throws IOException {
+        return run(FileChannel::size);
+    }
+
+    public void force(final boolean metaData) throws IOException {
+        run(channel -> {
+            channel.force(metaData);
+            return null;
+        });
+    }
+
+    private <T> T run(final ChannelOperation<T> operation) throws IOException {
+        while (true) {
+            final FileChannel current = channel;
+            try {
+                return operation.apply(current);
+            } catch (ClosedChannelException e) {
+                if (e instanceof ClosedByInterruptException || Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+                // closed by another thread interrupted during an operation
+                reopen(current, e);
+            }
+        }
+    }
+
+    private synchronized void reopen(final FileChannel stale, final ClosedChannelException cause)
+            throws IOException {
+        if (closed) {
+            throw cause;
+        }
+        if (channel == stale) {
+            channel = FileChannel.open(path, options);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        channel.close();
+    }
+
+    private interface ChannelOperation<T> {
+        T apply(FileChannel channel) throws IOException;
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.commons.io;
+
+import org.esa.snap.core.datamodel.ProductData;
+import org.esa.snap.runtime.Config;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.prefs.Preferences;
+
+/**
+ * Raster output file written with positional writes.
+ * <p>
+ * In write-behind mode tiles are copied into buffers and queued to writer threads shared by all files, so the
+ * threads computing tiles do not wait for the disk. The queue of each file is bounded by the preference
+ * sar.writers.writeBehindQueueMB. Regions written before a flush must not overlap. flush() and close() wait for
+ * all queued writes and force them to the disk, and rethrow the first write error.
+ * <p>
+ * Otherwise tiles are written in the calling thread. A thread interrupted during its write does not close the file
+ * for the other threads.
+ */
+public class WriteBehindFile implements Closeable {
+
+    private static final String WRITE_BEHIND_PREFERENCE = "sar.writers.writeBehind";
+    private static final String QUEUE_SIZE_PREFERENCE = "sar.writers.writeBehindQueueMB";
+    private static final String NUM_THREADS_PREFERENCE = "sar.writers.writeBehindThreads";
+
+    private final File file;
+    private final SharedFileChannel channel;
+    private final ByteOrder byteOrder;
+    private final ExecutorService executor;
+    private final int maxQueuedBytes;
+    private final Semaphore queuedBytes;
+
+    private int pendingWrites;
+    private volatile IOException failure;
+    private boolean closed;
+
+    /**
+     * Open a file in the mode set by the preferences.
+     *
+     * @param file      The file. It is created if it does not exist.
+     * @param byteOrder The byte order of the samples in the file.
+     * @return the opened file.
+     * @throws IOException if the file cannot be opened.
+     */
+    public static WriteBehindFile open(final File file, final ByteOrder byteOrder) throws IOException {
+        final Preferences preferences = Config.instance().preferences();
+        if (!preferences.getBoolean(WRITE_BEHIND_PREFERENCE, true)) {
+            return new WriteBehindFile(file, byteOrder, null, 0);
+        }
+        final long queueSize = preferences.getLong(QUEUE_SIZE_PREFERENCE, 64) * 1024 * 1024;
+        return new WriteBehindFile(file, byteOrder, Writers.executor, (int) Math.min(queueSize, Integer.MAX_VALUE));
+    }
+
+    /**
+     * @param file           The file. It is created if it does not exist.
+     * @param byteOrder      The byte order of the samples in the file.
+     * @param executor       The writer threads or null to write in the calling thread.
+     * @param maxQueuedBytes The number of bytes which may be queued before writes block.
+     * @throws IOException if the file cannot be opened.
+     */
+    WriteBehindFile(final File file, final ByteOrder byteOrder, final ExecutorService executor,
+                    final int maxQueuedBytes) throws IOException {
+        this.file = file;
+        this.byteOrder = byteOrder;
+        this.executor = executor;
+        this.maxQueuedBytes = Math.max(1, maxQueuedBytes);
+        this.queuedBytes = executor != null ? new Semaphore(this.maxQueuedBytes) : null;
+        this.channel = new SharedFileChannel(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public ByteOrder getByteOrder() {
+        return byteOrder;
+    }
+
+    public boolean isWriteBehind() {
+        return executor != null;
+    }
+
+    /**
+     * Allocate a buffer in the byte order of the file.
+     */
+    public ByteBuffer allocate(final int numBytes) {
+        return ByteBuffer.allocate(numBytes).order(byteOrder);
+    }
+
+    /**
+     * Write the rows of a tile. An empty tile writes nothing.
+     *
+     * @param data      The samples of the tile, row after row.
+     * @param width     The number of samples per row.
+     * @param height    The number of rows.
+     * @param position  The position in bytes of the first row in the file.
+     * @param rowStride The distance in bytes between the rows in the file.
+     * @throws IOException if an earlier write failed or the calling thread was interrupted.
+     */
+    public void write(final ProductData data, final int width, final int height,
+                      final long position, final long rowStride) throws IOException {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        final ByteBuffer buffer = toBuffer(data, 0, width * height, byteOrder);
+        write(buffer, position, buffer.remaining() / height, rowStride);
+    }
+
+    /**
+     * Write the rows of a buffer. The buffer must not be modified after the call.
+     *
+     * @param buffer    The bytes from the position to the limit of the buffer, row after row.
+     * @param position  The position in bytes of the first row in the file.
+     * @param rowBytes  The number of bytes per row.
+     * @param rowStride The distance in bytes between the rows in the file.
+     * @throws IOException if an earlier write failed or the calling thread was interrupted.
+     */
+    public void write(final ByteBuffer buffer, final long position, final int rowBytes, final long rowStride)
+            throws IOException {
+        checkFailure();
+        if (!buffer.hasRemaining()) {
+            return;
+        }
+        if (rowBytes <= 0) {
+            throw new IllegalArgumentException("Invalid row size " + rowBytes + " writing " + file);
+        }
+        if (executor == null) {
+            writeRows(buffer, position, rowBytes, rowStride);
+            return;
+        }
+
+        final int permits = Math.min(buffer.remaining(), maxQueuedBytes);
+        try {
+            queuedBytes.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to write " + file);
+        }
+        synchronized (this) {
+            ++pendingWrites;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    writeRows(buffer, position, rowBytes, rowStride);
+                } catch (IOException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                } finally {
+                    queuedBytes.release(permits);
+                    writeDone();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queuedBytes.release(permits);
+            writeDone();
+            throw new IOException("Unable to queue write to " + file, e);
+        }
+    }
+
+    private void writeRows(final ByteBuffer buffer, final long position, final int rowBytes, final long rowStride)
+            throws IOException {
+        final ByteBuffer row = buffer.duplicate();
+        final int end = buffer.limit();
+        long pos = position;
+        for (int start = buffer.position(); start < end; start += rowBytes, pos += rowStride) {
+            row.limit(Math.min(start + rowBytes, end)).position(start);
+            channel.writeFully(row, pos);
+        }
+    }
+
+    private synchronized void writeDone() {
+        if (--pendingWrites == 0) {
+            notifyAll();
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        final IOException e = failure;
+        if (e != null) {
+            throw new IOException("Unable to write " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Wait for the queued writes and force them to the disk.
+     *
+     * @throws IOException if a write failed.
+     */
+    public void flush() throws IOException {
+        awaitPendingWrites();
+        checkFailure();
+        synchronized (this) {
+            if (!closed) {
+                channel.force(false);
+            }
+        }
+    }
+
+    private synchronized void awaitPendingWrites() throws IOException {
+        while (pendingWrites > 0) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while flushing " + file);
+            }
+        }
+    }
+
+    /**
+     * Wait for the queued writes and close the file.
+     *
+     * @throws IOException if a write failed.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            synchronized (this) {
+                closed = true;
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Encode samples into a buffer.
+     *
+     * @param data      The samples.
+     * @param offset    The index of the first sample.
+     * @param numElems  The number of samples.
+     * @param byteOrder The byte order of the buffer.
+     * @return the flipped buffer.
+     */
+    public static ByteBuffer toBuffer(final ProductData data, final int offset, final int numElems,
+                                      final ByteOrder byteOrder) {
+        final Object elems = data.getElems();
+        final ByteBuffer buffer;
+        if (elems instanceof byte[]) {
+            buffer = ByteBuffer.allocate(numElems).order(byteOrder);
+            buffer.put((byte[]) elems, offset, numElems);
+        } else if (elems instanceof short[]) {
+            buffer = ByteBuffer.allocate(numElems * 2).order(byteOrder);
+            buffer.asShortBuffer().put((short[]) elems, offset, numElems);
+        } else if (elems instanceof int[]) {
+            buffer = ByteBuffer.allocate(numElems * 4).order(byteOrder);
+            buffer.asIntBuffer().put((int[]) elems, offset, numElems);
+        } else if (elems instanceof long[]) {
+            buffer = ByteBuffer.allocate(numElems * 8).order(byteOrder);
+            buffer.asLongBuffer().put((long[]) elems, offset, numElems);
+        } else if (elems instanceof float[]) {
+            buffer = ByteBuffer.allocate(numElems * 4).order(byteOrder);
+            buffer.asFloatBuffer().put((float[]) elems, offset, numElems);
+        } else if (elems instanceof double[]) {
+            buffer = ByteBuffer.allocate(numElems * 8).order(byteOrder);
+            buffer.asDoubleBuffer().put((double[]) elems, offset, numElems);
+        } else {
+            throw new IllegalArgumentException("Unsupported data type " + data.getTypeString());
+        }
+        buffer.position(0).limit(buffer.capacity());
+        return buffer;
+    }
+
+    private static final class Writers {
+        private static final AtomicInteger threadCount = new AtomicInteger();
+        private static final ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Config.instance().preferences().getInt(NUM_THREADS_PREFERENCE, 2)),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "sar-write-behind-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
@@ -0,0 +1,99 @@
+package eu.esa.sar.commons;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class DEMPatchCacheTest {
+
+    private static final String DEM_KEY = "SRTM 3Sec/BILINEAR_INTERPOLATION/false/0.0";
+
+    // blocks are identified by their pixel position, i.e. the same geometry for all tiles
+    private static final DEMPatchCache.BlockLocator locator = (x, y, size) -> new long[]{x, y, size};
+
+    private static double height(final int x, final int y) {
+        return 1000.0 * y + x;
+    }
+
+    private static DEMPatchCache.PatchLoader createLoader(final AtomicInteger loadedPixels) {
+        return (x, y, patch) -> {
+            for (int r = 0; r < patch.length; ++r) {
+                for (int c = 0; c < patch[r].length; ++c) {
+                    patch[r][c] = height(x + c, y + r);
+                }
+            }
+            loadedPixels.addAndGet(patch.length * patch[0].length);
+            return true;
+        };
+    }
+
+    // the (h+2) x (w+2) heights of a tile, as filled by DEMFactory.getLocalDEM
+    private static double[][] getLocalDEM(final DEMPatchCache cache, final int x0, final int y0, final int w,
+                                          final int h, final DEMPatchCache.PatchLoader loader) throws Exception {
+        final double[][] localDEM = new double[h + 2][w + 2];
+        assertTrue(cache.getLocalDEM(DEM_KEY, x0 - 1, y0 - 1, localDEM, locator, loader));
+        for (int r = 0; r < h + 2; ++r) {
+            for (int c = 0; c < w + 2; ++c) {
+                assertEquals(height(x0 - 1 + c, y0 - 1 + r), localDEM[r][c], 0.0);
+            }
+        }
+        return localDEM;
+    }
+
+    @Test
+    public void testBlocksAreSharedAcrossTileGrids() throws Exception {
+        final DEMPatchCache cache = new DEMPatchCache(64 * 1024 * 1024);
+        final AtomicInteger loadedPixels = new AtomicInteger();
+        final DEMPatchCache.PatchLoader loader = createLoader(loadedPixels);
+
+        // a 512 x 512 tile covers 4 x 4 whole blocks
+        getLocalDEM(cache, 512, 512, 512, 512, loader);
+        assertEquals(16, cache.getNumBlocks());
+        assertEquals(16, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+
+        // tiles of another operator with a different tiling of the same area hit the blocks
+        loadedPixels.set(0);
+        for (int y0 = 520; y0 < 1000; y0 += 300) {
+            for (int x0 = 520; x0 < 1000; x0 += 300) {
+                getLocalDEM(cache, x0, y0, 300, 300, loader);
+            }
+        }
+        assertEquals(16, cache.getNumBlocks());
+        assertEquals(16, cache.getMissCount());
+        assertEquals(4, cache.getHitCount());
+
+        // only the parts of the tiles around the blocks were resampled
+        assertTrue(loadedPixels.get() < 4 * (302 * 302 - DEMPatchCache.BLOCK_SIZE * DEMPatchCache.BLOCK_SIZE / 2));
+    }
+
+    @Test
+    public void testSmallTilesAreNotCached() throws Exception {
+        final DEMPatchCache cache = new DEMPatchCache(64 * 1024 * 1024);
+        final AtomicInteger loadedPixels = new AtomicInteger();
+
+        getLocalDEM(cache, 10, 10, 100, 100, createLoader(loadedPixels));
+        getLocalDEM(cache, 127, 300, 1, 50, createLoader(loadedPixels));
+        assertEquals(0, cache.getNumBlocks());
+    }
+
+    @Test
+    public void testCacheIsBoundedInBytes() throws Exception {
+        final long blockSize = 64 + DEMPatchCache.BLOCK_SIZE * (16 + 8L * DEMPatchCache.BLOCK_SIZE);
+        final DEMPatchCache cache = new DEMPatchCache(4 * blockSize);
+        final DEMPatchCache.PatchLoader loader = createLoader(new AtomicInteger());
+
+        for (int i = 0; i < 10; ++i) {
+            getLocalDEM(cache, i * 256, 0, 256, 256, loader);
+            assertTrue(cache.getSizeInBytes() <= cache.getMaxSizeInBytes());
+        }
+        assertTrue(cache.getNumBlocks() <= 4);
+        assertTrue(cache.getEvictionCount() > 0);
+
+        cache.clear();
+        assertEquals(0, cache.getNumBlocks());
+        assertEquals(0, cache.getSizeInBytes());
+    }
+}
@@ -0,0 +1,75 @@
+package eu.esa.sar.commons;
+
+import org.esa.snap.core.datamodel.ProductData;
+import org.esa.snap.engine_utilities.datamodel.OrbitStateVector;
+import org.esa.snap.engine_utilities.datamodel.PosVector;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class OrbitStateVectorsTest {
+
+    private static final double firstTime = 7000.0;
+    private static final double vecInterval = 10.0 / 86400.0;
+
+    private static OrbitStateVector[] createLinearOrbit(final int numVectors) {
+        final OrbitStateVector[] vectors = new OrbitStateVector[numVectors];
+        for (int i = 0; i < numVectors; i++) {
+            final double t = firstTime + i * vecInterval;
+            vectors[i] = new OrbitStateVector(new ProductData.UTC(t),
+                    7000000.0 + 100.0 * i, 10.0 * i, -5.0 * i, 7500.0, 1.0, 2.0);
+        }
+        return vectors;
+    }
+
+    @Test
+    public void testPositionVelocityIsCached() {
+        final OrbitStateVectors orbit = new OrbitStateVectors(createLinearOrbit(20));
+
+        final double time = firstTime + 5.5 * vecInterval;
+        final OrbitStateVectors.PositionVelocity pv1 = orbit.getPositionVelocity(time);
+        final OrbitStateVectors.PositionVelocity pv2 = orbit.getPositionVelocity(time);
+
+        assertSame(pv1, pv2);
+        assertEquals(7000550.0, pv1.position.x, 1e-3);
+        assertEquals(55.0, pv1.position.y, 1e-3);
+        assertEquals(7500.0, pv1.velocity.x, 1e-6);
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        final OrbitStateVectors.PositionVelocityCache cache = new OrbitStateVectors.PositionVelocityCache(100);
+        assertEquals(128, cache.capacity());
+
+        final OrbitStateVectors.PositionVelocity pv = new OrbitStateVectors.PositionVelocity();
+        for (int i = 0; i < 10000; i++) {
+            cache.put(firstTime + i, pv);
+        }
+        assertSame(pv, cache.get(firstTime + 9999));
+        assertNull(cache.get(firstTime - 1.0));
+        assertEquals(128, cache.capacity());
+    }
+
+    @Test
+    public void testLineTable() {
+        final int height = 50;
+        final double lineTimeInterval = 0.002 / 86400.0;
+        final double firstLineUTC = firstTime + 3 * vecInterval;
+        final OrbitStateVectors orbit = new OrbitStateVectors(createLinearOrbit(20), firstLineUTC,
+                lineTimeInterval, height);
+
+        final PosVector position = new PosVector();
+        final PosVector velocity = new PosVector();
+        for (int line = 0; line < height; line += 7) {
+            orbit.getLinePositionVelocity(line, position, velocity);
+            assertEquals(orbit.sensorPosition[line].x, position.x, 0.0);
+            assertEquals(orbit.sensorPosition[line].y, position.y, 0.0);
+            assertEquals(orbit.sensorPosition[line].z, position.z, 0.0);
+            assertEquals(orbit.sensorVelocity[line].x, velocity.x, 0.0);
+
+            final OrbitStateVectors.PositionVelocity pv =
+                    orbit.getPositionVelocity(firstLineUTC + line * lineTimeInterval);
+            assertEquals(pv.position.x, position.x, 1e-6);
+        }
+    }
+}
@@ -1,8 +1,20 @@
 package eu.esa.sar.commons;
 
 import com.bc.ceres.annotation.STTM;
+import org.esa.snap.core.datamodel.CrsGeoCoding;
+import org.esa.snap.core.datamodel.GeoPos;
+import org.esa.snap.core.datamodel.Product;
+import org.esa.snap.core.datamodel.ProductData;
+import org.esa.snap.engine_utilities.datamodel.OrbitStateVector;
+import org.esa.snap.engine_utilities.datamodel.PosVector;
+import org.esa.snap.engine_utilities.eo.GeoUtils;
+import org.esa.snap.engine_utilities.eo.LocalGeometry;
+import org.esa.snap.engine_utilities.gpf.TileGeoreferencing;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeTrue;
 
 public class SARGeocodingTest {
@@ -26,4 +38,138 @@ public class SARGeocodingTest {
 
     assumeTrue(Math.abs(groundRange - groundRangeExp) <= 1e-3);
   }
+
+  @Test
+  public void testWarmStartedZeroDopplerTime() {
+
+    // sensor flying along y at 7.5 km/s, state vectors every 10 s
+    final double firstTime = 7000.0;
+    final double secondsInDay = 86400.0;
+    final OrbitStateVector[] vectors = new OrbitStateVector[30];
+    for (int i = 0; i < vectors.length; i++) {
+      vectors[i] = new OrbitStateVector(new ProductData.UTC(firstTime + i * 10.0 / secondsInDay),
+              7000000.0, 7500.0 * i * 10.0, 0.0, 0.0, 7500.0, 0.0);
+    }
+
+    final double lineTimeInterval = 0.01 / secondsInDay;
+    final double firstLineUTC = firstTime + 20.0 / secondsInDay;
+    final int numLines = 20000;
+    final double wavelength = 0.055;
+    final OrbitStateVectors orbit = new OrbitStateVectors(vectors, firstLineUTC, lineTimeInterval, numLines);
+
+    final PosVector[] earthPoints = new PosVector[50];
+    // off the state vector times, where the orbit scan would see a zero Doppler frequency
+    for (int i = 0; i < earthPoints.length; i++) {
+      earthPoints[i] = new PosVector(6400000.0, 7500.0 * (50.05 + i * 0.3), 1000.0);
+    }
+
+    final double[] times = new double[earthPoints.length];
+    SARGeocoding.getEarthPointZeroDopplerTimes(firstLineUTC, lineTimeInterval, wavelength, earthPoints,
+            orbit.sensorPosition, orbit.sensorVelocity, times);
+
+    final double[] orbitTimes = new double[earthPoints.length];
+    SARGeocoding.getZeroDopplerTimes(lineTimeInterval, wavelength, earthPoints, orbit, orbitTimes);
+
+    // each point is seeded with the solution of the previous one
+    final PosVector sensorPosition = new PosVector();
+    final PosVector sensorVelocity = new PosVector();
+    double seed = SARGeocoding.NonValidZeroDopplerTime;
+    double orbitSeed = SARGeocoding.NonValidZeroDopplerTime;
+    for (int i = 0; i < earthPoints.length; i++) {
+      final double expected = firstTime + (50.05 + i * 0.3) / secondsInDay;
+      final double coldStart = SARGeocoding.getEarthPointZeroDopplerTime(firstLineUTC, lineTimeInterval,
+              wavelength, earthPoints[i], orbit.sensorPosition, orbit.sensorVelocity);
+      final double time = SARGeocoding.getEarthPointZeroDopplerTime(firstLineUTC, lineTimeInterval,
+              wavelength, earthPoints[i], orbit.sensorPosition, orbit.sensorVelocity, seed);
+      final double orbitTime = SARGeocoding.getZeroDopplerTime(lineTimeInterval, wavelength, earthPoints[i],
+              orbit, orbitSeed, sensorPosition, sensorVelocity);
+
+      assertEquals(expected * secondsInDay, time * secondsInDay, 1e-4);
+      assertEquals(coldStart * secondsInDay, time * secondsInDay, 1e-4);
+      assertEquals(expected * secondsInDay, orbitTime * secondsInDay, 1e-4);
+      assertEquals(time * secondsInDay, times[i] * secondsInDay, 1e-9);
+      assertEquals(orbitTime * secondsInDay, orbitTimes[i] * secondsInDay, 1e-9);
+      seed = time;
+      orbitSeed = orbitTime;
+    }
+
+    // a seed outside the orbit falls back to the full search
+    final double t = SARGeocoding.getZeroDopplerTime(lineTimeInterval, wavelength, earthPoints[0], orbit,
+            firstTime - 1.0, sensorPosition, sensorVelocity);
+    assertEquals(firstTime * secondsInDay + 50.05, t * secondsInDay, 1e-4);
+  }
+
+  @Test
+  public void testAllocationFreeLocalIncidenceAngle() throws Exception {
+
+    // 0.0002 degree pixels, about 15 m in longitude and 22 m in latitude
+    final int width = 20, height = 20;
+    final Product product = new Product("test", "GRD", width, height);
+    product.setSceneGeoCoding(new CrsGeoCoding(DefaultGeographicCRS.WGS84, width, height,
+            10.0, 46.0, 0.0002, 0.0002));
+
+    final int x0 = 5, y0 = 5, w = 8, h = 8;
+    final TileGeoreferencing tileGeoRef = new TileGeoreferencing(product, x0 - 1, y0 - 1, w + 2, h + 2);
+    final double demNoDataValue = -32768.0;
+
+    // flat terrain, gentle slopes, and slopes facing towards and away from the sensor steep enough for
+    // layover and shadow, with the sensor on either side of the scene
+    final double[][] slopes = {{0, 0}, {5, 0}, {-5, 0}, {0, 10}, {5, -10}, {60, 0}, {-60, 0}, {60, 60}};
+    final double[] sensorLonOffsets = {-5.0, 5.0};
+
+    final double[] expected = new double[2];
+    final double[] actual = new double[2];
+    final SARGeocoding.LocalGeometryScratch scratch = new SARGeocoding.LocalGeometryScratch();
+    final GeoPos geo = new GeoPos();
+    boolean shadowed = false;
+    for (double sensorLonOffset : sensorLonOffsets) {
+      final PosVector sensorPos = new PosVector();
+      GeoUtils.geo2xyzWGS84(46.0, 10.0 + sensorLonOffset, 700000.0, sensorPos);
+
+      for (double[] slope : slopes) {
+        final double[][] localDEM = new double[h + 2][w + 2];
+        for (int i = 0; i < h + 2; i++) {
+          for (int j = 0; j < w + 2; j++) {
+            localDEM[i][j] = 500.0 + slope[0] * j + slope[1] * i;
+          }
+        }
+
+        for (int y = y0; y < y0 + h; y++) {
+          for (int x = x0; x < x0 + w; x++) {
+            final PosVector earthPoint = new PosVector();
+            tileGeoRef.getGeoPos(x, y, geo);
+            GeoUtils.geo2xyzWGS84(geo.lat, geo.lon, localDEM[y - y0 + 1][x - x0 + 1], earthPoint);
+
+            expected[0] = expected[1] = SARGeocoding.NonValidIncidenceAngle;
+            actual[0] = actual[1] = SARGeocoding.NonValidIncidenceAngle;
+            final LocalGeometry localGeometry = new LocalGeometry(x, y, tileGeoRef, earthPoint, sensorPos);
+            SARGeocoding.computeLocalIncidenceAngle(localGeometry, demNoDataValue, true, true, false,
+                    x0, y0, x, y, localDEM, expected);
+            SARGeocoding.computeLocalIncidenceAngle(x0, y0, x, y, tileGeoRef, earthPoint, sensorPos,
+                    demNoDataValue, true, true, false, localDEM, actual, scratch);
+
+            assertEquals(expected[0], actual[0], 1e-9);
+            assertEquals(expected[1], actual[1], 1e-9);
+            shadowed |= expected[0] > 90.0;
+          }
+        }
+      }
+    }
+    // the back slopes turn the ground normal away from the sensor
+    assertTrue(shadowed);
+
+    // a no-data post in the 3x3 neighbourhood leaves the angles unset in both
+    final double[][] localDEM = new double[h + 2][w + 2];
+    localDEM[3][4] = demNoDataValue;
+    final PosVector sensorPos = new PosVector();
+    GeoUtils.geo2xyzWGS84(46.0, 5.0, 700000.0, sensorPos);
+    final PosVector earthPoint = new PosVector();
+    tileGeoRef.getGeoPos(x0 + 3, y0 + 2, geo);
+    GeoUtils.geo2xyzWGS84(geo.lat, geo.lon, 0.0, earthPoint);
+    actual[0] = actual[1] = SARGeocoding.NonValidIncidenceAngle;
+    SARGeocoding.computeLocalIncidenceAngle(x0, y0, x0 + 3, y0 + 2, tileGeoRef, earthPoint, sensorPos,
+            demNoDataValue, true, true, false, localDEM, actual, scratch);
+    assertEquals(SARGeocoding.NonValidIncidenceAngle, actual[0], 0.0);
+    assertEquals(SARGeocoding.NonValidIncidenceAngle, actual[1], 0.0);
+  }
 }
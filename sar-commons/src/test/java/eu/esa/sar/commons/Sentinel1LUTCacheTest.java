@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.commons;
+
+import org.esa.snap.core.datamodel.Product;
+import org.esa.snap.core.datamodel.ProductData;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for the shared Sentinel-1 calibration and noise LUTs.
+ */
+public class Sentinel1LUTCacheTest {
+
+    private static final double FIRST_LINE_TIME = 7000.0;
+    private static final double LINE_TIME_INTERVAL = 0.002 / 86400.0;
+    private static final int NUM_LINES = 1000;
+
+    private static final int[] LINES = {-50, 400, 850, 1300};
+    private static final int[][] PIXELS = {
+            {0, 40, 80, 120, 159}, {0, 40, 80, 120, 159}, {0, 40, 80, 120, 159}, {0, 40, 80, 120, 159}};
+    private static final float[][] VALUES = {
+            {500f, 510f, 530f, 560f, 600f}, {501f, 512f, 533f, 564f, 605f},
+            {502f, 514f, 536f, 568f, 610f}, {503f, 516f, 539f, 572f, 615f}};
+
+    private static double[] getTimes() {
+        final double[] times = new double[LINES.length];
+        for (int i = 0; i < LINES.length; ++i) {
+            times[i] = FIRST_LINE_TIME + LINES[i] * LINE_TIME_INTERVAL;
+        }
+        return times;
+    }
+
+    // bilinear interpolation of the vectors around a line, as done per pixel before the LUTs were shared
+    private static double expected(final int y, final int x) {
+        int vecIdx = LINES.length - 2;
+        for (int i = 1; i < LINES.length; ++i) {
+            if (y < LINES[i]) {
+                vecIdx = i - 1;
+                break;
+            }
+        }
+        final double[] times = getTimes();
+        final double azTime = FIRST_LINE_TIME + y * LINE_TIME_INTERVAL;
+        final double muY = (azTime - times[vecIdx]) / (times[vecIdx + 1] - times[vecIdx]);
+        final int[] pixels = PIXELS[vecIdx];
+        int pixelIdx = pixels.length - 2;
+        for (int i = 1; i < pixels.length; ++i) {
+            if (x < pixels[i]) {
+                pixelIdx = i - 1;
+                break;
+            }
+        }
+        final double muX = (x - pixels[pixelIdx]) / (double) (pixels[pixelIdx + 1] - pixels[pixelIdx]);
+        final float[] v0 = VALUES[vecIdx];
+        final float[] v1 = VALUES[vecIdx + 1];
+        return (1 - muY) * ((1 - muX) * v0[pixelIdx] + muX * v0[pixelIdx + 1]) +
+                muY * ((1 - muX) * v1[pixelIdx] + muX * v1[pixelIdx + 1]);
+    }
+
+    @Test
+    public void testRows() {
+        final Sentinel1LUTCache.VectorLUT lut = new Sentinel1LUTCache.VectorLUT(LINES, getTimes(), PIXELS, VALUES,
+                FIRST_LINE_TIME, LINE_TIME_INTERVAL, NUM_LINES);
+
+        // the last columns are beyond the vectors
+        final int x0 = 100, w = 70;
+        final double[] row = new double[w];
+        for (int y : new int[]{0, 399, 400, 401, 850, 999}) {
+            lut.getRow(y, x0, w, row);
+            for (int x = x0; x < x0 + w; ++x) {
+                assertEquals(expected(y, x), row[x - x0], 0);
+            }
+        }
+    }
+
+    @Test
+    public void testSharedLUT() {
+        final Sentinel1LUTCache cache = new Sentinel1LUTCache(1024 * 1024);
+        final Sentinel1LUTCache.VectorLUT lut = cache.get("S1A/IW/VV/SIGMA0", () -> new Sentinel1LUTCache.VectorLUT(
+                LINES, getTimes(), PIXELS, VALUES, FIRST_LINE_TIME, LINE_TIME_INTERVAL, NUM_LINES));
+        assertSame(lut, cache.get("S1A/IW/VV/SIGMA0", () -> {
+            throw new IllegalStateException("LUT built twice");
+        }));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        // LUTs larger than the cache are not kept
+        final Sentinel1LUTCache smallCache = new Sentinel1LUTCache(16);
+        smallCache.get("S1A/IW/VV/SIGMA0", () -> new Sentinel1LUTCache.VectorLUT(
+                LINES, getTimes(), PIXELS, VALUES, FIRST_LINE_TIME, LINE_TIME_INTERVAL, NUM_LINES));
+        assertEquals(0, smallCache.getNumLUTs());
+    }
+
+    private static Sentinel1Utils.NoiseVector[] createNoiseVectors(final float[][] values) {
+        final double[] times = getTimes();
+        final Sentinel1Utils.NoiseVector[] vectors = new Sentinel1Utils.NoiseVector[LINES.length];
+        for (int i = 0; i < LINES.length; ++i) {
+            vectors[i] = new Sentinel1Utils.NoiseVector(new ProductData.UTC(times[i]), LINES[i], PIXELS[i], values[i]);
+        }
+        return vectors;
+    }
+
+    @Test
+    public void testVectorValuesAreKeyed() {
+        final Sentinel1LUTCache cache = new Sentinel1LUTCache(1024 * 1024);
+        final Product product = new Product("S1A_IW_GRDH", "GRD", 160, NUM_LINES);
+
+        final Sentinel1Utils.NoiseVector[] vectors = createNoiseVectors(VALUES);
+        final Sentinel1LUTCache.VectorLUT lut = cache.getNoiseLUT(product, "IW", "VV", vectors,
+                FIRST_LINE_TIME, LINE_TIME_INTERVAL, NUM_LINES);
+        assertSame(lut, cache.getNoiseLUT(product, "IW", "VV", createNoiseVectors(VALUES),
+                FIRST_LINE_TIME, LINE_TIME_INTERVAL, NUM_LINES));
+
+        // vectors at the same lines and pixels with another value within the vector
+        final float[][] otherValues = new float[VALUES.length][];
+        for (int i = 0; i < VALUES.length; ++i) {
+            otherValues[i] = VALUES[i].clone();
+        }
+        otherValues[1][2] += 1f;
+        final Sentinel1LUTCache.VectorLUT otherLut = cache.getNoiseLUT(product, "IW", "VV",
+                createNoiseVectors(otherValues), FIRST_LINE_TIME, LINE_TIME_INTERVAL, NUM_LINES);
+        assertNotSame(lut, otherLut);
+        assertEquals(2, cache.getNumLUTs());
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.commons.io;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class EnhancedRandomAccessFileTest {
+
+    private static final int numValues = 1000;
+    private static final int headerLength = 3;
+
+    @Test
+    public void testBulkReads() throws IOException {
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            final File file = writeFile(order);
+            // a small buffer so that the arrays span several buffers
+            final EnhancedRandomAccessFile eraf = new EnhancedRandomAccessFile(file, "r", 100);
+            try {
+                eraf.setByteOrder(order);
+                eraf.seek(headerLength);
+
+                final short[] shorts = new short[numValues + 2];
+                eraf.readShort(shorts, 1, numValues);
+                final float[] floats = new float[numValues];
+                eraf.readFloat(floats, 0, numValues);
+                final double[] doubles = new double[numValues];
+                eraf.readDouble(doubles, 0, numValues);
+
+                for (int i = 0; i < numValues; ++i) {
+                    assertEquals(shortValue(i), shorts[i + 1]);
+                    assertEquals(floatValue(i), floats[i], 0);
+                    assertEquals(doubleValue(i), doubles[i], 0);
+                }
+                assertEquals(headerLength + numValues * 14L, eraf.getFilePointer());
+            } finally {
+                eraf.close();
+                file.delete();
+            }
+        }
+    }
+
+    @Test
+    public void testPositionalReads() throws IOException {
+        final File file = writeFile(ByteOrder.BIG_ENDIAN);
+        final EnhancedRandomAccessFile eraf = new EnhancedRandomAccessFile(file, "r", 100);
+        try {
+            eraf.setByteOrder(ByteOrder.BIG_ENDIAN);
+            eraf.seek(7);
+
+            final int offset = 10;
+            final float[] floats = new float[numValues - offset];
+            eraf.readFloat(headerLength + numValues * 2L + offset * 4L, floats, 0, floats.length);
+            final short[] shorts = new short[numValues];
+            eraf.readShort(headerLength, shorts, 0, numValues);
+
+            for (int i = 0; i < floats.length; ++i) {
+                assertEquals(floatValue(i + offset), floats[i], 0);
+            }
+            for (int i = 0; i < numValues; ++i) {
+                assertEquals(shortValue(i), shorts[i]);
+            }
+            // the file pointer is not moved
+            assertEquals(7, eraf.getFilePointer());
+        } finally {
+            eraf.close();
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testInterruptedPositionalRead() throws Exception {
+        final File file = writeFile(ByteOrder.BIG_ENDIAN);
+        final EnhancedRandomAccessFile eraf = new EnhancedRandomAccessFile(file, "r", 100);
+        try {
+            eraf.setByteOrder(ByteOrder.BIG_ENDIAN);
+
+            final AtomicReference<IOException> failure = new AtomicReference<>();
+            final Thread thread = new Thread(() -> {
+                Thread.currentThread().interrupt();
+                try {
+                    eraf.readShort(headerLength, new short[10], 0, 10);
+                } catch (IOException e) {
+                    failure.set(e);
+                }
+            });
+            thread.start();
+            thread.join();
+            assertTrue(failure.get() instanceof ClosedByInterruptException);
+
+            // neither the positional nor the buffered reads of the other threads are closed
+            final short[] shorts = new short[numValues];
+            eraf.readShort(headerLength, shorts, 0, numValues);
+            eraf.seek(headerLength);
+            for (int i = 0; i < numValues; ++i) {
+                assertEquals(shortValue(i), shorts[i]);
+                assertEquals(shortValue(i), eraf.readShort());
+            }
+        } finally {
+            eraf.close();
+            file.delete();
+        }
+    }
+
+    private static short shortValue(final int i) {
+        return (short) (i * 31 - 7000);
+    }
+
+    private static float floatValue(final int i) {
+        return i * 0.5f - 3.25f;
+    }
+
+    private static double doubleValue(final int i) {
+        return i * 1.0e-3 + 1.0e6;
+    }
+
+    private static File writeFile(final ByteOrder order) throws IOException {
+        final ByteBuffer buf = ByteBuffer.allocate(headerLength + numValues * 14).order(order);
+        buf.put(new byte[headerLength]);
+        for (int i = 0; i < numValues; ++i) {
+            buf.putShort(shortValue(i));
+        }
+        for (int i = 0; i < numValues; ++i) {
+            buf.putFloat(floatValue(i));
+        }
+        for (int i = 0; i < numValues; ++i) {
+            buf.putDouble(doubleValue(i));
+        }
+        final File file = File.createTempFile("eraf", ".dat");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(buf.array());
+        }
+        return file;
+    }
+}
@@ -1,12 +1,22 @@
 package eu.esa.sar.commons.io;
 
 import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import javax.imageio.ImageIO;
 import javax.imageio.stream.FileCacheImageInputStream;
 import javax.imageio.stream.ImageInputStream;
 
+import org.esa.snap.core.datamodel.ProductData;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -18,4 +28,121 @@ public class ImageIOFileTest {
       Assert.assertTrue("For large files we expect a FileCacheImageInputStream", imageInputStream instanceof FileCacheImageInputStream);
     }
   }
+
+  @Test
+  public void bandInterleavedRegionsAreCachedUntilClose() throws IOException {
+    final int w = 40, h = 30;
+    final File file = createRGBImageFile(w, h);
+
+    final DataCache cache = DataCache.instance();
+    final long numBlocks = cache.size();
+    final ImageIOFile img = new ImageIOFile(file, ImageIOFile.getIIOReader(file), file);
+    try {
+      final long hitCount = cache.getHitCount();
+      // the bands share the decoded region
+      for (int band = 0; band < 2; ++band) {
+        final ProductData buffer = ProductData.createInstance(new int[10 * 5]);
+        img.readImageIORasterBand(0, 0, 1, 1, buffer, 0, 0, 10, 5, 0, band);
+        Assert.assertEquals(0, buffer.getElemIntAt(0));
+        Assert.assertEquals(band == 0 ? 9 : 4, buffer.getElemIntAt(49));
+      }
+      Assert.assertEquals(numBlocks + 1, cache.size());
+      Assert.assertEquals(hitCount + 1, cache.getHitCount());
+    } finally {
+      img.close();
+    }
+    // the regions of a closed file are removed from the cache
+    Assert.assertEquals(numBlocks, cache.size());
+  }
+
+  @Test
+  public void singleBandRegionsAreNotCached() throws IOException {
+    final int w = 40, h = 30;
+    final File file = createImageFile(w, h);
+
+    final DataCache cache = DataCache.instance();
+    final long numBlocks = cache.size();
+    final ImageIOFile img = new ImageIOFile(file, ImageIOFile.getIIOReader(file), file);
+    try {
+      final ProductData buffer = ProductData.createInstance(new int[10 * 5]);
+      img.readImageIORasterBand(0, 0, 1, 1, buffer, 0, 0, 10, 5, 0, 0);
+      Assert.assertEquals(4 * w + 9, buffer.getElemIntAt(49));
+      Assert.assertEquals(numBlocks, cache.size());
+    } finally {
+      img.close();
+    }
+  }
+
+  @Test
+  public void pooledReadersAreResizedWhileInUse() throws Exception {
+    final int w = 16, h = 16;
+    final File file = createImageFile(w, h);
+    final ImageIOFile img = new ImageIOFile(file, ImageIOFile.getIIOReader(file), file);
+    img.setImageFile(file);
+    img.setReaderPoolSize(3);
+
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      // regions of different sizes, decoded by the pooled readers while the pool is resized
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int height = 1; height <= h; ++height) {
+        for (int width = 1; width <= w; width += 3) {
+          final int rw = width, rh = height;
+          futures.add(executor.submit(() -> {
+            final ProductData buffer = ProductData.createInstance(new int[rw * rh]);
+            img.readImageIORasterBand(0, 0, 1, 1, buffer, 0, 0, rw, rh, 0, 0);
+            Assert.assertEquals((rh - 1) * w + rw - 1, buffer.getElemIntAt(rw * rh - 1));
+            return null;
+          }));
+          if (futures.size() % 16 == 0) {
+            img.setReaderPoolSize(futures.size() % 32 == 0 ? 2 : 1);
+          }
+        }
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+      img.close();
+    }
+
+    // reads of a closed file fail instead of using disposed readers
+    try {
+      img.readImageIORasterBand(0, 0, 1, 1, ProductData.createInstance(new int[4]), 0, 0, 2, 2, 0, 0);
+      Assert.fail("read after close");
+    } catch (IOException expected) {
+      // expected
+    }
+  }
+
+  private static File createImageFile(final int w, final int h) throws IOException {
+    final BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_USHORT_GRAY);
+    final WritableRaster raster = image.getRaster();
+    for (int y = 0; y < h; ++y) {
+      for (int x = 0; x < w; ++x) {
+        raster.setSample(x, y, 0, y * w + x);
+      }
+    }
+    final File file = File.createTempFile("ImageIOFileTest", ".png");
+    file.deleteOnExit();
+    Assert.assertTrue(ImageIO.write(image, "png", file));
+    return file;
+  }
+
+  private static File createRGBImageFile(final int w, final int h) throws IOException {
+    final BufferedImage image = new BufferedImage(w, h, BufferedImage.TYPE_3BYTE_BGR);
+    final WritableRaster raster = image.getRaster();
+    for (int y = 0; y < h; ++y) {
+      for (int x = 0; x < w; ++x) {
+        raster.setSample(x, y, 0, x);
+        raster.setSample(x, y, 1, y);
+        raster.setSample(x, y, 2, x + y);
+      }
+    }
+    final File file = File.createTempFile("ImageIOFileTest", ".png");
+    file.deleteOnExit();
+    Assert.assertTrue(ImageIO.write(image, "png", file));
+    return file;
+  }
 }
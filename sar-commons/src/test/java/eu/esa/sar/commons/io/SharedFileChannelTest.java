@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.commons.io;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class SharedFileChannelTest {
+
+    @Test
+    public void testReadAfterInterruptedRead() throws Exception {
+        final File file = File.createTempFile("sharedChannel", ".raw");
+        try {
+            final byte[] content = new byte[1000];
+            for (int i = 0; i < content.length; ++i) {
+                content[i] = (byte) i;
+            }
+            Files.write(file.toPath(), content);
+
+            try (SharedFileChannel channel = new SharedFileChannel(file.toPath(), StandardOpenOption.READ)) {
+                // an interrupted reader closes the underlying channel
+                final AtomicReference<Exception> failure = new AtomicReference<>();
+                final Thread thread = new Thread(() -> {
+                    Thread.currentThread().interrupt();
+                    try {
+                        channel.readFully(ByteBuffer.allocate(10), 0);
+                    } catch (Exception e) {
+                        failure.set(e);
+                    }
+                });
+                thread.start();
+                thread.join();
+                assertTrue(String.valueOf(failure.get()), failure.get() instanceof ClosedByInterruptException);
+
+                final ByteBuffer buffer = ByteBuffer.allocate(100);
+                channel.readFully(buffer, 500);
+                for (int i = 0; i < buffer.capacity(); ++i) {
+                    assertEquals(content[500 + i], buffer.get(i));
+                }
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = ClosedChannelException.class)
+    public void testReadAfterClose() throws Exception {
+        final File file = File.createTempFile("sharedChannel", ".raw");
+        try {
+            final SharedFileChannel channel = new SharedFileChannel(file.toPath(), StandardOpenOption.READ);
+            channel.close();
+            channel.read(ByteBuffer.allocate(10), 0);
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.commons.io;
+
+import org.junit.Test;
+
+import java.awt.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for the shared raster block cache.
+ */
+public class TestDataCache {
+
+    private static DataCache.DataKey createKey(final int x, final int step) {
+        return new DataCache.DataKey(null, new Rectangle(x, 0, 100, 100), step, step, 0, 0, 0);
+    }
+
+    @Test
+    public void testCacheIsBoundedInBytes() throws Exception {
+        final int blockSize = 64 + 4 * 100 * 100;
+        final DataCache cache = new DataCache(5L * blockSize);
+
+        for (int i = 0; i < 20; ++i) {
+            cache.get(createKey(i * 100, 1), () -> new DataCache.Data(new int[100 * 100]));
+            assertTrue(cache.getSizeInBytes() <= cache.getMaxSizeInBytes());
+        }
+        assertTrue(cache.getEvictionCount() >= 15);
+        assertEquals(20, cache.getMissCount());
+    }
+
+    @Test
+    public void testKeysAreRectangleAware() throws Exception {
+        final DataCache cache = new DataCache(1024 * 1024);
+        final AtomicInteger loads = new AtomicInteger();
+        final DataCache.Loader loader = () -> new DataCache.Data(new int[]{loads.incrementAndGet()});
+
+        assertEquals(1, cache.get(createKey(0, 1), loader).intArray[0]);
+        assertEquals(2, cache.get(createKey(100, 1), loader).intArray[0]);
+        assertEquals(3, cache.get(createKey(0, 2), loader).intArray[0]);
+        assertEquals(1, cache.get(createKey(0, 1), loader).intArray[0]);
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testConcurrentRequestsLoadOnce() throws Exception {
+        final DataCache cache = new DataCache(1024 * 1024);
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final DataCache.Loader loader = () -> {
+            loads.incrementAndGet();
+            Thread.sleep(100);
+            return new DataCache.Data(new int[10]);
+        };
+
+        final Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; ++i) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                    cache.get(createKey(0, 1), loader);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.commons.io;
+
+import org.esa.snap.core.datamodel.ProductData;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class WriteBehindFileTest {
+
+    private static final int width = 64, height = 48, tileSize = 16;
+
+    @Test
+    public void testConcurrentTileWrites() throws Exception {
+        final File file = File.createTempFile("writeBehind", ".img");
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            // a queue smaller than a tile so that writers wait for the disk
+            final WriteBehindFile outputFile = new WriteBehindFile(file, ByteOrder.BIG_ENDIAN, executor, 100);
+            assertTrue(outputFile.isWriteBehind());
+
+            final Thread[] threads = new Thread[height / tileSize];
+            for (int t = 0; t < threads.length; ++t) {
+                final int y0 = t * tileSize;
+                threads[t] = new Thread(() -> {
+                    try {
+                        for (int x0 = 0; x0 < width; x0 += tileSize) {
+                            final ByteBuffer buffer = outputFile.allocate(tileSize * tileSize * 4);
+                            for (int y = y0; y < y0 + tileSize; ++y) {
+                                for (int x = x0; x < x0 + tileSize; ++x) {
+                                    buffer.putFloat(value(x, y));
+                                }
+                            }
+                            buffer.flip();
+                            outputFile.write(buffer, 4L * (y0 * width + x0), tileSize * 4, 4L * width);
+                        }
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            outputFile.close();
+
+            final ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            assertEquals(width * height * 4, content.capacity());
+            for (int y = 0; y < height; ++y) {
+                for (int x = 0; x < width; ++x) {
+                    assertEquals(value(x, y), content.getFloat(4 * (y * width + x)), 0);
+                }
+            }
+        } finally {
+            executor.shutdown();
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testSynchronousProductDataWrite() throws Exception {
+        final File file = File.createTempFile("writeBehind", ".img");
+        try {
+            final ProductData data = ProductData.createInstance(new short[]{1, 2, 3, 4, 5, 6});
+            try (WriteBehindFile outputFile = new WriteBehindFile(file, ByteOrder.LITTLE_ENDIAN, null, 0)) {
+                assertFalse(outputFile.isWriteBehind());
+                // a 3x2 tile at x = 1, y = 1 in a raster 5 samples wide
+                outputFile.write(data, 3, 2, 2 * (5 + 1), 2 * 5);
+            }
+
+            final ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file.toPath())).order(ByteOrder.LITTLE_ENDIAN);
+            assertEquals(2 * 14, content.capacity());
+            assertEquals(0, content.getShort(0));
+            assertEquals(1, content.getShort(2 * 6));
+            assertEquals(3, content.getShort(2 * 8));
+            assertEquals(0, content.getShort(2 * 9));
+            assertEquals(4, content.getShort(2 * 11));
+            assertEquals(6, content.getShort(2 * 13));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testInterruptedSynchronousWrite() throws Exception {
+        final File file = File.createTempFile("writeBehind", ".img");
+        try {
+            try (WriteBehindFile outputFile = new WriteBehindFile(file, ByteOrder.LITTLE_ENDIAN, null, 0)) {
+                final AtomicReference<IOException> failure = new AtomicReference<>();
+                final Thread thread = new Thread(() -> {
+                    Thread.currentThread().interrupt();
+                    try {
+                        outputFile.write(ProductData.createInstance(new short[]{7, 8}), 2, 1, 0, 2 * 2);
+                    } catch (IOException e) {
+                        failure.set(e);
+                    }
+                });
+                thread.start();
+                thread.join();
+                assertTrue(failure.get() instanceof ClosedByInterruptException);
+
+                // the tiles of the other threads are still written
+                outputFile.write(ProductData.createInstance(new short[]{5, 6}), 2, 1, 2 * 2, 2 * 2);
+            }
+
+            final ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file.toPath())).order(ByteOrder.LITTLE_ENDIAN);
+            assertEquals(2 * 4, content.capacity());
+            assertEquals(5, content.getShort(2 * 2));
+            assertEquals(6, content.getShort(2 * 3));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testEmptyTileWrite() throws Exception {
+        final File file = File.createTempFile("writeBehind", ".img");
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            try (WriteBehindFile outputFile = new WriteBehindFile(file, ByteOrder.LITTLE_ENDIAN, executor, 1024)) {
+                outputFile.write(ProductData.createInstance(new short[0]), 3, 0, 0, 2 * 5);
+                outputFile.write(ProductData.createInstance(new short[0]), 0, 2, 0, 2 * 5);
+                outputFile.write(outputFile.allocate(0), 0, 0, 2 * 5);
+            }
+            assertEquals(0, file.length());
+        } finally {
+            executor.shutdown();
+            file.delete();
+        }
+    }
+
+    private static float value(final int x, final int y) {
+        return y * 1000 + x + 0.5f;
+    }
+}
@@ -42,6 +42,21 @@ public interface OrbitFile {
      */
     Orbits.OrbitVector getOrbitData(final double utc) throws Exception;
 
+    /**
+     * Get orbit information for given times.
+     *
+     * @param utc The UTC in days of every vector.
+     * @return The orbit information.
+     * @throws Exception The exceptions.
+     */
+    default Orbits.OrbitVector[] getOrbitData(final double[] utc) throws Exception {
+        final Orbits.OrbitVector[] orbitData = new Orbits.OrbitVector[utc.length];
+        for (int i = 0; i < utc.length; i++) {
+            orbitData[i] = getOrbitData(utc[i]);
+        }
+        return orbitData;
+    }
+
     /**
      * Get the orbit file used
      *
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.orbits.io;
+
+import Jama.Matrix;
+import org.esa.snap.engine_utilities.datamodel.Orbits;
+import org.esa.snap.engine_utilities.util.Maths;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Piecewise polynomial interpolation of orbit state vectors.
+ * <p>
+ * The state vector at a time is interpolated with a polynomial fitted to the polyDegree + 1 vectors around the
+ * time. The polynomial of every window of vectors is fitted once, on first use, so that an interpolation is a window
+ * lookup followed by the evaluation of the position and velocity polynomials.
+ */
+public final class OrbitPolynomials {
+
+    private static final int NUM_COMPONENTS = 6;
+
+    private final double[] times;
+    private final double[][] values;
+    private final int polyDegree;
+    private final int numVecPolyFit;
+    private final double t0, tN;
+    private final AtomicReferenceArray<double[]> coefficients;
+
+    /**
+     * @param osvList    The state vectors sorted by time.
+     * @param polyDegree The degree of the polynomials.
+     */
+    public OrbitPolynomials(final List<Orbits.OrbitVector> osvList, final int polyDegree) {
+        final int numVectors = osvList.size();
+        if (numVectors < polyDegree + 1) {
+            throw new IllegalArgumentException("At least " + (polyDegree + 1) + " state vectors are needed");
+        }
+        this.polyDegree = polyDegree;
+        this.numVecPolyFit = polyDegree + 1;
+        this.t0 = osvList.get(0).utcMJD;
+        this.tN = osvList.get(numVectors - 1).utcMJD;
+
+        times = new double[numVectors];
+        values = new double[numVectors][];
+        for (int i = 0; i < numVectors; i++) {
+            final Orbits.OrbitVector osv = osvList.get(i);
+            times[i] = osv.utcMJD - t0;
+            values[i] = new double[]{osv.xPos, osv.yPos, osv.zPos, osv.xVel, osv.yVel, osv.zVel};
+        }
+        coefficients = new AtomicReferenceArray<>(numVectors - numVecPolyFit + 1);
+    }
+
+    /**
+     * Get orbit state vector for given time.
+     *
+     * @param utc The UTC in days.
+     * @return The orbit state vector.
+     */
+    public Orbits.OrbitVector getOrbitData(final double utc) {
+        final double[] coeff = getCoefficients(getWindow(utc));
+        final double t = utc - t0;
+        return new Orbits.OrbitVector(utc,
+                evaluate(coeff, 0, t), evaluate(coeff, 1, t), evaluate(coeff, 2, t),
+                evaluate(coeff, 3, t), evaluate(coeff, 4, t), evaluate(coeff, 5, t));
+    }
+
+    /**
+     * Get orbit state vectors for given times.
+     *
+     * @param utc The UTC in days of every vector.
+     * @return The orbit state vectors.
+     */
+    public Orbits.OrbitVector[] getOrbitData(final double[] utc) {
+        final Orbits.OrbitVector[] orbitData = new Orbits.OrbitVector[utc.length];
+        int window = -1;
+        double[] coeff = null;
+        for (int i = 0; i < utc.length; i++) {
+            final int w = getWindow(utc[i]);
+            if (w != window) {
+                window = w;
+                coeff = getCoefficients(w);
+            }
+            final double t = utc[i] - t0;
+            orbitData[i] = new Orbits.OrbitVector(utc[i],
+                    evaluate(coeff, 0, t), evaluate(coeff, 1, t), evaluate(coeff, 2, t),
+                    evaluate(coeff, 3, t), evaluate(coeff, 4, t), evaluate(coeff, 5, t));
+        }
+        return orbitData;
+    }
+
+    /**
+     * @return the index of the first vector of the window centred on the time.
+     */
+    private int getWindow(final double utc) {
+        final int numVectors = times.length;
+        final int vecIdx = (int) ((utc - t0) / (tN - t0) * (numVectors - 1));
+        final int start = vecIdx - numVecPolyFit / 2 + 1;
+        return Math.max(0, Math.min(start, numVectors - numVecPolyFit));
+    }
+
+    private double[] getCoefficients(final int window) {
+        double[] coeff = coefficients.get(window);
+        if (coeff == null) {
+            coeff = fit(window);
+            coefficients.set(window, coeff);
+        }
+        return coeff;
+    }
+
+    /**
+     * @return the coefficients of the polynomials of all components, in increasing degree.
+     */
+    private double[] fit(final int window) {
+        final double[] timeArray = new double[numVecPolyFit];
+        final double[][] valueArray = new double[numVecPolyFit][];
+        for (int i = 0; i < numVecPolyFit; i++) {
+            timeArray[i] = times[window + i];
+            valueArray[i] = values[window + i];
+        }
+        final Matrix A = Maths.createVandermondeMatrix(timeArray, polyDegree);
+        final Matrix solution = A.solve(new Matrix(valueArray));
+
+        final double[] coeff = new double[NUM_COMPONENTS * numVecPolyFit];
+        for (int c = 0; c < NUM_COMPONENTS; c++) {
+            for (int k = 0; k < numVecPolyFit; k++) {
+                coeff[c * numVecPolyFit + k] = solution.get(k, c);
+            }
+        }
+        return coeff;
+    }
+
+    private double evaluate(final double[] coeff, final int component, final double t) {
+        final int offset = component * numVecPolyFit;
+        double value = coeff[offset + polyDegree];
+        for (int k = polyDegree - 1; k >= 0; k--) {
+            value = value * t + coeff[offset + k];
+        }
+        return value;
+    }
+}
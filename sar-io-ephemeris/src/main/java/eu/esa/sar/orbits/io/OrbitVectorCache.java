@@ -0,0 +1,315 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.orbits.io;
+
+import org.esa.snap.core.util.SystemUtils;
+import org.esa.snap.engine_utilities.datamodel.Orbits;
+import org.esa.snap.runtime.Config;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * On-disk cache of the state vectors parsed from orbit files.
+ * <p>
+ * The state vectors of an orbit file are saved once parsed as a primitive array of the time and the position and
+ * velocity of every vector, preceded by a header holding the attributes read from the orbit file. The cached file is
+ * named after the orbit file and the checksum of its content, so that an orbit file replaced by a new version is
+ * parsed again, and is memory-mapped when loaded. The folder is bounded in size and age: cached files not used for
+ * longer than sar.orbits.vectorCacheAgeDays are deleted, then the least recently used ones beyond
+ * sar.orbits.vectorCacheSizeMB.
+ */
+public final class OrbitVectorCache {
+
+    public static final String ENABLED_PROPERTY = "sar.orbits.vectorCache";
+    public static final String CACHE_SIZE_PROPERTY = "sar.orbits.vectorCacheSizeMB";
+    public static final String CACHE_AGE_PROPERTY = "sar.orbits.vectorCacheAgeDays";
+    private static final long DEFAULT_CACHE_SIZE_MB = 512;
+    private static final long DEFAULT_CACHE_AGE_DAYS = 180;
+
+    private static final int MAGIC = 0x4F535643; // OSVC
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".osv";
+    private static final String TMP_EXTENSION = ".tmp";
+    private static final int VALUES_PER_VECTOR = 7;
+    private static final long MAX_TMP_AGE = TimeUnit.DAYS.toMillis(1);
+
+    private static final OrbitVectorCache instance = new OrbitVectorCache(
+            Config.instance().preferences().getBoolean(ENABLED_PROPERTY, true) ?
+                    new File(SystemUtils.getCacheDir(), "orbits" + File.separator + "vectors") : null);
+
+    private final File cacheDir;
+    private final long maxSizeInBytes;
+    private final long maxAge;
+
+    /**
+     * @param cacheDir The folder of the cached files or null to always parse the orbit files.
+     */
+    OrbitVectorCache(final File cacheDir) {
+        this(cacheDir, Config.instance().preferences().getLong(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE_MB) * 1024L * 1024L,
+                TimeUnit.DAYS.toMillis(Config.instance().preferences().getLong(CACHE_AGE_PROPERTY, DEFAULT_CACHE_AGE_DAYS)));
+    }
+
+    /**
+     * @param cacheDir       The folder of the cached files or null to always parse the orbit files.
+     * @param maxSizeInBytes The maximum size of the cached files in the folder.
+     * @param maxAge         The maximum time in milliseconds a cached file is kept without being used.
+     */
+    OrbitVectorCache(final File cacheDir, final long maxSizeInBytes, final long maxAge) {
+        this.cacheDir = cacheDir;
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.maxAge = maxAge;
+    }
+
+    public static OrbitVectorCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Parses an orbit file.
+     */
+    public interface Parser {
+        Entry parse(File orbitFile) throws Exception;
+    }
+
+    /**
+     * Get the state vectors of an orbit file from the cache or, if not cached yet, from the parser.
+     *
+     * @param orbitFile The orbit file.
+     * @param format    The name of the orbit file format, distinguishing the parsers of the same file.
+     * @param parser    The parser used if the orbit file is not cached.
+     * @return the state vectors and attributes of the orbit file.
+     * @throws Exception if the orbit file cannot be parsed.
+     */
+    public Entry get(final File orbitFile, final String format, final Parser parser) throws Exception {
+        if (cacheDir == null || !orbitFile.isFile()) {
+            return parser.parse(orbitFile);
+        }
+        final long length = orbitFile.length();
+        final long checksum;
+        try {
+            checksum = checksum(orbitFile);
+        } catch (IOException e) {
+            return parser.parse(orbitFile);
+        }
+        final File cacheFile = new File(cacheDir,
+                format + '_' + orbitFile.getName() + '_' + Long.toHexString(checksum) + EXTENSION);
+
+        if (cacheFile.exists()) {
+            try {
+                final Entry entry = load(cacheFile, format, length, checksum);
+                // the modification time orders the cached files by last use
+                cacheFile.setLastModified(System.currentTimeMillis());
+                return entry;
+            } catch (IOException | RuntimeException e) {
+                SystemUtils.LOG.fine("Ignoring cached orbit " + cacheFile + ": " + e.getMessage());
+            }
+        }
+        final Entry entry = parser.parse(orbitFile);
+        save(cacheFile, format, length, checksum, entry);
+        cleanUp();
+        return entry;
+    }
+
+    /**
+     * Delete the temporary files left by failed saves, the cached files not used for longer than the maximum age
+     * and, if the folder is still larger than the maximum size, the least recently used cached files.
+     */
+    void cleanUp() {
+        final long now = System.currentTimeMillis();
+        final File[] tmpFiles = cacheDir.listFiles((d, name) -> name.endsWith(TMP_EXTENSION));
+        if (tmpFiles != null) {
+            for (File file : tmpFiles) {
+                if (now - file.lastModified() > MAX_TMP_AGE) {
+                    file.delete();
+                }
+            }
+        }
+
+        final File[] cacheFiles = cacheDir.listFiles((d, name) -> name.endsWith(EXTENSION));
+        if (cacheFiles == null) {
+            return;
+        }
+        // most recently used first
+        Arrays.sort(cacheFiles, Comparator.comparingLong(File::lastModified).reversed());
+        long totalSize = 0;
+        for (File file : cacheFiles) {
+            totalSize += file.length();
+            if (totalSize > maxSizeInBytes || now - file.lastModified() > maxAge) {
+                if (file.delete()) {
+                    SystemUtils.LOG.fine("Deleted cached orbit " + file.getName());
+                }
+            }
+        }
+    }
+
+    private static long checksum(final File file) throws IOException {
+        final CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final long size = channel.size();
+            for (long pos = 0; pos < size; pos += Integer.MAX_VALUE) {
+                crc.update(channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(Integer.MAX_VALUE, size - pos)));
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static Entry load(final File cacheFile, final String format, final long length, final long checksum)
+            throws IOException {
+        final MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || !format.equals(getString(buffer)) ||
+                    buffer.getLong() != length || buffer.getLong() != checksum) {
+                throw new IOException("header mismatch");
+            }
+            final int numAttributes = buffer.getInt();
+            final Map<String, String> attributes = new LinkedHashMap<>();
+            for (int i = 0; i < numAttributes; ++i) {
+                attributes.put(getString(buffer), getString(buffer));
+            }
+            final int numVectors = buffer.getInt();
+            final DoubleBuffer values = buffer.asDoubleBuffer();
+            if (values.remaining() != (long) numVectors * VALUES_PER_VECTOR) {
+                throw new IOException("truncated file");
+            }
+            final Orbits.OrbitVector[] vectors = new Orbits.OrbitVector[numVectors];
+            for (int i = 0; i < numVectors; ++i) {
+                vectors[i] = new Orbits.OrbitVector(values.get(),
+                        values.get(), values.get(), values.get(),
+                        values.get(), values.get(), values.get());
+            }
+            return new Entry(vectors, attributes);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("truncated file");
+        }
+    }
+
+    private void save(final File cacheFile, final String format, final long length, final long checksum,
+                      final Entry entry) {
+        Path tmpPath = null;
+        try {
+            Files.createDirectories(cacheDir.toPath());
+            tmpPath = Files.createTempFile(cacheDir.toPath(), cacheFile.getName(), TMP_EXTENSION);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpPath)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                putString(out, format);
+                out.writeLong(length);
+                out.writeLong(checksum);
+                out.writeInt(entry.attributes.size());
+                for (Map.Entry<String, String> attribute : entry.attributes.entrySet()) {
+                    putString(out, attribute.getKey());
+                    putString(out, attribute.getValue());
+                }
+                out.writeInt(entry.vectors.length);
+                for (Orbits.OrbitVector osv : entry.vectors) {
+                    out.writeDouble(osv.utcMJD);
+                    out.writeDouble(osv.xPos);
+                    out.writeDouble(osv.yPos);
+                    out.writeDouble(osv.zPos);
+                    out.writeDouble(osv.xVel);
+                    out.writeDouble(osv.yVel);
+                    out.writeDouble(osv.zVel);
+                }
+            }
+            try {
+                Files.move(tmpPath, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpPath, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            SystemUtils.LOG.fine("Unable to cache orbit " + cacheFile + ": " + e.getMessage());
+            if (tmpPath != null) {
+                tmpPath.toFile().delete();
+            }
+        }
+    }
+
+    private static String getString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putString(final DataOutputStream out, final String str) throws IOException {
+        final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * The state vectors of an orbit file, sorted by time, and the attributes read from its header.
+     */
+    public static final class Entry {
+        private final Orbits.OrbitVector[] vectors;
+        private final Map<String, String> attributes;
+
+        /**
+         * @param vectors    The state vectors.
+         * @param attributes The attributes, null values are left out.
+         */
+        public Entry(final List<Orbits.OrbitVector> vectors, final Map<String, String> attributes) {
+            this(vectors.toArray(new Orbits.OrbitVector[0]), new LinkedHashMap<>());
+            for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                if (attribute.getValue() != null) {
+                    this.attributes.put(attribute.getKey(), attribute.getValue());
+                }
+            }
+        }
+
+        private Entry(final Orbits.OrbitVector[] vectors, final Map<String, String> attributes) {
+            this.vectors = vectors;
+            this.attributes = attributes;
+        }
+
+        /**
+         * @return a new list of the state vectors.
+         */
+        public List<Orbits.OrbitVector> getOrbitVectors() {
+            return new ArrayList<>(Arrays.asList(vectors));
+        }
+
+        public Map<String, String> getAttributes() {
+            return Collections.unmodifiableMap(attributes);
+        }
+    }
+}
@@ -15,15 +15,15 @@
  */
 package eu.esa.sar.orbits.io.k5;
 
-import Jama.Matrix;
 import eu.esa.sar.orbits.io.BaseOrbitFile;
 import eu.esa.sar.orbits.io.OrbitFile;
+import eu.esa.sar.orbits.io.OrbitPolynomials;
+import eu.esa.sar.orbits.io.OrbitVectorCache;
 import org.esa.snap.core.datamodel.MetadataElement;
 import org.esa.snap.core.datamodel.ProductData;
 import org.esa.snap.core.util.SystemUtils;
 import org.esa.snap.engine_utilities.datamodel.AbstractMetadata;
 import org.esa.snap.engine_utilities.datamodel.Orbits;
-import org.esa.snap.engine_utilities.util.Maths;
 
 import java.io.*;
 import java.text.DateFormat;
@@ -40,12 +40,14 @@ public class K5OrbitFile extends BaseOrbitFile implements OrbitFile {
 
     public final static String PRECISE = "Kompsat5 Precise";
 
+    private final static String CACHE_FORMAT = "K5SP3";
     private final static String remoteURL = "ftp://aopod-ftp.kasi.re.kr/kompsat5rt/level1b/leoOrb/";
 
     private final int polyDegree;
     private final DateFormat orbitDateFormat = ProductData.UTC.createDateFormat("yyyy-MM-dd HH:mm:ss");
 
     private List<Orbits.OrbitVector> osvList;
+    private OrbitPolynomials polynomials;
 
     public K5OrbitFile(final MetadataElement absRoot, final int polyDegree) {
         super(absRoot);
@@ -75,6 +77,7 @@ public class K5OrbitFile extends BaseOrbitFile implements OrbitFile {
 
         // read content of the orbit file
         osvList = readOrbitFile(orbitFile);
+        polynomials = new OrbitPolynomials(osvList, polyDegree);
 
         return orbitFile;
     }
@@ -161,71 +164,27 @@ public class K5OrbitFile extends BaseOrbitFile implements OrbitFile {
      *
      * @param utc The UTC in days.
      * @return The orbit state vector.
-     * @throws Exception The exceptions.
      */
     public Orbits.OrbitVector getOrbitData(final double utc) {
+        return polynomials.getOrbitData(utc);
+    }
 
-        final int numVectors = osvList.size();
-        final double t0 = osvList.get(0).utcMJD;
-        final double tN = osvList.get(numVectors - 1).utcMJD;
-
-        final int numVecPolyFit = polyDegree + 1; //4;
-        final int halfNumVecPolyFit = numVecPolyFit / 2;
-        final int[] vectorIndices = new int[numVecPolyFit];
-
-        final int vecIdx = (int) ((utc - t0) / (tN - t0) * (numVectors - 1));
-        if (vecIdx <= halfNumVecPolyFit - 1) {
-            for (int i = 0; i < numVecPolyFit; i++) {
-                vectorIndices[i] = i;
-            }
-        } else if (vecIdx >= numVectors - halfNumVecPolyFit) {
-            for (int i = 0; i < numVecPolyFit; i++) {
-                vectorIndices[i] = numVectors - numVecPolyFit + i;
-            }
-        } else {
-            for (int i = 0; i < numVecPolyFit; i++) {
-                vectorIndices[i] = vecIdx - halfNumVecPolyFit + 1 + i;
-            }
-        }
-
-        double[] timeArray = new double[numVecPolyFit];
-        double[] xPosArray = new double[numVecPolyFit];
-        double[] yPosArray = new double[numVecPolyFit];
-        double[] zPosArray = new double[numVecPolyFit];
-        double[] xVelArray = new double[numVecPolyFit];
-        double[] yVelArray = new double[numVecPolyFit];
-        double[] zVelArray = new double[numVecPolyFit];
-
-        for (int i = 0; i < numVecPolyFit; i++) {
-            timeArray[i] = osvList.get(vectorIndices[i]).utcMJD - t0;
-            xPosArray[i] = osvList.get(vectorIndices[i]).xPos;
-            yPosArray[i] = osvList.get(vectorIndices[i]).yPos;
-            zPosArray[i] = osvList.get(vectorIndices[i]).zPos;
-            xVelArray[i] = osvList.get(vectorIndices[i]).xVel;
-            yVelArray[i] = osvList.get(vectorIndices[i]).yVel;
-            zVelArray[i] = osvList.get(vectorIndices[i]).zVel;
-        }
-
-        final Matrix A = Maths.createVandermondeMatrix(timeArray, polyDegree);
-        final double[] xPosCoeff = Maths.polyFit(A, xPosArray);
-        final double[] yPosCoeff = Maths.polyFit(A, yPosArray);
-        final double[] zPosCoeff = Maths.polyFit(A, zPosArray);
-        final double[] xVelCoeff = Maths.polyFit(A, xVelArray);
-        final double[] yVelCoeff = Maths.polyFit(A, yVelArray);
-        final double[] zVelCoeff = Maths.polyFit(A, zVelArray);
-
-        final double normalizedTime = utc - t0;
-
-        return new Orbits.OrbitVector(utc,
-                Maths.polyVal(normalizedTime, xPosCoeff),
-                Maths.polyVal(normalizedTime, yPosCoeff),
-                Maths.polyVal(normalizedTime, zPosCoeff),
-                Maths.polyVal(normalizedTime, xVelCoeff),
-                Maths.polyVal(normalizedTime, yVelCoeff),
-                Maths.polyVal(normalizedTime, zVelCoeff));
+    /**
+     * Get orbit state vectors for given times using polynomial fitting.
+     *
+     * @param utc The UTC in days of every vector.
+     * @return The orbit state vectors.
+     */
+    @Override
+    public Orbits.OrbitVector[] getOrbitData(final double[] utc) {
+        return polynomials.getOrbitData(utc);
     }
 
     private List<Orbits.OrbitVector> readOrbitFile(final File file) throws Exception {
+        return OrbitVectorCache.getInstance().get(file, CACHE_FORMAT, this::parseOrbitFile).getOrbitVectors();
+    }
+
+    private OrbitVectorCache.Entry parseOrbitFile(final File file) throws Exception {
         final List<Orbits.OrbitVector> osvList = new ArrayList<>();
         try (final BufferedReader lineReader = new BufferedReader(new FileReader(file))) {
 
@@ -243,7 +202,7 @@ public class K5OrbitFile extends BaseOrbitFile implements OrbitFile {
                 }
             }
         }
-        return osvList;
+        return new OrbitVectorCache.Entry(osvList, Collections.emptyMap());
     }
 
     private ProductData.UTC parseTime(final String line) throws Exception {
@@ -103,7 +103,7 @@ public class PrareOrbitFile extends BaseOrbitFile {
         }
 
         // read orbit data records in each orbit file
-        prareReader.readOrbitData(orbitFile);
+        prareReader.readOrbitVectors(orbitFile);
 
         return orbitFile;
     }
@@ -15,6 +15,7 @@
  */
 package eu.esa.sar.orbits.io.prare;
 
+import eu.esa.sar.orbits.io.OrbitVectorCache;
 import org.esa.snap.core.datamodel.ProductData;
 import org.esa.snap.core.util.SystemUtils;
 import org.esa.snap.core.util.io.FileUtils;
@@ -29,7 +30,12 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Created by IntelliJ IDEA.
@@ -61,6 +67,10 @@ public final class PrareOrbitReader {
     private static final double microSecondToSecond = 0.000001;
     private static final double secondToDay = 1.0 / (24 * 3600);
 
+    // cached orbit vectors come with the Quality Parameter Records as attributes
+    private static final String CACHE_FORMAT = "PRARE2";
+    private static final String QUALITY_PARAMETER_RECORD = "QualityParameterRecord.";
+
     private static final int interpolationOrder = 8; // this is minima with which we can get required interp smoothness
 
     /**
@@ -237,6 +247,7 @@ public final class PrareOrbitReader {
             recordTimes[i] = utcTime;
         }
 
+        qualityParameterRecords = null;
         if (numOfQualityParameterRecords > 0) {
             qualityParameterRecords = new QualityParameterRecord[numOfQualityParameterRecords];
             for (int j = 0; j < numOfQualityParameterRecords; j++) {
@@ -247,6 +258,61 @@ public final class PrareOrbitReader {
         reader.close();
     }
 
+    /**
+     * Read the orbit vectors and the Quality Parameter Records of the orbit file, from the orbit vector cache if
+     * the file was read before.
+     *
+     * @param file The PRARE orbit file, of which the header is read.
+     * @throws Exception The exceptions.
+     */
+    public void readOrbitVectors(File file) throws Exception {
+
+        final OrbitVectorCache.Entry entry = OrbitVectorCache.getInstance().get(file, CACHE_FORMAT, f -> {
+            readOrbitData(f);
+            return new OrbitVectorCache.Entry(Arrays.asList(orbitVectors), getQualityParameterAttributes());
+        });
+
+        orbitVectors = entry.getOrbitVectors().toArray(new Orbits.OrbitVector[0]);
+        numOfTrajectoryRecords = orbitVectors.length;
+        recordTimes = new double[numOfTrajectoryRecords];
+        for (int i = 0; i < numOfTrajectoryRecords; i++) {
+            recordTimes[i] = orbitVectors[i].utcMJD;
+        }
+        setQualityParameterAttributes(entry.getAttributes());
+    }
+
+    private Map<String, String> getQualityParameterAttributes() {
+        final Map<String, String> attributes = new LinkedHashMap<>();
+        if (qualityParameterRecords != null) {
+            for (int j = 0; j < qualityParameterRecords.length; j++) {
+                final QualityParameterRecord record = qualityParameterRecords[j];
+                final String prefix = QUALITY_PARAMETER_RECORD + j + '.';
+                attributes.put(prefix + "recKey", record.recKey);
+                attributes.put(prefix + "qPName", record.qPName);
+                attributes.put(prefix + "qPValue", record.qPValue);
+                attributes.put(prefix + "qPUnit", record.qPUnit);
+                attributes.put(prefix + "qPRefVal", record.qPRefVal);
+            }
+        }
+        return attributes;
+    }
+
+    private void setQualityParameterAttributes(final Map<String, String> attributes) {
+        final List<QualityParameterRecord> records = new ArrayList<>();
+        for (int j = 0; attributes.containsKey(QUALITY_PARAMETER_RECORD + j + ".recKey"); j++) {
+            final String prefix = QUALITY_PARAMETER_RECORD + j + '.';
+            final QualityParameterRecord record = new QualityParameterRecord();
+            record.recKey = attributes.get(prefix + "recKey");
+            record.qPName = attributes.get(prefix + "qPName");
+            record.qPValue = attributes.get(prefix + "qPValue");
+            record.qPUnit = attributes.get(prefix + "qPUnit");
+            record.qPRefVal = attributes.get(prefix + "qPRefVal");
+            records.add(record);
+        }
+        numOfQualityParameterRecords = records.size();
+        qualityParameterRecords = records.isEmpty() ? null : records.toArray(new QualityParameterRecord[0]);
+    }
+
     /**
      * Compute the number of Trajectory Records in the orbit file.
      *
@@ -0,0 +1,270 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.orbits.io.sentinel1;
+
+import org.esa.snap.core.datamodel.ProductData;
+import org.esa.snap.core.util.SystemUtils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the validity periods of the Sentinel-1 orbit files of one mission and orbit type.
+ * <p>
+ * The orbit files are kept in year/month folders. The index holds the validity periods parsed from the file names
+ * of every folder together with the modification time of the folder, and is saved next to the folders so that
+ * other processes can use it. A folder is listed again only when its modification time changes or when a lookup
+ * in it fails.
+ */
+final class S1OrbitFileIndex {
+
+    static final String INDEX_FILE = "orbit-file-index.txt";
+    private static final String HEADER = "# Sentinel-1 orbit file index 1";
+
+    private static final Map<String, S1OrbitFileIndex> indices = new ConcurrentHashMap<>();
+
+    private final File missionFolder;
+    private final String prefix;
+    private final Map<String, Month> months = new TreeMap<>();
+    private boolean loaded;
+
+    private S1OrbitFileIndex(final File missionFolder, final String prefix) {
+        this.missionFolder = missionFolder;
+        this.prefix = prefix;
+    }
+
+    /**
+     * @param missionFolder The folder containing the year/month folders.
+     * @param prefix        The file name prefix of the mission and orbit type.
+     * @return the index shared by all users of the folder.
+     */
+    static S1OrbitFileIndex get(final File missionFolder, final String prefix) {
+        final File folder = missionFolder.getAbsoluteFile();
+        return indices.computeIfAbsent(folder.getPath() + File.pathSeparator + prefix,
+                key -> new S1OrbitFileIndex(folder, prefix));
+    }
+
+    /**
+     * Find the orbit file valid at a given time in a month folder.
+     *
+     * @param monthFolder The month folder.
+     * @param time        The time.
+     * @return the orbit file with the latest validity start or null if no file is valid.
+     */
+    synchronized File find(final File monthFolder, final ProductData.UTC time) {
+        if (!monthFolder.isDirectory()) {
+            return null;
+        }
+        load();
+
+        final String key = getKey(monthFolder);
+        final double mjd = time.getMJD();
+        Month month = months.get(key);
+        boolean listed = false;
+        if (month == null || month.lastModified != monthFolder.lastModified()) {
+            month = update(monthFolder, key);
+            listed = true;
+        }
+        String name = month.find(mjd);
+        if (!listed && (name == null || !new File(monthFolder, name).exists())) {
+            // files may be added within the resolution of the folder time stamp
+            month = update(monthFolder, key);
+            name = month.find(mjd);
+        }
+        return name != null ? new File(monthFolder, name) : null;
+    }
+
+    private String getKey(final File monthFolder) {
+        return monthFolder.getParentFile().getName() + '/' + monthFolder.getName();
+    }
+
+    private Month update(final File monthFolder, final String key) {
+        final long lastModified = monthFolder.lastModified();
+        final String[] names = monthFolder.list();
+        final List<Entry> entries = new ArrayList<>();
+        if (names != null) {
+            for (String name : names) {
+                final String upperName = name.toUpperCase();
+                if ((upperName.endsWith(".ZIP") || upperName.endsWith(".EOF")) && upperName.startsWith(prefix)) {
+                    final Entry entry = Entry.parse(name);
+                    if (entry != null) {
+                        entries.add(entry);
+                    }
+                }
+            }
+        }
+        final Month month = new Month(lastModified, entries);
+        months.put(key, month);
+        save();
+        return month;
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        final File indexFile = new File(missionFolder, INDEX_FILE);
+        if (!indexFile.exists()) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(indexFile.toPath(), StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine())) {
+                return;
+            }
+            final Map<String, Month> loadedMonths = new HashMap<>();
+            String key = null;
+            long lastModified = 0;
+            List<Entry> entries = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String[] tokens = line.split(" ");
+                if (tokens.length == 3 && tokens[0].equals("M")) {
+                    if (key != null) {
+                        loadedMonths.put(key, new Month(lastModified, entries));
+                    }
+                    key = tokens[1];
+                    lastModified = Long.parseLong(tokens[2]);
+                    entries = new ArrayList<>();
+                } else if (tokens.length == 4 && tokens[0].equals("F") && entries != null) {
+                    entries.add(new Entry(tokens[1], Double.parseDouble(tokens[2]), Double.parseDouble(tokens[3])));
+                } else {
+                    throw new IOException("Invalid line: " + line);
+                }
+            }
+            if (key != null) {
+                loadedMonths.put(key, new Month(lastModified, entries));
+            }
+            months.putAll(loadedMonths);
+        } catch (IOException | RuntimeException e) {
+            SystemUtils.LOG.fine("Ignoring orbit file index " + indexFile + ": " + e.getMessage());
+        }
+    }
+
+    private void save() {
+        final Path indexPath = new File(missionFolder, INDEX_FILE).toPath();
+        Path tmpPath = null;
+        try {
+            tmpPath = Files.createTempFile(missionFolder.toPath(), INDEX_FILE, ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmpPath, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.newLine();
+                for (Map.Entry<String, Month> month : months.entrySet()) {
+                    writer.write("M " + month.getKey() + ' ' + month.getValue().lastModified);
+                    writer.newLine();
+                    for (Entry entry : month.getValue().entries) {
+                        writer.write("F " + entry.name + ' ' + entry.start + ' ' + entry.stop);
+                        writer.newLine();
+                    }
+                }
+            }
+            try {
+                Files.move(tmpPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpPath, indexPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            // a read-only folder is only indexed in memory
+            SystemUtils.LOG.fine("Unable to save orbit file index " + indexPath + ": " + e.getMessage());
+            if (tmpPath != null) {
+                tmpPath.toFile().delete();
+            }
+        }
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        final String name;
+        final double start, stop;
+
+        Entry(final String name, final double start, final double stop) {
+            this.name = name;
+            this.start = start;
+            this.stop = stop;
+        }
+
+        static Entry parse(final String name) {
+            try {
+                final ProductData.UTC start = Sentinel1OrbitFileReader.getValidityStartFromFilenameUTC(name);
+                final ProductData.UTC stop = Sentinel1OrbitFileReader.getValidityStopFromFilenameUTC(name);
+                if (start != null && stop != null) {
+                    return new Entry(name, start.getMJD(), stop.getMJD());
+                }
+            } catch (Exception e) {
+                // not a valid orbit file name
+            }
+            return null;
+        }
+
+        @Override
+        public int compareTo(final Entry other) {
+            return Double.compare(start, other.start);
+        }
+    }
+
+    private static final class Month {
+        final long lastModified;
+        final Entry[] entries;
+        final double[] starts;
+        final double maxDuration;
+
+        Month(final long lastModified, final List<Entry> entryList) {
+            this.lastModified = lastModified;
+            entries = entryList.toArray(new Entry[0]);
+            Arrays.sort(entries);
+            starts = new double[entries.length];
+            double duration = 0;
+            for (int i = 0; i < entries.length; ++i) {
+                starts[i] = entries[i].start;
+                duration = Math.max(duration, entries[i].stop - entries[i].start);
+            }
+            maxDuration = duration;
+        }
+
+        /**
+         * @return the name of the file with the latest validity start containing the time or null.
+         */
+        String find(final double mjd) {
+            int i = Arrays.binarySearch(starts, mjd);
+            if (i < 0) {
+                i = -i - 2;
+            } else {
+                while (i + 1 < starts.length && starts[i + 1] == mjd) {
+                    ++i;
+                }
+            }
+            for (; i >= 0 && starts[i] >= mjd - maxDuration; --i) {
+                if (mjd >= entries[i].start && mjd < entries[i].stop) {
+                    return entries[i].name;
+                }
+            }
+            return null;
+        }
+    }
+}
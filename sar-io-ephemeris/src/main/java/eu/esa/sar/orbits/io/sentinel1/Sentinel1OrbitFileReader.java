@@ -15,6 +15,7 @@
  */
 package eu.esa.sar.orbits.io.sentinel1;
 
+import eu.esa.sar.orbits.io.OrbitVectorCache;
 import org.esa.snap.core.datamodel.ProductData;
 import org.esa.snap.core.dataop.downloadable.XMLSupport;
 import org.esa.snap.core.util.SystemUtils;
@@ -27,7 +28,9 @@ import java.text.DateFormat;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -36,6 +39,14 @@ public class Sentinel1OrbitFileReader {
     final static DateFormat dateFormat = ProductData.UTC.createDateFormat("yyyyMMdd-HHmmss");
     final static DateFormat orbitDateFormat = ProductData.UTC.createDateFormat("yyyy-MM-dd HH:mm:ss");
 
+    // format and attribute names of the state vectors in the orbit vector cache
+    private static final String CACHE_FORMAT = "S1EOF";
+    private static final String MISSION = "Mission";
+    private static final String FILE_TYPE = "File_Type";
+    private static final String VALIDITY_START = "Validity_Start";
+    private static final String VALIDITY_STOP = "Validity_Stop";
+    private static final String VERSION = "Creator_Version";
+
     private FixedHeader fixedHeader = null;
     private final File orbitFile;
     private List<Orbits.OrbitVector> osvList = new ArrayList<>();
@@ -50,31 +61,53 @@ public class Sentinel1OrbitFileReader {
 
     void read() throws Exception {
 
+        final OrbitVectorCache.Entry entry = OrbitVectorCache.getInstance().get(orbitFile, CACHE_FORMAT,
+                Sentinel1OrbitFileReader::parse);
+
+        osvList = entry.getOrbitVectors();
+        final Map<String, String> attributes = entry.getAttributes();
+        if (attributes.containsKey(MISSION)) {
+            fixedHeader = new FixedHeader(attributes.get(MISSION), attributes.get(FILE_TYPE),
+                    attributes.get(VALIDITY_START), attributes.get(VALIDITY_STOP), attributes.get(VERSION));
+        }
+    }
+
+    private static OrbitVectorCache.Entry parse(final File orbitFile) throws Exception {
+
         final Document doc;
         if (orbitFile.getName().toLowerCase().endsWith(".zip")) {
-            final ZipFile productZip = new ZipFile(orbitFile, ZipFile.OPEN_READ);
-            final Enumeration<? extends ZipEntry> entries = productZip.entries();
-            final ZipEntry zipEntry = entries.nextElement();
+            try (ZipFile productZip = new ZipFile(orbitFile, ZipFile.OPEN_READ)) {
+                final Enumeration<? extends ZipEntry> entries = productZip.entries();
+                final ZipEntry zipEntry = entries.nextElement();
 
-            doc = XMLSupport.LoadXML(productZip.getInputStream(zipEntry));
+                doc = XMLSupport.LoadXML(productZip.getInputStream(zipEntry));
+            }
         } else {
             doc = XMLSupport.LoadXML(orbitFile.getPath());
         }
 
+        final Map<String, String> attributes = new HashMap<>();
         final Element earthExplorer = doc.getRootElement();
         final Element earthExplorerHeader = earthExplorer.getChild("Earth_Explorer_Header");
         if(earthExplorerHeader != null) {
             final Element fixedHeaderElem = earthExplorerHeader.getChild("Fixed_Header");
             if(fixedHeaderElem != null) {
-                fixedHeader = readFixedHeader(fixedHeaderElem);
+                final FixedHeader fixedHeader = readFixedHeader(fixedHeaderElem);
+                attributes.put(MISSION, fixedHeader.mission);
+                attributes.put(FILE_TYPE, fixedHeader.fileType);
+                attributes.put(VALIDITY_START, fixedHeader.validityStart);
+                attributes.put(VALIDITY_STOP, fixedHeader.validityStop);
+                attributes.put(VERSION, fixedHeader.version);
             }
         }
 
+        List<Orbits.OrbitVector> osvList = new ArrayList<>();
         final Element dataBlock = earthExplorer.getChild("Data_Block");
         if(dataBlock != null) {
             final Element listOfOSVs = dataBlock.getChild("List_of_OSVs");
             osvList = readOSVList(listOfOSVs);
         }
+        return new OrbitVectorCache.Entry(osvList, attributes);
     }
 
     private static FixedHeader readFixedHeader(final Element fixedHeaderElem) {
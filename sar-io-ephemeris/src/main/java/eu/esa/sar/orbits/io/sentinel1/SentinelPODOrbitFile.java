@@ -15,25 +15,22 @@
  */
 package eu.esa.sar.orbits.io.sentinel1;
 
-import Jama.Matrix;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import eu.esa.sar.orbits.io.BaseOrbitFile;
 import eu.esa.sar.orbits.io.OrbitFile;
+import eu.esa.sar.orbits.io.OrbitPolynomials;
 import org.esa.snap.core.datamodel.MetadataElement;
 import org.esa.snap.core.datamodel.ProductData;
 import org.esa.snap.core.util.StringUtils;
 import org.esa.snap.core.util.SystemUtils;
 import org.esa.snap.engine_utilities.datamodel.AbstractMetadata;
 import org.esa.snap.engine_utilities.datamodel.Orbits;
-import org.esa.snap.engine_utilities.util.Maths;
 import org.esa.snap.engine_utilities.util.Settings;
 
 import java.io.*;
-import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -53,7 +50,7 @@ public class SentinelPODOrbitFile extends BaseOrbitFile implements OrbitFile {
 
     private final int polyDegree;
 
-    private List<Orbits.OrbitVector> osvList = new ArrayList<>();
+    private OrbitPolynomials polynomials;
     private String fileVersion;
 
     private static LoadingCache<File, Sentinel1OrbitFileReader> cache;
@@ -75,13 +72,12 @@ public class SentinelPODOrbitFile extends BaseOrbitFile implements OrbitFile {
         final int day = calendar.get(Calendar.DAY_OF_MONTH);
         final String missionPrefix = getMissionPrefix(absRoot);
 
-        final File localFolder = getDestFolder(missionPrefix, orbitType, year, month);
-
         orbitFile = findOrbitFile(missionPrefix, orbitType, stateVectorTime, year, month);
 
         if (orbitFile == null) {
             OrbitFileScraper scraper = null;
             try {
+                final File localFolder = getDestFolder(missionPrefix, orbitType, year, month);
                 scraper = new OrbitFileScraper.Step(orbitType);
                 orbitFile = scraper.download(localFolder, missionPrefix, orbitType, year, month, day, stateVectorTime);
             } catch(Exception e) {
@@ -117,25 +113,34 @@ public class SentinelPODOrbitFile extends BaseOrbitFile implements OrbitFile {
         return "S1" + mission.substring(mission.length() - 1);
     }
 
-    static File getDestFolder(final String missionPrefix, final String orbitType, final int year, final int month) {
-        final String prefOrbitPath;
+    private static String getOrbitPath(final String orbitType) {
         if (orbitType.startsWith(RESTITUTED)) {
             String def = SystemUtils.getAuxDataPath().resolve("Orbits").resolve("Sentinel-1").resolve("RESORB").toString();
-            prefOrbitPath = Settings.instance().get("OrbitFiles.sentinel1RESOrbitPath", def);
+            return Settings.instance().get("OrbitFiles.sentinel1RESOrbitPath", def);
         } else {
             String def = SystemUtils.getAuxDataPath().resolve("Orbits").resolve("Sentinel-1").resolve("POEORB").toString();
-            prefOrbitPath = Settings.instance().get("OrbitFiles.sentinel1POEOrbitPath", def);
+            return Settings.instance().get("OrbitFiles.sentinel1POEOrbitPath", def);
         }
-        final File destFolder = new File(prefOrbitPath +
-                File.separator + missionPrefix +
-                File.separator + year +
-                File.separator + StringUtils.padNum(month, 2, '0'));
+    }
+
+    private static File getMissionFolder(final String missionPrefix, final String orbitType) {
+        return new File(getOrbitPath(orbitType) + File.separator + missionPrefix);
+    }
+
+    private static File getMonthFolder(final File missionFolder, final int year, final int month) {
+        return new File(missionFolder, year + File.separator + StringUtils.padNum(month, 2, '0'));
+    }
+
+    private static File getOldMonthFolder(final File missionFolder, final int year, final int month) {
+        return new File(missionFolder, year + File.separator + month);
+    }
+
+    static File getDestFolder(final String missionPrefix, final String orbitType, final int year, final int month) {
+        final File missionFolder = getMissionFolder(missionPrefix, orbitType);
+        final File destFolder = getMonthFolder(missionFolder, year, month);
 
         if(month < 10) {
-            File oldFolder = new File(prefOrbitPath +
-                    File.separator + missionPrefix +
-                    File.separator + year +
-                    File.separator + month);
+            File oldFolder = getOldMonthFolder(missionFolder, year, month);
             if(oldFolder.exists()) {
                 // rename
                 oldFolder.renameTo(destFolder);
@@ -146,6 +151,10 @@ public class SentinelPODOrbitFile extends BaseOrbitFile implements OrbitFile {
         return destFolder;
     }
 
+    /**
+     * Find a local orbit file valid at the state vector time. The validity periods of the orbit files are looked up
+     * in the index of the mission and orbit type instead of listing the month folder.
+     */
     static File findOrbitFile(final String missionPrefix, final String orbitType,
                               final ProductData.UTC stateVectorTime, final int year, final int month) {
         final String prefix;
@@ -154,20 +163,15 @@ public class SentinelPODOrbitFile extends BaseOrbitFile implements OrbitFile {
         } else {
             prefix = missionPrefix + "_OPER_AUX_POEORB_OPOD_";
         }
-        final File orbitFileFolder = getDestFolder(missionPrefix, orbitType, year, month);
-
-        if (!orbitFileFolder.exists())
-            return null;
-        final File[] files = orbitFileFolder.listFiles(new S1OrbitFileFilter(prefix));
-        if (files == null || files.length == 0)
-            return null;
-
-        for (File file : files) {
-            if (Sentinel1OrbitFileReader.isWithinRange(file.getName(), stateVectorTime)) {
-                return file;
-            }
+        final File missionFolder = getMissionFolder(missionPrefix, orbitType);
+        File orbitFileFolder = getMonthFolder(missionFolder, year, month);
+        if (!orbitFileFolder.exists()) {
+            if (month >= 10 || !getOldMonthFolder(missionFolder, year, month).exists())
+                return null;
+            orbitFileFolder = getDestFolder(missionPrefix, orbitType, year, month);
         }
-        return null;
+
+        return S1OrbitFileIndex.get(missionFolder, prefix).find(orbitFileFolder, stateVectorTime);
     }
 
     /**
@@ -200,65 +204,18 @@ public class SentinelPODOrbitFile extends BaseOrbitFile implements OrbitFile {
      * @return The orbit state vector.
      */
     public Orbits.OrbitVector getOrbitData(final double utc) {
+        return polynomials.getOrbitData(utc);
+    }
 
-        final int numVectors = osvList.size();
-        final double t0 = osvList.get(0).utcMJD;
-        final double tN = osvList.get(numVectors - 1).utcMJD;
-
-        final int numVecPolyFit = polyDegree + 1; //4;
-        final int halfNumVecPolyFit = numVecPolyFit / 2;
-        final int[] vectorIndices = new int[numVecPolyFit];
-
-        final int vecIdx = (int) ((utc - t0) / (tN - t0) * (numVectors - 1));
-        if (vecIdx <= halfNumVecPolyFit - 1) {
-            for (int i = 0; i < numVecPolyFit; i++) {
-                vectorIndices[i] = i;
-            }
-        } else if (vecIdx >= numVectors - halfNumVecPolyFit) {
-            for (int i = 0; i < numVecPolyFit; i++) {
-                vectorIndices[i] = numVectors - numVecPolyFit + i;
-            }
-        } else {
-            for (int i = 0; i < numVecPolyFit; i++) {
-                vectorIndices[i] = vecIdx - halfNumVecPolyFit + 1 + i;
-            }
-        }
-
-        double[] timeArray = new double[numVecPolyFit];
-        double[] xPosArray = new double[numVecPolyFit];
-        double[] yPosArray = new double[numVecPolyFit];
-        double[] zPosArray = new double[numVecPolyFit];
-        double[] xVelArray = new double[numVecPolyFit];
-        double[] yVelArray = new double[numVecPolyFit];
-        double[] zVelArray = new double[numVecPolyFit];
-
-        for (int i = 0; i < numVecPolyFit; i++) {
-            timeArray[i] = osvList.get(vectorIndices[i]).utcMJD - t0;
-            xPosArray[i] = osvList.get(vectorIndices[i]).xPos;
-            yPosArray[i] = osvList.get(vectorIndices[i]).yPos;
-            zPosArray[i] = osvList.get(vectorIndices[i]).zPos;
-            xVelArray[i] = osvList.get(vectorIndices[i]).xVel;
-            yVelArray[i] = osvList.get(vectorIndices[i]).yVel;
-            zVelArray[i] = osvList.get(vectorIndices[i]).zVel;
-        }
-
-        final Matrix A = Maths.createVandermondeMatrix(timeArray, polyDegree);
-        final double[] xPosCoeff = Maths.polyFit(A, xPosArray);
-        final double[] yPosCoeff = Maths.polyFit(A, yPosArray);
-        final double[] zPosCoeff = Maths.polyFit(A, zPosArray);
-        final double[] xVelCoeff = Maths.polyFit(A, xVelArray);
-        final double[] yVelCoeff = Maths.polyFit(A, yVelArray);
-        final double[] zVelCoeff = Maths.polyFit(A, zVelArray);
-
-        final double normalizedTime = utc - t0;
-
-        return new Orbits.OrbitVector(utc,
-                Maths.polyVal(normalizedTime, xPosCoeff),
-                Maths.polyVal(normalizedTime, yPosCoeff),
-                Maths.polyVal(normalizedTime, zPosCoeff),
-                Maths.polyVal(normalizedTime, xVelCoeff),
-                Maths.polyVal(normalizedTime, yVelCoeff),
-                Maths.polyVal(normalizedTime, zVelCoeff));
+    /**
+     * Get orbit state vectors for given times using polynomial fitting.
+     *
+     * @param utc The UTC in days of every vector.
+     * @return The orbit state vectors.
+     */
+    @Override
+    public Orbits.OrbitVector[] getOrbitData(final double[] utc) {
+        return polynomials.getOrbitData(utc);
     }
 
     private void readOrbitFile() throws Exception {
@@ -267,24 +224,10 @@ public class SentinelPODOrbitFile extends BaseOrbitFile implements OrbitFile {
 
         checkOrbitFileValidity(orbitFileReader);
 
-        osvList = orbitFileReader.getOrbitStateVectors();
+        polynomials = new OrbitPolynomials(orbitFileReader.getOrbitStateVectors(), polyDegree);
         fileVersion = orbitFileReader.getFileVersion();
     }
 
-    private static class S1OrbitFileFilter implements FilenameFilter {
-        private final String prefix;
-
-        S1OrbitFileFilter(String prefix) {
-            this.prefix = prefix;
-        }
-
-        @Override
-        public boolean accept(File dir, String name) {
-            name = name.toUpperCase();
-            return (name.endsWith(".ZIP") || name.endsWith(".EOF")) && name.startsWith(prefix);
-        }
-    }
-
     private LoadingCache<File, Sentinel1OrbitFileReader> getCache() {
         if(cache == null) {
             cache = createCache();
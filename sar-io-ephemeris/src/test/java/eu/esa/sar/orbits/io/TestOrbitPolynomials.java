@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.orbits.io;
+
+import org.esa.snap.engine_utilities.datamodel.Orbits;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit test for the piecewise polynomial interpolation of orbit state vectors.
+ */
+public class TestOrbitPolynomials {
+
+    private static final double T0 = 7000.0;
+    private static final double INTERVAL = 10.0 / 86400.0;
+    private static final double RADIUS = 7071000.0;
+    private static final double OMEGA = 2 * Math.PI / 5900.0 * 86400.0; // radians per day
+
+    private static Orbits.OrbitVector circularOrbit(final double utc) {
+        final double a = OMEGA * (utc - T0);
+        final double v = RADIUS * OMEGA / 86400.0;
+        return new Orbits.OrbitVector(utc,
+                RADIUS * Math.cos(a), RADIUS * Math.sin(a), 0.0,
+                -v * Math.sin(a), v * Math.cos(a), 0.0);
+    }
+
+    @Test
+    public void testInterpolation() {
+        final List<Orbits.OrbitVector> osvList = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            osvList.add(circularOrbit(T0 + i * INTERVAL));
+        }
+        final OrbitPolynomials polynomials = new OrbitPolynomials(osvList, 3);
+
+        final double[] utc = new double[500];
+        for (int i = 0; i < utc.length; i++) {
+            utc[i] = T0 + i * 99 * INTERVAL / (utc.length - 1);
+        }
+        final Orbits.OrbitVector[] batch = polynomials.getOrbitData(utc);
+        for (int i = 0; i < utc.length; i++) {
+            final Orbits.OrbitVector expected = circularOrbit(utc[i]);
+            final Orbits.OrbitVector single = polynomials.getOrbitData(utc[i]);
+            assertEquals(expected.xPos, single.xPos, 0.01);
+            assertEquals(expected.yPos, single.yPos, 0.01);
+            assertEquals(expected.xVel, single.xVel, 1e-5);
+            assertEquals(expected.yVel, single.yVel, 1e-5);
+
+            assertEquals(utc[i], batch[i].utcMJD, 0);
+            assertEquals(single.xPos, batch[i].xPos, 0);
+            assertEquals(single.yPos, batch[i].yPos, 0);
+            assertEquals(single.zVel, batch[i].zVel, 0);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.orbits.io;
+
+import org.esa.snap.core.util.io.FileUtils;
+import org.esa.snap.engine_utilities.datamodel.Orbits;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for the on-disk cache of parsed orbit state vectors.
+ */
+public class TestOrbitVectorCache {
+
+    private File dir;
+    private File orbitFile;
+    private int numParsed;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("orbits").toFile();
+        orbitFile = new File(dir, "orbit.txt");
+        Files.write(orbitFile.toPath(), "3".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteTree(dir);
+    }
+
+    private OrbitVectorCache.Entry parse(final File file) throws Exception {
+        ++numParsed;
+        final int numVectors = Integer.parseInt(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        final List<Orbits.OrbitVector> vectors = new ArrayList<>();
+        for (int i = 0; i < numVectors; ++i) {
+            vectors.add(new Orbits.OrbitVector(7000.0 + i / 8640.0, i + 0.1, i + 0.2, i + 0.3, -i, -2.0 * i, 7500.5));
+        }
+        return new OrbitVectorCache.Entry(vectors, Collections.singletonMap("Mission", "Sentinel-1A"));
+    }
+
+    @Test
+    public void testCachedVectors() throws Exception {
+        final OrbitVectorCache cache = new OrbitVectorCache(new File(dir, "cache"));
+        final OrbitVectorCache.Entry parsed = cache.get(orbitFile, "TEST", this::parse);
+        final OrbitVectorCache.Entry cached = cache.get(orbitFile, "TEST", this::parse);
+        assertEquals(1, numParsed);
+
+        final List<Orbits.OrbitVector> expected = parsed.getOrbitVectors();
+        final List<Orbits.OrbitVector> actual = cached.getOrbitVectors();
+        assertEquals(3, actual.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            assertEquals(expected.get(i).utcMJD, actual.get(i).utcMJD, 0);
+            assertEquals(expected.get(i).xPos, actual.get(i).xPos, 0);
+            assertEquals(expected.get(i).yVel, actual.get(i).yVel, 0);
+            assertEquals(expected.get(i).zVel, actual.get(i).zVel, 0);
+        }
+        assertEquals("Sentinel-1A", cached.getAttributes().get("Mission"));
+
+        // another format of the same file is cached separately
+        cache.get(orbitFile, "OTHER", this::parse);
+        assertEquals(2, numParsed);
+    }
+
+    @Test
+    public void testChangedFileIsParsedAgain() throws Exception {
+        final OrbitVectorCache cache = new OrbitVectorCache(new File(dir, "cache"));
+        assertEquals(3, cache.get(orbitFile, "TEST", this::parse).getOrbitVectors().size());
+
+        Files.write(orbitFile.toPath(), "5".getBytes(StandardCharsets.UTF_8));
+        assertEquals(5, cache.get(orbitFile, "TEST", this::parse).getOrbitVectors().size());
+        assertEquals(5, cache.get(orbitFile, "TEST", this::parse).getOrbitVectors().size());
+        assertEquals(2, numParsed);
+    }
+
+    @Test
+    public void testFolderIsBounded() throws Exception {
+        final File cacheDir = new File(dir, "cache");
+        new OrbitVectorCache(cacheDir).get(orbitFile, "TEST", this::parse);
+        final File unusedFile = getCacheFile(cacheDir, orbitFile);
+        final long size = unusedFile.length();
+
+        final long now = System.currentTimeMillis();
+        assertTrue(unusedFile.setLastModified(now - TimeUnit.DAYS.toMillis(11)));
+        final File tmpFile = new File(cacheDir, unusedFile.getName() + "123.tmp");
+        Files.write(tmpFile.toPath(), new byte[10]);
+        assertTrue(tmpFile.setLastModified(now - TimeUnit.DAYS.toMillis(2)));
+
+        // room for two cached files, the older ones being used less recently
+        final OrbitVectorCache cache = new OrbitVectorCache(cacheDir, 2 * size, TimeUnit.DAYS.toMillis(10));
+        final File[] orbitFiles = new File[3];
+        for (int i = 0; i < orbitFiles.length; ++i) {
+            orbitFiles[i] = new File(dir, "orbit" + i + ".txt");
+            Files.write(orbitFiles[i].toPath(), "3".getBytes(StandardCharsets.UTF_8));
+            cache.get(orbitFiles[i], "TEST", this::parse);
+            assertTrue(getCacheFile(cacheDir, orbitFiles[i]).setLastModified(now - 1000L * (10 - i)));
+        }
+        assertEquals(4, numParsed);
+
+        assertFalse(unusedFile.exists());
+        assertFalse(tmpFile.exists());
+        assertNull(getCacheFile(cacheDir, orbitFiles[0]));
+        assertNotNull(getCacheFile(cacheDir, orbitFiles[1]));
+        assertNotNull(getCacheFile(cacheDir, orbitFiles[2]));
+
+        cache.get(orbitFiles[2], "TEST", this::parse);
+        assertEquals(4, numParsed);
+    }
+
+    private static File getCacheFile(final File cacheDir, final File orbitFile) {
+        final File[] files = cacheDir.listFiles((d, name) -> name.startsWith("TEST_" + orbitFile.getName() + '_') &&
+                name.endsWith(".osv"));
+        return files != null && files.length == 1 ? files[0] : null;
+    }
+}
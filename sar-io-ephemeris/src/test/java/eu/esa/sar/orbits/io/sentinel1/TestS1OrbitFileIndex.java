@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.orbits.io.sentinel1;
+
+import org.esa.snap.core.util.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for the index of Sentinel-1 orbit files.
+ */
+public class TestS1OrbitFileIndex {
+
+    private static final String PREFIX = "S1A_OPER_AUX_POEORB_OPOD_";
+    private static final String FILE1 = PREFIX + "20150917T122012_V20150826T225943_20150828T005943.EOF";
+    private static final String FILE2 = PREFIX + "20150918T122012_V20150827T225943_20150829T005943.EOF";
+    private static final String FILE3 = PREFIX + "20150919T122012_V20150828T225943_20150830T005943.EOF";
+
+    private File missionFolder;
+    private File monthFolder;
+
+    @Before
+    public void setUp() throws Exception {
+        missionFolder = Files.createTempDirectory("S1A").toFile();
+        monthFolder = new File(missionFolder, "2015" + File.separator + "08");
+        assertTrue(monthFolder.mkdirs());
+        assertTrue(new File(monthFolder, FILE1).createNewFile());
+        assertTrue(new File(monthFolder, FILE2).createNewFile());
+        assertTrue(new File(monthFolder, "S1B_OPER_AUX_POEORB_OPOD_20150918T122012_V20150827T225943_20150829T005943.EOF").createNewFile());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteTree(missionFolder);
+    }
+
+    @Test
+    public void testFind() throws Exception {
+        final S1OrbitFileIndex index = S1OrbitFileIndex.get(missionFolder, PREFIX);
+
+        // only in the first file
+        assertEquals(FILE1, index.find(monthFolder, Sentinel1OrbitFileReader.toUTC("UTC=2015-08-27T12:00:00")).getName());
+        // in both files, the one starting last is used
+        assertEquals(FILE2, index.find(monthFolder, Sentinel1OrbitFileReader.toUTC("UTC=2015-08-28T00:30:00")).getName());
+        // the stop time is excluded
+        assertNull(index.find(monthFolder, Sentinel1OrbitFileReader.toUTC("UTC=2015-08-29T00:59:43")));
+        assertNull(index.find(monthFolder, Sentinel1OrbitFileReader.toUTC("UTC=2015-08-26T00:00:00")));
+
+        final String content = new String(Files.readAllBytes(
+                new File(missionFolder, S1OrbitFileIndex.INDEX_FILE).toPath()), StandardCharsets.UTF_8);
+        assertTrue(content.contains(FILE1));
+        assertTrue(content.contains(FILE2));
+        assertFalse(content.contains("S1B_"));
+    }
+
+    @Test
+    public void testFilesAddedAreFound() throws Exception {
+        final S1OrbitFileIndex index = S1OrbitFileIndex.get(missionFolder, PREFIX);
+        assertNull(index.find(monthFolder, Sentinel1OrbitFileReader.toUTC("UTC=2015-08-29T12:00:00")));
+
+        assertTrue(new File(monthFolder, FILE3).createNewFile());
+        assertEquals(FILE3, index.find(monthFolder, Sentinel1OrbitFileReader.toUTC("UTC=2015-08-29T12:00:00")).getName());
+
+        assertTrue(new File(monthFolder, FILE2).delete());
+        assertEquals(FILE1, index.find(monthFolder, Sentinel1OrbitFileReader.toUTC("UTC=2015-08-28T00:30:00")).getName());
+    }
+}
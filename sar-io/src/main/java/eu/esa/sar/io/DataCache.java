@@ -1,92 +1,42 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
 package eu.esa.sar.io;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import eu.esa.sar.commons.io.ImageIOFile;
-
-import java.awt.*;
-import java.util.concurrent.TimeUnit;
-
 /**
- * Created by lveci on 20/05/2014.
+ * Cache of raster blocks read by the product readers.
+ *
+ * @deprecated moved to {@link eu.esa.sar.commons.io.DataCache}. Use the cache shared by all readers,
+ * {@link eu.esa.sar.commons.io.DataCache#instance()}.
  */
-public class DataCache {
-
-    private final LoadingCache<DataKey, Data> cache;
+@Deprecated
+public class DataCache extends eu.esa.sar.commons.io.DataCache {
 
+    /**
+     * Create a cache of its own, bounded like the shared cache.
+     */
     public DataCache() {
-        cache = CacheBuilder.newBuilder().maximumSize(500).initialCapacity(500)
-                .expireAfterAccess(10, TimeUnit.MINUTES)
-                //.recordStats()
-                .build(new CacheLoader<DataKey, Data>() {
-                           @Override
-                           public Data load(DataKey key) throws Exception {
-                               return new Data();
-                           }
-                       }
-        );
-    }
-
-    public long size() {
-        return cache.size();
-    }
-
-    public String stats() {
-        return cache.stats().toString();
-    }
-
-    public Data get(DataKey key) {
-        return cache.getUnchecked(key);
-    }
-
-    public synchronized void put(DataKey key, Data value) {
-        cache.put(key, value);
+        super(eu.esa.sar.commons.io.DataCache.instance().getMaxSizeInBytes());
     }
 
-    public static class DataKey {
-        private final ImageIOFile img;
-        private final Rectangle rect;
-
-        public DataKey(final ImageIOFile img, final Rectangle rect) {
-            this.img = img;
-            this.rect = rect;
-        }
-
-        @Override
-        public boolean equals(Object obj) {
-
-            DataKey key = (DataKey) obj;
-            return (rect.x == key.rect.x &&
-                    rect.y == key.rect.y &&
-                    rect.width == key.rect.width &&
-                    rect.height == key.rect.height &&
-                    img == key.img);
-        }
-
-        @Override
-        public int hashCode() {
-            return img.hashCode();
-        }
-
-        @Override
-        public String toString() {
-            return rect.toString();
-        }
-    }
-
-    public static class Data {
-
-        public final boolean valid;
-        public int[] intArray;
-
-        public Data() {
-            valid = false;
-        }
-
-        public Data(final int[] srcArray) {
-            this.intArray = srcArray;
-            this.valid = true;
-        }
+    /**
+     * @return the cached block or an invalid block if the block is not in the cache.
+     */
+    @Override
+    public Data get(final DataKey key) {
+        final Data data = super.get(key);
+        return data != null ? data : new Data();
     }
 }
@@ -16,10 +16,10 @@
 package eu.esa.sar.io.capella;
 
 import com.bc.ceres.core.ProgressMonitor;
+import eu.esa.sar.commons.io.DataCache;
 import eu.esa.sar.commons.io.ImageIOFile;
 import eu.esa.sar.commons.io.SARProductReaderPlugIn;
 import eu.esa.sar.commons.io.SARReader;
-import eu.esa.sar.io.DataCache;
 import org.esa.snap.core.datamodel.Band;
 import org.esa.snap.core.datamodel.Product;
 import org.esa.snap.core.datamodel.ProductData;
@@ -54,7 +54,7 @@ public class CapellaProductReader extends SARReader {
      */
     public CapellaProductReader(final SARProductReaderPlugIn readerPlugIn) {
         super(readerPlugIn);
-        this.cache = new DataCache();
+        this.cache = DataCache.instance();
         this.readerPlugIn = readerPlugIn;
     }
 
@@ -119,15 +119,11 @@ public class CapellaProductReader extends SARReader {
         final ImageIOFile.BandInfo bandInfo = dataDir.getBandInfo(destBand);
 
         final Rectangle destRect = new Rectangle(destOffsetX, destOffsetY, destWidth, destHeight);
-        final DataCache.DataKey datakey = new DataCache.DataKey(bandInfo.img, destRect);
-        DataCache.Data cachedData = cache.get(datakey);
-        if (cachedData != null && cachedData.valid) {
-            srcArray = cachedData.intArray;
-        } else {
-            cachedData = readRect(datakey, bandInfo, sourceOffsetX, sourceOffsetY, sourceStepX, sourceStepY, destRect);
-
-            srcArray = cachedData.intArray;
-        }
+        final DataCache.DataKey datakey = new DataCache.DataKey(bandInfo.img, destRect, sourceStepX, sourceStepY,
+                sourceOffsetX % sourceStepX, sourceOffsetY % sourceStepY, bandInfo.bandSampleOffset);
+        final DataCache.Data cachedData = cache.get(datakey, () ->
+                readRect(bandInfo, sourceOffsetX, sourceOffsetY, sourceStepX, sourceStepY, destRect));
+        srcArray = cachedData.intArray;
 
         final boolean isSLC = dataDir.isSLC();
         final boolean isImaginary = destBand.getUnit().contains(Unit.IMAGINARY);
@@ -159,7 +155,7 @@ public class CapellaProductReader extends SARReader {
         }
     }
 
-    private synchronized DataCache.Data readRect(final DataCache.DataKey datakey, final ImageIOFile.BandInfo bandInfo,
+    private synchronized DataCache.Data readRect(final ImageIOFile.BandInfo bandInfo,
                                                  int sourceOffsetX, int sourceOffsetY, int sourceStepX, int sourceStepY,
                                                  final Rectangle destRect) {
         try {
@@ -181,18 +177,10 @@ public class CapellaProductReader extends SARReader {
             final int[] srcArray = new int[length];
             sampleModel.getSamples(0, 0, destWidth, destHeight, bandInfo.bandSampleOffset, srcArray, data.getDataBuffer());
 
-            DataCache.Data cachedData = new DataCache.Data(srcArray);
-            if (datakey != null) {
-                cache.put(datakey, cachedData);
-            }
-            return cachedData;
+            return new DataCache.Data(srcArray);
         } catch (Exception e) {
             final int[] srcArray = new int[(int) destRect.getWidth() * (int) destRect.getHeight()];
-            DataCache.Data cachedData = new DataCache.Data(srcArray);
-            if (datakey != null) {
-                cache.put(datakey, cachedData);
-            }
-            return cachedData;
+            return new DataCache.Data(srcArray);
         }
     }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.io.ceos;
+
+import eu.esa.sar.commons.io.SharedFileChannel;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Positional access to the image records of an uncompressed CEOS image file.
+ * <p>
+ * Reads do not move a shared file pointer, so tiles can be read concurrently without locking. A tile thread
+ * interrupted during a read does not close the file for the other threads.
+ * The lines of a tile are read in blocks of consecutive records and decoded from the block with the record stride.
+ */
+final class CEOSImageChannel implements Closeable {
+
+    // largest block of records read at once
+    static final int MAX_BLOCK_BYTES = 4 * 1024 * 1024;
+
+    private final SharedFileChannel channel;
+
+    CEOSImageChannel(final File file) throws IOException {
+        channel = new SharedFileChannel(file.toPath(), StandardOpenOption.READ);
+    }
+
+    /**
+     * Prepare reading the lines firstY, firstY + stepY, ..., up to lastY.
+     *
+     * @param xpos         The file position of the first sample of line 0.
+     * @param recordLength The length of an image record.
+     * @param firstY       The first line.
+     * @param lastY        The last line.
+     * @param stepY        The line step.
+     * @param lineBytes    The number of bytes read per line.
+     * @return the lines. Each thread reading a tile needs its own.
+     */
+    Lines lines(final long xpos, final long recordLength, final int firstY, final int lastY, final int stepY,
+                final int lineBytes) {
+        return new Lines(xpos, recordLength, firstY, lastY, stepY, lineBytes);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    final class Lines {
+
+        private final long xpos;
+        private final long recordLength;
+        private final long spacing;
+        private final int lastY;
+        private final int stepY;
+        private final int lineBytes;
+        private final int linesPerBlock;
+        private final ByteBuffer block;
+
+        private int blockFirstY = -1;
+        private int blockNumLines = 0;
+
+        private Lines(final long xpos, final long recordLength, final int firstY, final int lastY, final int stepY,
+                      final int lineBytes) {
+            this.xpos = xpos;
+            this.recordLength = recordLength;
+            this.spacing = recordLength * stepY;
+            this.lastY = lastY;
+            this.stepY = stepY;
+            this.lineBytes = lineBytes;
+
+            // read through the rest of the records only if it costs less than reading the lines themselves
+            final int numLines = Math.max(1, (lastY - firstY) / stepY + 1);
+            if (spacing - lineBytes > lineBytes || spacing > MAX_BLOCK_BYTES) {
+                linesPerBlock = 1;
+            } else {
+                linesPerBlock = (int) Math.min(numLines, (MAX_BLOCK_BYTES - lineBytes) / spacing + 1);
+            }
+            block = ByteBuffer.allocate((int) ((linesPerBlock - 1) * spacing + lineBytes));
+        }
+
+        private int position(final int y) throws IOException {
+            if (y < blockFirstY || (y - blockFirstY) / stepY >= blockNumLines) {
+                readBlock(y);
+            }
+            return (int) ((y - blockFirstY) / stepY * spacing);
+        }
+
+        private void readBlock(final int y) throws IOException {
+            blockFirstY = y;
+            blockNumLines = Math.max(1, Math.min(linesPerBlock, (lastY - y) / stepY + 1));
+
+            block.clear();
+            block.limit((int) ((blockNumLines - 1) * spacing + lineBytes));
+            channel.readFully(block, recordLength * y + xpos);
+        }
+
+        void read(final int y, final byte[] line) throws IOException {
+            final int pos = position(y);
+            for (int i = 0; i < line.length; ++i) {
+                line[i] = block.get(pos + i);
+            }
+        }
+
+        void read(final int y, final short[] line) throws IOException {
+            final int pos = position(y);
+            for (int i = 0; i < line.length; ++i) {
+                line[i] = block.getShort(pos + (i << 1));
+            }
+        }
+
+        void read(final int y, final int[] line) throws IOException {
+            final int pos = position(y);
+            for (int i = 0; i < line.length; ++i) {
+                line[i] = block.getInt(pos + (i << 2));
+            }
+        }
+
+        void read(final int y, final float[] line) throws IOException {
+            final int pos = position(y);
+            for (int i = 0; i < line.length; ++i) {
+                line[i] = block.getFloat(pos + (i << 2));
+            }
+        }
+    }
+}
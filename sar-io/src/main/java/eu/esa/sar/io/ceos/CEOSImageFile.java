@@ -20,8 +20,10 @@ import eu.esa.sar.io.binary.BinaryFileReader;
 import eu.esa.sar.io.binary.BinaryRecord;
 import org.esa.snap.core.datamodel.MetadataElement;
 import org.esa.snap.core.datamodel.ProductData;
+import org.esa.snap.core.util.SystemUtils;
 import org.esa.snap.engine_utilities.eo.Constants;
 
+import java.io.File;
 import java.io.IOException;
 
 
@@ -40,6 +42,24 @@ public abstract class CEOSImageFile {
     protected long startPosImageRecords = 0;
     protected int imageHeaderLength = 0;
 
+    private CEOSImageChannel imageChannel = null;
+
+    /**
+     * Read the image lines with positional reads on the image file instead of the shared binary reader,
+     * so that tiles can be read concurrently.
+     *
+     * @param file the image file or null if the product is compressed
+     */
+    public void setImageFile(final File file) {
+        if (file != null && file.isFile()) {
+            try {
+                imageChannel = new CEOSImageChannel(file);
+            } catch (IOException e) {
+                SystemUtils.LOG.warning("Unable to open " + file + " for positional reading: " + e.getMessage());
+            }
+        }
+    }
+
     public BinaryRecord getImageFileDescriptor() {
         return imageFDR;
     }
@@ -165,6 +185,8 @@ public abstract class CEOSImageFile {
         pm.beginTask("Reading band...", sourceMaxY - sourceOffsetY);
         try {
             final short[] srcLine = new short[sourceWidth];
+            final CEOSImageChannel.Lines lines = openLines(xpos, sourceOffsetY, sourceMaxY, sourceStepY,
+                    srcLine.length * 2);
             short[] destLine = null;
             if (sourceStepX != 1)
                 destLine = new short[destWidth];
@@ -174,10 +196,7 @@ public abstract class CEOSImageFile {
                 }
 
                 // Read source line
-                synchronized (binaryReader) {
-                    binaryReader.seek(_imageRecordLength * y + xpos);
-                    binaryReader.read(srcLine);
-                }
+                readLine(lines, xpos, y, srcLine);
 
                 // Copy source line into destination buffer
                 int currentLineIndex = (y - sourceOffsetY) * destWidth;
@@ -216,6 +235,8 @@ public abstract class CEOSImageFile {
         pm.beginTask("Reading band...", sourceMaxY - sourceOffsetY);
         try {
             final int[] srcLine = new int[sourceWidth];
+            final CEOSImageChannel.Lines lines = openLines(xpos, sourceOffsetY, sourceMaxY, sourceStepY,
+                    srcLine.length * 4);
             int[] destLine = null;
             if (sourceStepX != 1)
                 destLine = new int[destWidth];
@@ -225,10 +246,7 @@ public abstract class CEOSImageFile {
                 }
 
                 // Read source line
-                synchronized (binaryReader) {
-                    binaryReader.seek(_imageRecordLength * y + xpos);
-                    binaryReader.read(srcLine);
-                }
+                readLine(lines, xpos, y, srcLine);
 
                 // Copy source line into destination buffer
                 final int currentLineIndex = (y - sourceOffsetY) * destWidth;
@@ -260,6 +278,8 @@ public abstract class CEOSImageFile {
         pm.beginTask("Reading band...", sourceMaxY - sourceOffsetY);
         try {
             final float[] srcLine = new float[sourceWidth];
+            final CEOSImageChannel.Lines lines = openLines(xpos, sourceOffsetY, sourceMaxY, sourceStepY,
+                    srcLine.length * 4);
             float[] destLine = null;
             if (sourceStepX != 1)
                 destLine = new float[destWidth];
@@ -269,10 +289,7 @@ public abstract class CEOSImageFile {
                 }
 
                 // Read source line
-                synchronized (binaryReader) {
-                    binaryReader.seek(_imageRecordLength * y + xpos);
-                    binaryReader.read(srcLine);
-                }
+                readLine(lines, xpos, y, srcLine);
 
                 // Copy source line into destination buffer
                 final int currentLineIndex = (y - sourceOffsetY) * destWidth;
@@ -303,6 +320,8 @@ public abstract class CEOSImageFile {
         pm.beginTask("Reading band...", sourceMaxY - sourceOffsetY);
         try {
             final byte[] srcLine = new byte[sourceWidth];
+            final CEOSImageChannel.Lines lines = openLines(xpos, sourceOffsetY, sourceMaxY, sourceStepY,
+                    srcLine.length);
             byte[] destLine = null;
             if (sourceStepX != 1)
                 destLine = new byte[destWidth];
@@ -312,10 +331,7 @@ public abstract class CEOSImageFile {
                 }
 
                 // Read source line
-                synchronized (binaryReader) {
-                    binaryReader.seek(_imageRecordLength * y + xpos);
-                    binaryReader.read(srcLine);
-                }
+                readLine(lines, xpos, y, srcLine);
 
                 // Copy source line into destination buffer
                 final int currentLineIndex = (y - sourceOffsetY) * destWidth;
@@ -347,6 +363,8 @@ public abstract class CEOSImageFile {
 
         try {
             final short[] srcLine = new short[sourceWidth * 2];
+            final CEOSImageChannel.Lines lines = openLines(xpos, sourceOffsetY, sourceMaxY, sourceStepY,
+                    srcLine.length * 2);
             for (int y = sourceOffsetY; y <= sourceMaxY; y += sourceStepY) {
 
                 /*
@@ -374,10 +392,7 @@ public abstract class CEOSImageFile {
                 }   */
 
                 // Read source line
-                synchronized (binaryReader) {
-                    binaryReader.seek(_imageRecordLength * y + xpos);
-                    binaryReader.read(srcLine);
-                }
+                readLine(lines, xpos, y, srcLine);
 
                 // Copy source line into destination buffer
                 final int currentLineIndex = (y - sourceOffsetY) * destWidth;
@@ -392,7 +407,7 @@ public abstract class CEOSImageFile {
         }
     }
 
-    public synchronized void readBandRasterDataSLCFloat(final int sourceOffsetX, final int sourceOffsetY,
+    public void readBandRasterDataSLCFloat(final int sourceOffsetX, final int sourceOffsetY,
                                            final int sourceWidth, final int sourceHeight,
                                            final int sourceStepX, final int sourceStepY,
                                            final int destWidth, final ProductData destBuffer, boolean oneOf2,
@@ -404,13 +419,12 @@ public abstract class CEOSImageFile {
         pm.beginTask("Reading band...", sourceMaxY - sourceOffsetY);
         try {
             final float[] srcLine = new float[sourceWidth * 2];
+            final CEOSImageChannel.Lines lines = openLines(xpos, sourceOffsetY, sourceMaxY, sourceStepY,
+                    srcLine.length * 4);
             final float[] destLine = new float[destWidth];
             for (int y = sourceOffsetY; y <= sourceMaxY; y += sourceStepY) {
                 // Read source line
-                //synchronized (binaryReader) {
-                    binaryReader.seek(_imageRecordLength * y + xpos);
-                    binaryReader.read(srcLine);
-                //}
+                readLine(lines, xpos, y, srcLine);
 
                 // Copy source line into destination buffer
                 final int currentLineIndex = (y - sourceOffsetY) * destWidth;
@@ -438,6 +452,8 @@ public abstract class CEOSImageFile {
         pm.beginTask("Reading band...", sourceMaxY - sourceOffsetY);
         try {
             final byte[] srcLine = new byte[sourceWidth * 2];
+            final CEOSImageChannel.Lines lines = openLines(xpos, sourceOffsetY, sourceMaxY, sourceStepY,
+                    srcLine.length);
             final byte[] destLine = new byte[destWidth];
             for (int y = sourceOffsetY; y <= sourceMaxY; y += sourceStepY) {
                 if (pm.isCanceled()) {
@@ -445,10 +461,7 @@ public abstract class CEOSImageFile {
                 }
 
                 // Read source line
-                synchronized (binaryReader) {
-                    binaryReader.seek(_imageRecordLength * y + xpos);
-                    binaryReader.read(srcLine);
-                }
+                readLine(lines, xpos, y, srcLine);
 
                 // Copy source line into destination buffer
                 final int currentLineIndex = (y - sourceOffsetY) * destWidth;
@@ -467,6 +480,60 @@ public abstract class CEOSImageFile {
         }
     }
 
+    private CEOSImageChannel.Lines openLines(final long xpos, final int firstY, final int lastY, final int stepY,
+                                             final int lineBytes) {
+        final CEOSImageChannel channel = imageChannel;
+        return channel != null ? channel.lines(xpos, _imageRecordLength, firstY, lastY, stepY, lineBytes) : null;
+    }
+
+    private void readLine(final CEOSImageChannel.Lines lines, final long xpos, final int y,
+                          final byte[] srcLine) throws IOException {
+        if (lines != null) {
+            lines.read(y, srcLine);
+        } else {
+            synchronized (binaryReader) {
+                binaryReader.seek(_imageRecordLength * y + xpos);
+                binaryReader.read(srcLine);
+            }
+        }
+    }
+
+    private void readLine(final CEOSImageChannel.Lines lines, final long xpos, final int y,
+                          final short[] srcLine) throws IOException {
+        if (lines != null) {
+            lines.read(y, srcLine);
+        } else {
+            synchronized (binaryReader) {
+                binaryReader.seek(_imageRecordLength * y + xpos);
+                binaryReader.read(srcLine);
+            }
+        }
+    }
+
+    private void readLine(final CEOSImageChannel.Lines lines, final long xpos, final int y,
+                          final int[] srcLine) throws IOException {
+        if (lines != null) {
+            lines.read(y, srcLine);
+        } else {
+            synchronized (binaryReader) {
+                binaryReader.seek(_imageRecordLength * y + xpos);
+                binaryReader.read(srcLine);
+            }
+        }
+    }
+
+    private void readLine(final CEOSImageChannel.Lines lines, final long xpos, final int y,
+                          final float[] srcLine) throws IOException {
+        if (lines != null) {
+            lines.read(y, srcLine);
+        } else {
+            synchronized (binaryReader) {
+                binaryReader.seek(_imageRecordLength * y + xpos);
+                binaryReader.read(srcLine);
+            }
+        }
+    }
+
     private static void copyLine(final short[] srcLine, final short[] destLine, final int sourceStepX) {
         for (int x = 0, i = 0; x < destLine.length; ++x, i += sourceStepX) {
             destLine[x] = srcLine[i];
@@ -551,5 +618,9 @@ public abstract class CEOSImageFile {
     public void close() throws IOException {
         binaryReader.close();
         binaryReader = null;
+        if (imageChannel != null) {
+            imageChannel.close();
+            imageChannel = null;
+        }
     }
 }
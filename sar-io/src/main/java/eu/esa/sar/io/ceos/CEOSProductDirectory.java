@@ -499,12 +499,14 @@ public abstract class CEOSProductDirectory {
                 if (nameUp.startsWith(prefix) || nameUp.endsWith('.' + prefix)) {
                     try {
                         ImageInputStream stream;
+                        File file = null;
                         if (productDir.isCompressed()) {
                             stream = new MemoryCacheImageInputStream(productDir.getInputStream(folder + name));
                         } else {
-                            stream = new FileImageInputStreamExtImpl(productDir.getFile(folder + name));
+                            file = productDir.getFile(folder + name);
+                            stream = new FileImageInputStreamExtImpl(file);
                         }
-                        list.add(new CeosFile(stream, name));
+                        list.add(new CeosFile(stream, name, file));
                     } catch (Exception e) {
                         SystemUtils.LOG.info(folder + name + " not found");
                         return null;
@@ -518,10 +520,16 @@ public abstract class CEOSProductDirectory {
     public static class CeosFile {
         public ImageInputStream imgInputStream;
         public String fileName;
+        public File file;
 
         public CeosFile(ImageInputStream imgInputStream, String fileName) {
+            this(imgInputStream, fileName, null);
+        }
+
+        public CeosFile(ImageInputStream imgInputStream, String fileName, File file) {
             this.imgInputStream = imgInputStream;
             this.fileName = fileName;
+            this.file = file;
         }
     }
 }
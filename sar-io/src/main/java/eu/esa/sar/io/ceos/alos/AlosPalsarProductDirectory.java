@@ -108,6 +108,7 @@ public class AlosPalsarProductDirectory extends CEOSProductDirectory {
                 //wish to perturb the interface defn (ALOS2) - so pass the info via prodlevel sign.
                 final AlosPalsarImageFile imgFile = new AlosPalsarImageFile(imageFile.imgInputStream,
                         prodLevel, imageFile.fileName);
+                imgFile.setImageFile(imageFile.file);
                 imgArray.add(imgFile);
                 imgFile.isProductIPF = isProductIPF;
                 final boolean IPF = imgFile.isIPF();
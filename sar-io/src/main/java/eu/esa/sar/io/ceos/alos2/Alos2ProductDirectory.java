@@ -74,6 +74,7 @@ public class Alos2ProductDirectory extends AlosPalsarProductDirectory {
             try {
                 final AlosPalsarImageFile imgFile = new AlosPalsarImageFile(imageFile.imgInputStream,
                         getProductLevel(), imageFile.fileName);
+                imgFile.setImageFile(imageFile.file);
                 imgArray.add(imgFile);
             } catch (Exception e) {
                 e.printStackTrace();
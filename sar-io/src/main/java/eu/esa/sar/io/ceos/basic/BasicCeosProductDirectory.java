@@ -88,6 +88,7 @@ class BasicCeosProductDirectory extends CEOSProductDirectory {
         for (CeosFile imageFile : ceosFiles) {
             try {
                 final BasicCeosImageFile imgFile = new BasicCeosImageFile(imageFile.imgInputStream, histogramRec);
+                imgFile.setImageFile(imageFile.file);
                 imgArray.add(imgFile);
             } catch (Exception e) {
                 e.printStackTrace();
@@ -65,6 +65,7 @@ class ERSProductDirectory extends CEOSProductDirectory {
         for (CeosFile imageFile : ceosFiles) {
             try {
                 final ERSImageFile imgFile = new ERSImageFile(imageFile.imgInputStream);
+                imgFile.setImageFile(imageFile.file);
                 imgArray.add(imgFile);
             } catch (Exception e) {
                 e.printStackTrace();
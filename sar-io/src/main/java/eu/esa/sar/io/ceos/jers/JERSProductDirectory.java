@@ -69,6 +69,7 @@ class JERSProductDirectory extends CEOSProductDirectory {
         for (CeosFile imageFile : ceosFiles) {
             try {
                 final JERSImageFile imgFile = new JERSImageFile(imageFile.imgInputStream);
+                imgFile.setImageFile(imageFile.file);
                 imgArray.add(imgFile);
             } catch (Exception e) {
                 System.out.println(e.getMessage());
@@ -80,6 +80,7 @@ class RisatCeosProductDirectory extends CEOSProductDirectory {
         for (CeosFile imageFile : ceosFiles) {
             try {
                 final RisatCeosImageFile imgFile = new RisatCeosImageFile(imageFile.imgInputStream, histogramRec);
+                imgFile.setImageFile(imageFile.file);
                 imgArray.add(imgFile);
             } catch (Exception e) {
                 e.printStackTrace();
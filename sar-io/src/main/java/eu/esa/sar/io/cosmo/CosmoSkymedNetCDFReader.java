@@ -18,6 +18,7 @@ package eu.esa.sar.io.cosmo;
 import com.bc.ceres.core.ProgressMonitor;
 import eu.esa.sar.commons.io.SARReader;
 import eu.esa.sar.io.netcdf.NcAttributeMap;
+import eu.esa.sar.io.netcdf.NcChunkReader;
 import eu.esa.sar.io.netcdf.NcRasterDim;
 import eu.esa.sar.io.netcdf.NcVariableMap;
 import eu.esa.sar.io.netcdf.NetCDFReader;
@@ -38,8 +39,6 @@ import org.esa.snap.engine_utilities.datamodel.Unit;
 import org.esa.snap.engine_utilities.eo.Constants;
 import org.esa.snap.engine_utilities.gpf.OperatorUtils;
 import org.esa.snap.engine_utilities.gpf.ReaderUtils;
-import ucar.ma2.Array;
-import ucar.ma2.InvalidRangeException;
 import ucar.nc2.NetcdfFile;
 import ucar.nc2.Variable;
 
@@ -57,6 +56,7 @@ import java.util.Map;
 public class CosmoSkymedNetCDFReader implements CosmoSkymedReader.CosmoReader {
 
     private NetcdfFile netcdfFile = null;
+    private NcChunkReader chunkReader = null;
     private Product product = null;
     private NcVariableMap variableMap = null;
     private boolean yFlipped = false;
@@ -76,6 +76,7 @@ public class CosmoSkymedNetCDFReader implements CosmoSkymedReader.CosmoReader {
     private void initReader() {
         product = null;
         netcdfFile = null;
+        chunkReader = null;
         variableMap = null;
     }
 
@@ -103,6 +104,7 @@ public class CosmoSkymedNetCDFReader implements CosmoSkymedReader.CosmoReader {
         final Variable[] tiePointGridVariables = NetCDFUtils.getTiePointGridVariables(variableListMap, rasterVariables);
 
         this.netcdfFile = netcdfFile;
+        chunkReader = new NcChunkReader(inputPath.toFile().getAbsolutePath());
         variableMap = new NcVariableMap(rasterVariables);
         yFlipped = false;
 
@@ -130,6 +132,10 @@ public class CosmoSkymedNetCDFReader implements CosmoSkymedReader.CosmoReader {
 
     @Override
     public void close() throws IOException {
+        if (chunkReader != null) {
+            chunkReader.close();
+            chunkReader = null;
+        }
         if (netcdfFile != null) {
             variableMap.clear();
             variableMap = null;
@@ -753,13 +759,7 @@ public class CosmoSkymedNetCDFReader implements CosmoSkymedReader.CosmoReader {
         final Variable variable = bandMap.get(destBand);
         final int rank = variable.getRank();
         final int[] origin = new int[rank];
-        final int[] shape = new int[rank];
-        for (int i = 0; i < rank; i++) {
-            shape[i] = 1;
-            origin[i] = 0;
-        }
-        shape[0] = 1;
-        shape[1] = destWidth;
+        origin[0] = yFlipped ? y0 - (destHeight - 1) : y0;
         origin[1] = sourceOffsetX;
         if (isComplex && destBand.getUnit().equals(Unit.IMAGINARY)) {
             origin[2] = 1;
@@ -767,19 +767,8 @@ public class CosmoSkymedNetCDFReader implements CosmoSkymedReader.CosmoReader {
 
         pm.beginTask("Reading data from band " + destBand.getName(), destHeight);
         try {
-            for (int y = 0; y < destHeight; y++) {
-                origin[0] = yFlipped ? y0 - y : y0 + y;
-                final Array array;
-                synchronized (netcdfFile) {
-                    array = variable.read(origin, shape);
-                }
-                System.arraycopy(array.getStorage(), 0, destBuffer.getElems(), y * destWidth, destWidth);
-                pm.worked(1);
-            }
-        } catch (InvalidRangeException e) {
-            final IOException ioException = new IOException(e.getMessage());
-            ioException.initCause(e);
-            throw ioException;
+            // the i and q bands share the cached chunks
+            chunkReader.readRaster(variable, origin, 0, destHeight, destWidth, destBuffer.getElems(), yFlipped, pm);
         } finally {
             pm.done();
         }
@@ -17,7 +17,7 @@ package eu.esa.sar.io.gamma;
 
 import com.bc.ceres.core.ProgressMonitor;
 import com.bc.ceres.multilevel.MultiLevelImage;
-import eu.esa.sar.commons.io.FileImageOutputStreamExtImpl;
+import eu.esa.sar.commons.io.WriteBehindFile;
 import eu.esa.sar.io.gamma.header.GammaConstants;
 import eu.esa.sar.io.gamma.header.HeaderDEMWriter;
 import eu.esa.sar.io.gamma.header.HeaderDiffWriter;
@@ -30,12 +30,12 @@ import org.esa.snap.core.gpf.internal.TileImpl;
 import org.esa.snap.core.util.Guardian;
 import org.esa.snap.engine_utilities.datamodel.Unit;
 
-import javax.imageio.stream.ImageOutputStream;
 import java.awt.*;
 import java.awt.image.Raster;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.HashMap;
 import java.util.Map;
@@ -48,7 +48,7 @@ public class GammaProductWriter extends AbstractProductWriter {
     private File outputDir;
     private File outputFile;
     private Product srcProduct;
-    private Map<Band, ImageOutputStream> bandOutputStreams;
+    private Map<Band, WriteBehindFile> bandOutputFiles;
     private HeaderWriter headerWriter;
 
     public GammaProductWriter(final ProductWriterPlugIn writerPlugIn) {
@@ -89,74 +89,50 @@ public class GammaProductWriter extends AbstractProductWriter {
         headerWriter.writeParFile();
     }
 
-    private ImageOutputStream createImageOutputStream(final Band band) throws IOException {
-        final ImageOutputStream out = new FileImageOutputStreamExtImpl(getValidImageFile(band));
-        out.setByteOrder(ByteOrder.BIG_ENDIAN);
-        return out;
-    }
-
     /**
      * {@inheritDoc}
      */
-    public synchronized void writeBandRasterData(Band sourceBand,
-                                                 int sourceOffsetX, int sourceOffsetY,
-                                                 int sourceWidth, int sourceHeight,
-                                                 ProductData sourceBuffer,
-                                                 ProgressMonitor pm) throws IOException {
+    public void writeBandRasterData(Band sourceBand,
+                                    int sourceOffsetX, int sourceOffsetY,
+                                    int sourceWidth, int sourceHeight,
+                                    ProductData sourceBuffer,
+                                    ProgressMonitor pm) throws IOException {
         Guardian.assertNotNull("sourceBand", sourceBand);
         Guardian.assertNotNull("sourceBuffer", sourceBuffer);
-        final int sourceBandWidth = sourceBand.getRasterWidth();
+        final long sourceBandWidth = sourceBand.getRasterWidth();
         final int elemSize = headerWriter.getHighestElemSize();
 
-        final ImageOutputStream outputStream = getOrCreateImageOutputStream(sourceBand);
+        final WriteBehindFile outputFile = getOrCreateOutputFile(sourceBand);
         pm.beginTask("Writing band '" + sourceBand.getName() + "'...", sourceHeight);
         try {
             if (isComplex(sourceBand)) {
-                int numInterleaved = 2;
+                final int numInterleaved = 2;
                 final Rectangle rect = new Rectangle(sourceOffsetX, sourceOffsetY, sourceWidth, sourceHeight);
                 final Tile sourceTile = getSourceTile(getComplexSrcBand(sourceBand), rect);
                 final ProductData qSourceBuffer = sourceTile.getRawSamples();
-                int srcCnt = 0;
+                final int numElems = sourceWidth * sourceHeight;
 
+                final ByteBuffer destBuffer = outputFile.allocate(numElems * numInterleaved * elemSize);
                 if (elemSize >= 4) {
-                    final float[] destBuffer = new float[sourceWidth * numInterleaved];
-                    for (long y = sourceOffsetY; y < sourceOffsetY + sourceHeight; ++y) {
-                        int dstCnt = 0;
-                        for (int x = sourceOffsetX; x < sourceOffsetX + sourceWidth; ++x) {
-
-                            destBuffer[dstCnt++] = sourceBuffer.getElemFloatAt(srcCnt);
-                            destBuffer[dstCnt++] = qSourceBuffer.getElemFloatAt(srcCnt);
-                            srcCnt++;
-                        }
-
-                        outputStream.seek(elemSize * (y * sourceBandWidth + sourceOffsetX) * numInterleaved);
-                        outputStream.writeFloats(destBuffer, 0, destBuffer.length);
+                    for (int i = 0; i < numElems; ++i) {
+                        destBuffer.putFloat(sourceBuffer.getElemFloatAt(i));
+                        destBuffer.putFloat(qSourceBuffer.getElemFloatAt(i));
                     }
                 } else {
-                    final short[] destBuffer = new short[sourceWidth * numInterleaved];
-                    for (long y = sourceOffsetY; y < sourceOffsetY + sourceHeight; ++y) {
-                        int dstCnt = 0;
-                        for (int x = sourceOffsetX; x < sourceOffsetX + sourceWidth; ++x) {
-
-                            destBuffer[dstCnt++] = (short) sourceBuffer.getElemFloatAt(srcCnt);
-                            destBuffer[dstCnt++] = (short) qSourceBuffer.getElemFloatAt(srcCnt);
-                            srcCnt++;
-                        }
-
-                        outputStream.seek(elemSize * (y * sourceBandWidth + sourceOffsetX) * numInterleaved);
-                        outputStream.writeShorts(destBuffer, 0, destBuffer.length);
+                    for (int i = 0; i < numElems; ++i) {
+                        destBuffer.putShort((short) sourceBuffer.getElemFloatAt(i));
+                        destBuffer.putShort((short) qSourceBuffer.getElemFloatAt(i));
                     }
                 }
+                destBuffer.flip();
 
-                //System.out.println(rect.toString());
+                final long rowStride = elemSize * sourceBandWidth * numInterleaved;
+                outputFile.write(destBuffer, sourceOffsetY * rowStride + (long) elemSize * sourceOffsetX * numInterleaved,
+                        elemSize * sourceWidth * numInterleaved, rowStride);
             } else {
-                //todo
-                long outputPos = (long) sourceOffsetY * (long) sourceBandWidth + sourceOffsetX;
-                final long max = sourceHeight * sourceWidth;
-                for (int sourcePos = 0; sourcePos < max; sourcePos += sourceWidth) {
-                    sourceBuffer.writeTo(sourcePos, sourceWidth, outputStream, outputPos);
-                    outputPos += sourceBandWidth;
-                }
+                final long rowStride = sourceBuffer.getElemSize() * sourceBandWidth;
+                outputFile.write(sourceBuffer, sourceWidth, sourceHeight,
+                        sourceOffsetY * rowStride + (long) sourceBuffer.getElemSize() * sourceOffsetX, rowStride);
             }
             pm.worked(1);
         } finally {
@@ -187,12 +163,12 @@ public class GammaProductWriter extends AbstractProductWriter {
      *
      * @throws java.io.IOException on failure
      */
-    public void flush() throws IOException {
-        if (bandOutputStreams == null) {
+    public synchronized void flush() throws IOException {
+        if (bandOutputFiles == null) {
             return;
         }
-        for (Object o : bandOutputStreams.values()) {
-            ((ImageOutputStream) o).flush();
+        for (WriteBehindFile file : bandOutputFiles.values()) {
+            file.flush();
         }
     }
 
@@ -201,15 +177,25 @@ public class GammaProductWriter extends AbstractProductWriter {
      *
      * @throws java.io.IOException on failure
      */
-    public void close() throws IOException {
-        if (bandOutputStreams == null) {
+    public synchronized void close() throws IOException {
+        if (bandOutputFiles == null) {
             return;
         }
-        for (Object o : bandOutputStreams.values()) {
-            ((ImageOutputStream) o).close();
+        IOException failure = null;
+        for (WriteBehindFile file : bandOutputFiles.values()) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        bandOutputFiles.clear();
+        bandOutputFiles = null;
+        if (failure != null) {
+            throw failure;
         }
-        bandOutputStreams.clear();
-        bandOutputStreams = null;
     }
 
     /**
@@ -224,26 +210,19 @@ public class GammaProductWriter extends AbstractProductWriter {
     }
 
     /**
-     * Returns the data output stream associated with the given <code>Band</code>. If no stream exists, one is created
+     * Returns the output file associated with the given <code>Band</code>. If no file exists, one is created
      * and fed into the hash map
      */
-    private ImageOutputStream getOrCreateImageOutputStream(final Band band) throws IOException {
-        ImageOutputStream outputStream = getImageOutputStream(band);
-        if (outputStream == null) {
-            outputStream = createImageOutputStream(band);
-            if (bandOutputStreams == null) {
-                bandOutputStreams = new HashMap<>();
-            }
-            bandOutputStreams.put(band, outputStream);
+    private synchronized WriteBehindFile getOrCreateOutputFile(final Band band) throws IOException {
+        if (bandOutputFiles == null) {
+            bandOutputFiles = new HashMap<>();
         }
-        return outputStream;
-    }
-
-    private ImageOutputStream getImageOutputStream(final Band band) {
-        if (bandOutputStreams != null) {
-            return bandOutputStreams.get(band);
+        WriteBehindFile outputFile = bandOutputFiles.get(band);
+        if (outputFile == null) {
+            outputFile = WriteBehindFile.open(getValidImageFile(band), ByteOrder.BIG_ENDIAN);
+            bandOutputFiles.put(band, outputFile);
         }
-        return null;
+        return outputFile;
     }
 
     @Override
@@ -14,10 +14,10 @@
 package eu.esa.sar.io.gaofen3;
 
 import com.bc.ceres.core.ProgressMonitor;
+import eu.esa.sar.commons.io.DataCache;
 import eu.esa.sar.commons.io.ImageIOFile;
 import eu.esa.sar.commons.io.SARProductReaderPlugIn;
 import eu.esa.sar.commons.io.SARReader;
-import eu.esa.sar.io.DataCache;
 import org.esa.snap.core.datamodel.Band;
 import org.esa.snap.core.datamodel.Product;
 import org.esa.snap.core.datamodel.ProductData;
@@ -52,7 +52,7 @@ public class Gaofen3ProductReader extends SARReader {
      */
     public Gaofen3ProductReader(final SARProductReaderPlugIn readerPlugIn) {
         super(readerPlugIn);
-        cache = new DataCache();
+        cache = DataCache.instance();
         this.readerPlugIn = readerPlugIn;
     }
 
@@ -112,14 +112,11 @@ public class Gaofen3ProductReader extends SARReader {
         final int[] srcArray;
         final ImageIOFile.BandInfo bandInfo = dataDir.getBandInfo(destBand);
         final Rectangle destRect = new Rectangle(destOffsetX, destOffsetY, destWidth, destHeight);
-        final DataCache.DataKey datakey = new DataCache.DataKey(bandInfo.img, destRect);
-        DataCache.Data cachedData = cache.get(datakey);
-        if (cachedData != null && cachedData.valid) {
-            srcArray = cachedData.intArray;
-        } else {
-            cachedData = readRect(datakey, bandInfo, sourceOffsetX, sourceOffsetY, sourceStepX, sourceStepY, destRect);
-            srcArray = cachedData.intArray;
-        }
+        final DataCache.DataKey datakey = new DataCache.DataKey(bandInfo.img, destRect, sourceStepX, sourceStepY,
+                sourceOffsetX % sourceStepX, sourceOffsetY % sourceStepY, bandInfo.bandSampleOffset);
+        final DataCache.Data cachedData = cache.get(datakey, () ->
+                readRect(bandInfo, sourceOffsetX, sourceOffsetY, sourceStepX, sourceStepY, destRect));
+        srcArray = cachedData.intArray;
         final boolean isSLC = dataDir.isSLC();
         final float[] elems = (float[]) destBuffer.getElems();
         final int numElems = elems.length;
@@ -165,7 +162,7 @@ public class Gaofen3ProductReader extends SARReader {
 
     }
 
-    private synchronized DataCache.Data readRect(final DataCache.DataKey datakey, final ImageIOFile.BandInfo bandInfo,
+    private synchronized DataCache.Data readRect(final ImageIOFile.BandInfo bandInfo,
                                                  int sourceOffsetX, int sourceOffsetY, int sourceStepX, int sourceStepY,
                                                  final Rectangle destRect) {
         try {
@@ -188,18 +185,10 @@ public class Gaofen3ProductReader extends SARReader {
             sampleModel.getSamples(0, 0, destWidth, destHeight, bandInfo.bandSampleOffset, srcArray,
                     data.getDataBuffer());
 
-            DataCache.Data cachedData = new DataCache.Data(srcArray);
-            if (datakey != null) {
-                cache.put(datakey, cachedData);
-            }
-            return cachedData;
+            return new DataCache.Data(srcArray);
         } catch (Exception e) {
             final int[] srcArray = new int[(int) destRect.getWidth() * (int) destRect.getHeight()];
-            DataCache.Data cachedData = new DataCache.Data(srcArray);
-            if (datakey != null) {
-                cache.put(datakey, cachedData);
-            }
-            return cachedData;
+            return new DataCache.Data(srcArray);
         }
     }
 }
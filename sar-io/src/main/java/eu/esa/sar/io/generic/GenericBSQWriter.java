@@ -16,6 +16,7 @@
 package eu.esa.sar.io.generic;
 
 import com.bc.ceres.core.ProgressMonitor;
+import eu.esa.sar.commons.io.WriteBehindFile;
 import org.esa.snap.core.dataio.AbstractProductWriter;
 import org.esa.snap.core.dataio.ProductWriterPlugIn;
 import org.esa.snap.core.datamodel.Band;
@@ -27,19 +28,18 @@ import org.esa.snap.core.util.Guardian;
 import org.esa.snap.engine_utilities.datamodel.AbstractMetadata;
 import org.esa.snap.engine_utilities.datamodel.metadata.AbstractMetadataIO;
 
-import javax.imageio.stream.FileImageOutputStream;
-import javax.imageio.stream.ImageOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
 
 
 public class GenericBSQWriter extends AbstractProductWriter {
 
-    private ImageOutputStream _outputStream = null;
+    private WriteBehindFile _outputFile = null;
 
-    private String bandName = null;
-    private int bandCounter = 0;
+    private final Map<String, Integer> bandIndices = new HashMap<>(); // order of the written bands in the file
     private int numOfWriteBands = 0; // number of bands that are written (no virtual bands)
 
     /**
@@ -70,9 +70,8 @@ public class GenericBSQWriter extends AbstractProductWriter {
             file = (File) getOutput();
         }
 
-        _outputStream = new FileImageOutputStream(file);
         // Default to nativeOrder
-        _outputStream.setByteOrder(ByteOrder.nativeOrder());
+        _outputFile = WriteBehindFile.open(file, ByteOrder.nativeOrder());
 
         final MetadataElement absRoot = AbstractMetadata.getAbstractedMetadata(getSourceProduct());
         AbstractMetadataIO.saveExternalMetadata(getSourceProduct(), absRoot, file);
@@ -80,8 +79,9 @@ public class GenericBSQWriter extends AbstractProductWriter {
         // Get number of Real (not Virtual) bands
         final int numOfBands = getSourceProduct().getNumBands();
         for (int i = 0; i < numOfBands; i++) {
-            if (!(getSourceProduct().getBandAt(i) instanceof VirtualBand)) {
-                numOfWriteBands++;
+            final Band band = getSourceProduct().getBandAt(i);
+            if (!(band instanceof VirtualBand)) {
+                bandIndices.put(band.getName(), numOfWriteBands++);
             }
         }
     }
@@ -107,23 +107,18 @@ public class GenericBSQWriter extends AbstractProductWriter {
 
         checkSourceRegionInsideBandRegion(sourceWidth, sourceBandWidth, sourceHeight, sourceBandHeight, sourceOffsetX, sourceOffsetY);
 
-        // Define order number of Band that is being saved
-        if (bandName == null) {
-            bandName = sourceBand.getName();
-        } else if (!bandName.equals(sourceBand.getName())) {
-            bandName = sourceBand.getName();
-            bandCounter++;
+        final Integer bandIndex = bandIndices.get(sourceBand.getName());
+        if (bandIndex == null) {
+            throw new IOException("Band " + sourceBand.getName() + " is not written by this writer");
         }
 
         // Write all source NOT VIRTUAL bands in BSQ : Band Sequential Format
-        long outputPos = sourceOffsetY * (numOfWriteBands * sourceBandWidth) + sourceOffsetX + (bandCounter * sourceBandWidth);
+        final long elemSize = sourceBuffer.getElemSize();
+        final long rowStride = elemSize * numOfWriteBands * sourceBandWidth;
+        final long outputPos = sourceOffsetY * rowStride + elemSize * (sourceOffsetX + (long) bandIndex * sourceBandWidth);
         pm.beginTask("Writing band '" + sourceBand.getName() + "'...", sourceHeight);
         try {
-            final long max = sourceHeight * sourceWidth;
-            for (int sourcePos = 0; sourcePos < max; sourcePos += sourceWidth) {
-                sourceBuffer.writeTo(sourcePos, sourceWidth, _outputStream, outputPos);
-                outputPos += (numOfWriteBands * sourceBandWidth);
-            }
+            _outputFile.write(sourceBuffer, sourceWidth, sourceHeight, outputPos, rowStride);
             pm.worked(1);
         } finally {
             pm.done();
@@ -162,8 +157,8 @@ public class GenericBSQWriter extends AbstractProductWriter {
      * @throws java.io.IOException on failure
      */
     public void flush() throws IOException {
-        if (_outputStream != null) {
-            _outputStream.flush();
+        if (_outputFile != null) {
+            _outputFile.flush();
         }
     }
 
@@ -173,10 +168,12 @@ public class GenericBSQWriter extends AbstractProductWriter {
      * @throws java.io.IOException on failure
      */
     public void close() throws IOException {
-        if (_outputStream != null) {
-            _outputStream.flush();
-            _outputStream.close();
-            _outputStream = null;
+        if (_outputFile != null) {
+            try {
+                _outputFile.close();
+            } finally {
+                _outputFile = null;
+            }
         }
     }
 
@@ -0,0 +1,290 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.io.netcdf;
+
+import com.bc.ceres.core.ProgressMonitor;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.esa.snap.runtime.Config;
+import ucar.ma2.Array;
+import ucar.ma2.InvalidRangeException;
+import ucar.nc2.Attribute;
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.Variable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Concurrent raster reads of NetCDF and HDF variables.
+ * <p>
+ * Reads of chunked variables are expanded to the native chunks, which are decompressed once and kept in a cache
+ * shared by all readers and bounded by the preference sar.io.netcdf.chunkCacheSizeMB. Variables which are not
+ * chunked are read directly. A NetcdfFile is not thread safe, so reads go through a bounded pool of file handles
+ * opened on demand.
+ */
+public class NcChunkReader implements Closeable {
+
+    private static final String CHUNK_SIZES = "_ChunkSizes";
+    private static final long MAX_CHUNK_BYTES = 64L * 1024 * 1024;
+    private static final int[] NOT_CHUNKED = new int[0];
+    private static final int STRIP_HEIGHT = 64; // rows read at once from variables which are not chunked
+
+    private static final int poolSize = Config.instance().preferences().getInt("sar.io.netcdf.readerPoolSize",
+            Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final Cache<ChunkKey, Array> chunkCache = CacheBuilder.newBuilder()
+            .maximumWeight(Config.instance().preferences().getLong("sar.io.netcdf.chunkCacheSizeMB", 256) * 1024 * 1024)
+            .weigher((ChunkKey key, Array chunk) -> (int) Math.min(chunk.getSizeBytes(), Integer.MAX_VALUE))
+            .build();
+
+    private final String location;
+    private final Semaphore permits = new Semaphore(Math.max(1, poolSize));
+    private final Deque<NetcdfFile> idleFiles = new ConcurrentLinkedDeque<>();
+    private final List<NetcdfFile> openFiles = new ArrayList<>();
+    private final Map<String, int[]> chunkShapes = new ConcurrentHashMap<>();
+
+    /**
+     * @param location the file the variables are read from
+     */
+    public NcChunkReader(final String location) {
+        this.location = location;
+    }
+
+    /**
+     * Read a raster of a variable.
+     *
+     * @param variable The variable.
+     * @param origin   The index of the first sample in every dimension of the variable.
+     * @param rowDim   The row dimension. The column dimension follows it, all other dimensions are read at origin.
+     * @param height   The number of rows.
+     * @param width    The number of columns.
+     * @param dest     The java array receiving the samples row after row.
+     * @param flipRows True to store the rows bottom up.
+     * @param pm       The progress monitor, worked by the number of rows read.
+     * @throws IOException if the variable cannot be read or the read is canceled.
+     */
+    public void readRaster(final Variable variable, final int[] origin, final int rowDim,
+                           final int height, final int width, final Object dest, final boolean flipRows,
+                           final ProgressMonitor pm) throws IOException {
+        final int colDim = rowDim + 1;
+        final int[] chunkShape = getChunkShape(variable);
+        if (chunkShape == NOT_CHUNKED) {
+            final int[] stripOrigin = origin.clone();
+            final int[] shape = new int[origin.length];
+            Arrays.fill(shape, 1);
+            shape[colDim] = width;
+            for (int row = 0; row < height; row += STRIP_HEIGHT) {
+                shape[rowDim] = Math.min(STRIP_HEIGHT, height - row);
+                stripOrigin[rowDim] = origin[rowDim] + row;
+                copyRows(read(variable, stripOrigin, shape).copyTo1DJavaArray(), width,
+                        row, shape[rowDim], 0, width, height, dest, flipRows);
+                worked(pm, shape[rowDim]);
+            }
+            return;
+        }
+
+        final int[] varShape = variable.getShape();
+        final int r0 = origin[rowDim], c0 = origin[colDim];
+        final int r1 = r0 + height - 1, c1 = c0 + width - 1;
+        final int chunkRows = chunkShape[rowDim], chunkCols = chunkShape[colDim];
+
+        final int[] chunkOrigin = new int[origin.length];
+        final int[] sectionOrigin = new int[origin.length];
+        final int[] sectionShape = new int[origin.length];
+        for (int d = 0; d < origin.length; ++d) {
+            chunkOrigin[d] = origin[d] / chunkShape[d] * chunkShape[d];
+            sectionOrigin[d] = origin[d] - chunkOrigin[d];
+            sectionShape[d] = 1;
+        }
+
+        for (int cr = r0 / chunkRows * chunkRows; cr <= r1; cr += chunkRows) {
+            for (int cc = c0 / chunkCols * chunkCols; cc <= c1; cc += chunkCols) {
+                chunkOrigin[rowDim] = cr;
+                chunkOrigin[colDim] = cc;
+                final Array chunk = getChunk(variable, chunkOrigin.clone(), chunkShape, varShape);
+
+                final int rowStart = Math.max(r0, cr), rowEnd = Math.min(r1, cr + chunkRows - 1);
+                final int colStart = Math.max(c0, cc), colEnd = Math.min(c1, cc + chunkCols - 1);
+                sectionOrigin[rowDim] = rowStart - cr;
+                sectionOrigin[colDim] = colStart - cc;
+                sectionShape[rowDim] = rowEnd - rowStart + 1;
+                sectionShape[colDim] = colEnd - colStart + 1;
+
+                final Object samples;
+                try {
+                    samples = chunk.section(sectionOrigin, sectionShape).copyTo1DJavaArray();
+                } catch (InvalidRangeException e) {
+                    throw new IOException(e.getMessage(), e);
+                }
+                copyRows(samples, sectionShape[colDim], rowStart - r0, sectionShape[rowDim], colStart - c0,
+                        width, height, dest, flipRows);
+            }
+            worked(pm, Math.min(r1, cr + chunkRows - 1) - Math.max(r0, cr) + 1);
+        }
+    }
+
+    private static void worked(final ProgressMonitor pm, final int rows) throws IOException {
+        pm.worked(rows);
+        if (pm.isCanceled()) {
+            throw new IOException("Process terminated by user."); /*I18N*/
+        }
+    }
+
+    private static void copyRows(final Object samples, final int samplesWidth, final int row, final int numRows,
+                                 final int col, final int width, final int height, final Object dest,
+                                 final boolean flipRows) {
+        for (int i = 0; i < numRows; ++i) {
+            final int destRow = flipRows ? height - 1 - (row + i) : row + i;
+            System.arraycopy(samples, i * samplesWidth, dest, destRow * width + col, samplesWidth);
+        }
+    }
+
+    private Array getChunk(final Variable variable, final int[] chunkOrigin, final int[] chunkShape,
+                           final int[] varShape) throws IOException {
+        final int[] shape = new int[chunkShape.length];
+        for (int d = 0; d < shape.length; ++d) {
+            shape[d] = Math.min(chunkShape[d], varShape[d] - chunkOrigin[d]);
+        }
+        try {
+            return chunkCache.get(new ChunkKey(this, variable.getFullName(), chunkOrigin),
+                    () -> read(variable, chunkOrigin, shape));
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Unable to read " + variable.getFullName() + ": " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * @return the native chunk shape or NOT_CHUNKED if the variable is contiguous or its chunks are too large
+     * to be cached.
+     */
+    private int[] getChunkShape(final Variable variable) {
+        return chunkShapes.computeIfAbsent(variable.getFullName(), name -> {
+            final Attribute chunkSizes = variable.attributes().findAttribute(CHUNK_SIZES);
+            final int rank = variable.getRank();
+            if (chunkSizes == null || chunkSizes.getLength() != rank) {
+                return NOT_CHUNKED;
+            }
+            final int[] shape = new int[rank];
+            long size = variable.getElementSize();
+            for (int d = 0; d < rank; ++d) {
+                shape[d] = chunkSizes.getNumericValue(d).intValue();
+                if (shape[d] <= 0) {
+                    return NOT_CHUNKED;
+                }
+                size *= shape[d];
+            }
+            return size <= MAX_CHUNK_BYTES ? shape : NOT_CHUNKED;
+        });
+    }
+
+    private Array read(final Variable variable, final int[] origin, final int[] shape) throws IOException {
+        final NetcdfFile file = acquireFile();
+        try {
+            final Variable fileVariable = file.findVariable(variable.getFullNameEscaped());
+            if (fileVariable == null) {
+                throw new IOException("Variable " + variable.getFullName() + " not found in " + location);
+            }
+            return fileVariable.read(origin, shape);
+        } catch (InvalidRangeException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            releaseFile(file);
+        }
+    }
+
+    private NetcdfFile acquireFile() throws IOException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to read " + location);
+        }
+        final NetcdfFile file = idleFiles.poll();
+        if (file != null) {
+            return file;
+        }
+        try {
+            final NetcdfFile newFile = NetcdfFile.open(location);
+            synchronized (openFiles) {
+                openFiles.add(newFile);
+            }
+            return newFile;
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void releaseFile(final NetcdfFile file) {
+        idleFiles.push(file);
+        permits.release();
+    }
+
+    @Override
+    public void close() throws IOException {
+        chunkCache.asMap().keySet().removeIf(key -> key.owner == this);
+        synchronized (openFiles) {
+            for (NetcdfFile file : openFiles) {
+                file.close();
+            }
+            openFiles.clear();
+            idleFiles.clear();
+        }
+    }
+
+    private static final class ChunkKey {
+        private final NcChunkReader owner;
+        private final String variableName;
+        private final int[] chunkOrigin;
+
+        ChunkKey(final NcChunkReader owner, final String variableName, final int[] chunkOrigin) {
+            this.owner = owner;
+            this.variableName = variableName;
+            this.chunkOrigin = chunkOrigin;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ChunkKey)) {
+                return false;
+            }
+            final ChunkKey key = (ChunkKey) obj;
+            return owner == key.owner && variableName.equals(key.variableName) &&
+                    Arrays.equals(chunkOrigin, key.chunkOrigin);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(owner) + variableName.hashCode()) + Arrays.hashCode(chunkOrigin);
+        }
+    }
+}
@@ -24,8 +24,6 @@ import org.esa.snap.core.datamodel.*;
 import org.esa.snap.core.util.Guardian;
 import org.esa.snap.core.util.SystemUtils;
 import org.esa.snap.engine_utilities.datamodel.AbstractMetadata;
-import ucar.ma2.Array;
-import ucar.ma2.InvalidRangeException;
 import ucar.nc2.Group;
 import ucar.nc2.NetcdfFile;
 import ucar.nc2.Variable;
@@ -41,6 +39,7 @@ import java.util.Map;
 public class NetCDFReader extends SARReader {
 
     private NetcdfFile netcdfFile = null;
+    private NcChunkReader chunkReader = null;
     private Product product = null;
     private NcVariableMap variableMap = null;
     private boolean yFlipped = false;
@@ -60,6 +59,7 @@ public class NetCDFReader extends SARReader {
     private void initReader() {
         product = null;
         netcdfFile = null;
+        chunkReader = null;
         variableMap = null;
     }
 
@@ -82,6 +82,7 @@ public class NetCDFReader extends SARReader {
             throw new IllegalFileFormatException(inputPath.getFileName().toString() +
                     " Could not be interpretted by the reader.");
         }
+        chunkReader = new NcChunkReader(inputPath.toFile().getAbsolutePath());
 
         final Map<NcRasterDim, List<Variable>> variableListMap = NetCDFUtils.getVariableListMap(netcdfFile.getRootGroup());
         if (variableListMap.isEmpty()) {
@@ -129,6 +130,10 @@ public class NetCDFReader extends SARReader {
 
     @Override
     public void close() throws IOException {
+        if (chunkReader != null) {
+            chunkReader.close();
+            chunkReader = null;
+        }
         if (netcdfFile != null) {
             variableMap.clear();
             variableMap = null;
@@ -251,10 +256,10 @@ public class NetCDFReader extends SARReader {
      * {@inheritDoc}
      */
     @Override
-    protected synchronized void readBandRasterDataImpl(int sourceOffsetX, int sourceOffsetY, int sourceWidth, int sourceHeight,
-                                                       int sourceStepX, int sourceStepY, Band destBand, int destOffsetX,
-                                                       int destOffsetY, int destWidth, int destHeight, ProductData destBuffer,
-                                                       ProgressMonitor pm) throws IOException {
+    protected void readBandRasterDataImpl(int sourceOffsetX, int sourceOffsetY, int sourceWidth, int sourceHeight,
+                                          int sourceStepX, int sourceStepY, Band destBand, int destOffsetX,
+                                          int destOffsetY, int destWidth, int destHeight, ProductData destBuffer,
+                                          ProgressMonitor pm) throws IOException {
 
         Guardian.assertTrue("sourceStepX == 1 && sourceStepY == 1", sourceStepX == 1 && sourceStepY == 1);
         Guardian.assertTrue("sourceWidth == destWidth", sourceWidth == destWidth);
@@ -277,33 +282,13 @@ public class NetCDFReader extends SARReader {
         }
         final int rank = variable.getRank();
         final int[] origin = new int[rank];
-        final int[] shape = new int[rank];
-        for (int i = 0; i < rank; i++) {
-            shape[i] = 1;
-            origin[i] = 0;
-        }
-        shape[rank - 2] = 1;
-        shape[rank - 1] = destWidth;
+        origin[rank - 2] = yFlipped ? y0 - (destHeight - 1) : y0;
         origin[rank - 1] = sourceOffsetX;
 
         pm.beginTask("Reading data from band " + destBand.getName(), destHeight);
         try {
-            for (int y = 0; y < destHeight; y++) {
-                origin[rank - 2] = yFlipped ? y0 - y : y0 + y;
-                final Array array;
-                synchronized (netcdfFile) {
-                    array = variable.read(origin, shape);
-                }
-                System.arraycopy(array.getStorage(), 0, destBuffer.getElems(), y * destWidth, destWidth);
-                pm.worked(1);
-                if (pm.isCanceled()) {
-                    throw new IOException("Process terminated by user."); /*I18N*/
-                }
-            }
-        } catch (InvalidRangeException e) {
-            final IOException ioException = new IOException(e.getMessage());
-            ioException.initCause(e);
-            throw ioException;
+            // a flipped product is read bottom up
+            chunkReader.readRaster(variable, origin, rank - 2, destHeight, destWidth, destBuffer.getElems(), yFlipped, pm);
         } finally {
             pm.done();
         }
@@ -63,6 +63,7 @@ public class Sentinel1Level1Directory extends XMLProductDirectory implements Sen
 
     private final Map<String, GeoCoding> bandGeocodingMap = new HashMap<>();
     private final transient Map<String, String> imgBandMetadataMap = new HashMap<>();
+    private final Map<ImageIOFile, Sentinel1SLCTiffFile> slcTiffFileMap = new HashMap<>();
     private String acqMode = "";
 
     private final static Double NoDataValue = 0.0;//-9999.0;
@@ -91,6 +92,11 @@ public class Sentinel1Level1Directory extends XMLProductDirectory implements Sen
                     final ImageIOFile img = new ImageIOFile(name, imgStream, GeoTiffUtils.getTiffIIOReader(imgStream),
                                 1, 1, ProductData.TYPE_INT32, productInputFile);
                     bandImageFileMap.put(img.getName(), img);
+
+                    if (isSLC() && !isCompressed()) {
+                        addSLCTiffFile(img, imgPath);
+                    }
+                    enableConcurrentReads(img, imgPath);
                 } else {
                     inStream.close();
                 }
@@ -100,6 +106,33 @@ public class Sentinel1Level1Directory extends XMLProductDirectory implements Sen
         }
     }
 
+    private void addSLCTiffFile(final ImageIOFile img, final String imgPath) {
+        try {
+            final Sentinel1SLCTiffFile tiffFile = Sentinel1SLCTiffFile.open(getFile(imgPath));
+            if (tiffFile != null) {
+                slcTiffFileMap.put(img, tiffFile);
+            }
+        } catch (IOException e) {
+            SystemUtils.LOG.warning("Unable to open " + imgPath + " for direct reading: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the direct access to an SLC measurement TIFF or null if the image is only readable through ImageIO.
+     */
+    Sentinel1SLCTiffFile getSLCTiffFile(final ImageIOFile img) {
+        return slcTiffFileMap.get(img);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Sentinel1SLCTiffFile tiffFile : slcTiffFileMap.values()) {
+            tiffFile.close();
+        }
+        slcTiffFileMap.clear();
+        super.close();
+    }
+
     public static ImageInputStream createImageInputStream(final InputStream inStream, final Dimension bandDimensions,
                                                           final boolean isSLC) throws IOException {
         final long maxMemory = Runtime.getRuntime().maxMemory() / 1024 / 1024;
@@ -16,6 +16,7 @@
 package eu.esa.sar.io.sentinel1;
 
 import com.bc.ceres.core.ProgressMonitor;
+import eu.esa.sar.commons.io.DataCache;
 import eu.esa.sar.commons.io.ImageIOFile;
 import eu.esa.sar.commons.io.SARReader;
 import org.esa.snap.core.dataio.ProductReaderPlugIn;
@@ -38,6 +39,10 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * The product reader for Sentinel1 products.
@@ -46,6 +51,15 @@ public class Sentinel1ProductReader extends SARReader {
 
     protected Sentinel1Directory dataDir = null;
 
+    // the other component of SLC regions read directly, kept until its band is read
+    private final Map<SLCRegion, short[]> pendingComponents = Collections.synchronizedMap(
+            new LinkedHashMap<SLCRegion, short[]>() {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<SLCRegion, short[]> eldest) {
+                    return size() > 2 * Runtime.getRuntime().availableProcessors();
+                }
+            });
+
     /**
      * Constructs a new abstract product reader.
      *
@@ -70,6 +84,7 @@ public class Sentinel1ProductReader extends SARReader {
     @Override
     public void close() throws IOException {
         super.close();
+        pendingComponents.clear();
         if (dataDir != null) {
             dataDir.close();
             dataDir = null;
@@ -201,16 +216,29 @@ public class Sentinel1ProductReader extends SARReader {
                                   final ProductData destBuffer,
                                   final int destOffsetX, final int destOffsetY,
                                   int destWidth, int destHeight,
-                                  final ImageIOFile.BandInfo bandInfo) {
+                                  final ImageIOFile.BandInfo bandInfo) throws IOException {
+
+        if (dataDir instanceof Sentinel1Level1Directory) {
+            final Sentinel1SLCTiffFile tiffFile = ((Sentinel1Level1Directory) dataDir).getSLCTiffFile(bandInfo.img);
+            if (tiffFile != null) {
+                readDirectSLCRasterBand(tiffFile, sourceOffsetX, sourceOffsetY, sourceStepX, sourceStepY,
+                        destBuffer, destOffsetX, destOffsetY, destWidth, destHeight, bandInfo);
+                return;
+            }
+        }
 
-        final int length;
-        final int[] srcArray;
         final Rectangle destRect = new Rectangle(destOffsetX, destOffsetY, destWidth, destHeight);
 
-        synchronized (dataDir) {
-            srcArray = readRect(bandInfo, sourceOffsetX, sourceOffsetY, sourceStepX, sourceStepY, destRect);
-            length = srcArray.length;
-        }
+        // the i and q bands share the decoded region
+        final DataCache.DataKey datakey = new DataCache.DataKey(bandInfo.img, destRect, sourceStepX, sourceStepY,
+                sourceOffsetX % sourceStepX, sourceOffsetY % sourceStepY, 0);
+        final int[] srcArray = DataCache.instance().get(datakey, () -> {
+            synchronized (dataDir) {
+                return new DataCache.Data(readRect(bandInfo, sourceOffsetX, sourceOffsetY, sourceStepX, sourceStepY,
+                        destRect));
+            }
+        }).intArray;
+        final int length = srcArray.length;
 
         if (destBuffer.getElemSize() > 2) {
             final int[] destArray = (int[]) destBuffer.getElems();
@@ -237,6 +265,46 @@ public class Sentinel1ProductReader extends SARReader {
         }
     }
 
+    /**
+     * Read an SLC band without locking. The I and Q components are decoded together and the component of the
+     * other band is kept for its read of the same region.
+     */
+    private void readDirectSLCRasterBand(final Sentinel1SLCTiffFile tiffFile,
+                                         final int sourceOffsetX, final int sourceOffsetY,
+                                         final int sourceStepX, final int sourceStepY,
+                                         final ProductData destBuffer,
+                                         final int destOffsetX, final int destOffsetY,
+                                         final int destWidth, final int destHeight,
+                                         final ImageIOFile.BandInfo bandInfo) throws IOException {
+
+        // same pixel mapping as the subsampled ImageIO read
+        final int x0 = sourceOffsetX % sourceStepX + destOffsetX * sourceStepX;
+        final int y0 = sourceOffsetY % sourceStepY + destOffsetY * sourceStepY;
+        final int length = destWidth * destHeight;
+
+        final SLCRegion region = new SLCRegion(tiffFile, x0, y0, sourceStepX, sourceStepY,
+                destWidth, destHeight, bandInfo.isImaginary);
+        short[] srcArray = pendingComponents.remove(region);
+        if (srcArray == null) {
+            final short[] i = new short[length];
+            final short[] q = new short[length];
+            tiffFile.readIQ(x0, y0, sourceStepX, sourceStepY, destWidth, destHeight, i, q);
+
+            srcArray = bandInfo.isImaginary ? q : i;
+            pendingComponents.put(new SLCRegion(tiffFile, x0, y0, sourceStepX, sourceStepY,
+                    destWidth, destHeight, !bandInfo.isImaginary), bandInfo.isImaginary ? i : q);
+        }
+
+        if (destBuffer.getElemSize() > 2) {
+            final int[] destArray = (int[]) destBuffer.getElems();
+            for (int i = 0; i < length; i++) {
+                destArray[i] = srcArray[i];
+            }
+        } else {
+            System.arraycopy(srcArray, 0, (short[]) destBuffer.getElems(), 0, length);
+        }
+    }
+
     private int[] readRect(final ImageIOFile.BandInfo bandInfo,
                            int sourceOffsetX, int sourceOffsetY, int sourceStepX, int sourceStepY,
                            final Rectangle destRect) {
@@ -260,4 +328,37 @@ public class Sentinel1ProductReader extends SARReader {
             return new int[(int)destRect.getWidth()*(int)destRect.getHeight()];
         }
     }
+
+    private static final class SLCRegion {
+        private final Sentinel1SLCTiffFile tiffFile;
+        private final int x0, y0, stepX, stepY, width, height;
+        private final boolean isImaginary;
+
+        SLCRegion(final Sentinel1SLCTiffFile tiffFile, final int x0, final int y0, final int stepX, final int stepY,
+                  final int width, final int height, final boolean isImaginary) {
+            this.tiffFile = tiffFile;
+            this.x0 = x0;
+            this.y0 = y0;
+            this.stepX = stepX;
+            this.stepY = stepY;
+            this.width = width;
+            this.height = height;
+            this.isImaginary = isImaginary;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof SLCRegion)) {
+                return false;
+            }
+            final SLCRegion r = (SLCRegion) o;
+            return tiffFile == r.tiffFile && x0 == r.x0 && y0 == r.y0 && stepX == r.stepX && stepY == r.stepY &&
+                    width == r.width && height == r.height && isImaginary == r.isImaginary;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(tiffFile), x0, y0, stepX, stepY, width, height, isImaginary);
+        }
+    }
 }
@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.io.sentinel1;
+
+import eu.esa.sar.commons.io.SharedFileChannel;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Direct access to an uncompressed, stripped Sentinel-1 SLC measurement TIFF of complex int16 samples.
+ * <p>
+ * The strip offsets are parsed once when the file is opened. Regions are read with positional reads on a
+ * shared file channel, which are safe to run concurrently, and the I and Q components are decoded in one pass.
+ * A tile thread interrupted during a read does not close the file for the other threads.
+ */
+final class Sentinel1SLCTiffFile implements Closeable {
+
+    private static final int TAG_IMAGE_WIDTH = 256;
+    private static final int TAG_IMAGE_LENGTH = 257;
+    private static final int TAG_BITS_PER_SAMPLE = 258;
+    private static final int TAG_COMPRESSION = 259;
+    private static final int TAG_STRIP_OFFSETS = 273;
+    private static final int TAG_SAMPLES_PER_PIXEL = 277;
+    private static final int TAG_ROWS_PER_STRIP = 278;
+    private static final int TAG_STRIP_BYTE_COUNTS = 279;
+    private static final int TAG_PLANAR_CONFIGURATION = 284;
+    private static final int TAG_TILE_WIDTH = 322;
+    private static final int TAG_SAMPLE_FORMAT = 339;
+
+    private static final int TYPE_SHORT = 3;
+    private static final int TYPE_LONG = 4;
+    private static final int SAMPLE_FORMAT_COMPLEX_INT = 5;
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private final SharedFileChannel channel;
+    private final int width;
+    private final int height;
+    private final int rowsPerStrip;
+    private final long[] stripOffsets;
+
+    private Sentinel1SLCTiffFile(final SharedFileChannel channel, final int width, final int height,
+                                 final int rowsPerStrip, final long[] stripOffsets) {
+        this.channel = channel;
+        this.width = width;
+        this.height = height;
+        this.rowsPerStrip = rowsPerStrip;
+        this.stripOffsets = stripOffsets;
+    }
+
+    /**
+     * Open a measurement TIFF for direct access.
+     *
+     * @param file The TIFF file.
+     * @return the opened file or null if the file is not a little endian, uncompressed and stripped TIFF of
+     * complex int16 samples.
+     * @throws IOException if the file cannot be read.
+     */
+    static Sentinel1SLCTiffFile open(final File file) throws IOException {
+        final SharedFileChannel channel = new SharedFileChannel(file.toPath(), StandardOpenOption.READ);
+        try {
+            final Sentinel1SLCTiffFile tiffFile = parse(channel);
+            if (tiffFile == null) {
+                channel.close();
+            }
+            return tiffFile;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static Sentinel1SLCTiffFile parse(final SharedFileChannel channel) throws IOException {
+        final ByteBuffer header = read(channel, 0, 8);
+        if (header.get(0) != 'I' || header.get(1) != 'I' || header.getShort(2) != 42) {
+            return null;
+        }
+
+        final long ifdOffset = header.getInt(4) & 0xFFFFFFFFL;
+        final int numEntries = read(channel, ifdOffset, 2).getShort(0) & 0xFFFF;
+        final ByteBuffer ifd = read(channel, ifdOffset + 2, numEntries * 12);
+
+        int width = 0, height = 0, rowsPerStrip = 0;
+        int bitsPerSample = 0, compression = 1, samplesPerPixel = 1, planarConfig = 1, sampleFormat = 1;
+        long[] stripOffsets = null, stripByteCounts = null;
+        for (int e = 0; e < numEntries; ++e) {
+            final int pos = e * 12;
+            final int tag = ifd.getShort(pos) & 0xFFFF;
+            switch (tag) {
+                case TAG_IMAGE_WIDTH:
+                    width = (int) getValue(ifd, pos);
+                    break;
+                case TAG_IMAGE_LENGTH:
+                    height = (int) getValue(ifd, pos);
+                    break;
+                case TAG_BITS_PER_SAMPLE:
+                    bitsPerSample = (int) getValue(ifd, pos);
+                    break;
+                case TAG_COMPRESSION:
+                    compression = (int) getValue(ifd, pos);
+                    break;
+                case TAG_SAMPLES_PER_PIXEL:
+                    samplesPerPixel = (int) getValue(ifd, pos);
+                    break;
+                case TAG_ROWS_PER_STRIP:
+                    rowsPerStrip = (int) getValue(ifd, pos);
+                    break;
+                case TAG_PLANAR_CONFIGURATION:
+                    planarConfig = (int) getValue(ifd, pos);
+                    break;
+                case TAG_SAMPLE_FORMAT:
+                    sampleFormat = (int) getValue(ifd, pos);
+                    break;
+                case TAG_STRIP_OFFSETS:
+                    stripOffsets = getValues(channel, ifd, pos);
+                    break;
+                case TAG_STRIP_BYTE_COUNTS:
+                    stripByteCounts = getValues(channel, ifd, pos);
+                    break;
+                case TAG_TILE_WIDTH:
+                    return null;
+                default:
+                    break;
+            }
+        }
+
+        if (width <= 0 || height <= 0 || bitsPerSample != 32 || compression != 1 || samplesPerPixel != 1 ||
+                planarConfig != 1 || sampleFormat != SAMPLE_FORMAT_COMPLEX_INT ||
+                stripOffsets == null || stripByteCounts == null) {
+            return null;
+        }
+        if (rowsPerStrip <= 0 || rowsPerStrip > height) {
+            rowsPerStrip = height;
+        }
+        final int numStrips = (height + rowsPerStrip - 1) / rowsPerStrip;
+        if (stripOffsets.length != numStrips || stripByteCounts.length != numStrips) {
+            return null;
+        }
+        for (int s = 0; s < numStrips; ++s) {
+            final long rows = Math.min(rowsPerStrip, height - (long) s * rowsPerStrip);
+            if (stripByteCounts[s] < rows * width * BYTES_PER_PIXEL) {
+                return null;
+            }
+        }
+        return new Sentinel1SLCTiffFile(channel, width, height, rowsPerStrip, stripOffsets);
+    }
+
+    private static long getValue(final ByteBuffer ifd, final int pos) {
+        final int type = ifd.getShort(pos + 2) & 0xFFFF;
+        return type == TYPE_SHORT ? ifd.getShort(pos + 8) & 0xFFFF : ifd.getInt(pos + 8) & 0xFFFFFFFFL;
+    }
+
+    private static long[] getValues(final SharedFileChannel channel, final ByteBuffer ifd, final int pos)
+            throws IOException {
+        final int type = ifd.getShort(pos + 2) & 0xFFFF;
+        final int count = ifd.getInt(pos + 4);
+        if ((type != TYPE_SHORT && type != TYPE_LONG) || count <= 0) {
+            return null;
+        }
+        final int size = type == TYPE_SHORT ? 2 : 4;
+        // values of up to 4 bytes are stored in the entry itself
+        final boolean inline = (long) count * size <= 4;
+        final ByteBuffer values = inline ? ifd : read(channel, ifd.getInt(pos + 8) & 0xFFFFFFFFL, count * size);
+        final int base = inline ? pos + 8 : 0;
+        final long[] array = new long[count];
+        for (int i = 0; i < count; ++i) {
+            array[i] = type == TYPE_SHORT ?
+                    values.getShort(base + i * 2) & 0xFFFF : values.getInt(base + i * 4) & 0xFFFFFFFFL;
+        }
+        return array;
+    }
+
+    private static ByteBuffer read(final SharedFileChannel channel, final long position, final int length)
+            throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        channel.readFully(buffer, position);
+        return buffer;
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getHeight() {
+        return height;
+    }
+
+    /**
+     * Read a subsampled region and decode its I and Q components. Pixels outside the image are set to zero.
+     *
+     * @param x0    The x coordinate of the first source pixel.
+     * @param y0    The y coordinate of the first source pixel.
+     * @param stepX The source pixel step in x.
+     * @param stepY The source pixel step in y.
+     * @param w     The number of pixels per row to read.
+     * @param h     The number of rows to read.
+     * @param i     The w*h array receiving the I component.
+     * @param q     The w*h array receiving the Q component.
+     * @throws IOException if the file cannot be read.
+     */
+    void readIQ(final int x0, final int y0, final int stepX, final int stepY, final int w, final int h,
+                final short[] i, final short[] q) throws IOException {
+
+        final int numValid = x0 >= width ? 0 : Math.min(w, (width - 1 - x0) / stepX + 1);
+        final int spanBytes = numValid > 0 ? ((numValid - 1) * stepX + 1) * BYTES_PER_PIXEL : 0;
+        final ByteBuffer buffer = ByteBuffer.allocate(spanBytes).order(ByteOrder.LITTLE_ENDIAN);
+
+        for (int row = 0; row < h; ++row) {
+            final int y = y0 + row * stepY;
+            final int offset = row * w;
+            int k = 0;
+            if (y < height && numValid > 0) {
+                final int strip = y / rowsPerStrip;
+                final long position = stripOffsets[strip] +
+                        ((long) (y - strip * rowsPerStrip) * width + x0) * BYTES_PER_PIXEL;
+                buffer.clear();
+                channel.readFully(buffer, position);
+
+                for (int pos = 0; k < numValid; ++k, pos += stepX * BYTES_PER_PIXEL) {
+                    i[offset + k] = buffer.getShort(pos);
+                    q[offset + k] = buffer.getShort(pos + 2);
+                }
+            }
+            for (; k < w; ++k) {
+                i[offset + k] = 0;
+                q[offset + k] = 0;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
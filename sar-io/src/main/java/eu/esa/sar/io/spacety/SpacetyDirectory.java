@@ -103,6 +103,7 @@ public class SpacetyDirectory extends XMLProductDirectory {
                     final ImageIOFile img = new ImageIOFile(name, imgStream, GeoTiffUtils.getTiffIIOReader(imgStream),
                             1, 1, ProductData.TYPE_INT32, productInputFile);
                     bandImageFileMap.put(img.getName(), img);
+                    enableConcurrentReads(img, imgPath);
 
                     if(img.getNumBands() == 2) {
                         img.setDataType(ProductData.TYPE_INT16);
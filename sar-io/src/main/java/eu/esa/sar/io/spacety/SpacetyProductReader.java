@@ -16,10 +16,10 @@
 package eu.esa.sar.io.spacety;
 
 import com.bc.ceres.core.ProgressMonitor;
+import eu.esa.sar.commons.io.DataCache;
 import eu.esa.sar.commons.io.ImageIOFile;
 import eu.esa.sar.commons.io.SARProductReaderPlugIn;
 import eu.esa.sar.commons.io.SARReader;
-import eu.esa.sar.io.DataCache;
 import org.esa.snap.core.dataio.ProductReaderPlugIn;
 import org.esa.snap.core.datamodel.Band;
 import org.esa.snap.core.datamodel.Product;
@@ -55,7 +55,7 @@ public class SpacetyProductReader extends SARReader {
      */
     public SpacetyProductReader(final ProductReaderPlugIn readerPlugIn) {
         super(readerPlugIn);
-        cache = useCache ? new DataCache() : null;
+        cache = useCache ? DataCache.instance() : null;
     }
 
     /**
@@ -158,34 +158,21 @@ public class SpacetyProductReader extends SARReader {
                                    final ProductData destBuffer,
                                    final int destOffsetX, final int destOffsetY,
                                    int destWidth, int destHeight,
-                                   final ImageIOFile.BandInfo bandInfo) {
+                                   final ImageIOFile.BandInfo bandInfo) throws IOException {
 
-        final int length;
         final int[] srcArray;
         final Rectangle destRect = new Rectangle(destOffsetX, destOffsetY, destWidth, destHeight);
 
         if (useCache) {
-            final DataCache.DataKey datakey = new DataCache.DataKey(bandInfo.img, destRect);
-            DataCache.Data cachedData = cache.get(datakey);
-            if (cachedData != null && cachedData.valid) {
-                srcArray = cachedData.intArray;
-                length = srcArray.length;
-            } else {
-                cachedData = readRect(datakey, bandInfo,
-                        sourceOffsetX, sourceOffsetY, sourceStepX, sourceStepY,
-                        destRect);
-
-                srcArray = cachedData.intArray;
-                length = srcArray.length;
-            }
-        } else {
-
-            DataCache.Data cachedData = readRect(null, bandInfo,
-                    sourceOffsetX, sourceOffsetY, sourceStepX, sourceStepY, destRect);
-
+            final DataCache.DataKey datakey = new DataCache.DataKey(bandInfo.img, destRect, sourceStepX, sourceStepY,
+                    sourceOffsetX % sourceStepX, sourceOffsetY % sourceStepY, bandInfo.bandSampleOffset);
+            final DataCache.Data cachedData = cache.get(datakey, () ->
+                    readRect(bandInfo, sourceOffsetX, sourceOffsetY, sourceStepX, sourceStepY, destRect));
             srcArray = cachedData.intArray;
-            length = srcArray.length;
+        } else {
+            srcArray = readRect(bandInfo, sourceOffsetX, sourceOffsetY, sourceStepX, sourceStepY, destRect).intArray;
         }
+        final int length = srcArray.length;
 
         if (destBuffer.getElemSize() > 2) {
             final short[] destArray = (short[]) destBuffer.getElems();
@@ -234,7 +221,7 @@ public class SpacetyProductReader extends SARReader {
         }
     }
 
-    private synchronized DataCache.Data readRect(final DataCache.DataKey datakey, final ImageIOFile.BandInfo bandInfo,
+    private synchronized DataCache.Data readRect(final ImageIOFile.BandInfo bandInfo,
                                                  int sourceOffsetX, int sourceOffsetY, int sourceStepX, int sourceStepY,
                                                  final Rectangle destRect) {
         try {
@@ -256,18 +243,10 @@ public class SpacetyProductReader extends SARReader {
             final int[] srcArray = new int[length];
             sampleModel.getSamples(0, 0, destWidth, destHeight, bandInfo.bandSampleOffset, srcArray, data.getDataBuffer());
 
-            DataCache.Data cachedData = new DataCache.Data(srcArray);
-            if (datakey != null) {
-                cache.put(datakey, cachedData);
-            }
-            return cachedData;
+            return new DataCache.Data(srcArray);
         } catch (Exception e) {
             final int[] srcArray = new int[(int) destRect.getWidth() * (int) destRect.getHeight()];
-            DataCache.Data cachedData = new DataCache.Data(srcArray);
-            if (datakey != null) {
-                cache.put(datakey, cachedData);
-            }
-            return cachedData;
+            return new DataCache.Data(srcArray);
         }
     }
 }
@@ -89,6 +89,7 @@ public class StriXProductDirectory extends CEOSProductDirectory {
             try {
                 final StriXImageFile imgFile = new StriXImageFile(imageFile.imgInputStream,
                         leaderFile.getProductLevel(), imageFile.fileName);
+                imgFile.setImageFile(imageFile.file);
                 imgArray.add(imgFile);
             } catch (Exception e) {
                 e.printStackTrace();
@@ -662,6 +662,7 @@ public class TerraSarXProductDirectory extends XMLProductDirectory {
                     final ImageIOFile img = new ImageIOFile(name, imgStream, GeoTiffUtils.getTiffIIOReader(imgStream),
                             1, 1, ProductData.TYPE_UINT16, productInputFile);
                     bandImageFileMap.put(img.getName(), img);
+                    enableConcurrentReads(img, imgPath);
                 } else {
                     inStream.close();
                 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.io.ceos;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for positional reads of CEOS image records.
+ */
+public class TestCEOSImageChannel {
+
+    private static final int headerLength = 720, prefixLength = 12, width = 300, height = 50;
+    private static final int recordLength = prefixLength + width * 2;
+
+    @Test
+    public void testReadLinesInBlocks() throws Exception {
+        final File file = writeImage();
+        try (CEOSImageChannel channel = new CEOSImageChannel(file)) {
+            checkLines(channel, 20, 3, 280, 1);
+            checkLines(channel, 0, 0, width, 1);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testReadLinesOneByOne() throws Exception {
+        final File file = writeImage();
+        try (CEOSImageChannel channel = new CEOSImageChannel(file)) {
+            // narrow lines are read one at a time instead of reading the whole records
+            checkLines(channel, 100, 7, 10, 1);
+            checkLines(channel, 5, 40, 50, 7);
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static void checkLines(final CEOSImageChannel channel, final int x0, final int y0,
+                                   final int w, final int stepY) throws IOException {
+        final long xpos = headerLength + prefixLength + x0 * 2;
+        final CEOSImageChannel.Lines lines = channel.lines(xpos, recordLength, y0, height - 1, stepY, w * 2);
+        final short[] line = new short[w];
+        for (int y = y0; y < height; y += stepY) {
+            lines.read(y, line);
+            for (int x = 0; x < w; ++x) {
+                assertEquals(sample(x0 + x, y), line[x]);
+            }
+        }
+    }
+
+    private static short sample(final int x, final int y) {
+        return (short) (y * 1000 - x);
+    }
+
+    private static File writeImage() throws IOException {
+        final ByteBuffer buf = ByteBuffer.allocate(headerLength + height * recordLength);
+        for (int y = 0; y < height; ++y) {
+            buf.position(headerLength + y * recordLength + prefixLength);
+            for (int x = 0; x < width; ++x) {
+                buf.putShort(sample(x, y));
+            }
+        }
+        final File file = File.createTempFile("ceos", ".dat");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(buf.array());
+        }
+        return file;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.io.netcdf;
+
+import com.bc.ceres.core.NullProgressMonitor;
+import com.bc.ceres.core.ProgressMonitor;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import ucar.ma2.ArrayInt;
+import ucar.ma2.DataType;
+import ucar.nc2.Attribute;
+import ucar.nc2.Dimension;
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.NetcdfFileWriter;
+import ucar.nc2.Variable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for the chunked raster reads of NcChunkReader on a small synthetic NetCDF file.
+ */
+public class TestNcChunkReader {
+
+    private static final int ROWS = 150, COLS = 53;
+    private static final int CHUNK_ROWS = 8, CHUNK_COLS = 16;
+
+    private static File file;
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        file = File.createTempFile("TestNcChunkReader", ".nc");
+
+        final NetcdfFileWriter writer = NetcdfFileWriter.createNew(NetcdfFileWriter.Version.netcdf3,
+                file.getAbsolutePath());
+        final Dimension rowDim = writer.addDimension(null, "y", ROWS);
+        final Dimension colDim = writer.addDimension(null, "x", COLS);
+        final List<Dimension> dims = Arrays.asList(rowDim, colDim);
+        // the chunk shape is taken from the _ChunkSizes attribute, as reported for NetCDF-4 and HDF5 variables
+        final Variable chunked = writer.addVariable(null, "chunked", DataType.INT, dims);
+        writer.addVariableAttribute(chunked, new Attribute("_ChunkSizes", Arrays.asList(CHUNK_ROWS, CHUNK_COLS)));
+        writer.addVariable(null, "contiguous", DataType.INT, dims);
+        writer.create();
+
+        final ArrayInt.D2 data = new ArrayInt.D2(ROWS, COLS);
+        for (int r = 0; r < ROWS; ++r) {
+            for (int c = 0; c < COLS; ++c) {
+                data.set(r, c, 1000 * r + c);
+            }
+        }
+        writer.write("chunked", data);
+        writer.write("contiguous", data);
+        writer.close();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        if (file != null) {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testChunkedReads() throws Exception {
+        assertSameAsVariableRead("chunked");
+    }
+
+    @Test
+    public void testContiguousReads() throws Exception {
+        assertSameAsVariableRead("contiguous");
+    }
+
+    @Test(expected = IOException.class)
+    public void testCanceledRead() throws Exception {
+        final ProgressMonitor pm = new NullProgressMonitor();
+        pm.setCanceled(true);
+        try (NetcdfFile netcdfFile = NetcdfFile.open(file.getAbsolutePath());
+             NcChunkReader reader = new NcChunkReader(file.getAbsolutePath())) {
+            reader.readRaster(netcdfFile.findVariable("chunked"), new int[]{0, 0}, 0, ROWS, COLS,
+                    new int[ROWS * COLS], false, pm);
+        }
+    }
+
+    private static void assertSameAsVariableRead(final String name) throws Exception {
+        // whole raster, sections within one chunk, across chunks and up to the partial edge chunks
+        final int[][] sections = {
+                {0, 0, ROWS, COLS},
+                {1, 2, 5, 10},
+                {3, 5, 20, 30},
+                {CHUNK_ROWS, CHUNK_COLS, CHUNK_ROWS, CHUNK_COLS},
+                {ROWS - 13, COLS - 7, 13, 7},
+                {70, 0, 80, COLS},
+                {149, 52, 1, 1}
+        };
+        try (NetcdfFile netcdfFile = NetcdfFile.open(file.getAbsolutePath());
+             NcChunkReader reader = new NcChunkReader(file.getAbsolutePath())) {
+            final Variable variable = netcdfFile.findVariable(name);
+            assertNotNull(variable);
+
+            // twice, to read the chunks from the file and then from the cache
+            for (int pass = 0; pass < 2; ++pass) {
+                for (int[] s : sections) {
+                    final int[] origin = {s[0], s[1]};
+                    final int height = s[2], width = s[3];
+                    final int[] expected = (int[]) variable.read(origin, new int[]{height, width})
+                            .copyTo1DJavaArray();
+
+                    final int[] samples = new int[height * width];
+                    reader.readRaster(variable, origin, 0, height, width, samples, false, ProgressMonitor.NULL);
+                    assertArrayEquals(name + ' ' + Arrays.toString(s), expected, samples);
+
+                    final int[] flipped = new int[height * width];
+                    reader.readRaster(variable, origin, 0, height, width, flipped, true, ProgressMonitor.NULL);
+                    for (int r = 0; r < height; ++r) {
+                        for (int c = 0; c < width; ++c) {
+                            assertEquals(name + " flipped " + Arrays.toString(s),
+                                    expected[r * width + c], flipped[(height - 1 - r) * width + c]);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
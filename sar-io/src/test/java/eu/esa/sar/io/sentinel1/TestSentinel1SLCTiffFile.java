@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.io.sentinel1;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for direct reading of Sentinel-1 SLC measurement TIFFs.
+ */
+public class TestSentinel1SLCTiffFile {
+
+    private static final int width = 37, height = 25, rowsPerStrip = 10;
+
+    @Test
+    public void testReadIQ() throws Exception {
+        final File file = writeTiff(5);
+        try (Sentinel1SLCTiffFile tiffFile = Sentinel1SLCTiffFile.open(file)) {
+            assertNotNull(tiffFile);
+            assertEquals(width, tiffFile.getWidth());
+            assertEquals(height, tiffFile.getHeight());
+
+            // crosses strips and the right and bottom image borders
+            final int x0 = 3, y0 = 8, stepX = 2, stepY = 3, w = 20, h = 7;
+            final short[] i = new short[w * h];
+            final short[] q = new short[w * h];
+            tiffFile.readIQ(x0, y0, stepX, stepY, w, h, i, q);
+
+            for (int row = 0; row < h; ++row) {
+                for (int col = 0; col < w; ++col) {
+                    final int x = x0 + col * stepX, y = y0 + row * stepY;
+                    final boolean inside = x < width && y < height;
+                    assertEquals(inside ? real(x, y) : 0, i[row * w + col]);
+                    assertEquals(inside ? imaginary(x, y) : 0, q[row * w + col]);
+                }
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testUnsupportedSampleFormat() throws Exception {
+        final File file = writeTiff(1);
+        try {
+            assertNull(Sentinel1SLCTiffFile.open(file));
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static short real(final int x, final int y) {
+        return (short) (y * 100 + x);
+    }
+
+    private static short imaginary(final int x, final int y) {
+        return (short) -(y * 100 + x + 1);
+    }
+
+    private static File writeTiff(final int sampleFormat) throws IOException {
+        final int numStrips = (height + rowsPerStrip - 1) / rowsPerStrip;
+        final int numEntries = 10;
+        final int ifdOffset = 8;
+        final int offsetsOffset = ifdOffset + 2 + numEntries * 12 + 4;
+        final int countsOffset = offsetsOffset + numStrips * 4;
+        final int dataOffset = countsOffset + numStrips * 4;
+
+        final ByteBuffer buf = ByteBuffer.allocate(dataOffset + width * height * 4).order(ByteOrder.LITTLE_ENDIAN);
+        buf.put((byte) 'I').put((byte) 'I').putShort((short) 42).putInt(ifdOffset);
+        buf.putShort((short) numEntries);
+        putEntry(buf, 256, 4, 1, width);
+        putEntry(buf, 257, 4, 1, height);
+        putEntry(buf, 258, 3, 1, 32);
+        putEntry(buf, 259, 3, 1, 1);
+        putEntry(buf, 262, 3, 1, 1);
+        putEntry(buf, 273, 4, numStrips, offsetsOffset);
+        putEntry(buf, 277, 3, 1, 1);
+        putEntry(buf, 278, 4, 1, rowsPerStrip);
+        putEntry(buf, 279, 4, numStrips, countsOffset);
+        putEntry(buf, 339, 3, 1, sampleFormat);
+        buf.putInt(0);
+
+        for (int s = 0; s < numStrips; ++s) {
+            buf.putInt(dataOffset + s * rowsPerStrip * width * 4);
+        }
+        for (int s = 0; s < numStrips; ++s) {
+            buf.putInt(Math.min(rowsPerStrip, height - s * rowsPerStrip) * width * 4);
+        }
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                buf.putShort(real(x, y)).putShort(imaginary(x, y));
+            }
+        }
+
+        final File file = File.createTempFile("s1slc", ".tiff");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(buf.array());
+        }
+        return file;
+    }
+
+    private static void putEntry(final ByteBuffer buf, final int tag, final int type, final int count,
+                                 final int value) {
+        buf.putShort((short) tag).putShort((short) type).putInt(count);
+        if (type == 3 && count == 1) {
+            buf.putShort((short) value).putShort((short) 0);
+        } else {
+            buf.putInt(value);
+        }
+    }
+}
@@ -73,6 +73,8 @@ public class CalibrationOpUI extends BaseOperatorUI {
     private boolean outputGammaBand = false;
     private boolean outputBetaBand = false;
     private boolean outputDNBand = false;
+    private final JCheckBox removeThermalNoiseCheckBox = new JCheckBox("Remove thermal noise");
+    private boolean removeThermalNoise = false;
 
     @Override
     public JComponent CreateOpTab(String operatorName, Map<String, Object> parameterMap, AppContext appContext) {
@@ -181,6 +183,12 @@ public class CalibrationOpUI extends BaseOperatorUI {
             }
         });
 
+        removeThermalNoiseCheckBox.addItemListener(new ItemListener() {
+            public void itemStateChanged(ItemEvent e) {
+                removeThermalNoise = (e.getStateChange() == ItemEvent.SELECTED);
+            }
+        });
+
         return panel;
     }
 
@@ -226,6 +234,7 @@ public class CalibrationOpUI extends BaseOperatorUI {
                 outputGammaBandCheckBox.setVisible(false);
                 outputBetaBandCheckBox.setVisible(false);
                 outputDNBandCheckBox.setVisible(false);
+                removeThermalNoiseCheckBox.setVisible(false);
 
                 saveInComplexCheckBox.setSelected(false);
 
@@ -250,6 +259,7 @@ public class CalibrationOpUI extends BaseOperatorUI {
                     outputGammaBandCheckBox.setVisible(true);
                     outputBetaBandCheckBox.setVisible(true);
                     outputDNBandCheckBox.setVisible(true);
+                    removeThermalNoiseCheckBox.setVisible(mission.startsWith("SENTINEL-1"));
                 }
             }
 
@@ -304,6 +314,11 @@ public class CalibrationOpUI extends BaseOperatorUI {
             outputDNBand = paramVal;
             outputDNBandCheckBox.setSelected(outputDNBand);
         }
+        paramVal = (Boolean) paramMap.get("removeThermalNoise");
+        if (paramVal != null) {
+            removeThermalNoise = paramVal;
+            removeThermalNoiseCheckBox.setSelected(removeThermalNoise);
+        }
     }
 
     @Override
@@ -349,6 +364,7 @@ public class CalibrationOpUI extends BaseOperatorUI {
         paramMap.put("outputGammaBand", outputGammaBand);
         paramMap.put("outputBetaBand", outputBetaBand);
         paramMap.put("outputDNBand", outputDNBand);
+        paramMap.put("removeThermalNoise", removeThermalNoise);
     }
 
     private JComponent createPanel() {
@@ -385,6 +401,9 @@ public class CalibrationOpUI extends BaseOperatorUI {
 //        gbc.gridy++;
 //        contentPane.add(outputDNBandCheckBox, gbc);
 
+        gbc.gridy++;
+        contentPane.add(removeThermalNoiseCheckBox, gbc);
+
         DialogUtils.fillPanel(contentPane, gbc);
 
         DialogUtils.enableComponents(polListLabel, polListPane, false);
@@ -392,6 +411,7 @@ public class CalibrationOpUI extends BaseOperatorUI {
         outputGammaBandCheckBox.setVisible(false);
         outputBetaBandCheckBox.setVisible(false);
         outputDNBandCheckBox.setVisible(false);
+        removeThermalNoiseCheckBox.setVisible(false);
 
         return contentPane;
     }
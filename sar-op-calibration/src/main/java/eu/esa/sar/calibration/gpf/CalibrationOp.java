@@ -33,7 +33,9 @@ import org.esa.snap.engine_utilities.gpf.InputProductValidator;
 import org.esa.snap.engine_utilities.gpf.OperatorUtils;
 import org.esa.snap.engine_utilities.gpf.StackUtils;
 
+import java.awt.Rectangle;
 import java.io.File;
+import java.util.Map;
 
 /**
  * Calibration for all data products.
@@ -88,6 +90,10 @@ public class CalibrationOp extends Operator {
     @Parameter(description = "Output beta0 band", defaultValue = "false", label = "Output beta0 band")
     private Boolean outputBetaBand = false;
 
+    @Parameter(description = "Remove the thermal noise of Sentinel-1 products in the same pass",
+            defaultValue = "false", label = "Remove thermal noise")
+    private Boolean removeThermalNoise = false;
+
 //    @Parameter(description = "Output DN band", defaultValue = "false", label = "Output DN band")
     private Boolean outputDNBand = false;
 
@@ -131,6 +137,15 @@ public class CalibrationOp extends Operator {
             }
 
             calibrator = CalibrationFactory.createCalibrator(sourceProduct);
+
+            if (removeThermalNoise) {
+                if (!(calibrator instanceof Sentinel1Calibrator)) {
+                    throw new OperatorException("Thermal noise removal is only available for Sentinel-1 products");
+                }
+                // the noise removed image is an intensity
+                outputImageInComplex = false;
+                ((Sentinel1Calibrator) calibrator).setRemoveThermalNoise(true);
+            }
             calibrator.setAuxFileFlag(auxFile);
             calibrator.setExternalAuxFile(externalAuxFile);
             calibrator.setOutputImageInComplex(outputImageInComplex);
@@ -190,6 +205,32 @@ public class CalibrationOp extends Operator {
         }
     }
 
+    /**
+     * Called by the framework in order to compute the stack of tiles for the given target bands.
+     *
+     * @param targetTileMap   The target tiles associated with all target bands to be computed.
+     * @param targetRectangle The rectangle of target tile.
+     * @param pm              A progress monitor which should be used to determine computation cancelation requests.
+     * @throws OperatorException If an error occurs during computation of the target rasters.
+     */
+    @Override
+    public void computeTileStack(Map<Band, Tile> targetTileMap, Rectangle targetRectangle, ProgressMonitor pm)
+            throws OperatorException {
+        try {
+            calibrator.computeTileStack(targetTileMap, targetRectangle, pm);
+        } catch (Throwable e) {
+            OperatorUtils.catchOperatorException(getId(), e);
+        }
+    }
+
+    @Override
+    public synchronized void dispose() {
+        if (calibrator != null) {
+            calibrator.dispose();
+        }
+        super.dispose();
+    }
+
     /**
      * Create Gamma image as a virtual band.
      *
@@ -89,12 +89,18 @@ public final class RemoveGRDBorderNoiseOp extends Operator {
     private boolean thermalNoiseCorrectionPerformed = false;
 
     private boolean useBorderDetection = true;
-    private boolean borderDetected = false;
+    private volatile boolean borderDetected = false;
     private int topBorder = 0;
     private int bottomBorder = 0;
     private int leftBorder = 0;
     private int rightBorder = 0;
 
+    private int[] validStart = null; // end of the no-value run at near range of every line
+    private int[] validEnd = null; // start of the no-value run at far range of every line
+
+    private static final int PIXEL_STRIDE = 16; // pixels between the samples of the coarse scan of a line
+    private static final int SCAN_BLOCK_HEIGHT = 512; // lines scanned by a thread
+
     /**
      * Default constructor. The graph processing framework
      * requires that an operator has a default constructor.
@@ -476,19 +482,23 @@ public final class RemoveGRDBorderNoiseOp extends Operator {
     private void RemoveBorderNoise(Map<Band, Tile> targetTileMap, Rectangle targetRectangle, ProgressMonitor pm)
             throws OperatorException {
 
-        try {
-            if (useBorderDetection && !borderDetected) {
-                detectBorders();
-            }
+        if (!borderDetected) {
+            detectBorders();
+        }
 
-            final int x0 = targetRectangle.x;
-            final int y0 = targetRectangle.y;
-            final int w = targetRectangle.width;
-            final int h = targetRectangle.height;
-            final int yMax = y0 + h;
-            final int xMax = x0 + w;
-            //System.out.println("x0 = " + x0 + ", y0 = " + y0 + ", w = " + w + ", h = " + h);
+        final int x0 = targetRectangle.x;
+        final int y0 = targetRectangle.y;
+        final int w = targetRectangle.width;
+        final int h = targetRectangle.height;
+        final int yMax = y0 + h;
+        final int xMax = x0 + w;
+
+        if (x0 >= leftBorder && xMax - 1 <= rightBorder && y0 >= topBorder && yMax - 1 <= bottomBorder) {
+            CopyTileData(targetTileMap, targetRectangle, pm);
+            return;
+        }
 
+        try {
             final Set<Band> keySet = targetTileMap.keySet();
             final int numBands = keySet.size();
             final ProductData[] targetData = new ProductData[numBands];
@@ -514,41 +524,34 @@ public final class RemoveGRDBorderNoiseOp extends Operator {
 
             final Tile coPolTile = getSourceTile(coPolBand, targetRectangle);
             final ProductData coPolData = coPolTile.getDataBuffer();
+            final TileIndex coPolIndex = new TileIndex(coPolTile);
 
-            double coPolDataValue, deNoisedDataValue;
             for (int y = y0; y < yMax; y++) {
                 srcIndex.calculateStride(y);
                 tgtIndex.calculateStride(y);
+                coPolIndex.calculateStride(y);
 
-                for (int x = x0; x < xMax; x++) {
-                    final int srcIdx = srcIndex.getIndex(x);
-
-                    boolean testPixel = x < leftBorder || x > rightBorder || y < topBorder || y > bottomBorder;
+                final boolean borderLine = y < topBorder || y > bottomBorder;
+                final int xStart = validStart[y];
+                final int xEnd = validEnd[y];
 
-                    if (testPixel) {
-                        coPolDataValue = coPolData.getElemDoubleAt(srcIdx);
-                        if (noDataValue.equals(coPolDataValue)) {
-                            continue;
-                        }
-
-                        deNoisedDataValue =
-                                Math.sqrt(Math.max(coPolDataValue * coPolDataValue - noiseLUT[x], 0.0));
+                for (int x = x0; x < xMax; x++) {
+                    final int tgtIdx = tgtIndex.getIndex(x);
 
-                        if (deNoisedDataValue < trimThreshold || coPolDataValue < 30) {
-                            final int tgtIdx = tgtIndex.getIndex(x);
-                            for (int i = 0; i < numBands; i++) {
-                                targetData[i].setElemDoubleAt(tgtIdx, bandNoDataValues[i]);
-                            }
-                        } else {
-                            testPixel = false;
-                        }
+                    boolean valid = x >= xStart && x <= xEnd;
+                    if (valid && (borderLine || x < leftBorder || x > rightBorder)) {
+                        valid = isValidPixel(coPolData.getElemDoubleAt(coPolIndex.getIndex(x)), x);
                     }
 
-                    if (!testPixel) {
-                        final int tgtIdx = tgtIndex.getIndex(x);
+                    if (valid) {
+                        final int srcIdx = srcIndex.getIndex(x);
                         for (int i = 0; i < numBands; i++) {
                             targetData[i].setElemDoubleAt(tgtIdx, sourceData[i].getElemDoubleAt(srcIdx));
                         }
+                    } else {
+                        for (int i = 0; i < numBands; i++) {
+                            targetData[i].setElemDoubleAt(tgtIdx, bandNoDataValues[i]);
+                        }
                     }
                 }
             }
@@ -562,16 +565,127 @@ public final class RemoveGRDBorderNoiseOp extends Operator {
 
         if (borderDetected) return;
 
-        detectBorder();
+        if (useBorderDetection) {
+            detectBorder();
+        }
 
         SystemUtils.LOG.fine("topBorder = " + topBorder);
         SystemUtils.LOG.fine("bottomBorder = " + bottomBorder);
         SystemUtils.LOG.fine("leftBorder = " + leftBorder);
         SystemUtils.LOG.fine("rightBorder = " + rightBorder);
 
+        detectValidArea();
+
         borderDetected = true;
     }
 
+    /**
+     * Find the no-value runs at near and far range of every line from the co-polarised band. A line is scanned
+     * every PIXEL_STRIDE pixels from the image edge into the border up to the first valid sample, and the exact
+     * transition is then searched for between this sample and the previous one. The pixels of the runs are
+     * masked without being tested, the other pixels of the borders are tested one by one.
+     */
+    private void detectValidArea() throws OperatorException {
+
+        validStart = new int[sourceImageHeight];
+        validEnd = new int[sourceImageHeight];
+
+        final Rectangle[] blocks = getAllTileRectangles(0, 0, sourceImageWidth, sourceImageHeight,
+                new Dimension(sourceImageWidth, SCAN_BLOCK_HEIGHT));
+
+        final ThreadExecutor executor = new ThreadExecutor();
+        try {
+            for (final Rectangle block : blocks) {
+                final ThreadRunnable worker = new ThreadRunnable() {
+                    @Override
+                    public void process() {
+                        scanNearAndFarRange(block.y, block.y + block.height);
+                    }
+                };
+                executor.execute(worker);
+            }
+            executor.complete();
+
+        } catch (Exception e) {
+            OperatorUtils.catchOperatorException(getId() + " detectValidArea ", e);
+        }
+    }
+
+    private void scanNearAndFarRange(final int yStart, final int yEnd) {
+
+        final int h = yEnd - yStart;
+        final Tile nearRangeTile = leftBorder > 0 ?
+                getSourceTile(coPolBand, new Rectangle(0, yStart, leftBorder, h)) : null;
+        final Tile farRangeTile = rightBorder < sourceImageWidth - 1 ?
+                getSourceTile(coPolBand, new Rectangle(rightBorder + 1, yStart, sourceImageWidth - rightBorder - 1, h)) : null;
+
+        for (int y = yStart; y < yEnd; ++y) {
+            validStart[y] = getValidStart(nearRangeTile, y);
+            validEnd[y] = getValidEnd(farRangeTile, y);
+        }
+    }
+
+    private int getValidStart(final Tile nearRangeTile, final int y) {
+
+        if (nearRangeTile != null) {
+            final ProductData data = nearRangeTile.getDataBuffer();
+            int prevX = -1;
+            for (int x = 0; x < leftBorder; x = (x == leftBorder - 1) ? leftBorder : Math.min(x + PIXEL_STRIDE, leftBorder - 1)) {
+                if (isValidPixel(data.getElemDoubleAt(nearRangeTile.getDataBufferIndex(x, y)), x)) {
+                    for (int xx = prevX + 1; xx < x; ++xx) {
+                        if (isValidPixel(data.getElemDoubleAt(nearRangeTile.getDataBufferIndex(xx, y)), xx)) {
+                            return xx;
+                        }
+                    }
+                    return x;
+                }
+                prevX = x;
+            }
+        }
+        return leftBorder;
+    }
+
+    private int getValidEnd(final Tile farRangeTile, final int y) {
+
+        if (farRangeTile != null) {
+            final ProductData data = farRangeTile.getDataBuffer();
+            final int xMin = rightBorder + 1;
+            int prevX = sourceImageWidth;
+            for (int x = sourceImageWidth - 1; x >= xMin; x = (x == xMin) ? xMin - 1 : Math.max(x - PIXEL_STRIDE, xMin)) {
+                if (isValidPixel(data.getElemDoubleAt(farRangeTile.getDataBufferIndex(x, y)), x)) {
+                    for (int xx = prevX - 1; xx > x; --xx) {
+                        if (isValidPixel(data.getElemDoubleAt(farRangeTile.getDataBufferIndex(xx, y)), xx)) {
+                            return xx;
+                        }
+                    }
+                    return x;
+                }
+                prevX = x;
+            }
+        }
+        return Math.min(rightBorder, sourceImageWidth - 1);
+    }
+
+    /**
+     * A pixel of the co-polarised band is valid if it is not no-data and is above the trim threshold once
+     * the thermal noise is removed.
+     */
+    private boolean isValidPixel(final double coPolDataValue, final int x) {
+
+        if (coPolDataValue == noDataValue) {
+            return false;
+        }
+        final double deNoisedDataValue = Math.sqrt(Math.max(coPolDataValue * coPolDataValue - noiseLUT[x], 0.0));
+        return deNoisedDataValue >= trimThreshold && coPolDataValue >= 30;
+    }
+
+    /**
+     * Use the border margin limit as borders instead of detecting them from the image.
+     */
+    void setUseBorderDetection(final boolean useBorderDetection) {
+        this.useBorderDetection = useBorderDetection;
+    }
+
     private enum SIDE {TOP, BOTTOM, LEFT, RIGHT}
 
     private void detectBorder() throws OperatorException {
@@ -17,6 +17,7 @@ package eu.esa.sar.calibration.gpf;
 
 import com.bc.ceres.core.ProgressMonitor;
 import eu.esa.sar.calibration.gpf.calibrators.Sentinel1Calibrator;
+import eu.esa.sar.commons.Sentinel1LUTCache;
 import eu.esa.sar.commons.Sentinel1Utils;
 import org.esa.snap.core.datamodel.Band;
 import org.esa.snap.core.datamodel.MetadataElement;
@@ -39,7 +40,6 @@ import org.esa.snap.engine_utilities.eo.Constants;
 import org.esa.snap.engine_utilities.gpf.InputProductValidator;
 import org.esa.snap.engine_utilities.gpf.OperatorUtils;
 import org.esa.snap.engine_utilities.gpf.TileIndex;
-import org.esa.snap.engine_utilities.util.Maths;
 
 import java.awt.Rectangle;
 import java.io.IOException;
@@ -47,6 +47,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Apply thermal noise correction to Sentinel-1 Level-1 products.
@@ -522,20 +523,32 @@ public final class Sentinel1RemoveThermalNoiseOp extends Operator {
         final String[] targetBandNames = targetProduct.getBandNames();
         Sentinel1Utils.updateBandNames(abs, selectedPolList, targetBandNames);
 
-        final MetadataElement origMetadataRoot = AbstractMetadata.getOriginalProductMetadata(targetProduct);
+        if (removeThermalNoise) {
+            setThermalNoiseCorrectionFlag(targetProduct, true);
+        }
+
+        if (reIntroduceThermalNoise) {
+            setThermalNoiseCorrectionFlag(targetProduct, false);
+        }
+    }
+
+    /**
+     * Set the thermal noise correction flag in the annotations of the original product metadata.
+     *
+     * @param product   The product.
+     * @param performed True if the thermal noise correction is performed.
+     */
+    public static void setThermalNoiseCorrectionFlag(final Product product, final boolean performed) {
+
+        final MetadataElement origMetadataRoot = AbstractMetadata.getOriginalProductMetadata(product);
         final MetadataElement annotationElem = origMetadataRoot.getElement("annotation");
         final MetadataElement[] annotationDataSetListElem = annotationElem.getElements();
         for (MetadataElement elem : annotationDataSetListElem) {
             final MetadataElement productElem = elem.getElement("product");
             final MetadataElement imageAnnotationElem = productElem.getElement("imageAnnotation");
             final MetadataElement processingInformationElem = imageAnnotationElem.getElement("processingInformation");
-            if (removeThermalNoise) {
-                processingInformationElem.getAttribute("thermalNoiseCorrectionPerformed").getData().setElems("true");
-            }
-
-            if (reIntroduceThermalNoise) {
-                processingInformationElem.getAttribute("thermalNoiseCorrectionPerformed").getData().setElems("false");
-            }
+            processingInformationElem.getAttribute("thermalNoiseCorrectionPerformed").getData().setElems(
+                    String.valueOf(performed));
         }
     }
 
@@ -579,7 +592,37 @@ public final class Sentinel1RemoveThermalNoiseOp extends Operator {
 
     private void computeTileImage(String targetBandName, Tile targetTile, ProgressMonitor pm) throws OperatorException {
 
-        final Rectangle targetTileRectangle = targetTile.getRectangle();
+        computeImage(targetBandName, targetTile.getRectangle(), targetTile.getDataBuffer(),
+                targetTile.getScanlineOffset(), targetTile.getScanlineStride());
+    }
+
+    /**
+     * Compute the noise removed intensities of a target band for a rectangle, as written to the tiles of the band.
+     * Used by the calibration to remove the thermal noise and calibrate in one pass.
+     *
+     * @param sourceBandName The name of the (first) source band of the target band.
+     * @param rectangle      The rectangle.
+     * @return the intensities of the rectangle, line by line.
+     * @throws OperatorException If the source band is not used or an error occurs during computation.
+     */
+    public ProductData computeNoiseRemovedIntensity(final String sourceBandName, final Rectangle rectangle)
+            throws OperatorException {
+
+        for (Map.Entry<String, String[]> entry : targetBandNameToSourceBandName.entrySet()) {
+            if (entry.getValue()[0].equals(sourceBandName)) {
+                final ProductData intensity = ProductData.createInstance(
+                        ProductData.TYPE_FLOAT32, rectangle.width * rectangle.height);
+                computeImage(entry.getKey(), rectangle, intensity, 0, rectangle.width);
+                return intensity;
+            }
+        }
+        throw new OperatorException("Thermal noise removal: no target band for " + sourceBandName);
+    }
+
+    private void computeImage(final String targetBandName, final Rectangle targetTileRectangle,
+                              final ProductData tgtData, final int tgtOffset, final int tgtStride)
+            throws OperatorException {
+
         final int x0 = targetTileRectangle.x;
         final int y0 = targetTileRectangle.y;
         final int w = targetTileRectangle.width;
@@ -615,9 +658,7 @@ public final class Sentinel1RemoveThermalNoiseOp extends Operator {
 
             final double srcNoDataValue = sourceBand1.getNoDataValue();
             final Unit.UnitType bandUnit = Unit.getUnitType(sourceBand1);
-            final ProductData tgtData = targetTile.getDataBuffer();
             final TileIndex srcIndex = new TileIndex(sourceRaster1);
-            final TileIndex tgtIndex = new TileIndex(targetTile);
             final int maxY = y0 + h;
             final int maxX = x0 + w;
 
@@ -632,52 +673,35 @@ public final class Sentinel1RemoveThermalNoiseOp extends Operator {
                 }
             }
 
-            Sentinel1Calibrator.CalibrationInfo calInfo = null;
-            Sentinel1Calibrator.CALTYPE calType = null;
-            if (absoluteCalibrationPerformed) {
-                calInfo = getCalInfo(targetBandName);
-                calType = Sentinel1Calibrator.getCalibrationType(targetBandName);
-            }
+            // the noise and calibration LUTs of the scene, read once per row for the tile columns
+            final Sentinel1LUTCache.VectorLUT noiseLut = version < 2.9 || isSM ? getNoiseLUT(targetBandName) : null;
+            final Sentinel1LUTCache.VectorLUT calLut = absoluteCalibrationPerformed ?
+                    Sentinel1Calibrator.getCalibrationLUT(sourceProduct, getCalInfo(targetBandName),
+                            Sentinel1Calibrator.getCalibrationType(targetBandName)) : null;
+            final double[] lut = new double[w];
+            final double[] calRow = calLut != null ? new double[w] : null;
 
             double dn, dn2, i, q;
             int srcIdx, tgtIdx;
             for (int y = y0; y < maxY; ++y) {
                 srcIndex.calculateStride(y);
-                tgtIndex.calculateStride(y);
+                final int tgtLineOffset = tgtOffset + (y - y0) * tgtStride - x0;
                 final int sy = y + subsetOffsetY;
 
-                double[] lut = new double[w];
-                if (absoluteCalibrationPerformed) {
-                    final int calVecIdx = calInfo.getCalibrationVectorIndex(sy);
-                    final Sentinel1Utils.CalibrationVector vec0 = calInfo.getCalibrationVector(calVecIdx);
-                    final Sentinel1Utils.CalibrationVector vec1 = calInfo.getCalibrationVector(calVecIdx + 1);
-                    final float[] vec0LUT = Sentinel1Calibrator.getVector(calType, vec0);
-                    final float[] vec1LUT = Sentinel1Calibrator.getVector(calType, vec1);
-                    final Sentinel1Utils.CalibrationVector calVec = calInfo.calibrationVectorList[calVecIdx];
-                    final int pixelIdx0 = calVec.getPixelIndex(sx0);
-
-                    if (version < 2.9 || isSM) {
-                        final ThermalNoiseInfo noiseInfo = getNoiseInfo(targetBandName);
-                        computeTileScaledNoiseLUT(sy, sx0, w, noiseInfo, calInfo, vec0.timeMJD, vec1.timeMJD,
-                                vec0LUT, vec1LUT, vec0.pixels, pixelIdx0, lut);
-                    } else {
-                        computeTileScaledNoiseLUT(sy, sx0, sy0, w, noiseBlock, calInfo, vec0.timeMJD, vec1.timeMJD,
-                                vec0LUT, vec1LUT, vec0.pixels, pixelIdx0, lut);
-                    }
-
+                if (noiseLut != null) {
+                    noiseLut.getRow(sy, sx0, w, lut);
                 } else {
-                    if (version < 2.9 || isSM) {
-                        final ThermalNoiseInfo noiseInfo = getNoiseInfo(targetBandName);
-                        computeTileNoiseLUT(sy, sx0, w, noiseInfo, lut);
-                    } else {
-                        computeTileNoiseLUT(sy - sy0, sx0, w, noiseBlock, lut);
-                    }
+                    computeTileNoiseLUT(sy - sy0, sx0, w, noiseBlock, lut);
+                }
+                if (calLut != null) {
+                    calLut.getRow(sy, sx0, w, calRow);
+                    scaleNoiseLUT(calRow, lut);
                 }
 
                 for (int x = x0; x < maxX; ++x) {
                     final int xx = x - x0;
                     srcIdx = srcIndex.getIndex(x);
-                    tgtIdx = tgtIndex.getIndex(x);
+                    tgtIdx = tgtLineOffset + x;
                     if (bandUnit == Unit.UnitType.AMPLITUDE) {
                         dn = srcData1.getElemDoubleAt(srcIdx);
                         dn2 = dn * dn;
@@ -734,44 +758,27 @@ public final class Sentinel1RemoveThermalNoiseOp extends Operator {
             final int maxY = y0 + h;
             final int maxX = x0 + w;
 
-            Sentinel1Calibrator.CalibrationInfo calInfo = null;
-            Sentinel1Calibrator.CALTYPE calType = null;
-            if (absoluteCalibrationPerformed) {
-                calInfo = getCalInfo(targetBandName);
-                calType = Sentinel1Calibrator.getCalibrationType(targetBandName);
-            }
+            // the noise and calibration LUTs of the scene, read once per row for the tile columns
+            final Sentinel1LUTCache.VectorLUT noiseLut = version < 2.9 || isSM ? getNoiseLUT(targetBandName) : null;
+            final Sentinel1LUTCache.VectorLUT calLut = absoluteCalibrationPerformed ?
+                    Sentinel1Calibrator.getCalibrationLUT(sourceProduct, getCalInfo(targetBandName),
+                            Sentinel1Calibrator.getCalibrationType(targetBandName)) : null;
+            final double[] lut = new double[w];
+            final double[] calRow = calLut != null ? new double[w] : null;
 
             int tgtIdx;
             for (int y = y0; y < maxY; ++y) {
                 tgtIndex.calculateStride(y);
                 final int sy = y + subsetOffsetY;
 
-                double[] lut = new double[w];
-                if (absoluteCalibrationPerformed) {
-                    final int calVecIdx = calInfo.getCalibrationVectorIndex(sy);
-                    final Sentinel1Utils.CalibrationVector vec0 = calInfo.getCalibrationVector(calVecIdx);
-                    final Sentinel1Utils.CalibrationVector vec1 = calInfo.getCalibrationVector(calVecIdx + 1);
-                    final float[] vec0LUT = Sentinel1Calibrator.getVector(calType, vec0);
-                    final float[] vec1LUT = Sentinel1Calibrator.getVector(calType, vec1);
-                    final Sentinel1Utils.CalibrationVector calVec = calInfo.calibrationVectorList[calVecIdx];
-                    final int pixelIdx0 = calVec.getPixelIndex(sx0);
-
-                    if (version < 2.9 || isSM) {
-                        final ThermalNoiseInfo noiseInfo = getNoiseInfo(targetBandName);
-                        computeTileScaledNoiseLUT(sy, sx0, w, noiseInfo, calInfo, vec0.timeMJD, vec1.timeMJD,
-                                vec0LUT, vec1LUT, vec0.pixels, pixelIdx0, lut);
-                    } else {
-                        computeTileScaledNoiseLUT(sy, sx0, sy0, w, noiseBlock, calInfo, vec0.timeMJD, vec1.timeMJD,
-                                vec0LUT, vec1LUT, vec0.pixels, pixelIdx0, lut);
-                    }
-
+                if (noiseLut != null) {
+                    noiseLut.getRow(sy, sx0, w, lut);
                 } else {
-                    if (version < 2.9 || isSM) {
-                        final ThermalNoiseInfo noiseInfo = getNoiseInfo(targetBandName);
-                        computeTileNoiseLUT(sy, sx0, w, noiseInfo, lut);
-                    } else {
-                        computeTileNoiseLUT(sy - sy0, sx0, w, noiseBlock, lut);
-                    }
+                    computeTileNoiseLUT(sy - sy0, sx0, w, noiseBlock, lut);
+                }
+                if (calLut != null) {
+                    calLut.getRow(sy, sx0, w, calRow);
+                    scaleNoiseLUT(calRow, lut);
                 }
 
                 for (int x = x0; x < maxX; ++x) {
@@ -832,146 +839,32 @@ public final class Sentinel1RemoveThermalNoiseOp extends Operator {
     }
 
     /**
-     * Compute scaled noise LUTs for the given range line.
+     * Get the noise LUT of the scene for given target band.
      *
-     * @param y         Index of the given range line.
-     * @param x0        X coordinate of the upper left corner pixel of the given tile.
-     * @param w         Tile width.
-     * @param noiseInfo Object of ThermalNoiseInfo class.
-     * @param calInfo   Object of CalibrationInfo class.
-     * @param lut       The scaled noise LUT.
+     * @param targetBandName Target band name.
+     * @return The noise LUT.
      */
-    private void computeTileScaledNoiseLUT(final int y, final int x0, final int w,
-                                           final ThermalNoiseInfo noiseInfo,
-                                           final Sentinel1Calibrator.CalibrationInfo calInfo,
-                                           final double azT0, final double azT1,
-                                           final float[] vec0LUT, final float[] vec1LUT,
-                                           final int[] vec0Pixels, final int pixelIdx0,
-                                           final double[] lut) {
-
-        final double[] noiseLut = new double[w];
-        computeTileNoiseLUT(y, x0, w, noiseInfo, noiseLut);
-
-        final double[] calLut = new double[w];
-        computeTileCalibrationLUTs(y, x0, w, calInfo, azT0, azT1, vec0LUT, vec1LUT, vec0Pixels, pixelIdx0, calLut);
-
-        if (removeThermalNoise) {
-            for (int i = 0; i < w; i++) {
-                lut[i] = noiseLut[i] / (calLut[i]*calLut[i]);
-            }
-        } else { // reIntroduceThermalNoise
-            for (int i = 0; i < w; i++) {
-                lut[i] = -noiseLut[i] / (calLut[i]*calLut[i]);
-            }
-        }
-    }
-
-    private void computeTileScaledNoiseLUT(final int y, final int x0, final int y0, final int w,
-                                           final double[][] noiseBlock,
-                                           final Sentinel1Calibrator.CalibrationInfo calInfo,
-                                           final double azT0, final double azT1,
-                                           final float[] vec0LUT, final float[] vec1LUT,
-                                           final int[] vec0Pixels, final int pixelIdx0,
-                                           final double[] lut) {
-
-        final double[] calLut = new double[w];
-        computeTileCalibrationLUTs(y, x0, w, calInfo, azT0, azT1,
-                vec0LUT, vec1LUT, vec0Pixels, pixelIdx0, calLut);
-
-        final int yy = y - y0;
-        if (removeThermalNoise) {
-            for (int i = 0; i < w; i++) {
-                lut[i] = noiseBlock[yy][i] / (calLut[i]*calLut[i]);
-            }
-        } else { // reIntroduceThermalNoise
-            for (int i = 0; i < w; i++) {
-                lut[i] = -noiseBlock[yy][i] / (calLut[i]*calLut[i]);
-            }
-        }
+    private Sentinel1LUTCache.VectorLUT getNoiseLUT(final String targetBandName) {
+        final ThermalNoiseInfo noiseInfo = getNoiseInfo(targetBandName);
+        return Sentinel1LUTCache.instance().getNoiseLUT(sourceProduct, noiseInfo.subSwath, noiseInfo.polarization,
+                noiseInfo.noiseVectorList, noiseInfo.firstLineTime, noiseInfo.lineTimeInterval, noiseInfo.numOfLines);
     }
 
     /**
-     * Compute calibration LUTs for the given range line.
+     * Scale the noise LUT of a range line by the calibration LUT.
      *
-     * @param y       Index of the given range line.
-     * @param x0      X coordinate of the upper left corner pixel of the given tile.
-     * @param w       Tile width.
-     * @param calInfo Object of CalibrationInfo class.
-     * @param lut     LUT for calibration.
+     * @param calLut The calibration LUT.
+     * @param lut    The noise LUT, replaced by the scaled noise LUT.
      */
-    private static void computeTileCalibrationLUTs(final int y, final int x0, final int w,
-                                                  final Sentinel1Calibrator.CalibrationInfo calInfo,
-                                                  final double azT0, final double azT1,
-                                                  final float[] vec0LUT, final float[] vec1LUT,
-                                                  final int[] vec0Pixels, int pixelIdx0,
-                                                  final double[] lut) {
-        final double azTime = calInfo.firstLineTime + y * calInfo.lineTimeInterval;
-        double muX, muY = (azTime - azT0) / (azT1 - azT0);
-
-        int pixelIdx = pixelIdx0;
-        final int maxX = x0 + w;
-        for (int x = x0; x < maxX; x++) {
-            if (x > vec0Pixels[pixelIdx + 1]) {
-                pixelIdx++;
+    private void scaleNoiseLUT(final double[] calLut, final double[] lut) {
+        if (removeThermalNoise) {
+            for (int i = 0; i < lut.length; i++) {
+                lut[i] = lut[i] / (calLut[i]*calLut[i]);
             }
-
-            muX = (double) (x - vec0Pixels[pixelIdx]) / (double) (vec0Pixels[pixelIdx + 1] - vec0Pixels[pixelIdx]);
-            lut[x - x0] = Maths.interpolationBiLinear(
-                    vec0LUT[pixelIdx], vec0LUT[pixelIdx + 1], vec1LUT[pixelIdx], vec1LUT[pixelIdx + 1], muX, muY);
-        }
-    }
-
-    /**
-     * Compute noise LUTs for the given range line.
-     *
-     * @param y         Index of the given range line.
-     * @param x0        X coordinate of the upper left corner pixel of the given tile.
-     * @param w         Tile width.
-     * @param noiseInfo Object of ThermalNoiseInfo class.
-     * @param lut       The noise LUT.
-     */
-    private static void computeTileNoiseLUT(final int y, final int x0, final int w,
-                                            final ThermalNoiseInfo noiseInfo, final double[] lut) {
-        try {
-            final double azTime = noiseInfo.firstLineTime + y * noiseInfo.lineTimeInterval;
-            final int noiseVecIdx = getNoiseVectorIndex(azTime, noiseInfo);
-            final Sentinel1Utils.NoiseVector noiseVector0 = noiseInfo.noiseVectorList[noiseVecIdx];
-            final Sentinel1Utils.NoiseVector noiseVector1 = noiseInfo.noiseVectorList[noiseVecIdx + 1];
-
-            final double azT0 = noiseVector0.timeMJD;
-            final double azT1 = noiseVector1.timeMJD;
-            final double muY = (azTime - azT0) / (azT1 - azT0);
-
-            int pixelIdx0 = getPixelIndex(x0, noiseVector0);
-            int pixelIdx1 = getPixelIndex(x0, noiseVector1);
-
-            final int maxLength0 = noiseVector0.pixels.length - 2;
-            final int maxLength1 = noiseVector1.pixels.length - 2;
-            final int maxX = x0 + w;
-            for (int x = x0; x < maxX; x++) {
-
-                if (x > noiseVector0.pixels[pixelIdx0 + 1] && pixelIdx0 < maxLength0) {
-                    pixelIdx0++;
-                }
-                final int x00 = noiseVector0.pixels[pixelIdx0];
-                final int x01 = noiseVector0.pixels[pixelIdx0 + 1];
-                final double muX0 = (double) (x - x00) / (double) (x01 - x00);
-                final double noise0 = Maths.interpolationLinear(
-                        noiseVector0.noiseLUT[pixelIdx0], noiseVector0.noiseLUT[pixelIdx0 + 1], muX0);
-
-                if (x > noiseVector1.pixels[pixelIdx1 + 1] && pixelIdx1 < maxLength1) {
-                    pixelIdx1++;
-                }
-                final int x10 = noiseVector1.pixels[pixelIdx1];
-                final int x11 = noiseVector1.pixels[pixelIdx1 + 1];
-                final double muX1 = (double) (x - x10) / (double) (x11 - x10);
-                final double noise1 = Maths.interpolationLinear(
-                        noiseVector1.noiseLUT[pixelIdx1], noiseVector1.noiseLUT[pixelIdx1 + 1], muX1);
-
-                lut[x - x0] = Maths.interpolationLinear(noise0, noise1, muY);
+        } else { // reIntroduceThermalNoise
+            for (int i = 0; i < lut.length; i++) {
+                lut[i] = -lut[i] / (calLut[i]*calLut[i]);
             }
-        } catch (Throwable e) {
-            OperatorUtils.catchOperatorException("computeTileNoiseLUT", e);
         }
     }
 
@@ -988,39 +881,6 @@ public final class Sentinel1RemoveThermalNoiseOp extends Operator {
         }
     }
 
-    /**
-     * Get index of the noise vector in the list for a given line.
-     *
-     * @param azTime    Azimuth time.
-     * @param noiseInfo Object of ThermalNoiseInfo class.
-     * @return The noise vector index.
-     */
-    private static int getNoiseVectorIndex(final double azTime, final ThermalNoiseInfo noiseInfo) {
-        for (int i = 1; i < noiseInfo.count; i++) {
-            if (azTime < noiseInfo.noiseVectorList[i].timeMJD) {
-                return i - 1;
-            }
-        }
-        return noiseInfo.count - 2;
-    }
-
-    /**
-     * Get pixel index in a given noise vector for a given pixel.
-     *
-     * @param x           Pixel coordinate.
-     * @param noiseVector Noise vector.
-     * @return The pixel index.
-     */
-    private static int getPixelIndex(final int x, final Sentinel1Utils.NoiseVector noiseVector) {
-
-        for (int i = 0; i < noiseVector.pixels.length; i++) {
-            if (x < noiseVector.pixels[i]) {
-                return i - 1;
-            }
-        }
-        return noiseVector.pixels.length - 2;
-    }
-
     private void getIPFVersion() {
         final String procSysId = absRoot.getAttributeString(AbstractMetadata.ProcessingSystemIdentifier);
         version = Double.valueOf(procSysId.substring(procSysId.lastIndexOf(" ")));
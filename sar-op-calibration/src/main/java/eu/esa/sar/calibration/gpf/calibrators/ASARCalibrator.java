@@ -19,6 +19,8 @@ import com.bc.ceres.core.ProgressMonitor;
 import org.apache.commons.math3.util.FastMath;
 import eu.esa.sar.calibration.gpf.CalibrationOp;
 import eu.esa.sar.calibration.gpf.support.BaseCalibrator;
+import eu.esa.sar.calibration.gpf.support.CalibrationAuxCache;
+import eu.esa.sar.calibration.gpf.support.CalibrationAuxCache.AntennaPattern;
 import eu.esa.sar.calibration.gpf.support.Calibrator;
 import eu.esa.sar.calibration.gpf.support.TiePointInterpolator;
 import org.esa.snap.core.datamodel.*;
@@ -26,7 +28,6 @@ import org.esa.snap.core.gpf.Operator;
 import org.esa.snap.core.gpf.OperatorException;
 import org.esa.snap.core.gpf.Tile;
 import org.esa.snap.core.util.SystemUtils;
-import org.esa.snap.dataio.envisat.EnvisatAuxReader;
 import org.esa.snap.engine_utilities.datamodel.AbstractMetadata;
 import org.esa.snap.engine_utilities.datamodel.OrbitStateVector;
 import org.esa.snap.engine_utilities.datamodel.Unit;
@@ -40,7 +41,6 @@ import org.esa.snap.engine_utilities.util.Settings;
 
 import java.awt.*;
 import java.io.File;
-import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.text.SimpleDateFormat;
@@ -91,10 +91,10 @@ public class ASARCalibrator extends BaseCalibrator implements Calibrator {
     private double[] oldRefElevationAngle = null; // reference elevation angle for given swath in old aux file, in degree
     private double[] newRefElevationAngle = null; // reference elevation angle for given swath in new aux file, in degree
 
-    private float[][] oldAntennaPatternSingleSwath = null; // old antenna pattern gains for single swath product, in dB
-    private float[][] oldAntennaPatternWideSwath = null; // old antenna pattern gains for single swath product, in dB
-    private float[][] newAntennaPatternSingleSwath = null; // new antenna pattern gains for single swath product, in dB
-    private float[][] newAntennaPatternWideSwath = null; // new antenna pattern gains for single swath product, in dB
+    private AntennaPattern[] oldAntennaPatternSingleSwath = null; // old antenna patterns for the 2 bands of single swath product
+    private AntennaPattern[] oldAntennaPatternWideSwath = null; // old antenna patterns for the 5 sub swathes of wide swath product
+    private AntennaPattern[] newAntennaPatternSingleSwath = null; // new antenna patterns for the 2 bands of single swath product
+    private AntennaPattern[] newAntennaPatternWideSwath = null; // new antenna patterns for the 5 sub swathes of wide swath product
 
     private TiePointInterpolator incidenceTPGInterp = null;
     private TiePointInterpolator slantRangeTPGInterp = null;
@@ -104,8 +104,6 @@ public class ASARCalibrator extends BaseCalibrator implements Calibrator {
     private OrbitStateVector[] orbitStateVectors = null;
     private AbstractMetadata.SRGRCoefficientList[] srgrConvParams = null;
 
-    private static final int numOfGains = 201; // number of antenna pattern gain values for a given swath and
-    // polarization in the aux file
 //    private double refSlantRange = 800000.0; //  m
 //    private double halfLightSpeedByRefSlantRange = Constants.halfLightSpeed / refSlantRange;
     private static final double refSlantRange800km = 800000.0; //  m
@@ -344,16 +342,16 @@ public class ASARCalibrator extends BaseCalibrator implements Calibrator {
         if (wideSwathProductFlag) {
 
             oldRefElevationAngle = new double[5]; // reference elevation angles for 5 sub swathes
-            oldAntennaPatternWideSwath = new float[5][numOfGains]; // antenna pattern gain for 5 sub swathes
+            oldAntennaPatternWideSwath = new AntennaPattern[5]; // antenna patterns for 5 sub swathes
             getWideSwathAntennaPatternGainFromAuxData(
-                    xcaFilePath, mdsPolar[0], numOfGains, oldRefElevationAngle, oldAntennaPatternWideSwath);
+                    xcaFilePath, mdsPolar[0], oldRefElevationAngle, oldAntennaPatternWideSwath);
 
         } else {
 
             oldRefElevationAngle = new double[1]; // reference elevation angle for 1 swath
-            oldAntennaPatternSingleSwath = new float[2][numOfGains]; // antenna pattern gain for 2 bands
+            oldAntennaPatternSingleSwath = new AntennaPattern[2]; // antenna patterns for 2 bands
             getSingleSwathAntennaPatternGainFromAuxData(
-                    xcaFilePath, swath, mdsPolar, numOfGains, oldRefElevationAngle, oldAntennaPatternSingleSwath);
+                    xcaFilePath, swath, mdsPolar, oldRefElevationAngle, oldAntennaPatternSingleSwath);
         }
     }
 
@@ -558,73 +556,62 @@ public class ASARCalibrator extends BaseCalibrator implements Calibrator {
             final String auxFilePath, final String swath, final String[] mdsPolar,
             final String productType, final double[] calibrationFactor) {
 
-        final EnvisatAuxReader reader = new EnvisatAuxReader();
+        final int numOfSwaths = 7;
+        String calibrationFactorName;
+        for (int i = 0; i < 2 && mdsPolar[i] != null && mdsPolar[i].length() != 0; i++) {
+
+            calibrationFactor[i] = 0;
+
+            if (productType.contains("ASA_IMP_1")) {
+                calibrationFactorName = "ext_cal_im_pri_" + mdsPolar[i];
+            } else if (productType.contains("ASA_IMM_1")) {
+                calibrationFactorName = "ext_cal_im_med_" + mdsPolar[i];
+            } else if (productType.contains("ASA_APP_1")) {
+                calibrationFactorName = "ext_cal_ap_pri_" + mdsPolar[i];
+            } else if (productType.contains("ASA_APM_1")) {
+                calibrationFactorName = "ext_cal_ap_med_" + mdsPolar[i];
+            } else if (productType.contains("ASA_WS")) {
+                calibrationFactorName = "ext_cal_ws_" + mdsPolar[i];
+            } else if (productType.contains("ASA_GM1_1")) {
+                calibrationFactorName = "ext_cal_gm_" + mdsPolar[i];
+            } else if (productType.contains("ASA_IMG_1")) {
+                calibrationFactorName = "ext_cal_im_geo_" + mdsPolar[i];
+            } else if (productType.contains("ASA_APG_1")) {
+                calibrationFactorName = "ext_cal_ap_geo_" + mdsPolar[i];
+            } else if (productType.contains("ASA_IMS_1")) {
+                calibrationFactorName = "ext_cal_im_" + mdsPolar[i];
+            } else if (productType.contains("ASA_APS_1")) {
+                calibrationFactorName = "ext_cal_ap_" + mdsPolar[i];
+            } else {
+                throw new OperatorException("Invalid ASAR product type.");
+            }
 
-        try {
+            final float[] factors = CalibrationAuxCache.instance().getAuxData(auxFilePath, calibrationFactorName);
 
-            reader.readProduct(auxFilePath);
-
-            final int numOfSwaths = 7;
-            String calibrationFactorName;
-            for (int i = 0; i < 2 && mdsPolar[i] != null && mdsPolar[i].length() != 0; i++) {
-
-                calibrationFactor[i] = 0;
-
-                if (productType.contains("ASA_IMP_1")) {
-                    calibrationFactorName = "ext_cal_im_pri_" + mdsPolar[i];
-                } else if (productType.contains("ASA_IMM_1")) {
-                    calibrationFactorName = "ext_cal_im_med_" + mdsPolar[i];
-                } else if (productType.contains("ASA_APP_1")) {
-                    calibrationFactorName = "ext_cal_ap_pri_" + mdsPolar[i];
-                } else if (productType.contains("ASA_APM_1")) {
-                    calibrationFactorName = "ext_cal_ap_med_" + mdsPolar[i];
-                } else if (productType.contains("ASA_WS")) {
-                    calibrationFactorName = "ext_cal_ws_" + mdsPolar[i];
-                } else if (productType.contains("ASA_GM1_1")) {
-                    calibrationFactorName = "ext_cal_gm_" + mdsPolar[i];
-                } else if (productType.contains("ASA_IMG_1")) {
-                    calibrationFactorName = "ext_cal_im_geo_" + mdsPolar[i];
-                } else if (productType.contains("ASA_APG_1")) {
-                    calibrationFactorName = "ext_cal_ap_geo_" + mdsPolar[i];
-                } else if (productType.contains("ASA_IMS_1")) {
-                    calibrationFactorName = "ext_cal_im_" + mdsPolar[i];
-                } else if (productType.contains("ASA_APS_1")) {
-                    calibrationFactorName = "ext_cal_ap_" + mdsPolar[i];
-                } else {
-                    throw new OperatorException("Invalid ASAR product type.");
+            if (productType.contains("ASA_WS") || productType.contains("ASA_GM1")) {
+                calibrationFactor[i] = factors[0];
+            } else {
+                if (factors.length != numOfSwaths) {
+                    throw new OperatorException("Incorrect array length for " + calibrationFactorName);
                 }
-
-                final ProductData factorData = reader.getAuxData(calibrationFactorName);
-                final float[] factors = (float[]) factorData.getElems();
-
-                if (productType.contains("ASA_WS") || productType.contains("ASA_GM1")) {
+                if (swath.contains("S1")) {
                     calibrationFactor[i] = factors[0];
+                } else if (swath.contains("S2")) {
+                    calibrationFactor[i] = factors[1];
+                } else if (swath.contains("S3")) {
+                    calibrationFactor[i] = factors[2];
+                } else if (swath.contains("S4")) {
+                    calibrationFactor[i] = factors[3];
+                } else if (swath.contains("S5")) {
+                    calibrationFactor[i] = factors[4];
+                } else if (swath.contains("S6")) {
+                    calibrationFactor[i] = factors[5];
+                } else if (swath.contains("S7")) {
+                    calibrationFactor[i] = factors[6];
                 } else {
-                    if (factors.length != numOfSwaths) {
-                        throw new OperatorException("Incorrect array length for " + calibrationFactorName);
-                    }
-                    if (swath.contains("S1")) {
-                        calibrationFactor[i] = factors[0];
-                    } else if (swath.contains("S2")) {
-                        calibrationFactor[i] = factors[1];
-                    } else if (swath.contains("S3")) {
-                        calibrationFactor[i] = factors[2];
-                    } else if (swath.contains("S4")) {
-                        calibrationFactor[i] = factors[3];
-                    } else if (swath.contains("S5")) {
-                        calibrationFactor[i] = factors[4];
-                    } else if (swath.contains("S6")) {
-                        calibrationFactor[i] = factors[5];
-                    } else if (swath.contains("S7")) {
-                        calibrationFactor[i] = factors[6];
-                    } else {
-                        throw new OperatorException("Invalid swath");
-                    }
+                    throw new OperatorException("Invalid swath");
                 }
             }
-
-        } catch (IOException e) {
-            throw new OperatorException(e);
         }
 
         if (Double.compare(calibrationFactor[0], 0.0) == 0 && Double.compare(calibrationFactor[1], 0.0) == 0) {
@@ -683,16 +670,16 @@ public class ASARCalibrator extends BaseCalibrator implements Calibrator {
         if (wideSwathProductFlag) {
 
             newRefElevationAngle = new double[5]; // reference elevation angles for 5 sub swathes
-            newAntennaPatternWideSwath = new float[5][numOfGains]; // antenna pattern gain for 5 sub swathes
+            newAntennaPatternWideSwath = new AntennaPattern[5]; // antenna patterns for 5 sub swathes
             getWideSwathAntennaPatternGainFromAuxData(
-                    newXCAFilePath, mdsPolar[0], numOfGains, newRefElevationAngle, newAntennaPatternWideSwath);
+                    newXCAFilePath, mdsPolar[0], newRefElevationAngle, newAntennaPatternWideSwath);
 
         } else {
 
             newRefElevationAngle = new double[1]; // reference elevation angle for 1 swath
-            newAntennaPatternSingleSwath = new float[2][numOfGains];  // antenna pattern gain for 2 bands
+            newAntennaPatternSingleSwath = new AntennaPattern[2];  // antenna patterns for 2 bands
             getSingleSwathAntennaPatternGainFromAuxData(
-                    newXCAFilePath, swath, mdsPolar, numOfGains, newRefElevationAngle, newAntennaPatternSingleSwath);
+                    newXCAFilePath, swath, mdsPolar, newRefElevationAngle, newAntennaPatternSingleSwath);
         }
     }
 
@@ -702,65 +689,39 @@ public class ASARCalibrator extends BaseCalibrator implements Calibrator {
      * @param fileName     The auxiliary data file name
      * @param swath        The swath name.
      * @param pol          The polarizations for 2 bands.
-     * @param numOfGains   The number of gains for given swath and polarization (201).
      * @param refElevAngle The reference elevation angle array.
      * @param antPatArray  The antenna pattern array.
      * @throws OperatorException The IO exception.
      */
     private static void getSingleSwathAntennaPatternGainFromAuxData(
-            final String fileName, final String swath, final String[] pol, final int numOfGains,
-            final double[] refElevAngle, final float[][] antPatArray)
+            final String fileName, final String swath, final String[] pol,
+            final double[] refElevAngle, final AntennaPattern[] antPatArray)
             throws OperatorException {
 
-        final EnvisatAuxReader reader = new EnvisatAuxReader();
-        try {
-            reader.readProduct(fileName);
-
-            String swathName;
-            if (swath.contains("S1")) {
-                swathName = "is1";
-            } else if (swath.contains("S2")) {
-                swathName = "is2";
-            } else if (swath.contains("S3")) {
-                swathName = "is3_ss2";
-            } else if (swath.contains("S4")) {
-                swathName = "is4_ss3";
-            } else if (swath.contains("S5")) {
-                swathName = "is5_ss4";
-            } else if (swath.contains("S6")) {
-                swathName = "is6_ss5";
-            } else if (swath.contains("S7")) {
-                swathName = "is7";
-            } else {
-                throw new OperatorException("Invalid swath");
-            }
-
-            final String refElevAngleName = "elev_ang_" + swathName;
-            final ProductData refElevAngleData = reader.getAuxData(refElevAngleName);
-            refElevAngle[0] = (double) refElevAngleData.getElemFloat();
-
-            final String patternName = "pattern_" + swathName;
-            final ProductData patternData = reader.getAuxData(patternName);
-            final float[] pattern = ((float[]) patternData.getElems());
-            if (pattern.length != 804) {
-                throw new OperatorException("Incorret array length for " + patternName);
-            }
-
-            for (int i = 0; i < 2 && pol[i] != null && pol[i].length() != 0; i++) {
-                if (pol[i].contains("hh")) {
-                    System.arraycopy(pattern, 0, antPatArray[i], 0, numOfGains);
-                } else if (pol[i].contains("vv")) {
-                    System.arraycopy(pattern, numOfGains, antPatArray[i], 0, numOfGains);
-                } else if (pol[i].contains("hv")) {
-                    System.arraycopy(pattern, 2 * numOfGains, antPatArray[i], 0, numOfGains);
-                } else if (pol[i].contains("vh")) {
-                    System.arraycopy(pattern, 3 * numOfGains, antPatArray[i], 0, numOfGains);
-                }
-            }
+        String swathName;
+        if (swath.contains("S1")) {
+            swathName = "is1";
+        } else if (swath.contains("S2")) {
+            swathName = "is2";
+        } else if (swath.contains("S3")) {
+            swathName = "is3_ss2";
+        } else if (swath.contains("S4")) {
+            swathName = "is4_ss3";
+        } else if (swath.contains("S5")) {
+            swathName = "is5_ss4";
+        } else if (swath.contains("S6")) {
+            swathName = "is6_ss5";
+        } else if (swath.contains("S7")) {
+            swathName = "is7";
+        } else {
+            throw new OperatorException("Invalid swath");
+        }
 
-        } catch (IOException e) {
-            throw new OperatorException(e);
+        final CalibrationAuxCache auxCache = CalibrationAuxCache.instance();
+        for (int i = 0; i < 2 && pol[i] != null && pol[i].length() != 0; i++) {
+            antPatArray[i] = auxCache.getAntennaPattern(fileName, swathName, pol[i]);
         }
+        refElevAngle[0] = auxCache.getAntennaPattern(fileName, swathName, pol[0]).getRefElevationAngle();
     }
 
     /**
@@ -768,49 +729,21 @@ public class ASARCalibrator extends BaseCalibrator implements Calibrator {
      *
      * @param fileName     The auxiliary data file name
      * @param pol          The polarization.
-     * @param numOfGains   The number of gains for given swath and polarization (201).
      * @param refElevAngle The reference elevation angle array.
      * @param antPatArray  The antenna pattern array.
      * @throws OperatorException The IO exception.
      */
     private static void getWideSwathAntennaPatternGainFromAuxData(
-            final String fileName, final String pol, final int numOfGains,
-            final double[] refElevAngle, final float[][] antPatArray)
+            final String fileName, final String pol,
+            final double[] refElevAngle, final AntennaPattern[] antPatArray)
             throws OperatorException {
 
-        final EnvisatAuxReader reader = new EnvisatAuxReader();
-        try {
-            reader.readProduct(fileName);
-
-            final String[] swathName = {"ss1", "is3_ss2", "is4_ss3", "is5_ss4", "is6_ss5"};
-
-            for (int i = 0; i < swathName.length; i++) {
-
-                // read elevation angles
-                final String refElevAngleName = "elev_ang_" + swathName[i];
-                final ProductData refElevAngleData = reader.getAuxData(refElevAngleName);
-                refElevAngle[i] = (double) refElevAngleData.getElemFloat();
-
-                // read antenna pattern gains
-                final String patternName = "pattern_" + swathName[i];
-                final ProductData patternData = reader.getAuxData(patternName);
-                final float[] pattern = ((float[]) patternData.getElems());
-                if (pattern.length != 804) {
-                    throw new OperatorException("Incorret array length for " + patternName);
-                }
+        final String[] swathName = {"ss1", "is3_ss2", "is4_ss3", "is5_ss4", "is6_ss5"};
 
-                if (pol.contains("hh")) {
-                    System.arraycopy(pattern, 0, antPatArray[i], 0, numOfGains);
-                } else if (pol.contains("vv")) {
-                    System.arraycopy(pattern, numOfGains, antPatArray[i], 0, numOfGains);
-                } else if (pol.contains("hv")) {
-                    System.arraycopy(pattern, 2 * numOfGains, antPatArray[i], 0, numOfGains);
-                } else if (pol.contains("vh")) {
-                    System.arraycopy(pattern, 3 * numOfGains, antPatArray[i], 0, numOfGains);
-                }
-            }
-        } catch (IOException e) {
-            throw new OperatorException(e);
+        final CalibrationAuxCache auxCache = CalibrationAuxCache.instance();
+        for (int i = 0; i < swathName.length; i++) {
+            antPatArray[i] = auxCache.getAntennaPattern(fileName, swathName[i], pol);
+            refElevAngle[i] = antPatArray[i].getRefElevationAngle();
         }
     }
 
@@ -1058,12 +991,10 @@ public class ASARCalibrator extends BaseCalibrator implements Calibrator {
                 double gamma = Math.asin(targetTileSlantRange[yy][xx]*Math.sin(alpha*MathUtils.DTOR)/satelitteHeight)*MathUtils.RTOD; // in degree
                 double theta = alpha - gamma; // in degree
                 */
-                targetTileNewAntPat[yy][xx] = computeAntPatGain(
-                        theta, newRefElevationAngle[0], newAntennaPatternSingleSwath[band]);
+                targetTileNewAntPat[yy][xx] = newAntennaPatternSingleSwath[band].getGain(theta);
 
                 if (retroCalibrationFlag) {
-                    targetTileOldAntPat[yy][xx] = computeAntPatGain(
-                            theta, oldRefElevationAngle[0], oldAntennaPatternSingleSwath[band]);
+                    targetTileOldAntPat[yy][xx] = oldAntennaPatternSingleSwath[band].getGain(theta);
                 }
             }
         }
@@ -1109,14 +1040,12 @@ public class ASARCalibrator extends BaseCalibrator implements Calibrator {
 
                 int subSwathIndex = findSubSwath(theta, newRefElevationAngle);
 
-                targetTileNewAntPat[yy][xx] = computeAntPatGain(
-                        theta, newRefElevationAngle[subSwathIndex], newAntennaPatternWideSwath[subSwathIndex]);
+                targetTileNewAntPat[yy][xx] = newAntennaPatternWideSwath[subSwathIndex].getGain(theta);
 
                 if (retroCalibrationFlag) {
                     subSwathIndex = findSubSwath(theta, oldRefElevationAngle);
 
-                    targetTileOldAntPat[yy][xx] = computeAntPatGain(
-                            theta, oldRefElevationAngle[subSwathIndex], oldAntennaPatternWideSwath[subSwathIndex]);
+                    targetTileOldAntPat[yy][xx] = oldAntennaPatternWideSwath[subSwathIndex].getGain(theta);
                 }
             }
         }
@@ -1168,33 +1097,6 @@ public class ASARCalibrator extends BaseCalibrator implements Calibrator {
         return idx;
     }
 
-    /**
-     * Compute antenna pattern gains for the given elevation angle using linear interpolation.
-     *
-     * @param elevAngle         The elevation angle (in degree) of a given pixel.
-     * @param refElevationAngle The reference elevation angle (in degree).
-     * @param antPatArray       The antenna pattern array.
-     * @return The antenna pattern gain (in linear scale).
-     */
-    private static double computeAntPatGain(final double elevAngle, final double refElevationAngle,
-                                            final float[] antPatArray) {
-
-        final double delta = 0.05;
-        int k0 = (int) ((elevAngle - refElevationAngle + 5.0) / delta);
-        if (k0 < 0) {
-            k0 = 0;
-        } else if (k0 >= antPatArray.length - 1) {
-            k0 = antPatArray.length - 2;
-        }
-        final double theta0 = refElevationAngle - 5.0 + k0 * delta;
-        final double theta1 = theta0 + delta;
-        final double gain0 = FastMath.pow(10, (double) antPatArray[k0] / 10.0); // convert dB to linear scale
-        final double gain1 = FastMath.pow(10, (double) antPatArray[k0 + 1] / 10.0);
-        final double mu = (elevAngle - theta0) / (theta1 - theta0);
-
-        return Maths.interpolationLinear(gain0, gain1, mu);
-    }
-
     //============================================================================================================
 
     /**
@@ -1373,7 +1275,7 @@ public class ASARCalibrator extends BaseCalibrator implements Calibrator {
             gain = getAntennaPatternGain(
                     elevationAngle, bandPolarIdx, oldRefElevationAngle, oldAntennaPatternWideSwath, true, subSwathIndex);
         } else {
-            gain = computeAntPatGain(elevationAngle, oldRefElevationAngle[0], oldAntennaPatternSingleSwath[bandPolarIdx]);
+            gain = oldAntennaPatternSingleSwath[bandPolarIdx].getGain(elevationAngle);
         }
 
         if (bandUnit == Unit.UnitType.AMPLITUDE) {
@@ -1395,19 +1297,19 @@ public class ASARCalibrator extends BaseCalibrator implements Calibrator {
      * @param elevationAngle    The elevation angle (in degree).
      * @param bandPolar         The source band polarization index.
      * @param refElevationAngle The reference elevation angles for different swathes or sub swathes.
-     * @param antennaPattern    The antenna pattern array. For single swath product, it contains two 201-length arrays
-     *                          corresponding to the two bands of different polarizations. For wide swath product, it
-     *                          contains five 201-length arrays with each for a sub swath.
+     * @param antennaPattern    The antenna patterns. For single swath product, it contains two patterns corresponding
+     *                          to the two bands of different polarizations. For wide swath product, it contains five
+     *                          patterns with each for a sub swath.
      * @param compSubSwathIdx   The boolean flag indicating if sub swath index should be computed.
      * @param subSwathIndex     The sub swath index for current pixel for wide swath product case.
      * @return The antenna pattern gain value.
      */
     private static double getAntennaPatternGain(double elevationAngle, int bandPolar, double[] refElevationAngle,
-                                                float[][] antennaPattern, boolean compSubSwathIdx, int[] subSwathIndex) {
+                                                AntennaPattern[] antennaPattern, boolean compSubSwathIdx, int[] subSwathIndex) {
 
         if (refElevationAngle.length == 1) { // single swath
 
-            return computeAntPatGain(elevationAngle, refElevationAngle[0], antennaPattern[bandPolar]);
+            return antennaPattern[bandPolar].getGain(elevationAngle);
 
         } else { // wide swath
 
@@ -1415,8 +1317,7 @@ public class ASARCalibrator extends BaseCalibrator implements Calibrator {
                 subSwathIndex[0] = findSubSwath(elevationAngle, refElevationAngle);
             }
 
-            return computeAntPatGain(
-                    elevationAngle, refElevationAngle[subSwathIndex[0]], antennaPattern[subSwathIndex[0]]);
+            return antennaPattern[subSwathIndex[0]].getGain(elevationAngle);
         }
     }
 
@@ -1480,8 +1381,7 @@ public class ASARCalibrator extends BaseCalibrator implements Calibrator {
                 gain = getAntennaPatternGain(
                         elevationAngle, bandPolarIdx, newRefElevationAngle, newAntennaPatternWideSwath, false, subSwathIndex);
             } else {
-                gain = computeAntPatGain(
-                        elevationAngle, newRefElevationAngle[0], newAntennaPatternSingleSwath[bandPolarIdx]);
+                gain = newAntennaPatternSingleSwath[bandPolarIdx].getGain(elevationAngle);
             }
 
             sigma /= gain;
@@ -18,6 +18,7 @@ package eu.esa.sar.calibration.gpf.calibrators;
 import com.bc.ceres.core.ProgressMonitor;
 import org.apache.commons.math3.util.FastMath;
 import eu.esa.sar.calibration.gpf.support.BaseCalibrator;
+import eu.esa.sar.calibration.gpf.support.CalibrationAuxCache;
 import eu.esa.sar.calibration.gpf.support.Calibrator;
 import org.esa.snap.core.datamodel.Band;
 import org.esa.snap.core.datamodel.MetadataAttribute;
@@ -30,7 +31,6 @@ import org.esa.snap.core.gpf.Operator;
 import org.esa.snap.core.gpf.OperatorException;
 import org.esa.snap.core.gpf.Tile;
 import org.esa.snap.core.util.SystemUtils;
-import org.esa.snap.dataio.envisat.EnvisatAuxReader;
 import org.esa.snap.engine_utilities.datamodel.AbstractMetadata;
 import org.esa.snap.engine_utilities.datamodel.Unit;
 import org.esa.snap.engine_utilities.download.DownloadableArchive;
@@ -124,7 +124,6 @@ public final class ERSCalibrator extends BaseCalibrator implements Calibrator {
     private double calibrationConstant;
     private double sceneCentreLatitude; // in degree
     private double replicaPulseVariationsCorrectionFactor;
-    private double elevationAngle; // elevation angle for given swath IS2 VV, in degree
 
     private Date processingTime;
     private Date acquisitionTime;
@@ -155,7 +154,7 @@ public final class ERSCalibrator extends BaseCalibrator implements Calibrator {
     private double[][] appendixG2 = null; // improved ERS-1 SAR antenna pattern gain, in dB
     private double[][] appendixG3 = null; // ERS-2 SAR antenna pattern gain, in dB
     private double[][] appendixH = null;  // UK-PAF elevation antenna pattern correction, in dB
-    private float[] antPatForPGS = null; // antenna pattern for swath IS2 VV for PGS product, in dB
+    private CalibrationAuxCache.AntennaPattern antPatForPGS = null; // antenna pattern for swath IS2 VV for PGS product
 
     // parameters used for PGS-ENVISAT calibration
     private int numMPPRecords;
@@ -896,7 +895,7 @@ public final class ERSCalibrator extends BaseCalibrator implements Calibrator {
         //}
 
         final String fileName = "Appendix_G1.txt";
-        appendixG1 = readFile(getERSAuxFile(fileName), fileName);
+        appendixG1 = getERSAuxTable(fileName);
     }
 
     /**
@@ -913,7 +912,7 @@ public final class ERSCalibrator extends BaseCalibrator implements Calibrator {
             throw new OperatorException("The operator does not support VMP product processed before 1995-07-16");
         }
 
-        appendixG2 = readFile(getERSAuxFile(fileName), fileName);
+        appendixG2 = getERSAuxTable(fileName);
     }
 
     /**
@@ -930,7 +929,7 @@ public final class ERSCalibrator extends BaseCalibrator implements Calibrator {
             throw new OperatorException("Incorrect acquisition date");
         }
 
-        appendixH = readFile(getERSAuxFile(fileName), fileName);
+        appendixH = getERSAuxTable(fileName);
     }
 
     /**
@@ -945,7 +944,23 @@ public final class ERSCalibrator extends BaseCalibrator implements Calibrator {
             fileName = "Appendix_G3_c.txt";
         }
 
-        appendixG3 = readFile(getERSAuxFile(fileName), fileName);
+        appendixG3 = getERSAuxTable(fileName);
+    }
+
+    /**
+     * Get an ERS antenna pattern or ADC look-up table, read once per process.
+     *
+     * @param fileName The name of the table file.
+     * @return The 2D array holding the table
+     */
+    private double[][] getERSAuxTable(final String fileName) {
+        return CalibrationAuxCache.instance().getTable("ers/" + fileName, () -> {
+            try {
+                return readFile(getERSAuxFile(fileName), fileName);
+            } catch (IOException e) {
+                throw new OperatorException(e);
+            }
+        });
     }
 
     private InputStream getERSAuxFile(final String fileName) throws IOException {
@@ -1024,35 +1039,7 @@ public final class ERSCalibrator extends BaseCalibrator implements Calibrator {
 
         // Note: ERS-1/2 predate swath-selection, in the Envisat-world all ERS image-data is IS2 VV.
         //       See Andrea and Marcus' email dated Nov. 5, 2008.
-        final EnvisatAuxReader reader = new EnvisatAuxReader();
-
-        try {
-            reader.readProduct(file);
-
-            final ProductData elevAngleData = reader.getAuxData("elev_ang_is2");
-            elevationAngle = elevAngleData.getElemFloat();
-            //System.out.println("elevation angle is " + elevationAngle);
-            //System.out.println();
-
-            final ProductData patData = reader.getAuxData("pattern_is2");
-            final float[] pattern = ((float[]) patData.getElems());
-
-            if (pattern.length != 804) {
-                throw new OperatorException("Incorrect array length for pattern_is2");
-            }
-
-            final int numOfGains = 201;
-            antPatForPGS = new float[numOfGains];
-            System.arraycopy(pattern, numOfGains, antPatForPGS, 0, numOfGains); // polarization = VV
-            /*
-            for (float val : antPatForPGS) {
-                System.out.print(val + ", ");
-            }
-            System.out.println();
-            */
-        } catch (IOException e) {
-            throw new OperatorException(e);
-        }
+        antPatForPGS = CalibrationAuxCache.instance().getAntennaPattern(file.getPath(), "is2", "vv");
     }
 
     /**
@@ -1550,27 +1537,9 @@ public final class ERSCalibrator extends BaseCalibrator implements Calibrator {
 
     private void getPGSAntennaPatternGainForCurrentTile(final int x0, final int w, final double[] array) {
 
-        final double delta = 0.05;
-
         for (int x = x0; x < x0 + w; x++) {
-
             final double theta = lookAngles[x] * Constants.RTOD; // in degree
-            final int k = (int) ((theta - elevationAngle + 5.0) / delta);
-            final double theta1 = elevationAngle - 5.0 + k * delta;
-            final double theta2 = theta1 + delta;
-            final double gain1 = FastMath.pow(10.0, (double) antPatForPGS[k] / 10.0); // convert dB to linear scale
-            final double gain2 = FastMath.pow(10.0, (double) antPatForPGS[k + 1] / 10.0);
-            array[x - x0] = ((theta2 - theta) * gain1 + (theta - theta1) * gain2) / (theta2 - theta1);
-
-            /*
-            System.out.println("Reference elevation angle is " + elevationAngle);
-            System.out.println("Pixel elevation angle is " + theta);
-            System.out.println("theta1 = " + theta1);
-            System.out.println("theta2 = " + theta2);
-            System.out.println("gain1 = " + pattern[k]);
-            System.out.println("gain2 = " + pattern[k+1]);
-            System.out.println("gain = " + targetTileNewAntPat[x - x0]);
-            */
+            array[x - x0] = antPatForPGS.getGain(theta);
         }
     }
 
@@ -1744,9 +1713,9 @@ public final class ERSCalibrator extends BaseCalibrator implements Calibrator {
     private void getADCPowerLossCorrLUT() throws IOException {
 
         if (isERS1Mission) {
-            appendixF1 = readFile(getERSAuxFile("Appendix_F1.txt"), "Appendix_F1.txt");
+            appendixF1 = getERSAuxTable("Appendix_F1.txt");
         } else {
-            appendixF2 = readFile(getERSAuxFile("Appendix_F2.txt"), "Appendix_F2.txt");
+            appendixF2 = getERSAuxTable("Appendix_F2.txt");
         }
     }
 
@@ -2441,15 +2410,8 @@ public final class ERSCalibrator extends BaseCalibrator implements Calibrator {
     }
 
     private double getNewAntennaPatternGainSquareForPGSProduct(final int rangeIndex) {
-        final double delta = 0.05;
         final double theta = lookAngles[rangeIndex] * Constants.RTOD; // in degree
-        final int k = (int) ((theta - elevationAngle + 5.0) / delta);
-        final double theta1 = elevationAngle - 5.0 + k * delta;
-        final double theta2 = theta1 + delta;
-        final double gain1 = FastMath.pow(10.0, (double) antPatForPGS[k] / 10.0); // convert dB to linear scale
-        final double gain2 = FastMath.pow(10.0, (double) antPatForPGS[k + 1] / 10.0);
-        final double gain = ((theta2 - theta) * gain1 + (theta - theta1) * gain2) / (theta2 - theta1);
-        return gain; // see Andrea's email dated Nov. 11, 2008
+        return antPatForPGS.getGain(theta); // see Andrea's email dated Nov. 11, 2008
     }
 
     public void removeFactorsForCurrentTile(Band targetBand, Tile targetTile, String srcBandName)
@@ -20,6 +20,7 @@ import org.apache.commons.math3.util.FastMath;
 import eu.esa.sar.calibration.gpf.Sentinel1RemoveThermalNoiseOp;
 import eu.esa.sar.calibration.gpf.support.BaseCalibrator;
 import eu.esa.sar.calibration.gpf.support.Calibrator;
+import eu.esa.sar.commons.Sentinel1LUTCache;
 import eu.esa.sar.commons.Sentinel1Utils;
 import org.esa.snap.core.datamodel.Band;
 import org.esa.snap.core.datamodel.MetadataElement;
@@ -27,20 +28,24 @@ import org.esa.snap.core.datamodel.Product;
 import org.esa.snap.core.datamodel.ProductData;
 import org.esa.snap.core.gpf.Operator;
 import org.esa.snap.core.gpf.OperatorException;
+import org.esa.snap.core.gpf.OperatorSpi;
 import org.esa.snap.core.gpf.Tile;
 import org.esa.snap.core.util.SystemUtils;
 import org.esa.snap.engine_utilities.datamodel.AbstractMetadata;
 import org.esa.snap.engine_utilities.datamodel.Unit;
 import org.esa.snap.engine_utilities.gpf.InputProductValidator;
+import org.esa.snap.engine_utilities.gpf.OperatorUtils;
 import org.esa.snap.engine_utilities.gpf.TileIndex;
 
 import java.awt.*;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Calibration for Sentinel1 data products.
@@ -58,6 +63,8 @@ public final class Sentinel1Calibrator extends BaseCalibrator implements Calibra
     private CALTYPE dataType = null;
     private int subsetOffsetX = 0;
     private int subsetOffsetY = 0;
+    private boolean removeThermalNoise = false;
+    private Sentinel1RemoveThermalNoiseOp noiseRemovalOp = null;
 
     public enum CALTYPE {SIGMA0, BETA0, GAMMA, DN}
 
@@ -82,6 +89,14 @@ public final class Sentinel1Calibrator extends BaseCalibrator implements Calibra
         }
     }
 
+    /**
+     * Remove the thermal noise in the same pass as the calibration, giving the results of the
+     * thermal noise removal followed by the calibration.
+     */
+    public void setRemoveThermalNoise(final boolean flag) {
+        removeThermalNoise = flag;
+    }
+
     /**
      * Set auxiliary file flag.
      */
@@ -129,6 +144,13 @@ public final class Sentinel1Calibrator extends BaseCalibrator implements Calibra
                 dataType = getCalibrationType(sourceProduct.getBandAt(0).getName());
             }
 
+            if (removeThermalNoise) {
+                if (dataType != null) {
+                    throw new OperatorException("Thermal noise removal requires a product which is not calibrated");
+                }
+                noiseRemovalOp = createNoiseRemovalOp();
+            }
+
             getSubsetOffset();
 
             getVectors();
@@ -144,6 +166,31 @@ public final class Sentinel1Calibrator extends BaseCalibrator implements Calibra
         }
     }
 
+    /**
+     * Create the thermal noise removal operator providing the noise removed intensities of the source bands.
+     */
+    private Sentinel1RemoveThermalNoiseOp createNoiseRemovalOp() {
+        final OperatorSpi spi = new Sentinel1RemoveThermalNoiseOp.Spi();
+        final Sentinel1RemoveThermalNoiseOp op = (Sentinel1RemoveThermalNoiseOp) spi.createOperator();
+        op.setSourceProduct(sourceProduct);
+        op.setParameter("selectedPolarisations", selectedPolList.toArray(new String[0]));
+        op.getTargetProduct();
+        return op;
+    }
+
+    /**
+     * Dispose the thermal noise removal operator and its target product.
+     */
+    @Override
+    public void dispose() {
+        if (noiseRemovalOp != null) {
+            final Product noiseRemovedProduct = noiseRemovalOp.getTargetProduct();
+            noiseRemovalOp.dispose();
+            noiseRemovedProduct.dispose();
+            noiseRemovalOp = null;
+        }
+    }
+
     private boolean priorToIPFV234() throws OperatorException {
         final String procSysId = absRoot.getAttributeString(AbstractMetadata.ProcessingSystemIdentifier);
         final float version = Float.valueOf(procSysId.substring(procSysId.lastIndexOf(" ")));
@@ -288,6 +335,10 @@ public final class Sentinel1Calibrator extends BaseCalibrator implements Calibra
         final String[] targetBandNames = targetProduct.getBandNames();
         Sentinel1Utils.updateBandNames(absRoot, selectedPolList, targetBandNames);
 
+        if (removeThermalNoise) {
+            Sentinel1RemoveThermalNoiseOp.setThermalNoiseCorrectionFlag(targetProduct, true);
+        }
+
         final MetadataElement[] bandMetadataList = AbstractMetadata.getBandAbsMetadataList(absRoot);
         for (MetadataElement bandMeta : bandMetadataList) {
             boolean polFound = false;
@@ -326,159 +377,232 @@ public final class Sentinel1Calibrator extends BaseCalibrator implements Calibra
      */
     public void computeTile(Band targetBand, Tile targetTile, ProgressMonitor pm) throws OperatorException {
 
-        final Rectangle targetTileRectangle = targetTile.getRectangle();
+        try {
+            computeTiles(Collections.singletonList(targetBand), Collections.singletonList(targetTile),
+                    targetTile.getRectangle());
+        } catch (Throwable e) {
+            OperatorUtils.catchOperatorException("Sentinel1Calibrator", e);
+        } finally {
+            pm.done();
+        }
+    }
+
+    /**
+     * Called by the framework in order to compute the stack of tiles for the given target bands.
+     * <p>The target bands calibrated from the same source bands, such as the sigma0, gamma0 and beta0 bands of
+     * one polarisation, are computed together: the source tiles are read once and the calibration vectors are
+     * interpolated once per row for all of them. The bands of the sub-swaths of a SLC product differ in size, so
+     * every band is only computed within its own bounds.</p>
+     *
+     * @param targetTileMap   The target tiles associated with all target bands to be computed.
+     * @param targetRectangle The rectangle of target tile.
+     * @param pm              A progress monitor which should be used to determine computation cancelation requests.
+     * @throws OperatorException If an error occurs during computation of the target rasters.
+     */
+    @Override
+    public void computeTileStack(Map<Band, Tile> targetTileMap, Rectangle targetRectangle, ProgressMonitor pm)
+            throws OperatorException {
+
+        try {
+            final Map<String, List<Band>> bandGroups = new LinkedHashMap<>();
+            final Map<String, List<Tile>> tileGroups = new HashMap<>();
+            final Map<String, Rectangle> rectangles = new HashMap<>();
+            for (Map.Entry<Band, Tile> entry : targetTileMap.entrySet()) {
+                final Band targetBand = entry.getKey();
+                final String[] srcBandNames = targetBandNameToSourceBandName.get(targetBand.getName());
+                if (srcBandNames == null) {
+                    throw new OperatorException("Source band not found for " + targetBand.getName());
+                }
+                final Rectangle rectangle = entry.getValue().getRectangle().intersection(
+                        new Rectangle(targetBand.getRasterWidth(), targetBand.getRasterHeight()));
+                if (rectangle.isEmpty()) {
+                    continue;
+                }
+                final String key = String.join(",", srcBandNames) + ' ' + rectangle;
+                bandGroups.computeIfAbsent(key, k -> new ArrayList<>()).add(targetBand);
+                tileGroups.computeIfAbsent(key, k -> new ArrayList<>()).add(entry.getValue());
+                rectangles.put(key, rectangle);
+            }
+
+            for (String key : bandGroups.keySet()) {
+                computeTiles(bandGroups.get(key), tileGroups.get(key), rectangles.get(key));
+            }
+        } catch (Throwable e) {
+            OperatorUtils.catchOperatorException("Sentinel1Calibrator", e);
+        } finally {
+            pm.done();
+        }
+    }
+
+    /**
+     * Compute the tiles of target bands calibrated from the same source bands.
+     *
+     * @param targetBands         The target bands.
+     * @param targetTiles         The tiles of the target bands.
+     * @param targetTileRectangle The rectangle to compute, within all tiles.
+     */
+    private void computeTiles(final List<Band> targetBands, final List<Tile> targetTiles,
+                              final Rectangle targetTileRectangle) {
+
         final int x0 = targetTileRectangle.x;
         final int y0 = targetTileRectangle.y;
         final int w = targetTileRectangle.width;
         final int h = targetTileRectangle.height;
-        //System.out.println("x0 = " + x0 + ", y0 = " + y0 + ", w = " + w + ", h = " + h + ", target band = " + targetBand.getName());
 
-        try {
-            Tile sourceRaster1 = null;
-            ProductData srcData1 = null;
-            ProductData srcData2 = null;
-            Band sourceBand1 = null;
-
-            final String targetBandName = targetBand.getName();
-            final String[] srcBandNames = targetBandNameToSourceBandName.get(targetBandName);
-            if (srcBandNames.length == 1) {
-                sourceBand1 = sourceProduct.getBand(srcBandNames[0]);
-                sourceRaster1 = calibrationOp.getSourceTile(sourceBand1, targetTileRectangle);
-                srcData1 = sourceRaster1.getDataBuffer();
-            } else {
-                sourceBand1 = sourceProduct.getBand(srcBandNames[0]);
-                final Band sourceBand2 = sourceProduct.getBand(srcBandNames[1]);
-                sourceRaster1 = calibrationOp.getSourceTile(sourceBand1, targetTileRectangle);
-                final Tile sourceRaster2 = calibrationOp.getSourceTile(sourceBand2, targetTileRectangle);
-                srcData1 = sourceRaster1.getDataBuffer();
-                srcData2 = sourceRaster2.getDataBuffer();
-            }
+        Tile sourceRaster1 = null;
+        ProductData srcData1 = null;
+        ProductData srcData2 = null;
+        Band sourceBand1 = null;
+
+        final String[] srcBandNames = targetBandNameToSourceBandName.get(targetBands.get(0).getName());
+        if (noiseRemovalOp != null) {
+            // the noise removed intensities, computed as written by the thermal noise removal
+            sourceBand1 = sourceProduct.getBand(srcBandNames[0]);
+            srcData1 = noiseRemovalOp.computeNoiseRemovedIntensity(srcBandNames[0], targetTileRectangle);
+        } else if (srcBandNames.length == 1) {
+            sourceBand1 = sourceProduct.getBand(srcBandNames[0]);
+            sourceRaster1 = calibrationOp.getSourceTile(sourceBand1, targetTileRectangle);
+            srcData1 = sourceRaster1.getDataBuffer();
+        } else {
+            sourceBand1 = sourceProduct.getBand(srcBandNames[0]);
+            final Band sourceBand2 = sourceProduct.getBand(srcBandNames[1]);
+            sourceRaster1 = calibrationOp.getSourceTile(sourceBand1, targetTileRectangle);
+            final Tile sourceRaster2 = calibrationOp.getSourceTile(sourceBand2, targetTileRectangle);
+            srcData1 = sourceRaster1.getDataBuffer();
+            srcData2 = sourceRaster2.getDataBuffer();
+        }
 
-            final Double noDataValue = sourceBand1.getNoDataValue();
-            final Unit.UnitType tgtBandUnit = Unit.getUnitType(targetBand);
-            final Unit.UnitType srcBandUnit = Unit.getUnitType(sourceBand1);
+        final Unit.UnitType srcBandUnit = noiseRemovalOp != null ? Unit.UnitType.INTENSITY :
+                Unit.getUnitType(sourceBand1);
 
-            final boolean isUnitAmplitude = srcBandUnit == Unit.UnitType.AMPLITUDE;
-            final boolean isUnitIntensity = srcBandUnit == Unit.UnitType.INTENSITY;
-            final boolean isUnitReal = srcBandUnit == Unit.UnitType.REAL;
-            final boolean isUnitIntensitydB = srcBandUnit == Unit.UnitType.INTENSITY_DB;
+        final boolean isUnitAmplitude = srcBandUnit == Unit.UnitType.AMPLITUDE;
+        final boolean isUnitIntensity = srcBandUnit == Unit.UnitType.INTENSITY;
+        final boolean isUnitReal = srcBandUnit == Unit.UnitType.REAL;
+        final boolean isUnitIntensitydB = srcBandUnit == Unit.UnitType.INTENSITY_DB;
+        if (!isUnitAmplitude && !isUnitIntensity && !isUnitReal && !isUnitIntensitydB) {
+            throw new OperatorException("Sentinel-1 Calibration: unhandled unit");
+        }
 
-            final ProductData tgtData = targetTile.getDataBuffer();
-            final TileIndex srcIndex = new TileIndex(sourceRaster1);
-            final TileIndex trgIndex = new TileIndex(targetTile);
-            final int maxY = y0 + h;
-            final int maxX = x0 + w;
+        final CalibrationInfo calInfo = targetBandToCalInfo.get(targetBands.get(0).getName());
+        if(calInfo == null) {
+            throw new OperatorException("Calibration information not found.");
+        }
 
-            final CalibrationInfo calInfo = targetBandToCalInfo.get(targetBandName);
-            if(calInfo == null) {
-                throw new OperatorException("Calibration information not found.");
+        // the target bands and the distinct LUTs they use
+        final int numBands = targetBands.size();
+        final Unit.UnitType[] tgtBandUnits = new Unit.UnitType[numBands];
+        final ProductData[] tgtData = new ProductData[numBands];
+        final TileIndex[] trgIndex = new TileIndex[numBands];
+        final int[] lutIndex = new int[numBands];
+        final List<CALTYPE> lutTypes = new ArrayList<>(numBands);
+        for (int b = 0; b < numBands; ++b) {
+            tgtBandUnits[b] = Unit.getUnitType(targetBands.get(b));
+            tgtData[b] = targetTiles.get(b).getDataBuffer();
+            trgIndex[b] = new TileIndex(targetTiles.get(b));
+            final CALTYPE calType = getCalibrationType(targetBands.get(b).getName());
+            if (!lutTypes.contains(calType)) {
+                lutTypes.add(calType);
             }
-            final CALTYPE calType = getCalibrationType(targetBandName);
+            lutIndex[b] = lutTypes.indexOf(calType);
+        }
+        final boolean useRetroLUT = dataType != null && isUnitIntensity;
 
-            double dn = 0.0, i, q, muX, lutVal, retroLutVal = 1.0, calValue, calibrationFactor, phaseTerm = 0.0;
-            int srcIdx;
-            int pixelIdx = -1;
+        // the calibration LUTs of the scene, read once per row for the tile columns
+        final Sentinel1LUTCache.VectorLUT[] luts = new Sentinel1LUTCache.VectorLUT[lutTypes.size()];
+        for (int l = 0; l < luts.length; ++l) {
+            luts[l] = getCalibrationLUT(sourceProduct, calInfo, lutTypes.get(l));
+        }
+        final Sentinel1LUTCache.VectorLUT retroLut = useRetroLUT ? getCalibrationLUT(sourceProduct, calInfo, dataType) : null;
+        final double[][] lutRows = new double[luts.length][w];
+        final double[] retroLutRow = useRetroLUT ? new double[w] : null;
 
-            float trgFloorValue = Sentinel1RemoveThermalNoiseOp.trgFloorValue;
+        final TileIndex srcIndex = sourceRaster1 != null ? new TileIndex(sourceRaster1) : null;
+        final int maxY = y0 + h;
+        final float trgFloorValue = Sentinel1RemoveThermalNoiseOp.trgFloorValue;
 
-            for (int y = y0; y < maxY; ++y) {
+        for (int y = y0; y < maxY; ++y) {
+            if (srcIndex != null) {
                 srcIndex.calculateStride(y);
-                trgIndex.calculateStride(y);
-
-                final int calVecIdx = calInfo.getCalibrationVectorIndex(subsetOffsetY + y);
-                final Sentinel1Utils.CalibrationVector vec0 = calInfo.getCalibrationVector(calVecIdx);
-                final Sentinel1Utils.CalibrationVector vec1 = calInfo.getCalibrationVector(calVecIdx + 1);
-                final float[] vec0LUT = getVector(calType, vec0);
-                final float[] vec1LUT = getVector(calType, vec1);
-                float[] retroVec0LUT = null;
-                float[] retroVec1LUT = null;
-                if (dataType != null) {
-                    retroVec0LUT = getVector(dataType, vec0);
-                    retroVec1LUT = getVector(dataType, vec1);
-                }
-                final double azTime = calInfo.firstLineTime + (subsetOffsetY + y) * calInfo.lineTimeInterval;
-                final double muY = (azTime - vec0.timeMJD) / (vec1.timeMJD - vec0.timeMJD);
-                final int[] vec0Pixels = vec0.pixels;
-                final Sentinel1Utils.CalibrationVector calVec = calInfo.calibrationVectorList[calVecIdx];
-
-                for (int x = x0; x < maxX; ++x) {
-                    srcIdx = srcIndex.getIndex(x);
-
-                    dn = srcData1.getElemDoubleAt(srcIdx);
-
-                    pixelIdx = getPixelIndex(calVec, pixelIdx, subsetOffsetX + x);
-                    muX = (subsetOffsetX + x - vec0Pixels[pixelIdx]) /
-                            (double)(vec0Pixels[pixelIdx + 1] - vec0Pixels[pixelIdx]);
+            }
+            for (TileIndex index : trgIndex) {
+                index.calculateStride(y);
+            }
 
-                    lutVal = (1 - muY) * ((1 - muX) * vec0LUT[pixelIdx] + muX * vec0LUT[pixelIdx + 1]) +
-                            muY * ((1 - muX) * vec1LUT[pixelIdx] + muX * vec1LUT[pixelIdx + 1]);
+            for (int l = 0; l < luts.length; ++l) {
+                luts[l].getRow(subsetOffsetY + y, subsetOffsetX + x0, w, lutRows[l]);
+            }
+            if (useRetroLUT) {
+                retroLut.getRow(subsetOffsetY + y, subsetOffsetX + x0, w, retroLutRow);
+            }
 
-                    calibrationFactor = 1.0 / (lutVal*lutVal);
+            for (int k = 0; k < w; ++k) {
+                final int x = x0 + k;
+                final int srcIdx = srcIndex != null ? srcIndex.getIndex(x) : (y - y0) * w + k;
+
+                double dn = srcData1.getElemDoubleAt(srcIdx);
+                double i = 0.0, q = 0.0, retroLutVal = 1.0;
+                if (isUnitAmplitude) {
+                    dn *= dn;
+                } else if (isUnitIntensity) {
+                    if (useRetroLUT) {
+                        retroLutVal = retroLutRow[k];
+                    }
+                } else if (isUnitReal) {
+                    i = dn;
+                    q = srcData2.getElemDoubleAt(srcIdx);
+                    dn = i * i + q * q;
+                } else {
+                    dn = FastMath.pow(10, dn / 10.0); // convert dB to linear scale
+                }
 
-                    if (isUnitAmplitude) {
-                        dn *= dn;
-                    } else if (isUnitIntensity) {
-                        if (dataType != null) {
-                            retroLutVal = (1 - muY) * ((1 - muX) * retroVec0LUT[pixelIdx] + muX * retroVec0LUT[pixelIdx + 1]) +
-                                    muY * ((1 - muX) * retroVec1LUT[pixelIdx] + muX * retroVec1LUT[pixelIdx + 1]);
-                        }
+                for (int b = 0; b < numBands; ++b) {
+                    final double lutVal = lutRows[lutIndex[b]][k];
+                    double calibrationFactor = 1.0 / (lutVal*lutVal);
+                    if (isUnitIntensity) {
                         calibrationFactor *= retroLutVal;
-                    } else if (isUnitReal) {
-                        i = dn;
-                        q = srcData2.getElemDoubleAt(srcIdx);
-                        dn = i * i + q * q;
-                        if (dn > 0.0) {
-                            if (tgtBandUnit == Unit.UnitType.REAL) {
-                                phaseTerm = i / Math.sqrt(dn);
-                            } else if (tgtBandUnit == Unit.UnitType.IMAGINARY) {
-                                phaseTerm = q / Math.sqrt(dn);
-                            }
-                        } else {
-                            phaseTerm = 0.0;
-                        }
-                    } else if (isUnitIntensitydB) {
-                        dn = FastMath.pow(10, dn / 10.0); // convert dB to linear scale
-                    } else {
-                        throw new OperatorException("Sentinel-1 Calibration: unhandled unit");
                     }
 
-                    calValue = dn * calibrationFactor;
+                    double calValue = dn * calibrationFactor;
 
                     if(dn == trgFloorValue) {
+                        double floorDn = dn;
                         while((float)calValue < 0.00001) {
-                            dn *= 2;
-                            calValue = dn * calibrationFactor;
+                            floorDn *= 2;
+                            calValue = floorDn * calibrationFactor;
                         }
                     }
 
                     if (isComplex && outputImageInComplex) {
+                        double phaseTerm = 0.0;
+                        if (isUnitReal && dn > 0.0) {
+                            if (tgtBandUnits[b] == Unit.UnitType.REAL) {
+                                phaseTerm = i / Math.sqrt(dn);
+                            } else if (tgtBandUnits[b] == Unit.UnitType.IMAGINARY) {
+                                phaseTerm = q / Math.sqrt(dn);
+                            }
+                        }
                         calValue = Math.sqrt(calValue)*phaseTerm;
                     }
 
-                    tgtData.setElemDoubleAt(trgIndex.getIndex(x), calValue);
+                    tgtData[b].setElemDoubleAt(trgIndex[b].getIndex(x), calValue);
                 }
             }
-        } catch (Throwable e) {
-            e.printStackTrace();
-            //OperatorUtils.catchOperatorException(getId(), e);
-        } finally {
-            pm.done();
         }
     }
 
-    private static int getPixelIndex(final Sentinel1Utils.CalibrationVector calVec, final int lastIndex, final int x) {
-        if(lastIndex >= 0 && lastIndex < calVec.pixels.length-1 && x >= calVec.pixels[lastIndex] && x < calVec.pixels[lastIndex+1]) {
-            return lastIndex;
-        }
-        int index = Arrays.binarySearch(calVec.pixels, x);
-        if(index < 0) {
-            index *= -1;
-            index -= 2;
-        }
-        if(index >= calVec.pixels.length-1)
-            index--;
-
-        return index;
+    /**
+     * Get the interpolated LUT of a type of calibration vectors from the LUTs shared by the operators.
+     *
+     * @param product The source product.
+     * @param calInfo The calibration information of the sub-swath and polarisation.
+     * @param calType The calibration type.
+     * @return the LUT.
+     */
+    public static Sentinel1LUTCache.VectorLUT getCalibrationLUT(final Product product, final CalibrationInfo calInfo,
+                                                                final CALTYPE calType) {
+        return Sentinel1LUTCache.instance().getCalibrationLUT(product, calInfo.subSwath, calInfo.polarization,
+                calType.name(), calInfo.calibrationVectorList, vec -> getVector(calType, vec),
+                calInfo.firstLineTime, calInfo.lineTimeInterval, calInfo.numOfLines);
     }
 
     public static CALTYPE getCalibrationType(final String bandName) {
@@ -0,0 +1,302 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.calibration.gpf.support;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.apache.commons.math3.util.FastMath;
+import org.esa.snap.core.datamodel.ProductData;
+import org.esa.snap.core.gpf.OperatorException;
+import org.esa.snap.dataio.envisat.EnvisatAuxReader;
+import org.esa.snap.engine_utilities.util.Maths;
+import org.esa.snap.runtime.Config;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Process wide cache of the ASAR and ERS calibration auxiliary data.
+ * <p>
+ * The records of the XCA external calibration files are read together once per file, and the antenna elevation patterns
+ * are kept per file, swath and polarisation as tables of linear gains over the elevation angle, so that the gain
+ * of a pixel is an indexed lookup. Archives of ASAR and ERS products share a handful of XCA files, which are
+ * otherwise opened and parsed for every product. The cache is bounded in bytes by the preference
+ * sar.calibration.auxCacheSizeMB and concurrent requests for the same data read it once.
+ */
+public final class CalibrationAuxCache {
+
+    private static final String CACHE_SIZE_PROPERTY = "sar.calibration.auxCacheSizeMB";
+    private static final long DEFAULT_CACHE_SIZE_MB = 32;
+    private static final int ENTRY_OVERHEAD = 64;
+
+    // the records of an XCA file: the antenna patterns of the swaths and the external calibration factors
+    private static final String[] SWATH_NAMES = {"is1", "is2", "is3_ss2", "is4_ss3", "is5_ss4", "is6_ss5", "is7", "ss1"};
+    private static final String[] CALIBRATION_FACTOR_NAMES = {
+            "ext_cal_im_", "ext_cal_im_pri_", "ext_cal_im_med_", "ext_cal_im_geo_",
+            "ext_cal_ap_", "ext_cal_ap_pri_", "ext_cal_ap_med_", "ext_cal_ap_geo_",
+            "ext_cal_ws_", "ext_cal_gm_"};
+    private static final String[] POLARISATIONS = {"hh", "vv", "hv", "vh"};
+
+    private static final CalibrationAuxCache instance = new CalibrationAuxCache(
+            Config.instance().preferences().getLong(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE_MB) * 1024L * 1024L);
+
+    private final Cache<String, Object> entries;
+
+    CalibrationAuxCache(final long maxSizeInBytes) {
+        entries = CacheBuilder.newBuilder()
+                .maximumWeight(maxSizeInBytes)
+                .weigher((String key, Object value) -> getSizeInBytes(value))
+                .recordStats()
+                .build();
+    }
+
+    public static CalibrationAuxCache instance() {
+        return instance;
+    }
+
+    /**
+     * Get a record of an Envisat auxiliary file, e.g. an XCA file.
+     *
+     * @param filePath The path to the auxiliary file.
+     * @param name     The name of the record.
+     * @return the values of the record.
+     * @throws OperatorException if the file cannot be read.
+     */
+    public float[] getAuxData(final String filePath, final String name) throws OperatorException {
+        final AuxFile auxFile = get(getFileKey(filePath), () -> readAuxFile(filePath));
+        final float[] data = auxFile.records.get(name);
+        if (data == null) {
+            throw new OperatorException("Unable to find " + name + " in " + filePath);
+        }
+        return data;
+    }
+
+    /**
+     * Get the antenna elevation pattern of a swath and polarisation from an XCA file.
+     *
+     * @param filePath  The path to the XCA file.
+     * @param swathName The swath name used in the record names, e.g. is2 or is3_ss2.
+     * @param pol       The polarisation.
+     * @return the antenna pattern.
+     * @throws OperatorException if the file cannot be read.
+     */
+    public AntennaPattern getAntennaPattern(final String filePath, final String swathName, final String pol)
+            throws OperatorException {
+        return get(getFileKey(filePath) + '/' + swathName + '/' + pol, () -> {
+            final float[] elevAngle = getAuxData(filePath, "elev_ang_" + swathName);
+            final String patternName = "pattern_" + swathName;
+            final float[] pattern = getAuxData(filePath, patternName);
+            if (pattern.length != 4 * AntennaPattern.NUM_GAINS) {
+                throw new OperatorException("Incorrect array length for " + patternName);
+            }
+            return new AntennaPattern(elevAngle[0], pattern, getPolarisationIndex(pol) * AntennaPattern.NUM_GAINS);
+        });
+    }
+
+    /**
+     * Get a table read from a resource, e.g. an ERS antenna pattern appendix.
+     *
+     * @param name   The name of the resource.
+     * @param reader Reads the table if it is not cached.
+     * @return the table.
+     */
+    public double[][] getTable(final String name, final Supplier<double[][]> reader) {
+        return get("table/" + name, reader);
+    }
+
+    // the gains of the four polarisations follow each other in the pattern records
+    private static int getPolarisationIndex(final String pol) {
+        if (pol != null) {
+            if (pol.contains("hh")) {
+                return 0;
+            } else if (pol.contains("vv")) {
+                return 1;
+            } else if (pol.contains("hv")) {
+                return 2;
+            } else if (pol.contains("vh")) {
+                return 3;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A file is keyed by its path and modification time, so that an updated file is read again.
+     */
+    private static String getFileKey(final String filePath) {
+        return filePath + '@' + new File(filePath).lastModified();
+    }
+
+    /**
+     * Read all records of an auxiliary file and close it.
+     */
+    private static AuxFile readAuxFile(final String filePath) {
+        final AuxFile auxFile = new AuxFile();
+        final EnvisatAuxReader reader = new EnvisatAuxReader();
+        try {
+            try {
+                reader.readProduct(filePath);
+                for (String swathName : SWATH_NAMES) {
+                    readRecord(reader, "elev_ang_" + swathName, auxFile);
+                    readRecord(reader, "pattern_" + swathName, auxFile);
+                }
+                for (String factorName : CALIBRATION_FACTOR_NAMES) {
+                    for (String pol : POLARISATIONS) {
+                        readRecord(reader, factorName + pol, auxFile);
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            throw new OperatorException(e);
+        }
+        return auxFile;
+    }
+
+    // records of other products or polarisations are not in every file
+    private static void readRecord(final EnvisatAuxReader reader, final String name, final AuxFile auxFile) {
+        final ProductData data;
+        try {
+            data = reader.getAuxData(name);
+        } catch (IOException e) {
+            return;
+        }
+        if (data != null && data.getElems() instanceof float[]) {
+            final float[] values = ((float[]) data.getElems()).clone();
+            auxFile.records.put(name, values);
+            auxFile.sizeInBytes += 32 + 4 * values.length;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(final String key, final Supplier<T> builder) {
+        try {
+            return (T) entries.get(key, builder::get);
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new OperatorException(cause);
+        }
+    }
+
+    private static int getSizeInBytes(final Object value) {
+        int size = ENTRY_OVERHEAD;
+        if (value instanceof double[][]) {
+            for (double[] row : (double[][]) value) {
+                size += 16 + 8 * row.length;
+            }
+        } else if (value instanceof AntennaPattern) {
+            size += 8 * AntennaPattern.NUM_GAINS;
+        } else if (value instanceof AuxFile) {
+            size += ((AuxFile) value).sizeInBytes;
+        }
+        return size;
+    }
+
+    public int getNumEntries() {
+        return (int) entries.size();
+    }
+
+    public long getSizeInBytes() {
+        long size = 0;
+        for (Object value : entries.asMap().values()) {
+            size += getSizeInBytes(value);
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return entries.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return entries.stats().missCount();
+    }
+
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    /**
+     * The records read from an auxiliary file.
+     */
+    private static final class AuxFile {
+
+        private final Map<String, float[]> records = new HashMap<>();
+        private int sizeInBytes;
+    }
+
+    /**
+     * Antenna elevation pattern of a swath and polarisation, with the gains in linear scale sampled every 0.05
+     * degree over +/- 5 degrees around the reference elevation angle.
+     */
+    public static final class AntennaPattern {
+
+        static final int NUM_GAINS = 201;
+        private static final double DELTA = 0.05; // elevation angle spacing of the gains, in degree
+
+        private final double refElevationAngle;
+        private final double[] gains;
+
+        AntennaPattern(final double refElevationAngle, final float[] pattern, final int offset) {
+            this.refElevationAngle = refElevationAngle;
+            this.gains = new double[NUM_GAINS];
+            for (int k = 0; k < NUM_GAINS; k++) {
+                // gains of unknown polarisations are 0 dB
+                final double gainDb = offset >= 0 ? pattern[offset + k] : 0.0;
+                gains[k] = FastMath.pow(10, gainDb / 10.0); // convert dB to linear scale
+            }
+        }
+
+        /**
+         * @return the reference elevation angle in degree.
+         */
+        public double getRefElevationAngle() {
+            return refElevationAngle;
+        }
+
+        /**
+         * Get the gain for an elevation angle, linearly interpolated between the two nearest samples.
+         *
+         * @param elevAngle The elevation angle in degree.
+         * @return the gain in linear scale.
+         */
+        public double getGain(final double elevAngle) {
+            int k0 = (int) ((elevAngle - refElevationAngle + 5.0) / DELTA);
+            if (k0 < 0) {
+                k0 = 0;
+            } else if (k0 >= NUM_GAINS - 1) {
+                k0 = NUM_GAINS - 2;
+            }
+            final double theta0 = refElevationAngle - 5.0 + k0 * DELTA;
+            final double theta1 = theta0 + DELTA;
+            final double mu = (elevAngle - theta0) / (theta1 - theta0);
+
+            return Maths.interpolationLinear(gains[k0], gains[k0 + 1], mu);
+        }
+    }
+}
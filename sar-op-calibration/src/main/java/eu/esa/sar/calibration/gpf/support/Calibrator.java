@@ -22,7 +22,9 @@ import org.esa.snap.core.gpf.OperatorException;
 import org.esa.snap.core.gpf.Tile;
 import org.esa.snap.engine_utilities.datamodel.Unit;
 
+import java.awt.Rectangle;
 import java.io.File;
+import java.util.Map;
 
 /**
  * The abstract base class for all calibration operators intended to be extended by clients.
@@ -55,6 +57,28 @@ public interface Calibrator {
     void computeTile(final Band targetBand, final Tile targetTile,
                             final com.bc.ceres.core.ProgressMonitor pm) throws OperatorException;
 
+    /**
+     * Compute the tiles of several target bands. Calibrators able to share work between the target bands
+     * override this method, the default computes every tile on its own.
+     *
+     * @param targetTileMap   The target tiles associated with all target bands to be computed.
+     * @param targetRectangle The rectangle of target tile.
+     * @param pm              A progress monitor which should be used to determine computation cancelation requests.
+     * @throws OperatorException If an error occurs during computation of the target rasters.
+     */
+    default void computeTileStack(final Map<Band, Tile> targetTileMap, final Rectangle targetRectangle,
+                                  final com.bc.ceres.core.ProgressMonitor pm) throws OperatorException {
+        for (Map.Entry<Band, Tile> entry : targetTileMap.entrySet()) {
+            computeTile(entry.getKey(), entry.getValue(), pm);
+        }
+    }
+
+    /**
+     * Release the resources held by the calibrator. Called when the calibration operator is disposed.
+     */
+    default void dispose() {
+    }
+
     void setOutputImageInComplex(final boolean flag);
 
     void setOutputImageIndB(final boolean flag);
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.calibration.gpf;
+
+import com.bc.ceres.core.ProgressMonitor;
+import org.esa.snap.core.datamodel.Band;
+import org.esa.snap.core.datamodel.MetadataElement;
+import org.esa.snap.core.datamodel.Product;
+import org.esa.snap.core.datamodel.ProductData;
+import org.esa.snap.engine_utilities.datamodel.AbstractMetadata;
+import org.esa.snap.engine_utilities.datamodel.Unit;
+import org.esa.snap.engine_utilities.util.TestUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Unit test for the RemoveGRDBorderNoise Operator on a synthetic Sentinel-1 GRD product.
+ */
+public class TestRemoveGRDBorderNoiseOp {
+
+    static {
+        TestUtils.initTestEnvironment();
+    }
+
+    private static final int W = 320, H = 300, BORDER_LIMIT = 40;
+    private static final int PIXEL_STRIDE = 16;
+
+    // no-value run at near range followed by a few dark pixels, no-value run at far range,
+    // no-value and dark lines at the top and bottom, and dark and no-value pixels within the image
+    private static float vv(final int x, final int y) {
+        if (y < 4 || y >= H - 3) {
+            return 0f;
+        } else if (y < 7) {
+            return 20f;
+        }
+        final int nearEdge = (y * 7) % 30;
+        final int farEdge = W - 1 - (y * 5) % 25;
+        if (x < nearEdge || x > farEdge) {
+            return 0f;
+        } else if (x < nearEdge + 2) {
+            return 12f;
+        }
+        // the no-value runs end at the first valid pixel of the coarse scan of the borders
+        if (!isScannedPixel(x)) {
+            if ((x * 31 + y * 17) % 97 == 0) {
+                return 5f;
+            } else if ((x * 11 + y * 5) % 89 == 0) {
+                return 0f;
+            }
+        }
+        return 100f + (x * 7 + y * 13) % 50;
+    }
+
+    private static boolean isScannedPixel(final int x) {
+        return (x < BORDER_LIMIT && (x % PIXEL_STRIDE == 0 || x == BORDER_LIMIT - 1)) ||
+                (x > W - BORDER_LIMIT && ((W - 1 - x) % PIXEL_STRIDE == 0 || x == W - BORDER_LIMIT + 1));
+    }
+
+    private static float vh(final int x, final int y) {
+        return 0.5f * vv(x, y) + 1f;
+    }
+
+    @Test
+    public void testSameOutputAsPerPixelTest() throws Exception {
+
+        final Product sourceProduct = createGRDProduct();
+
+        final RemoveGRDBorderNoiseOp op = (RemoveGRDBorderNoiseOp) new RemoveGRDBorderNoiseOp.Spi().createOperator();
+        op.setSourceProduct(sourceProduct);
+        op.setParameter("borderLimit", BORDER_LIMIT);
+        op.setUseBorderDetection(false);
+        final Product targetProduct = op.getTargetProduct();
+
+        final Band vvBand = targetProduct.getBand("Amplitude_VV");
+        final Band vhBand = targetProduct.getBand("Amplitude_VH");
+        assertNotNull(vvBand);
+        assertNotNull(vhBand);
+        final float[] vvValues = new float[W * H];
+        final float[] vhValues = new float[W * H];
+        vvBand.readPixels(0, 0, W, H, vvValues, ProgressMonitor.NULL);
+        vhBand.readPixels(0, 0, W, H, vhValues, ProgressMonitor.NULL);
+
+        for (int y = 0; y < H; ++y) {
+            for (int x = 0; x < W; ++x) {
+                final int i = y * W + x;
+                final float[] expected = removeBorderNoisePerPixel(x, y);
+                if (expected == null) {
+                    // left unwritten by the per-pixel test, now set to no-data
+                    assertEquals("VV at " + x + "," + y, 0f, vvValues[i], 0f);
+                    assertEquals("VH at " + x + "," + y, 0f, vhValues[i], 0f);
+                } else {
+                    assertEquals("VV at " + x + "," + y, expected[0], vvValues[i], 0f);
+                    assertEquals("VH at " + x + "," + y, expected[1], vhValues[i], 0f);
+                }
+            }
+        }
+    }
+
+    /**
+     * The former per-pixel test of the pixels within the borders, without thermal noise.
+     *
+     * @return the VV and VH values, or null if the pixel is not written.
+     */
+    private static float[] removeBorderNoisePerPixel(final int x, final int y) {
+
+        final boolean testPixel = x < BORDER_LIMIT || x > W - BORDER_LIMIT ||
+                y < BORDER_LIMIT || y > H - BORDER_LIMIT;
+        final float v = vv(x, y);
+        if (testPixel) {
+            if (v == 0f) {
+                return null;
+            }
+            if (v < 0.5 || v < 30) {
+                return new float[]{0f, 0f};
+            }
+        }
+        return new float[]{v, vh(x, y)};
+    }
+
+    private static Product createGRDProduct() {
+
+        final Product product = TestUtils.createProduct("GRD", W, H);
+        product.setPreferredTileSize(64, 64);
+
+        final MetadataElement absRoot = AbstractMetadata.getAbstractedMetadata(product);
+        absRoot.setAttributeString(AbstractMetadata.MISSION, "SENTINEL-1A");
+        absRoot.setAttributeString(AbstractMetadata.PRODUCT_TYPE, "GRD");
+        absRoot.setAttributeString(AbstractMetadata.SAMPLE_TYPE, "DETECTED");
+        absRoot.setAttributeString(AbstractMetadata.ACQUISITION_MODE, "IW");
+        absRoot.setAttributeString(AbstractMetadata.ProcessingSystemIdentifier, "ESA Sentinel-1 IPF 002.72");
+
+        final MetadataElement origRoot = AbstractMetadata.addOriginalProductMetadata(product.getMetadataRoot());
+        final MetadataElement processingInformation = new MetadataElement("processingInformation");
+        processingInformation.setAttributeString("thermalNoiseCorrectionPerformed", "true");
+        final MetadataElement imageAnnotation = new MetadataElement("imageAnnotation");
+        imageAnnotation.addElement(processingInformation);
+        final MetadataElement productElem = new MetadataElement("product");
+        productElem.addElement(imageAnnotation);
+        final MetadataElement dataSet = new MetadataElement("s1a-iw-grd-vv-001.xml");
+        dataSet.addElement(productElem);
+        final MetadataElement annotation = new MetadataElement("annotation");
+        annotation.addElement(dataSet);
+        origRoot.addElement(annotation);
+
+        final float[] vvData = new float[W * H];
+        final float[] vhData = new float[W * H];
+        for (int y = 0; y < H; ++y) {
+            for (int x = 0; x < W; ++x) {
+                vvData[y * W + x] = vv(x, y);
+                vhData[y * W + x] = vh(x, y);
+            }
+        }
+        addBand(product, "Amplitude_VV", vvData);
+        addBand(product, "Amplitude_VH", vhData);
+        return product;
+    }
+
+    private static void addBand(final Product product, final String name, final float[] data) {
+        final Band band = new Band(name, ProductData.TYPE_FLOAT32, W, H);
+        band.setUnit(Unit.AMPLITUDE);
+        band.setNoDataValue(0);
+        band.setNoDataValueUsed(true);
+        band.setRasterData(ProductData.createInstance(data));
+        product.addBand(band);
+    }
+}
@@ -31,6 +31,7 @@ import org.junit.Test;
 import java.io.File;
 import java.io.IOException;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assume.assumeTrue;
@@ -117,6 +118,34 @@ public class TestRemoveThermalNoiseOp {
         }
     }
 
+    @Test
+    public void testFusedCalibrationS1_GRD() throws Exception {
+        try (final Product sourceProduct = TestUtils.readSourceProduct(inputFile1)) {
+            try (final Product noiseRemovedProduct = process(sourceProduct);
+                 final Product chainProduct = calibrate(noiseRemovedProduct, false);
+                 final Product fusedProduct = calibrate(sourceProduct, true)) {
+
+                final Band chainBand = chainProduct.getBand("Sigma0_VV");
+                final Band fusedBand = fusedProduct.getBand("Sigma0_VV");
+                assertNotNull(fusedBand);
+
+                final int w = 100, h = 50;
+                final float[] chainValues = new float[w * h];
+                final float[] fusedValues = new float[w * h];
+                chainBand.readPixels(0, 0, w, h, chainValues, ProgressMonitor.NULL);
+                fusedBand.readPixels(0, 0, w, h, fusedValues, ProgressMonitor.NULL);
+                assertArrayEquals(chainValues, fusedValues, 0.0f);
+            }
+        }
+    }
+
+    private static Product calibrate(final Product sourceProduct, final boolean removeThermalNoise) {
+        final CalibrationOp op = (CalibrationOp) new CalibrationOp.Spi().createOperator();
+        op.setSourceProduct(sourceProduct);
+        op.setParameter("removeThermalNoise", removeThermalNoise);
+        return op.getTargetProduct();
+    }
+
     private Product createTOPSSLCProduct(final int w, final int h) throws IOException {
         Product srcProduct = TestUtils.createProduct("SLC", w, h);
         TestUtils.createBand(srcProduct, "i_IW1_VH", ProductData.TYPE_INT16, Unit.REAL, w, h, true);
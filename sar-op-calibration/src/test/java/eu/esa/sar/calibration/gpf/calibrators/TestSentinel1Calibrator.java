@@ -0,0 +1,488 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.calibration.gpf.calibrators;
+
+import com.bc.ceres.core.ProgressMonitor;
+import eu.esa.sar.calibration.gpf.CalibrationOp;
+import eu.esa.sar.calibration.gpf.Sentinel1RemoveThermalNoiseOp;
+import org.esa.snap.core.datamodel.Band;
+import org.esa.snap.core.datamodel.MetadataElement;
+import org.esa.snap.core.datamodel.Product;
+import org.esa.snap.core.datamodel.ProductData;
+import org.esa.snap.core.gpf.Tile;
+import org.esa.snap.core.gpf.internal.TileImpl;
+import org.esa.snap.engine_utilities.datamodel.AbstractMetadata;
+import org.esa.snap.engine_utilities.datamodel.Unit;
+import org.esa.snap.engine_utilities.util.TestUtils;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferFloat;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for the Sentinel-1 calibrator on synthetic IW products carrying calibration and noise annotations.
+ */
+public class TestSentinel1Calibrator {
+
+    static {
+        TestUtils.initTestEnvironment();
+    }
+
+    private static final LocalDateTime FIRST_LINE_TIME = LocalDateTime.of(2018, 11, 15, 12, 50, 5);
+    private static final double LINE_TIME_INTERVAL = 0.002; // s
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS");
+
+    private static final int GRD_W = 120, GRD_H = 100;
+    private static final int SWATH_BORDER = 60; // first range sample of the second noise azimuth block
+    private static final float NOISE_FLOOR = 1e-5f;
+
+    // sub-swaths of different sizes, the product being as large as the largest one
+    private static final String[] SLC_SWATHS = {"IW1", "IW2"};
+    private static final int[][] SLC_SWATH_SIZES = {{130, 90}, {140, 110}};
+    private static final int SLC_W = 140, SLC_H = 110;
+    private static final int TILE_W = 64, TILE_H = 48;
+
+    @Test
+    public void testFusedNoiseRemovalGRD() throws Exception {
+        final Product sourceProduct = createGRDProduct();
+
+        final Sentinel1RemoveThermalNoiseOp noiseOp =
+                (Sentinel1RemoveThermalNoiseOp) new Sentinel1RemoveThermalNoiseOp.Spi().createOperator();
+        noiseOp.setSourceProduct(sourceProduct);
+        final Product noiseRemovedProduct = noiseOp.getTargetProduct();
+
+        final CalibrationOp chainOp = createCalibrationOp(noiseRemovedProduct, false);
+        final CalibrationOp fusedOp = createCalibrationOp(sourceProduct, true);
+        try {
+            for (String name : new String[]{"Sigma0_VV", "Gamma0_VV", "Beta0_VV"}) {
+                final float[] chainValues = readPixels(chainOp.getTargetProduct(), name, GRD_W, GRD_H);
+                final float[] fusedValues = readPixels(fusedOp.getTargetProduct(), name, GRD_W, GRD_H);
+                assertArrayEquals(name, chainValues, fusedValues, 0.0f);
+
+                // the noise of the azimuth blocks of IPF 2.9, scaled by the calibration LUT
+                if (name.startsWith("Sigma0")) {
+                    for (int y = 0; y < GRD_H; ++y) {
+                        for (int x = 0; x < GRD_W; ++x) {
+                            assertEquals(name + " at " + x + ',' + y, expectedSigma0(x, y),
+                                    fusedValues[y * GRD_W + x], getTolerance(x, y));
+                        }
+                    }
+                }
+            }
+        } finally {
+            fusedOp.dispose();
+            chainOp.dispose();
+            noiseOp.dispose();
+        }
+    }
+
+    @Test
+    public void testStackedTilesSLC() throws Exception {
+        final Product sourceProduct = createSLCProduct();
+        final CalibrationOp op = createCalibrationOp(sourceProduct, false);
+        try {
+            final Product targetProduct = op.getTargetProduct();
+            final Map<Band, float[]> stacked = new LinkedHashMap<>();
+            for (String swath : SLC_SWATHS) {
+                for (String prefix : new String[]{"Sigma0_", "Gamma0_", "Beta0_"}) {
+                    final Band band = targetProduct.getBand(prefix + swath + "_VV");
+                    assertNotNull(prefix + swath, band);
+                    stacked.put(band, new float[band.getRasterWidth() * band.getRasterHeight()]);
+                }
+            }
+
+            // the tiles of all bands computed together, the tiles of the scene overlapping the smaller sub-swath
+            for (int y0 = 0; y0 < SLC_H; y0 += TILE_H) {
+                for (int x0 = 0; x0 < SLC_W; x0 += TILE_W) {
+                    final Rectangle rectangle = new Rectangle(x0, y0,
+                            Math.min(TILE_W, SLC_W - x0), Math.min(TILE_H, SLC_H - y0));
+                    final Map<Band, Tile> tileMap = new LinkedHashMap<>();
+                    final Map<Band, WritableRaster> rasters = new LinkedHashMap<>();
+                    for (Band band : stacked.keySet()) {
+                        final WritableRaster raster = createRaster(rectangle);
+                        rasters.put(band, raster);
+                        tileMap.put(band, new TileImpl(band, raster));
+                    }
+                    op.computeTileStack(tileMap, rectangle, ProgressMonitor.NULL);
+
+                    for (Band band : stacked.keySet()) {
+                        final Rectangle bounds = rectangle.intersection(
+                                new Rectangle(band.getRasterWidth(), band.getRasterHeight()));
+                        final float[] tileValues = ((DataBufferFloat) rasters.get(band).getDataBuffer()).getData();
+                        for (int y = bounds.y; y < bounds.y + bounds.height; ++y) {
+                            for (int x = bounds.x; x < bounds.x + bounds.width; ++x) {
+                                stacked.get(band)[y * band.getRasterWidth() + x] =
+                                        tileValues[(y - y0) * rectangle.width + x - x0];
+                            }
+                        }
+                    }
+                }
+            }
+
+            // every band computed on its own
+            for (Map.Entry<Band, float[]> entry : stacked.entrySet()) {
+                final Band band = entry.getKey();
+                final WritableRaster raster = createRaster(
+                        new Rectangle(band.getRasterWidth(), band.getRasterHeight()));
+                op.computeTile(band, new TileImpl(band, raster), ProgressMonitor.NULL);
+                final float[] values = ((DataBufferFloat) raster.getDataBuffer()).getData();
+
+                assertArrayEquals(band.getName(), values, entry.getValue(), 0.0f);
+                boolean calibrated = false;
+                for (float value : values) {
+                    calibrated |= value > 0f;
+                }
+                assertTrue(band.getName(), calibrated);
+            }
+        } finally {
+            op.dispose();
+        }
+    }
+
+    private static WritableRaster createRaster(final Rectangle rectangle) {
+        return Raster.createWritableRaster(new PixelInterleavedSampleModel(DataBuffer.TYPE_FLOAT,
+                        rectangle.width, rectangle.height, 1, rectangle.width, new int[]{0}),
+                new Point(rectangle.x, rectangle.y));
+    }
+
+    private static CalibrationOp createCalibrationOp(final Product sourceProduct, final boolean removeThermalNoise) {
+        final CalibrationOp op = (CalibrationOp) new CalibrationOp.Spi().createOperator();
+        op.setSourceProduct(sourceProduct);
+        op.setParameter("outputSigmaBand", true);
+        op.setParameter("outputGammaBand", true);
+        op.setParameter("outputBetaBand", true);
+        op.setParameter("removeThermalNoise", removeThermalNoise);
+        return op;
+    }
+
+    private static float[] readPixels(final Product product, final String bandName, final int w, final int h)
+            throws Exception {
+        final Band band = product.getBand(bandName);
+        assertNotNull(bandName, band);
+        final float[] values = new float[w * h];
+        band.readPixels(0, 0, w, h, values, ProgressMonitor.NULL);
+        return values;
+    }
+
+    private static float amplitude(final int x, final int y) {
+        if ((x * 3 + y * 7) % 53 == 0) {
+            return 0f; // no-data
+        }
+        return 5f + (x * 7 + y * 13) % 40;
+    }
+
+    private static double sigmaNought(final int x, final int y) {
+        return 400.0 + 0.1 * x + 0.2 * y;
+    }
+
+    private static double noiseRange(final int x) {
+        return 200.0 + 0.5 * x;
+    }
+
+    private static double noiseAzimuth(final int x, final int y) {
+        return x < SWATH_BORDER ? 1.0 + 0.001 * y : 1.2;
+    }
+
+    private static double expectedSigma0(final int x, final int y) {
+        final float dn = amplitude(x, y);
+        if (dn == 0f) {
+            return 0.0;
+        }
+        final double lut = sigmaNought(x, y);
+        final double calibrationFactor = 1.0 / (lut * lut);
+        final float intensity = (float) (dn * dn - noiseAzimuth(x, y) * noiseRange(x));
+        if (intensity >= 0f) {
+            return intensity * calibrationFactor;
+        }
+        double floorDn = NOISE_FLOOR;
+        double calValue = floorDn * calibrationFactor;
+        while ((float) calValue < 0.00001) {
+            floorDn *= 2;
+            calValue = floorDn * calibrationFactor;
+        }
+        return calValue;
+    }
+
+    // the noise removed intensities are stored as float, and intensities equal to the noise may be floored
+    private static double getTolerance(final int x, final int y) {
+        final double dn = amplitude(x, y);
+        final double lut = sigmaNought(x, y);
+        return 1e-5 * (dn * dn + noiseAzimuth(x, y) * noiseRange(x)) / (lut * lut) + 2 * NOISE_FLOOR;
+    }
+
+    private static Product createGRDProduct() {
+        final Product product = TestUtils.createProduct("GRD", GRD_W, GRD_H);
+        product.setPreferredTileSize(SWATH_BORDER, 50);
+
+        final MetadataElement absRoot = AbstractMetadata.getAbstractedMetadata(product);
+        setAbstractedMetadata(absRoot, "GRD", "DETECTED", GRD_W, GRD_H);
+
+        final String imageName = "s1a-iw-grd-vv-20181115t125005-20181115t125005-024599-02b387-001.xml";
+        final MetadataElement origRoot = AbstractMetadata.addOriginalProductMetadata(product.getMetadataRoot());
+        final MetadataElement annotation = new MetadataElement("annotation");
+        annotation.addElement(createAnnotation(imageName, GRD_H, 0));
+        origRoot.addElement(annotation);
+
+        final MetadataElement calibration = new MetadataElement("calibration");
+        calibration.addElement(createCalibration(imageName, "IW", "VV", GRD_W, GRD_H));
+        origRoot.addElement(calibration);
+
+        final MetadataElement noiseDataSet = new MetadataElement(imageName);
+        final MetadataElement noise = new MetadataElement("noise");
+        noise.addElement(createAdsHeader("IW", "VV", GRD_H));
+
+        final MetadataElement rangeVectorList = new MetadataElement("noiseRangeVectorList");
+        final int[] pixels = getGrid(GRD_W, 20);
+        final double[] rangeNoise = new double[pixels.length];
+        for (int i = 0; i < pixels.length; ++i) {
+            rangeNoise[i] = noiseRange(pixels[i]);
+        }
+        for (int line : new int[]{0, GRD_H / 2, GRD_H - 1}) {
+            final MetadataElement vector = createVector("noiseRangeVector", line);
+            vector.addElement(createList("pixel", pixels));
+            vector.addElement(createList("noiseRangeLut", rangeNoise));
+            rangeVectorList.addElement(vector);
+        }
+        rangeVectorList.setAttributeString("count", "3");
+        noise.addElement(rangeVectorList);
+
+        final MetadataElement azimuthVectorList = new MetadataElement("noiseAzimuthVectorList");
+        azimuthVectorList.setAttributeString("count", "2");
+        final int[] lines = {0, 33, 66, GRD_H - 1};
+        azimuthVectorList.addElement(createAzimuthVector("IW1", 0, SWATH_BORDER - 1, lines, 0));
+        azimuthVectorList.addElement(createAzimuthVector("IW2", SWATH_BORDER, GRD_W - 1, lines, GRD_W - 1));
+        noise.addElement(azimuthVectorList);
+
+        noiseDataSet.addElement(noise);
+        final MetadataElement noiseElem = new MetadataElement("noise");
+        noiseElem.addElement(noiseDataSet);
+        origRoot.addElement(noiseElem);
+
+        final float[] data = new float[GRD_W * GRD_H];
+        for (int y = 0; y < GRD_H; ++y) {
+            for (int x = 0; x < GRD_W; ++x) {
+                data[y * GRD_W + x] = amplitude(x, y);
+            }
+        }
+        addBand(product, "Amplitude_VV", Unit.AMPLITUDE, GRD_W, GRD_H, data);
+        return product;
+    }
+
+    private static Product createSLCProduct() {
+        final Product product = TestUtils.createProduct("SLC", SLC_W, SLC_H);
+
+        final MetadataElement absRoot = AbstractMetadata.getAbstractedMetadata(product);
+        setAbstractedMetadata(absRoot, "SLC", "COMPLEX", SLC_W, SLC_H);
+
+        final MetadataElement origRoot = AbstractMetadata.addOriginalProductMetadata(product.getMetadataRoot());
+        final MetadataElement annotation = new MetadataElement("annotation");
+        final MetadataElement calibration = new MetadataElement("calibration");
+        for (int s = 0; s < SLC_SWATHS.length; ++s) {
+            final String swath = SLC_SWATHS[s];
+            final int w = SLC_SWATH_SIZES[s][0], h = SLC_SWATH_SIZES[s][1];
+            final String imageName = "s1a-" + swath.toLowerCase() +
+                    "-slc-vv-20181115t125005-20181115t125005-024599-02b387-00" + (s + 4) + ".xml";
+            annotation.addElement(createAnnotation(imageName, h, 1));
+            calibration.addElement(createCalibration(imageName, swath, "VV", w, h));
+
+            final float[] iData = new float[w * h];
+            final float[] qData = new float[w * h];
+            for (int y = 0; y < h; ++y) {
+                for (int x = 0; x < w; ++x) {
+                    iData[y * w + x] = amplitude(x + 3 * s, y) - 20f;
+                    qData[y * w + x] = amplitude(x, y + 5 * s) - 25f;
+                }
+            }
+            addBand(product, "i_" + swath + "_VV", Unit.REAL, w, h, iData);
+            addBand(product, "q_" + swath + "_VV", Unit.IMAGINARY, w, h, qData);
+        }
+        origRoot.addElement(annotation);
+        origRoot.addElement(calibration);
+        return product;
+    }
+
+    private static void addBand(final Product product, final String name, final String unit,
+                                final int w, final int h, final float[] data) {
+        final Band band = new Band(name, ProductData.TYPE_FLOAT32, w, h);
+        band.setUnit(unit);
+        band.setNoDataValue(0);
+        band.setNoDataValueUsed(true);
+        band.setRasterData(ProductData.createInstance(data));
+        product.addBand(band);
+    }
+
+    private static void setAbstractedMetadata(final MetadataElement absRoot, final String productType,
+                                              final String sampleType, final int w, final int h) {
+        absRoot.setAttributeString(AbstractMetadata.MISSION, "SENTINEL-1A");
+        absRoot.setAttributeString(AbstractMetadata.PRODUCT_TYPE, productType);
+        absRoot.setAttributeString(AbstractMetadata.SAMPLE_TYPE, sampleType);
+        absRoot.setAttributeString(AbstractMetadata.ACQUISITION_MODE, "IW");
+        absRoot.setAttributeString(AbstractMetadata.ProcessingSystemIdentifier, "ESA Sentinel-1 IPF 002.91");
+        absRoot.setAttributeInt(AbstractMetadata.abs_calibration_flag, 0);
+        absRoot.setAttributeInt(AbstractMetadata.subset_offset_x, 0);
+        absRoot.setAttributeInt(AbstractMetadata.subset_offset_y, 0);
+        absRoot.setAttributeInt(AbstractMetadata.num_output_lines, h);
+        absRoot.setAttributeInt(AbstractMetadata.num_samples_per_line, w);
+        absRoot.setAttributeUTC(AbstractMetadata.first_line_time, AbstractMetadata.parseUTC(
+                getTime(0).replace("T", "_"), ProductData.UTC.createDateFormat("yyyy-MM-dd_HH:mm:ss")));
+        absRoot.setAttributeDouble(AbstractMetadata.line_time_interval, LINE_TIME_INTERVAL);
+    }
+
+    private static MetadataElement createAnnotation(final String imageName, final int numOfLines,
+                                                    final int burstCount) {
+        final MetadataElement imageInformation = new MetadataElement("imageInformation");
+        imageInformation.setAttributeString("productFirstLineUtcTime", getTime(0));
+        imageInformation.setAttributeString("azimuthTimeInterval", String.valueOf(LINE_TIME_INTERVAL));
+        imageInformation.setAttributeString("numberOfLines", String.valueOf(numOfLines));
+        final MetadataElement processingInformation = new MetadataElement("processingInformation");
+        processingInformation.setAttributeString("thermalNoiseCorrectionPerformed", "false");
+        final MetadataElement imageAnnotation = new MetadataElement("imageAnnotation");
+        imageAnnotation.addElement(imageInformation);
+        imageAnnotation.addElement(processingInformation);
+
+        final MetadataElement burstList = new MetadataElement("burstList");
+        burstList.setAttributeString("count", String.valueOf(burstCount));
+        final MetadataElement swathTiming = new MetadataElement("swathTiming");
+        swathTiming.setAttributeString("linesPerBurst", String.valueOf(numOfLines));
+        swathTiming.addElement(burstList);
+
+        final MetadataElement productElem = new MetadataElement("product");
+        productElem.addElement(imageAnnotation);
+        productElem.addElement(swathTiming);
+        final MetadataElement dataSet = new MetadataElement(imageName);
+        dataSet.addElement(productElem);
+        return dataSet;
+    }
+
+    // calibration vectors linear in range and azimuth, so that the interpolated LUTs are exact
+    private static MetadataElement createCalibration(final String imageName, final String swath, final String pol,
+                                                     final int w, final int h) {
+        final MetadataElement calibrationVectorList = new MetadataElement("calibrationVectorList");
+        final int[] pixels = getGrid(w, 40);
+        final int[] lines = getGrid(h, 50);
+        for (int line : lines) {
+            final double[] sigma = new double[pixels.length];
+            final double[] beta = new double[pixels.length];
+            final double[] gamma = new double[pixels.length];
+            final double[] dn = new double[pixels.length];
+            for (int i = 0; i < pixels.length; ++i) {
+                sigma[i] = sigmaNought(pixels[i], line);
+                beta[i] = 500.0 + 0.05 * line;
+                gamma[i] = 350.0 + 0.3 * pixels[i] - 0.1 * line;
+                dn[i] = 600.0;
+            }
+            final MetadataElement vector = createVector("calibrationVector", line);
+            vector.addElement(createList("pixel", pixels));
+            vector.addElement(createList("sigmaNought", sigma));
+            vector.addElement(createList("betaNought", beta));
+            vector.addElement(createList("gamma", gamma));
+            vector.addElement(createList("dn", dn));
+            calibrationVectorList.addElement(vector);
+        }
+        calibrationVectorList.setAttributeString("count", String.valueOf(lines.length));
+
+        final MetadataElement calibration = new MetadataElement("calibration");
+        calibration.addElement(createAdsHeader(swath, pol, h));
+        calibration.addElement(calibrationVectorList);
+        final MetadataElement dataSet = new MetadataElement(imageName);
+        dataSet.addElement(calibration);
+        return dataSet;
+    }
+
+    private static MetadataElement createAdsHeader(final String swath, final String pol, final int numOfLines) {
+        final MetadataElement adsHeader = new MetadataElement("adsHeader");
+        adsHeader.setAttributeString("polarisation", pol);
+        adsHeader.setAttributeString("swath", swath);
+        adsHeader.setAttributeString("startTime", getTime(0));
+        adsHeader.setAttributeString("stopTime", getTime(numOfLines - 1));
+        return adsHeader;
+    }
+
+    private static MetadataElement createAzimuthVector(final String swath, final int firstRangeSample,
+                                                       final int lastRangeSample, final int[] lines, final int x) {
+        final double[] lut = new double[lines.length];
+        for (int i = 0; i < lines.length; ++i) {
+            lut[i] = noiseAzimuth(x, lines[i]);
+        }
+        final MetadataElement vector = new MetadataElement("noiseAzimuthVector");
+        vector.setAttributeString("swath", swath);
+        vector.setAttributeString("firstAzimuthLine", "0");
+        vector.setAttributeString("firstRangeSample", String.valueOf(firstRangeSample));
+        vector.setAttributeString("lastAzimuthLine", String.valueOf(lines[lines.length - 1]));
+        vector.setAttributeString("lastRangeSample", String.valueOf(lastRangeSample));
+        vector.addElement(createList("line", lines));
+        vector.addElement(createList("noiseAzimuthLut", lut));
+        return vector;
+    }
+
+    private static MetadataElement createVector(final String name, final int line) {
+        final MetadataElement vector = new MetadataElement(name);
+        vector.setAttributeString("azimuthTime", getTime(line));
+        vector.setAttributeString("line", String.valueOf(line));
+        return vector;
+    }
+
+    private static MetadataElement createList(final String name, final int[] values) {
+        final StringBuilder str = new StringBuilder();
+        for (int value : values) {
+            str.append(str.length() > 0 ? " " : "").append(value);
+        }
+        return createList(name, values.length, str.toString());
+    }
+
+    private static MetadataElement createList(final String name, final double[] values) {
+        final StringBuilder str = new StringBuilder();
+        for (double value : values) {
+            str.append(str.length() > 0 ? " " : "").append(value);
+        }
+        return createList(name, values.length, str.toString());
+    }
+
+    private static MetadataElement createList(final String name, final int count, final String values) {
+        final MetadataElement elem = new MetadataElement(name);
+        elem.setAttributeString("count", String.valueOf(count));
+        elem.setAttributeString(name, values);
+        return elem;
+    }
+
+    // 0, step, 2 * step, ... up to the first value at or beyond the last pixel or line
+    private static int[] getGrid(final int size, final int step) {
+        final int n = (size - 1 + step - 1) / step + 1;
+        final int[] grid = new int[n];
+        for (int i = 0; i < n; ++i) {
+            grid[i] = i * step;
+        }
+        return grid;
+    }
+
+    private static String getTime(final int line) {
+        return FIRST_LINE_TIME.plusNanos(Math.round(line * LINE_TIME_INTERVAL * 1e9)).format(TIME_FORMAT);
+    }
+}
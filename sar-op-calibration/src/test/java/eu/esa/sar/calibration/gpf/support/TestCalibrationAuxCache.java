@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.calibration.gpf.support;
+
+import org.esa.snap.core.gpf.OperatorException;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for the cache of ASAR and ERS calibration auxiliary data.
+ */
+public class TestCalibrationAuxCache {
+
+    private static final double REF_ELEVATION_ANGLE = 19.5;
+
+    // hh, vv, hv and vh gains in dB
+    private static float[] createPattern() {
+        final float[] pattern = new float[4 * 201];
+        for (int i = 0; i < pattern.length; i++) {
+            final int k = i % 201;
+            pattern[i] = (float) (-0.002 * (k - 100) * (k - 100) - i / 201);
+        }
+        return pattern;
+    }
+
+    // linear interpolation of the gains converted from dB, as done per pixel before the gains were cached
+    private static double expected(final float[] gainsDb, final double elevAngle) {
+        final int k = Math.max(0, Math.min((int) ((elevAngle - REF_ELEVATION_ANGLE + 5.0) / 0.05), 199));
+        final double theta0 = REF_ELEVATION_ANGLE - 5.0 + k * 0.05;
+        final double mu = (elevAngle - theta0) / 0.05;
+        return (1 - mu) * Math.pow(10, gainsDb[k] / 10.0) + mu * Math.pow(10, gainsDb[k + 1] / 10.0);
+    }
+
+    @Test
+    public void testAntennaPatternGain() {
+        final float[] pattern = createPattern();
+        final CalibrationAuxCache.AntennaPattern vv = new CalibrationAuxCache.AntennaPattern(
+                REF_ELEVATION_ANGLE, pattern, 201);
+        final float[] vvGainsDb = new float[201];
+        System.arraycopy(pattern, 201, vvGainsDb, 0, 201);
+
+        assertEquals(REF_ELEVATION_ANGLE, vv.getRefElevationAngle(), 0);
+        for (double elevAngle = 14.0; elevAngle < 25.0; elevAngle += 0.0137) {
+            assertEquals(expected(vvGainsDb, elevAngle), vv.getGain(elevAngle), 1e-12);
+        }
+    }
+
+    @Test(expected = OperatorException.class)
+    public void testMissingAuxFile() {
+        final CalibrationAuxCache cache = new CalibrationAuxCache(1024 * 1024);
+        cache.getAuxData(new File("missing", "ASA_XCA_AXVIEC20070517_153558_20070204_165113_20071231_000000").getPath(),
+                "ext_cal_im_vv");
+    }
+
+    @Test
+    public void testCachedTable() {
+        final CalibrationAuxCache cache = new CalibrationAuxCache(1024 * 1024);
+        final double[][] table = cache.getTable("Appendix_G1.txt", () -> new double[][]{{-1.0, 0.5}, {1.0, 0.2}});
+        assertSame(table, cache.getTable("Appendix_G1.txt", () -> {
+            throw new IllegalStateException("table read twice");
+        }));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testCacheIsBoundedInBytes() {
+        final int maxSizeInBytes = 64 * 1024;
+        final CalibrationAuxCache cache = new CalibrationAuxCache(maxSizeInBytes);
+        for (int i = 0; i < 100; ++i) {
+            cache.getTable("Appendix_" + i + ".txt", () -> new double[100][10]);
+            assertTrue(cache.getSizeInBytes() <= maxSizeInBytes);
+        }
+        assertTrue(cache.getNumEntries() < 100);
+
+        cache.clear();
+        assertEquals(0, cache.getNumEntries());
+    }
+}
@@ -16,6 +16,7 @@
 package eu.esa.sar.insar.gpf.support;
 
 import eu.esa.sar.commons.CRSGeoCodingHandler;
+import eu.esa.sar.commons.DEMPatchCache;
 import eu.esa.sar.commons.SARGeocoding;
 import org.esa.snap.core.datamodel.Band;
 import org.esa.snap.core.datamodel.GeoPos;
@@ -122,7 +123,7 @@ public class ProjectedDEM {
 
             double[][] localDEM = new double[h + 2][w + 2];
 
-            final boolean valid = DEMFactory.getLocalDEM(
+            final boolean valid = DEMPatchCache.instance().getLocalDEM(
                     dem, demNoDataValue, demResamplingMethod, tileGeoRef, x0, y0, w, h, sourceProduct,
                     false, localDEM);
             if (!valid) {
@@ -46,6 +46,8 @@ public class SARPosition {
         public double azimuthIndex;
         public double rangeIndex;
         public double slantRange;
+        // zero Doppler time of the previous point, seeds the search for the next one
+        public double zeroDopplerTime = SARGeocoding.NonValidZeroDopplerTime;
     }
 
     public SARPosition(
@@ -86,11 +88,12 @@ public class SARPosition {
 
         final double zeroDopplerTime = SARGeocoding.getEarthPointZeroDopplerTime(
                 firstLineTime, lineTimeInterval, wavelength, data.earthPoint,
-                orbit.sensorPosition, orbit.sensorVelocity);
+                orbit.sensorPosition, orbit.sensorVelocity, data.zeroDopplerTime);
 
         if (zeroDopplerTime == SARGeocoding.NonValidZeroDopplerTime) {
             return false;
         }
+        data.zeroDopplerTime = zeroDopplerTime;
 
         data.slantRange = SARGeocoding.computeSlantRange(
                 zeroDopplerTime, orbit, data.earthPoint, data.sensorPos);
@@ -15,6 +15,7 @@
  */
 package eu.esa.sar.sar.gpf.ui.geometric;
 
+import eu.esa.sar.sar.gpf.geometric.MosaicOp;
 import org.esa.snap.core.datamodel.MetadataElement;
 import org.esa.snap.core.dataop.resamp.ResamplingFactory;
 import org.esa.snap.core.util.SystemUtils;
@@ -49,9 +50,12 @@ public class MosaicOpUI extends BaseOperatorUI {
     private final JTextField feather = new JTextField("");
     private final JTextField maxIterations = new JTextField("");
     private final JTextField convergenceThreshold = new JTextField("");
+    private final JComboBox<String> solver = new JComboBox<>(new String[]{
+            MosaicOp.SOLVER_GAUSS_SEIDEL, MosaicOp.SOLVER_MULTIGRID});
 
     private final JLabel maxIterationsLabel = new JLabel("Maximum Iterations");
     private final JLabel convergenceThresholdLabel = new JLabel("Convergence Threshold");
+    private final JLabel solverLabel = new JLabel("Solver");
 
     private final JCheckBox averageCheckBox = new JCheckBox("Weighted Average of Overlap");
     private final JCheckBox normalizeByMeanCheckBox = new JCheckBox("Normalize");
@@ -86,6 +90,8 @@ public class MosaicOpUI extends BaseOperatorUI {
                     convergenceThreshold.setVisible(false);
                     maxIterationsLabel.setVisible(false);
                     convergenceThresholdLabel.setVisible(false);
+                    solver.setVisible(false);
+                    solverLabel.setVisible(false);
                 }
             }
         });
@@ -98,6 +104,8 @@ public class MosaicOpUI extends BaseOperatorUI {
                     convergenceThreshold.setVisible(gradientDomainMosaic);
                     maxIterationsLabel.setVisible(gradientDomainMosaic);
                     convergenceThresholdLabel.setVisible(gradientDomainMosaic);
+                    solver.setVisible(gradientDomainMosaic);
+                    solverLabel.setVisible(gradientDomainMosaic);
                 }
             }
         });
@@ -113,6 +121,8 @@ public class MosaicOpUI extends BaseOperatorUI {
                 convergenceThreshold.setVisible(gradientDomainMosaic);
                 maxIterationsLabel.setVisible(gradientDomainMosaic);
                 convergenceThresholdLabel.setVisible(gradientDomainMosaic);
+                solver.setVisible(gradientDomainMosaic);
+                solverLabel.setVisible(gradientDomainMosaic);
             }
         });
 
@@ -143,6 +153,8 @@ public class MosaicOpUI extends BaseOperatorUI {
         Double convergenceThresholdVal = (Double) paramMap.get("convergenceThreshold");
         if (convergenceThresholdVal == null) convergenceThresholdVal = 0.0;
 
+        solver.setSelectedItem(paramMap.get("solver"));
+
         if (!changedByUser && sourceProducts != null) {
             try {
                 OperatorUtils.computeImageGeoBoundary(sourceProducts, scnProp);
@@ -192,6 +204,8 @@ public class MosaicOpUI extends BaseOperatorUI {
         convergenceThreshold.setVisible(gradientDomainMosaic);
         maxIterationsLabel.setVisible(gradientDomainMosaic);
         convergenceThresholdLabel.setVisible(gradientDomainMosaic);
+        solver.setVisible(gradientDomainMosaic);
+        solverLabel.setVisible(gradientDomainMosaic);
     }
 
     @Override
@@ -212,6 +226,7 @@ public class MosaicOpUI extends BaseOperatorUI {
         paramMap.put("feather", Integer.parseInt(feather.getText()));
         paramMap.put("maxIterations", Integer.parseInt(maxIterations.getText()));
         paramMap.put("convergenceThreshold", Double.parseDouble(convergenceThreshold.getText()));
+        paramMap.put("solver", solver.getSelectedItem());
 
         paramMap.put("average", average);
         paramMap.put("normalizeByMean", normalizeByMean);
@@ -245,6 +260,8 @@ public class MosaicOpUI extends BaseOperatorUI {
         DialogUtils.addComponent(contentPane, gbc, maxIterationsLabel, maxIterations);
         gbc.gridy++;
         DialogUtils.addComponent(contentPane, gbc, convergenceThresholdLabel, convergenceThreshold);
+        gbc.gridy++;
+        DialogUtils.addComponent(contentPane, gbc, solverLabel, solver);
 
         gbc.gridy++;
         contentPane.add(averageCheckBox, gbc);
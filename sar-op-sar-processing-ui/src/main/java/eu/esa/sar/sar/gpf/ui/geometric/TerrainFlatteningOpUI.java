@@ -48,6 +48,7 @@ public class TerrainFlatteningOpUI extends BaseOperatorUI {
     private final JCheckBox outputGamma0CheckBox = new JCheckBox("Output Terrain Flattened Gamma0");
     private final JCheckBox outputSigma0CheckBox = new JCheckBox("Output Terrain Flattened Sigma0");
     private final JCheckBox nodataValueAtSeaCheckBox = new JCheckBox("Mask out areas without elevation");
+    private final JCheckBox sceneLevelSimulationCheckBox = new JCheckBox("Scene level simulation");
 
     private final JComboBox<String> demResamplingMethod = new JComboBox<>(ResamplingFactory.resamplingNames);
     private final JTextField externalDEMFile = new JTextField("");
@@ -62,6 +63,7 @@ public class TerrainFlatteningOpUI extends BaseOperatorUI {
     private Boolean outputSimulatedImage = false;
     private Boolean outputSigma0 = false;
     private Boolean nodataValueAtSea = true;
+    private Boolean sceneLevelSimulation = false;
 
     private final DialogUtils.TextAreaKeyListener textAreaKeyListener = new DialogUtils.TextAreaKeyListener();
 
@@ -123,6 +125,12 @@ public class TerrainFlatteningOpUI extends BaseOperatorUI {
             }
         });
 
+        sceneLevelSimulationCheckBox.addItemListener(new ItemListener() {
+            public void itemStateChanged(ItemEvent e) {
+                sceneLevelSimulation = (e.getStateChange() == ItemEvent.SELECTED);
+            }
+        });
+
         return new JScrollPane(panel);
     }
 
@@ -155,6 +163,11 @@ public class TerrainFlatteningOpUI extends BaseOperatorUI {
         outputSimulatedImageCheckBox.setSelected(outputSimulatedImage);
         outputSigma0CheckBox.setSelected(outputSigma0);
         nodataValueAtSeaCheckBox.setSelected(nodataValueAtSea);
+        final Boolean sceneLevelSimulationParam = (Boolean) paramMap.get("sceneLevelSimulation");
+        if (sceneLevelSimulationParam != null) {
+            sceneLevelSimulation = sceneLevelSimulationParam;
+        }
+        sceneLevelSimulationCheckBox.setSelected(sceneLevelSimulation);
 
         additionalOverlap.setText(String.valueOf(paramMap.get("additionalOverlap")));
         oversamplingMultiple.setText(String.valueOf(paramMap.get("oversamplingMultiple")));
@@ -184,6 +197,7 @@ public class TerrainFlatteningOpUI extends BaseOperatorUI {
         paramMap.put("outputSimulatedImage", outputSimulatedImage);
         paramMap.put("outputSigma0", outputSigma0);
         paramMap.put("nodataValueAtSea", nodataValueAtSea);
+        paramMap.put("sceneLevelSimulation", sceneLevelSimulation);
 
         final String additionalOverlapStr = additionalOverlap.getText();
         if (additionalOverlapStr != null && !additionalOverlapStr.isEmpty()) {
@@ -230,7 +244,10 @@ public class TerrainFlatteningOpUI extends BaseOperatorUI {
         gbc.gridy++;
         gbc.gridx = 0;
         contentPane.add(nodataValueAtSeaCheckBox, gbc);
+        gbc.gridx = 1;
+        contentPane.add(sceneLevelSimulationCheckBox, gbc);
         gbc.gridy++;
+        gbc.gridx = 0;
         DialogUtils.addComponent(contentPane, gbc, "Additional Overlap Percentage[0,1]:", additionalOverlap);
         gbc.gridy++;
         DialogUtils.addComponent(contentPane, gbc, "Oversampling Multiple:", oversamplingMultiple);
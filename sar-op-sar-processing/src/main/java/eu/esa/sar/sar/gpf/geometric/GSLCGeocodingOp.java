@@ -17,6 +17,7 @@ package eu.esa.sar.sar.gpf.geometric;
 
 import com.bc.ceres.core.ProgressMonitor;
 import eu.esa.sar.commons.CRSGeoCodingHandler;
+import eu.esa.sar.commons.DEMPatchCache;
 import eu.esa.sar.commons.OrbitStateVectors;
 import eu.esa.sar.commons.SARGeocoding;
 import eu.esa.sar.commons.SARUtils;
@@ -568,7 +569,7 @@ public class GSLCGeocodingOp extends Operator {
             final TileGeoreferencing tileGeoRef = new TileGeoreferencing(targetProduct, x0 - 1, y0 - 1, w + 2, h + 2);
 
             double[][] localDEM = new double[h + 2][w + 2];
-            final boolean valid = DEMFactory.getLocalDEM(
+            final boolean valid = DEMPatchCache.instance().getLocalDEM(
                     dem, demNoDataValue, demResamplingMethod, tileGeoRef, x0, y0, w, h, sourceProduct,
                     nodataValueAtSea, localDEM);
 
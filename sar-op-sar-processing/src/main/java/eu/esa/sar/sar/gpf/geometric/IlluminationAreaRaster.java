@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.sar.gpf.geometric;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Scene sized scratch raster of simulated illumination areas, stored block by block in a memory-mapped temporary
+ * file so that the operating system can page blocks out to local disk instead of keeping the scene in the heap.
+ * Each block holds one layer per reference area (e.g. gamma0 and sigma0). The areas are stored as double, so that
+ * the normalised output is identical to the one of the per-tile simulation.
+ * <p>
+ * A block must be written once before it is read. Callers are responsible for the synchronization between the
+ * writer and the readers of a block.
+ */
+final class IlluminationAreaRaster implements Closeable {
+
+    private final int width;
+    private final int height;
+    private final int blockSize;
+    private final int numLayers;
+    private final int numBlocksX;
+    private final int numBlocksY;
+    private final File file;
+    private final RandomAccessFile raf;
+    private final DoubleBuffer[] blocks;
+
+    IlluminationAreaRaster(final int width, final int height, final int blockSize, final int numLayers,
+                           final File dir) throws IOException {
+        this.width = width;
+        this.height = height;
+        this.blockSize = blockSize;
+        this.numLayers = numLayers;
+        this.numBlocksX = (width + blockSize - 1) / blockSize;
+        this.numBlocksY = (height + blockSize - 1) / blockSize;
+
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Unable to create folder " + dir);
+        }
+        this.file = File.createTempFile("illuminationArea", ".raw", dir);
+        this.file.deleteOnExit();
+        this.raf = new RandomAccessFile(file, "rw");
+
+        final long blockBytes = (long) blockSize * blockSize * numLayers * Double.BYTES;
+        raf.setLength(blockBytes * numBlocksX * numBlocksY);
+
+        final FileChannel channel = raf.getChannel();
+        this.blocks = new DoubleBuffer[numBlocksX * numBlocksY];
+        for (int b = 0; b < blocks.length; ++b) {
+            blocks[b] = channel.map(FileChannel.MapMode.READ_WRITE, b * blockBytes, blockBytes)
+                    .order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        }
+    }
+
+    int getBlockSize() {
+        return blockSize;
+    }
+
+    int getNumBlocksX() {
+        return numBlocksX;
+    }
+
+    int getNumBlocksY() {
+        return numBlocksY;
+    }
+
+    int getBlockIndex(final int bx, final int by) {
+        return by * numBlocksX + bx;
+    }
+
+    int getBlockWidth(final int bx) {
+        return Math.min(blockSize, width - bx * blockSize);
+    }
+
+    int getBlockHeight(final int by) {
+        return Math.min(blockSize, height - by * blockSize);
+    }
+
+    /**
+     * Store a simulated block.
+     *
+     * @param bx     The block x index.
+     * @param by     The block y index.
+     * @param layer  The layer index.
+     * @param values The block values with dimensions [getBlockHeight(by)][getBlockWidth(bx)].
+     */
+    void writeBlock(final int bx, final int by, final int layer, final double[][] values) {
+        final DoubleBuffer block = blocks[getBlockIndex(bx, by)];
+        final int layerOffset = layer * blockSize * blockSize;
+        for (int y = 0; y < values.length; ++y) {
+            final double[] row = values[y];
+            final int offset = layerOffset + y * blockSize;
+            for (int x = 0; x < row.length; ++x) {
+                block.put(offset + x, row[x]);
+            }
+        }
+    }
+
+    /**
+     * Read a rectangle of the raster, which may span several blocks.
+     *
+     * @param layer  The layer index.
+     * @param x0     X coordinate of the upper left corner.
+     * @param y0     Y coordinate of the upper left corner.
+     * @param w      The rectangle width.
+     * @param h      The rectangle height.
+     * @param values The [h][w] array to be filled.
+     */
+    void read(final int layer, final int x0, final int y0, final int w, final int h, final double[][] values) {
+        final int layerOffset = layer * blockSize * blockSize;
+        for (int y = y0; y < y0 + h; ++y) {
+            final int by = y / blockSize;
+            final int yInBlock = y - by * blockSize;
+            final double[] row = values[y - y0];
+            int x = x0;
+            while (x < x0 + w) {
+                final int bx = x / blockSize;
+                final int xEnd = Math.min((bx + 1) * blockSize, x0 + w);
+                final DoubleBuffer block = blocks[getBlockIndex(bx, by)];
+                final int offset = layerOffset + yInBlock * blockSize - bx * blockSize;
+                for (; x < xEnd; ++x) {
+                    row[x - x0] = block.get(offset + x);
+                }
+            }
+        }
+    }
+
+    /**
+     * Release the scratch file. The mapped buffers are released by the garbage collector, so the file is
+     * deleted on exit if the platform does not allow deleting it while it is still mapped.
+     */
+    @Override
+    public void close() throws IOException {
+        raf.close();
+        file.delete();
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.sar.gpf.geometric;
+
+import org.esa.snap.core.util.SystemUtils;
+import org.esa.snap.runtime.Config;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Scene layover/shadow mask in source image geometry, stored in azimuth blocks of a memory-mapped file.
+ * <p>
+ * The mask of an azimuth block is computed lazily by a {@link BlockFiller} the first time one of its rows is read.
+ * As layover and shadow found in one block may be saved in the rows of its neighbours, a block is only readable
+ * once the block and its two neighbours have been filled. Reads are lock free once a block is readable.
+ * <p>
+ * The mask file is a sidecar named after a key identifying the product, DEM and orbit. A mask is computed in a
+ * temporary file of its own and, once completely filled, renamed to the mask file when the store is closed, so
+ * that the mask file is always complete and is never modified while other runs, possibly in other processes,
+ * read it. Later runs with the same key reuse it. The folder is bounded in size and age.
+ */
+final class LayoverShadowMaskStore implements Closeable {
+
+    /**
+     * Computes the layover/shadow mask for a range of source image rows and saves it with {@link #merge}.
+     */
+    interface BlockFiller {
+        void fill(int y0, int h) throws Exception;
+    }
+
+    public static final String CACHE_SIZE_PROPERTY = "sar.layoverShadowMask.cacheSizeMB";
+    public static final String CACHE_AGE_PROPERTY = "sar.layoverShadowMask.cacheAgeDays";
+    private static final long DEFAULT_CACHE_SIZE_MB = 4096;
+    private static final long DEFAULT_CACHE_AGE_DAYS = 30;
+
+    private static final String MASK_EXT = ".mask";
+    private static final String TMP_EXT = ".tmp";
+
+    // temporary files of runs which did not close their store
+    private static final long MAX_TMP_AGE = TimeUnit.DAYS.toMillis(1);
+
+    private final int width;
+    private final int height;
+    private final int blockHeight;
+    private final int numBlocks;
+    private final File maskFile;
+    private final File tmpFile;
+    private final RandomAccessFile raf;
+    private final MappedByteBuffer[] blocks;
+    private final boolean[] filledBlocks;
+    private final Object[] blockLocks;
+    private final AtomicIntegerArray readableBlocks;
+    private final Object writeLock = new Object();
+    private BlockFiller filler;
+    private final boolean reused;
+
+    LayoverShadowMaskStore(final File dir, final String key, final int width, final int height,
+                           final int blockHeight, final BlockFiller filler) throws IOException {
+        this.width = width;
+        this.height = height;
+        this.blockHeight = blockHeight;
+        this.numBlocks = (height + blockHeight - 1) / blockHeight;
+        this.filler = filler;
+
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Unable to create folder " + dir);
+        }
+        cleanUp(dir, Config.instance().preferences().getLong(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE_MB) * 1024L * 1024L,
+                TimeUnit.DAYS.toMillis(Config.instance().preferences().getLong(CACHE_AGE_PROPERTY, DEFAULT_CACHE_AGE_DAYS)));
+
+        final String name = UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+        this.maskFile = new File(dir, name + MASK_EXT);
+
+        final long size = (long) width * height;
+        this.reused = maskFile.length() == size;
+
+        final FileChannel.MapMode mode;
+        if (reused) {
+            this.tmpFile = null;
+            this.raf = new RandomAccessFile(maskFile, "r");
+            mode = FileChannel.MapMode.READ_ONLY;
+            maskFile.setLastModified(System.currentTimeMillis());
+        } else {
+            this.tmpFile = new File(dir, name + '.' + UUID.randomUUID() + TMP_EXT);
+            this.raf = new RandomAccessFile(tmpFile, "rw");
+            mode = FileChannel.MapMode.READ_WRITE;
+        }
+
+        try {
+            if (!reused) {
+                raf.setLength(size);
+            }
+            final FileChannel channel = raf.getChannel();
+            this.blocks = new MappedByteBuffer[numBlocks];
+            for (int b = 0; b < numBlocks; ++b) {
+                final long offset = (long) b * blockHeight * width;
+                final long length = (long) Math.min(blockHeight, height - b * blockHeight) * width;
+                blocks[b] = channel.map(mode, offset, length);
+            }
+        } catch (IOException e) {
+            raf.close();
+            if (tmpFile != null) {
+                tmpFile.delete();
+            }
+            throw e;
+        }
+
+        this.filledBlocks = new boolean[numBlocks];
+        this.blockLocks = new Object[numBlocks];
+        for (int b = 0; b < numBlocks; ++b) {
+            blockLocks[b] = new Object();
+        }
+        this.readableBlocks = new AtomicIntegerArray(numBlocks);
+        if (reused) {
+            for (int b = 0; b < numBlocks; ++b) {
+                filledBlocks[b] = true;
+                readableBlocks.set(b, 1);
+            }
+        }
+    }
+
+    /**
+     * Delete the temporary files left by failed runs, the masks not used for longer than the maximum age and,
+     * if the folder is still larger than the maximum size, the least recently used masks.
+     *
+     * @param dir            The mask folder.
+     * @param maxSizeInBytes The maximum size of the masks in the folder.
+     * @param maxAge         The maximum age of a mask in milliseconds.
+     */
+    static void cleanUp(final File dir, final long maxSizeInBytes, final long maxAge) {
+
+        final long now = System.currentTimeMillis();
+        final File[] tmpFiles = dir.listFiles((d, name) -> name.endsWith(TMP_EXT));
+        if (tmpFiles != null) {
+            for (File file : tmpFiles) {
+                if (now - file.lastModified() > MAX_TMP_AGE) {
+                    file.delete();
+                }
+            }
+        }
+
+        final File[] maskFiles = dir.listFiles((d, name) -> name.endsWith(MASK_EXT));
+        if (maskFiles == null) {
+            return;
+        }
+        // most recently used first
+        Arrays.sort(maskFiles, Comparator.comparingLong(File::lastModified).reversed());
+        long totalSize = 0;
+        for (File file : maskFiles) {
+            totalSize += file.length();
+            if (totalSize > maxSizeInBytes || now - file.lastModified() > maxAge) {
+                if (file.delete()) {
+                    SystemUtils.LOG.fine("Deleted layover/shadow mask " + file.getName());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if the mask has been reused from a previous run.
+     */
+    boolean isReused() {
+        return reused;
+    }
+
+    int getBlockHeight() {
+        return blockHeight;
+    }
+
+    /**
+     * Get the mask value of a source pixel, computing the mask around the pixel row first if needed.
+     *
+     * @param x The range index.
+     * @param y The azimuth index.
+     * @return 0 for no layover or shadow, 1 for layover, 2 for shadow and 3 for layover and shadow.
+     * @throws Exception The exception from the block filler.
+     */
+    byte get(final int x, final int y) throws Exception {
+        final int b = y / blockHeight;
+        if (readableBlocks.get(b) == 0) {
+            makeReadable(b);
+        }
+        return blocks[b].get((y - b * blockHeight) * width + x);
+    }
+
+    /**
+     * Save a layover (1) or shadow (2) value. Layover and shadow found for the same pixel are saved as 3.
+     */
+    void merge(final int x, final int y, final byte value) {
+        final int b = y / blockHeight;
+        final int index = (y - b * blockHeight) * width + x;
+        synchronized (writeLock) {
+            final byte v0 = blocks[b].get(index);
+            if (v0 == 0) {
+                blocks[b].put(index, value);
+            } else if (v0 == 1 && value == 2) {
+                blocks[b].put(index, (byte) 3);
+            }
+        }
+    }
+
+    private void makeReadable(final int b) throws Exception {
+        for (int n = Math.max(b - 1, 0); n <= Math.min(b + 1, numBlocks - 1); ++n) {
+            fill(n);
+        }
+        readableBlocks.set(b, 1);
+    }
+
+    private void fill(final int b) throws Exception {
+        synchronized (blockLocks[b]) {
+            if (!filledBlocks[b]) {
+                final int y0 = b * blockHeight;
+                filler.fill(y0, Math.min(blockHeight, height - y0));
+                filledBlocks[b] = true;
+            }
+        }
+    }
+
+    private boolean isComplete() {
+        for (int b = 0; b < numBlocks; ++b) {
+            synchronized (blockLocks[b]) {
+                if (!filledBlocks[b]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Flush the mask to disk and make it reusable if it has been completely filled, otherwise discard it.
+     */
+    @Override
+    public void close() throws IOException {
+        filler = null;
+        if (reused) {
+            raf.close();
+            return;
+        }
+        final boolean complete = isComplete();
+        try {
+            if (complete) {
+                for (MappedByteBuffer block : blocks) {
+                    block.force();
+                }
+            }
+        } finally {
+            raf.close();
+        }
+        if (complete) {
+            try {
+                Files.move(tmpFile.toPath(), maskFile.toPath(),
+                        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                // e.g. the mask file is mapped by another run on a platform not allowing to replace it
+                SystemUtils.LOG.fine("Unable to save layover/shadow mask " + maskFile + ": " + e.getMessage());
+                tmpFile.delete();
+            }
+        } else {
+            tmpFile.delete();
+        }
+    }
+}
@@ -92,9 +92,28 @@ public class MosaicOp extends Operator {
     private int feather = 0;
     @Parameter(defaultValue = "5000", description = "Maximum number of iterations", label = "Maximum Iterations")
     private int maxIterations = 5000;
-    @Parameter(defaultValue = "1e-4", description = "Convergence threshold for Relaxed Gauss-Seidel method",
+    @Parameter(defaultValue = "1e-4", description = "Convergence threshold of the gradient domain solver",
             label = "Convergence Threshold")
     private double convergenceThreshold = 1e-4;
+    @Parameter(valueSet = {SOLVER_GAUSS_SEIDEL, SOLVER_MULTIGRID}, defaultValue = SOLVER_GAUSS_SEIDEL,
+            description = "Gradient domain solver. For Multigrid, the maximum iterations are V-cycles",
+            label = "Solver")
+    private String solver = SOLVER_GAUSS_SEIDEL;
+
+    @Parameter(description = "Compute the exact source pixel positions on a coarse grid and interpolate in between",
+            defaultValue = "false", label = "Use sparse geocoding grid")
+    private boolean useSparseGeocodingGrid = false;
+
+    @Parameter(description = "The spacing in pixels of the sparse geocoding grid", interval = "[2, 256]",
+            defaultValue = "16", label = "Sparse grid spacing")
+    private int sparseGridSpacing = 16;
+
+    @Parameter(description = "The maximum interpolation error in source pixels before a grid cell is subdivided",
+            interval = "(0, *)", defaultValue = "0.01", label = "Sparse grid tolerance (pixels)")
+    private double sparseGridTolerance = 0.01;
+
+    public static final String SOLVER_GAUSS_SEIDEL = "Relaxed Gauss-Seidel";
+    public static final String SOLVER_MULTIGRID = "Multigrid";
 
     private final OperatorUtils.SceneProperties scnProp = new OperatorUtils.SceneProperties();
     private final Map<Integer, Band> bandIndexSet = new HashMap<>(20);
@@ -350,6 +369,94 @@ public class MosaicOp extends Operator {
         return getBoundingBox(pixelPos, 0, 0, Integer.MAX_VALUE, Integer.MAX_VALUE, 4);
     }
 
+    /**
+     * Compute the source pixel positions of the pixels of a target tile. With useSparseGeocodingGrid, the exact
+     * inverse geocoding of the source product is evaluated on a coarse lattice of the tile and interpolated in
+     * between where the interpolation agrees with the exact inverse within sparseGridTolerance.
+     */
+    private SourcePixelCoords computeSourcePixelCoords(final Product srcProduct, final TileGeoreferencing tileGeoRef,
+                                                       final int x0, final int y0, final int w, final int h) {
+
+        final GeoCoding srcGeoCoding = srcProduct.getSceneGeoCoding();
+        final int srcWidth = srcProduct.getSceneRasterWidth();
+        final int srcHeight = srcProduct.getSceneRasterHeight();
+        final GeoPos geoPos = new GeoPos();
+        final PixelPos pixelPos = new PixelPos();
+
+        final SourcePixelCoords coords = new SourcePixelCoords(w * h);
+        if (!useSparseGeocodingGrid) {
+            for (int y = y0, index = 0; y < y0 + h; ++y) {
+                for (int x = x0; x < x0 + w; ++x, ++index) {
+                    tileGeoRef.getGeoPos(x, y, geoPos);
+                    srcGeoCoding.getPixelPos(geoPos, pixelPos);
+                    if (isInsideFeather(pixelPos.x, pixelPos.y, srcWidth, srcHeight)) {
+                        coords.x[index] = pixelPos.x;
+                        coords.y[index] = pixelPos.y;
+                    }
+                }
+            }
+            return coords;
+        }
+
+        final SparseGeocodingGrid grid = new SparseGeocodingGrid(
+                x0, y0, w, h, sparseGridSpacing, sparseGridTolerance);
+        grid.compute((x, y, xy) -> {
+            tileGeoRef.getGeoPos(x, y, geoPos);
+            srcGeoCoding.getPixelPos(geoPos, pixelPos);
+            xy[0] = pixelPos.x;
+            xy[1] = pixelPos.y;
+            return isInsideFeather(pixelPos.x, pixelPos.y, srcWidth, srcHeight);
+        });
+
+        for (int y = y0, index = 0; y < y0 + h; ++y) {
+            for (int x = x0; x < x0 + w; ++x, ++index) {
+                if (grid.isValid(x, y)) {
+                    final double srcX = grid.getRangeIndex(x, y);
+                    final double srcY = grid.getAzimuthIndex(x, y);
+                    if (isInsideFeather(srcX, srcY, srcWidth, srcHeight)) {
+                        coords.x[index] = srcX;
+                        coords.y[index] = srcY;
+                    }
+                }
+            }
+        }
+        return coords;
+    }
+
+    private boolean isInsideFeather(final double x, final double y, final int srcWidth, final int srcHeight) {
+        return x >= feather && y >= feather && x < srcWidth - feather && y < srcHeight - feather;
+    }
+
+    private static Rectangle getBoundingBox(final SourcePixelCoords pixelPositions,
+                                            final int minOffsetX, final int minOffsetY,
+                                            final int maxWidth, final int maxHeight, final int margin) {
+        int minX = Integer.MAX_VALUE;
+        int maxX = -Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxY = -Integer.MAX_VALUE;
+
+        for (int i = 0; i < pixelPositions.x.length; ++i) {
+            if (pixelPositions.isValid(i)) {
+                final int x = (int) Math.floor(pixelPositions.x[i]);
+                final int y = (int) Math.floor(pixelPositions.y[i]);
+
+                if (x < minX) {
+                    minX = x;
+                }
+                if (x > maxX) {
+                    maxX = x;
+                }
+                if (y < minY) {
+                    minY = y;
+                }
+                if (y > maxY) {
+                    maxY = y;
+                }
+            }
+        }
+        return getBoundingBox(minX, maxX, minY, maxY, minOffsetX, minOffsetY, maxWidth, maxHeight, margin);
+    }
+
     private static Rectangle getBoundingBox(final PixelPos[] pixelPositions,
                                             final int minOffsetX, final int minOffsetY,
                                             final int maxWidth, final int maxHeight, final int margin) {
@@ -377,6 +484,12 @@ public class MosaicOp extends Operator {
                 }
             }
         }
+        return getBoundingBox(minX, maxX, minY, maxY, minOffsetX, minOffsetY, maxWidth, maxHeight, margin);
+    }
+
+    private static Rectangle getBoundingBox(int minX, int maxX, int minY, int maxY,
+                                            final int minOffsetX, final int minOffsetY,
+                                            final int maxWidth, final int maxHeight, final int margin) {
         if (minX > maxX || minY > maxY) {
             return null;
         }
@@ -422,44 +535,18 @@ public class MosaicOp extends Operator {
                 return;
             }
 
-            final GeoPos geoPos = new GeoPos();
-            final PixelPos pixelPos = new PixelPos();
             final int minX = targetRectangle.x;
             final int minY = targetRectangle.y;
-            final int maxX = targetRectangle.x + targetRectangle.width - 1;
-            final int maxY = targetRectangle.y + targetRectangle.height - 1;
+            final int w = targetRectangle.width;
+            final int h = targetRectangle.height;
 
-            final TileGeoreferencing tileGeoRef = new TileGeoreferencing(targetProduct, minX, minY, maxX - minX + 1, maxY - minY + 1);
+            final TileGeoreferencing tileGeoRef = new TileGeoreferencing(targetProduct, minX, minY, w, h);
 
-            final List<PixelPos[]> srcPixelCoords = new ArrayList<>(validProducts.size());
-            final int numPixelPos = targetRectangle.width * targetRectangle.height;
-            for (Product validProduct : validProducts) {
-                srcPixelCoords.add(new PixelPos[numPixelPos]);
+            final List<SourcePixelCoords> srcPixelCoords = new ArrayList<>(validProducts.size());
+            for (final Product srcProduct : validProducts) {
+                srcPixelCoords.add(computeSourcePixelCoords(srcProduct, tileGeoRef, minX, minY, w, h));
             }
-
-            int coordIndex = 0;
             int prodIndex;
-            for (int y = minY; y <= maxY; ++y) {
-                for (int x = minX; x <= maxX; ++x) {
-                    tileGeoRef.getGeoPos(x, y, geoPos);
-
-                    prodIndex = 0;
-                    for (final Product srcProduct : validProducts) {
-                        srcProduct.getSceneGeoCoding().getPixelPos(geoPos, pixelPos);
-
-                        if (pixelPos.x >= feather && pixelPos.y >= feather &&
-                                pixelPos.x < srcProduct.getSceneRasterWidth() - feather &&
-                                pixelPos.y < srcProduct.getSceneRasterHeight() - feather) {
-
-                            srcPixelCoords.get(prodIndex)[coordIndex] = new PixelPos(pixelPos.x, pixelPos.y);
-                        } else {
-                            srcPixelCoords.get(prodIndex)[coordIndex] = null;
-                        }
-                        ++prodIndex;
-                    }
-                    ++coordIndex;
-                }
-            }
 
             final Resampling resampling = ResamplingFactory.createResampling(resamplingMethod);
             if(resampling == null) {
@@ -483,7 +570,7 @@ public class MosaicOp extends Operator {
                         continue;
                     }
 
-                    final PixelPos[] pixPos = srcPixelCoords.get(prodIndex);
+                    final SourcePixelCoords pixPos = srcPixelCoords.get(prodIndex);
 
                     final Rectangle sourceRectangle = getBoundingBox(
                             pixPos, feather, feather,
@@ -549,12 +636,13 @@ public class MosaicOp extends Operator {
                     double targetVal = 0;
                     int numSamples = 0;
                     for (final SourceData srcDat : validSourceData) {
-                        final PixelPos sourcePixelPos = srcDat.srcPixPos[index];
-                        if (sourcePixelPos == null) {
+                        if (!srcDat.srcPixPos.isValid(index)) {
                             continue;
                         }
+                        final double srcX = srcDat.srcPixPos.x[index];
+                        final double srcY = srcDat.srcPixPos.y[index];
 
-                        resampling.computeIndex(sourcePixelPos.x, sourcePixelPos.y,
+                        resampling.computeIndex(srcX, srcY,
                                 srcDat.srcRasterWidth - feather, srcDat.srcRasterHeight - feather, srcDat.resamplingIndex);
 
                         sample = resampling.resample(srcDat.resamplingRaster, srcDat.resamplingIndex);
@@ -569,10 +657,10 @@ public class MosaicOp extends Operator {
 
                             if (average) {
                                 sampleList[numSamples] = sample;
-                                sampleDistanceList[numSamples] = (int) (Math.min(sourcePixelPos.x + 1,
-                                        srcDat.srcRasterWidth - sourcePixelPos.x) *
-                                        Math.min(sourcePixelPos.y + 1,
-                                                srcDat.srcRasterHeight - sourcePixelPos.y));
+                                sampleDistanceList[numSamples] = (int) (Math.min(srcX + 1,
+                                        srcDat.srcRasterWidth - srcX) *
+                                        Math.min(srcY + 1,
+                                                srcDat.srcRasterHeight - srcY));
                                 numSamples++;
                             }
                         }
@@ -600,7 +688,7 @@ public class MosaicOp extends Operator {
     }
 
     private void performGradientDomainMosaic(final Map<Band, Tile> targetTiles, final Rectangle targetRectangle,
-                                             final List<PixelPos[]> srcPixelCoords, final List<Product> validProducts,
+                                             final List<SourcePixelCoords> srcPixelCoords, final List<Product> validProducts,
                                              final Resampling resampling, ProgressMonitor pm)
             throws OperatorException {
 
@@ -674,7 +762,7 @@ public class MosaicOp extends Operator {
     }
 
     private void getValidSourceData(final List<Product> validProducts, final String trgBandName,
-                                    final List<PixelPos[]> srcPixelCoords, final Resampling resampling,
+                                    final List<SourcePixelCoords> srcPixelCoords, final Resampling resampling,
                                     List<SourceData> validSourceData, ProgressMonitor pm) {
 
         try {
@@ -686,7 +774,7 @@ public class MosaicOp extends Operator {
                     continue;
                 }
 
-                final PixelPos[] pixPos = srcPixelCoords.get(prodIndex);
+                final SourcePixelCoords pixPos = srcPixelCoords.get(prodIndex);
                 final Rectangle sourceRectangle = getBoundingBox(
                         pixPos, 0, 0, srcProduct.getSceneRasterWidth(), srcProduct.getSceneRasterHeight(), feather);
 
@@ -736,14 +824,13 @@ public class MosaicOp extends Operator {
                 for (int x = minX; x <= maxX; ++x, ++index) {
                     xx = x - minX;
 
-                    final PixelPos sourcePixelPos = srcDat.srcPixPos[index];
-                    if (sourcePixelPos == null) {
+                    if (!srcDat.srcPixPos.isValid(index)) {
                         mosaicedTile[yy][xx] = srcDat.nodataValue;
                         mask[yy][xx] = -1;
                         continue;
                     }
 
-                    resampling.computeIndex(sourcePixelPos.x, sourcePixelPos.y,
+                    resampling.computeIndex(srcDat.srcPixPos.x[index], srcDat.srcPixPos.y[index],
                             srcDat.srcRasterWidth, srcDat.srcRasterHeight, srcDat.resamplingIndex);
 
                     sample = resampling.resample(srcDat.resamplingRaster, srcDat.resamplingIndex);
@@ -785,12 +872,11 @@ public class MosaicOp extends Operator {
                 for (int x = minX; x <= maxX; ++x, ++index) {
                     xx = x - minX;
 
-                    final PixelPos sourcePixelPos = srcDat.srcPixPos[index];
-                    if (sourcePixelPos == null) {
+                    if (!srcDat.srcPixPos.isValid(index)) {
                         continue;
                     }
 
-                    resampling.computeIndex(sourcePixelPos.x, sourcePixelPos.y,
+                    resampling.computeIndex(srcDat.srcPixPos.x[index], srcDat.srcPixPos.y[index],
                             srcDat.srcRasterWidth, srcDat.srcRasterHeight, srcDat.resamplingIndex);
 
                     sample = resampling.resample(srcDat.resamplingRaster, srcDat.resamplingIndex);
@@ -836,25 +922,25 @@ public class MosaicOp extends Operator {
 
             if (indexUp >= 0 && indexDown < targetTileWidth * targetTileHeight &&
                     index % targetTileWidth != 0 && (index + 1) % targetTileWidth != 0 &&
-                    srcDat.srcPixPos[indexUp] != null && srcDat.srcPixPos[indexDown] != null &&
-                    srcDat.srcPixPos[indexLeft] != null && srcDat.srcPixPos[indexRight] != null) {
+                    srcDat.srcPixPos.isValid(indexUp) && srcDat.srcPixPos.isValid(indexDown) &&
+                    srcDat.srcPixPos.isValid(indexLeft) && srcDat.srcPixPos.isValid(indexRight)) {
 
-                resampling.computeIndex(srcDat.srcPixPos[indexUp].x, srcDat.srcPixPos[indexUp].y,
+                resampling.computeIndex(srcDat.srcPixPos.x[indexUp], srcDat.srcPixPos.y[indexUp],
                         srcDat.srcRasterWidth, srcDat.srcRasterHeight, srcDat.resamplingIndex);
 
                 final double s1 = resampling.resample(srcDat.resamplingRaster, srcDat.resamplingIndex);
 
-                resampling.computeIndex(srcDat.srcPixPos[indexDown].x, srcDat.srcPixPos[indexDown].y,
+                resampling.computeIndex(srcDat.srcPixPos.x[indexDown], srcDat.srcPixPos.y[indexDown],
                         srcDat.srcRasterWidth, srcDat.srcRasterHeight, srcDat.resamplingIndex);
 
                 final double s2 = resampling.resample(srcDat.resamplingRaster, srcDat.resamplingIndex);
 
-                resampling.computeIndex(srcDat.srcPixPos[indexLeft].x, srcDat.srcPixPos[indexLeft].y,
+                resampling.computeIndex(srcDat.srcPixPos.x[indexLeft], srcDat.srcPixPos.y[indexLeft],
                         srcDat.srcRasterWidth, srcDat.srcRasterHeight, srcDat.resamplingIndex);
 
                 final double s3 = resampling.resample(srcDat.resamplingRaster, srcDat.resamplingIndex);
 
-                resampling.computeIndex(srcDat.srcPixPos[indexRight].x, srcDat.srcPixPos[indexRight].y,
+                resampling.computeIndex(srcDat.srcPixPos.x[indexRight], srcDat.srcPixPos.y[indexRight],
                         srcDat.srcRasterWidth, srcDat.srcRasterHeight, srcDat.resamplingIndex);
 
                 final double s4 = resampling.resample(srcDat.resamplingRaster, srcDat.resamplingIndex);
@@ -922,6 +1008,19 @@ public class MosaicOp extends Operator {
 
     private void performMosaic(final byte[][] mask, final double[][] gradientTile, double[][] mosaicedTile) {
 
+        if (solver.equals(SOLVER_MULTIGRID)) {
+            final PoissonMultigridSolver multigridSolver = new PoissonMultigridSolver();
+            if (multigridSolver.solve(mask, gradientTile, mosaicedTile, maxIterations, convergenceThreshold)) {
+                SystemUtils.LOG.fine("Mosaic multigrid cycles = " + multigridSolver.getNumCycles() +
+                        ", residual = " + multigridSolver.getResidual());
+            } else {
+                SystemUtils.LOG.warning("Mosaic multigrid solver did not converge after " +
+                        multigridSolver.getNumCycles() + " cycles, residual = " + multigridSolver.getResidual() +
+                        " (threshold " + convergenceThreshold + ')');
+            }
+            return;
+        }
+
         final double w = 1.5;
         final int rows = mask.length;
         final int cols = mask[0].length;
@@ -949,8 +1048,7 @@ public class MosaicOp extends Operator {
             }
         }
 
-        //if(error != 0)
-        //    System.out.println("it = " + it + ", error = " + error);
+        SystemUtils.LOG.fine("Mosaic Gauss-Seidel iterations = " + it + ", error = " + error);
     }
 
     private static void cleanUpMask(byte[][] mask) {
@@ -1028,12 +1126,31 @@ public class MosaicOp extends Operator {
     }
 
 
+    /**
+     * Source pixel positions of the pixels of a target tile, NaN where the target pixel is outside the source.
+     */
+    private static class SourcePixelCoords {
+        final double[] x;
+        final double[] y;
+
+        SourcePixelCoords(final int numPixels) {
+            x = new double[numPixels];
+            y = new double[numPixels];
+            Arrays.fill(x, Double.NaN);
+            Arrays.fill(y, Double.NaN);
+        }
+
+        boolean isValid(final int index) {
+            return !Double.isNaN(x[index]);
+        }
+    }
+
     private static class SourceData {
         final Tile srcTile;
         final ResamplingRaster resamplingRaster;
         final Resampling.Index resamplingIndex;
         final double nodataValue;
-        final PixelPos[] srcPixPos;
+        final SourcePixelCoords srcPixPos;
         final int srcRasterHeight;
         final int srcRasterWidth;
         final double srcMean;
@@ -1042,7 +1159,7 @@ public class MosaicOp extends Operator {
         final double srcStd;
 
         public SourceData(final Tile tile,
-                          final PixelPos[] pixPos, final Resampling resampling,
+                          final SourcePixelCoords pixPos, final Resampling resampling,
                           final double min, final double max, final double mean, final double std) {
             srcTile = tile;
             resamplingRaster = new ResamplingRaster(srcTile);
@@ -0,0 +1,332 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.sar.gpf.geometric;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Multigrid preconditioned conjugate gradient solver of the gradient domain mosaic Poisson equation
+ * <p>
+ * u[r-1][c] + u[r+1][c] + u[r][c-1] + u[r][c+1] - 4 u[r][c] = g[r][c]
+ * <p>
+ * for the pixels with mask value 2. All other pixels are fixed boundary values. Pixels with mask value 2 must not
+ * lie on the border of the arrays.
+ * <p>
+ * The preconditioner is one symmetric V-cycle on a hierarchy of grids holding every second pixel of the finer grid,
+ * with red-black Gauss-Seidel smoothing. As the coarse grids follow the irregular mask only approximately, the
+ * V-cycle is used within conjugate gradients rather than as a stand-alone iteration. The solver stops when the
+ * largest Jacobi update of the current solution, |residual| / 4, is below the threshold, which is the update
+ * criterion of the relaxed Gauss-Seidel iteration.
+ */
+final class PoissonMultigridSolver {
+
+    private static final int NUM_SMOOTH = 2;
+    private static final int MIN_GRID_SIZE = 4;
+
+    private Level[] levels;
+    private int numCycles;
+    private double residual;
+
+    /**
+     * Solve in place.
+     *
+     * @param mask      The mask, 2 for the unknown pixels.
+     * @param laplacian The target Laplacian g.
+     * @param u         The initial solution and boundary values, updated with the solution.
+     * @param maxCycles The maximum number of V-cycles.
+     * @param threshold The convergence threshold.
+     * @return true if the solution has converged.
+     */
+    boolean solve(final byte[][] mask, final double[][] laplacian, final double[][] u,
+                  final int maxCycles, final double threshold) {
+
+        levels = createLevels(mask);
+        final Level fine = levels[0];
+        final int n = fine.w * fine.h;
+        final double[] r = new double[n];
+        final double[] p = new double[n];
+        final double[] q = new double[n];
+
+        numCycles = 0;
+        residual = computeResidual(mask, laplacian, u, r);
+        while (residual >= threshold && numCycles < maxCycles) {
+            // restart from the exact residual
+            double rz = precondition(r, p);
+            while (numCycles < maxCycles) {
+                fine.applyLaplacian(p, q);
+                final double alpha = rz / dot(fine, p, q);
+                double maxRes = 0.0;
+                for (int i = 0; i < n; ++i) {
+                    if (fine.active[i]) {
+                        u[i / fine.w][i % fine.w] += alpha * p[i];
+                        r[i] -= alpha * q[i];
+                        maxRes = Math.max(maxRes, Math.abs(r[i]));
+                    }
+                }
+                ++numCycles;
+                if (maxRes / 4.0 < threshold) {
+                    break;
+                }
+
+                final double rzNew = precondition(r, fine.e);
+                final double beta = rzNew / rz;
+                rz = rzNew;
+                for (int i = 0; i < n; ++i) {
+                    p[i] = fine.e[i] + beta * p[i];
+                }
+            }
+            residual = computeResidual(mask, laplacian, u, r);
+        }
+        levels = null;
+        return residual < threshold;
+    }
+
+    /**
+     * @return the number of V-cycles of the last solve.
+     */
+    int getNumCycles() {
+        return numCycles;
+    }
+
+    /**
+     * @return the largest |residual| / 4 of the last solve.
+     */
+    double getResidual() {
+        return residual;
+    }
+
+    /**
+     * Apply one V-cycle to the residual.
+     *
+     * @return the dot product of the residual and the preconditioned residual.
+     */
+    private double precondition(final double[] r, final double[] z) {
+        final Level fine = levels[0];
+        System.arraycopy(r, 0, fine.rhs, 0, r.length);
+        Arrays.fill(fine.e, 0.0);
+        vCycle(0);
+        if (z != fine.e) {
+            System.arraycopy(fine.e, 0, z, 0, z.length);
+        }
+        return dot(fine, r, z);
+    }
+
+    private static double dot(final Level level, final double[] a, final double[] b) {
+        double sum = 0.0;
+        for (int i = 0; i < a.length; ++i) {
+            if (level.active[i]) {
+                sum += a[i] * b[i];
+            }
+        }
+        return sum;
+    }
+
+    private static Level[] createLevels(final byte[][] mask) {
+        final int h = mask.length;
+        final int w = mask[0].length;
+        final boolean[] active = new boolean[w * h];
+        for (int r = 0, i = 0; r < h; ++r) {
+            for (int c = 0; c < w; ++c, ++i) {
+                active[i] = mask[r][c] == 2;
+            }
+        }
+
+        final List<Level> list = new ArrayList<>();
+        Level level = new Level(w, h, 1.0, active);
+        list.add(level);
+        while (level.w > MIN_GRID_SIZE && level.h > MIN_GRID_SIZE) {
+            level = level.coarsen();
+            list.add(level);
+        }
+        return list.toArray(new Level[0]);
+    }
+
+    /**
+     * Compute the residual g - Lu and return the largest |residual| / 4.
+     */
+    private static double computeResidual(final byte[][] mask, final double[][] laplacian, final double[][] u,
+                                          final double[] res) {
+        final int h = mask.length;
+        final int w = mask[0].length;
+        double maxRes = 0.0;
+        for (int r = 0, i = 0; r < h; ++r) {
+            for (int c = 0; c < w; ++c, ++i) {
+                if (mask[r][c] == 2) {
+                    final double lu = u[r - 1][c] + u[r + 1][c] + u[r][c - 1] + u[r][c + 1] - 4 * u[r][c];
+                    res[i] = laplacian[r][c] - lu;
+                    maxRes = Math.max(maxRes, Math.abs(res[i]));
+                } else {
+                    res[i] = 0.0;
+                }
+            }
+        }
+        return maxRes / 4.0;
+    }
+
+    private void vCycle(final int l) {
+        final Level level = levels[l];
+        if (l == levels.length - 1) {
+            for (int n = 0; n < level.w + level.h; ++n) {
+                level.smooth(false);
+                level.smooth(true);
+            }
+            return;
+        }
+
+        for (int n = 0; n < NUM_SMOOTH; ++n) {
+            level.smooth(false);
+        }
+
+        final Level coarse = levels[l + 1];
+        level.restrictResidual(coarse);
+        Arrays.fill(coarse.e, 0.0);
+        vCycle(l + 1);
+        level.addProlongedCorrection(coarse);
+
+        for (int n = 0; n < NUM_SMOOTH; ++n) {
+            level.smooth(true);
+        }
+    }
+
+    /**
+     * A grid of the hierarchy holding the correction e and the right hand side of L e = rhs, where L is the
+     * five point Laplacian for the grid spacing with e = 0 outside the active cells.
+     */
+    private static final class Level {
+        final int w;
+        final int h;
+        final double h2;
+        final boolean[] active;
+        final double[] e;
+        final double[] rhs;
+        final double[] res;
+
+        Level(final int w, final int h, final double h2, final boolean[] active) {
+            this.w = w;
+            this.h = h;
+            this.h2 = h2;
+            this.active = active;
+            this.e = new double[w * h];
+            this.rhs = new double[w * h];
+            this.res = new double[w * h];
+        }
+
+        /**
+         * The coarse grid holds every second pixel of this grid. A coarse pixel is active if its fine pixel is.
+         */
+        Level coarsen() {
+            final int cw = (w + 1) / 2;
+            final int ch = (h + 1) / 2;
+            final boolean[] coarseActive = new boolean[cw * ch];
+            for (int r = 0; r < ch; ++r) {
+                for (int c = 0; c < cw; ++c) {
+                    coarseActive[r * cw + c] = active[2 * r * w + 2 * c];
+                }
+            }
+            return new Level(cw, ch, 4.0 * h2, coarseActive);
+        }
+
+        private double get(final double[] a, final int r, final int c) {
+            return r < 0 || c < 0 || r >= h || c >= w ? 0.0 : a[r * w + c];
+        }
+
+        private double neighbourSum(final double[] a, final int r, final int c) {
+            if (r > 0 && c > 0 && r < h - 1 && c < w - 1) {
+                final int i = r * w + c;
+                return a[i - w] + a[i + w] + a[i - 1] + a[i + 1];
+            }
+            return get(a, r - 1, c) + get(a, r + 1, c) + get(a, r, c - 1) + get(a, r, c + 1);
+        }
+
+        /**
+         * q = Lp for the active pixels, with p = 0 outside the active pixels.
+         */
+        void applyLaplacian(final double[] p, final double[] q) {
+            for (int r = 0; r < h; ++r) {
+                for (int c = 0; c < w; ++c) {
+                    final int i = r * w + c;
+                    q[i] = active[i] ? (neighbourSum(p, r, c) - 4 * p[i]) / h2 : 0.0;
+                }
+            }
+        }
+
+        /**
+         * Red-black Gauss-Seidel sweep, black-red if reversed so that the V-cycle is symmetric.
+         */
+        void smooth(final boolean reverse) {
+            for (int n = 0; n < 2; ++n) {
+                final int colour = reverse ? 1 - n : n;
+                for (int r = 0; r < h; ++r) {
+                    for (int c = (r + colour) & 1; c < w; c += 2) {
+                        final int i = r * w + c;
+                        if (active[i]) {
+                            e[i] = (neighbourSum(e, r, c) - h2 * rhs[i]) / 4.0;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Compute the residual and restrict it to the coarse grid by full weighting.
+         */
+        void restrictResidual(final Level coarse) {
+            for (int r = 0; r < h; ++r) {
+                for (int c = 0; c < w; ++c) {
+                    final int i = r * w + c;
+                    res[i] = active[i] ? rhs[i] - (neighbourSum(e, r, c) - 4 * e[i]) / h2 : 0.0;
+                }
+            }
+            for (int r = 0; r < coarse.h; ++r) {
+                for (int c = 0; c < coarse.w; ++c) {
+                    final int i = r * coarse.w + c;
+                    if (coarse.active[i]) {
+                        final int fr = 2 * r;
+                        final int fc = 2 * c;
+                        coarse.rhs[i] = 0.25 * get(res, fr, fc)
+                                + 0.125 * (get(res, fr - 1, fc) + get(res, fr + 1, fc)
+                                + get(res, fr, fc - 1) + get(res, fr, fc + 1))
+                                + 0.0625 * (get(res, fr - 1, fc - 1) + get(res, fr - 1, fc + 1)
+                                + get(res, fr + 1, fc - 1) + get(res, fr + 1, fc + 1));
+                    } else {
+                        coarse.rhs[i] = 0.0;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Add the bilinearly interpolated coarse correction to the active pixels.
+         */
+        void addProlongedCorrection(final Level coarse) {
+            for (int r = 0; r < h; ++r) {
+                final int cr0 = r / 2;
+                final int cr1 = (r + 1) / 2;
+                for (int c = 0; c < w; ++c) {
+                    final int i = r * w + c;
+                    if (active[i]) {
+                        final int cc0 = c / 2;
+                        final int cc1 = (c + 1) / 2;
+                        e[i] += 0.25 * (coarse.get(coarse.e, cr0, cc0) + coarse.get(coarse.e, cr0, cc1)
+                                + coarse.get(coarse.e, cr1, cc0) + coarse.get(coarse.e, cr1, cc1));
+                    }
+                }
+            }
+        }
+    }
+}
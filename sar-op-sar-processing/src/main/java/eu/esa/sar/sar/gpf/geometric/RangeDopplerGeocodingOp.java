@@ -22,13 +22,13 @@ import eu.esa.sar.calibration.gpf.calibrators.Sentinel1Calibrator;
 import eu.esa.sar.calibration.gpf.support.CalibrationFactory;
 import eu.esa.sar.calibration.gpf.support.Calibrator;
 import eu.esa.sar.commons.CRSGeoCodingHandler;
+import eu.esa.sar.commons.DEMPatchCache;
 import eu.esa.sar.commons.OrbitStateVectors;
 import eu.esa.sar.commons.SARGeocoding;
 import eu.esa.sar.commons.SARUtils;
 import eu.esa.sar.insar.gpf.support.SARPosition;
 import org.esa.snap.core.datamodel.*;
 import org.esa.snap.core.dataop.dem.ElevationModel;
-import org.esa.snap.core.dataop.downloadable.StatusProgressMonitor;
 import org.esa.snap.core.dataop.resamp.Resampling;
 import org.esa.snap.core.dataop.resamp.ResamplingFactory;
 import org.esa.snap.core.gpf.Operator;
@@ -52,12 +52,12 @@ import org.esa.snap.engine_utilities.datamodel.PosVector;
 import org.esa.snap.engine_utilities.datamodel.Unit;
 import org.esa.snap.engine_utilities.eo.Constants;
 import org.esa.snap.engine_utilities.eo.GeoUtils;
-import org.esa.snap.engine_utilities.eo.LocalGeometry;
 import org.esa.snap.engine_utilities.gpf.*;
 import org.opengis.referencing.crs.CoordinateReferenceSystem;
 
 import java.awt.*;
 import java.io.File;
+import java.io.IOException;
 import java.util.*;
 import java.util.List;
 import java.util.logging.Logger;
@@ -218,6 +218,18 @@ public class RangeDopplerGeocodingOp extends Operator {
     @Parameter(description = "The antenne elevation pattern gain auxiliary data file.", label = "External Aux File")
     private File externalAuxFile = null;
 
+    @Parameter(description = "Compute the exact range-Doppler position on a coarse grid and interpolate in between",
+            defaultValue = "false", label = "Use sparse geocoding grid")
+    private boolean useSparseGeocodingGrid = false;
+
+    @Parameter(description = "The spacing in pixels of the sparse geocoding grid", interval = "[2, 256]",
+            defaultValue = "16", label = "Sparse grid spacing")
+    private int sparseGridSpacing = 16;
+
+    @Parameter(description = "The maximum interpolation error in source pixels before a grid cell is subdivided",
+            interval = "(0, *)", defaultValue = "0.1", label = "Sparse grid tolerance (pixels)")
+    private double sparseGridTolerance = 0.1;
+
     private MetadataElement absRoot = null;
     private ElevationModel dem = null;
     private Band elevationBand = null;
@@ -268,7 +280,8 @@ public class RangeDopplerGeocodingOp extends Operator {
     private boolean skipBistaticCorrection = false;
 
     private boolean isLayoverShadowMaskAvailable = false;
-    private byte[][] layoverShadowMask = null;
+    private LayoverShadowMaskStore layoverShadowMask = null;
+    private static final int LAYOVER_SHADOW_BLOCK_HEIGHT = 512;
 
     public static final String externalDEMStr = "External DEM";
     private static final String PRODUCT_SUFFIX = "_TC";
@@ -366,6 +379,14 @@ public class RangeDopplerGeocodingOp extends Operator {
         if (dem != null) {
             dem.dispose();
         }
+        if (layoverShadowMask != null) {
+            try {
+                layoverShadowMask.close();
+            } catch (IOException e) {
+                SystemUtils.LOG.warning("Unable to save layover/shadow mask: " + e.getMessage());
+            }
+            layoverShadowMask = null;
+        }
 
         if (!orthoDataProduced && processingStarted) {
             final String errMsg = getId() + " error: no valid output was produced. Please verify the DEM";
@@ -884,7 +905,7 @@ public class RangeDopplerGeocodingOp extends Operator {
             if (useAvgSceneHeight) {
                 DEMFactory.fillDEM(localDEM, avgSceneHeight);
             } else {
-                final boolean valid = DEMFactory.getLocalDEM(
+                final boolean valid = DEMPatchCache.instance().getLocalDEM(
                         dem, demNoDataValue, demResamplingMethod, tileGeoRef, x0, y0, w, h, sourceProduct,
                         nodataValueAtSea, localDEM);
                 if (!valid && nodataValueAtSea) {
@@ -989,15 +1010,48 @@ public class RangeDopplerGeocodingOp extends Operator {
             final GeoPos posLast = targetProduct.getSceneGeoCoding().getGeoPos(new PixelPos(0,targetImageHeight), null);
             int diffLat = (int)Math.abs(posFirst.lat - posLast.lat);
 
+            final SparseGeocodingGrid sparseGrid = useSparseGeocodingGrid ?
+                    computeSparseGeocodingGrid(x0, y0, w, h, tileGeoRef, localDEM, egm) : null;
+
+            // per tile scratch state, nothing below is allocated per pixel
+            final float[] demData = demBuffer != null ? (float[]) demBuffer.getElems() : null;
+            final float[] latData = latBuffer != null ? (float[]) latBuffer.getElems() : null;
+            final float[] lonData = lonBuffer != null ? (float[]) lonBuffer.getElems() : null;
+            final float[] localIncidenceAngleData = localIncidenceAngleBuffer != null ?
+                    (float[]) localIncidenceAngleBuffer.getElems() : null;
+            final float[] projectedLocalIncidenceAngleData = projectedLocalIncidenceAngleBuffer != null ?
+                    (float[]) projectedLocalIncidenceAngleBuffer.getElems() : null;
+            final float[] incidenceAngleFromEllipsoidData = incidenceAngleFromEllipsoidBuffer != null ?
+                    (float[]) incidenceAngleFromEllipsoidBuffer.getElems() : null;
+            final byte[] layoverShadowMaskData = layoverShadowMaskBuffer != null ?
+                    (byte[]) layoverShadowMaskBuffer.getElems() : null;
+            final double[] localIncidenceAngles = new double[2];
+            final SARGeocoding.LocalGeometryScratch localGeometryScratch = new SARGeocoding.LocalGeometryScratch();
+            final boolean computeLocalIncidenceAngles =
+                    saveLocalIncidenceAngle || saveProjectedLocalIncidenceAngle || saveSigmaNought;
+
+            final PosVector[] rowEarthPoints = new PosVector[w]; // null where the pixel has no position
+            final PosVector[] earthPoints = new PosVector[w];
+            for (int i = 0; i < w; i++) {
+                earthPoints[i] = new PosVector();
+            }
+            final double[] rowLat = new double[w];
+            final double[] rowLon = new double[w];
+            final double[] rowAlt = new double[w];
+            final double[] zeroDopplerTimes = new double[w];
+
             for (int y = y0; y < maxY; y++) {
                 final int yy = y - y0 + 1;
+
+                // geolocate the row first, so that its zero Doppler times are solved in one call
                 for (int x = x0; x < maxX; x++) {
-                    final int index = tgtTiles[0].targetTile.getDataBufferIndex(x, y);
+                    final int i = x - x0;
 
-                    Double alt = localDEM[yy][x - x0 + 1];
-                    if (alt.equals(demNoDataValue) && !useAvgSceneHeight) {
+                    double alt = localDEM[yy][i + 1];
+                    final boolean noElevation = Double.compare(alt, demNoDataValue) == 0;
+                    if (noElevation && !useAvgSceneHeight) {
                         if (nodataValueAtSea) {
-                            saveNoDataValueToTarget(index, tgtTiles, demBuffer);
+                            rowEarthPoints[i] = null;
                             continue;
                         }
                     }
@@ -1009,58 +1063,86 @@ public class RangeDopplerGeocodingOp extends Operator {
                         lon -= 360.0;
                     }
 
-                    if (alt.equals(demNoDataValue) && !nodataValueAtSea) { // get corrected elevation for 0
-                        alt = (double) egm.getEGM(lat, lon);
+                    if (noElevation && !nodataValueAtSea) { // get corrected elevation for 0
+                        alt = egm.getEGM(lat, lon);
+                    }
+
+                    rowLat[i] = lat;
+                    rowLon[i] = lon;
+                    rowAlt[i] = alt;
+                    if (sparseGrid == null) {
+                        GeoUtils.geo2xyzWGS84(lat, lon, alt, earthPoints[i]);
                     }
+                    rowEarthPoints[i] = earthPoints[i];
+                }
+
+                if (sparseGrid == null) {
+                    SARGeocoding.getEarthPointZeroDopplerTimes(firstLineUTC, lineTimeInterval, wavelength,
+                            rowEarthPoints, orbit.sensorPosition, orbit.sensorVelocity, zeroDopplerTimes);
+                }
+
+                for (int x = x0; x < maxX; x++) {
+                    final int i = x - x0;
+                    final int index = tgtTiles[0].targetTile.getDataBufferIndex(x, y);
+
+                    if (rowEarthPoints[i] == null) {
+                        saveNoDataValueToTarget(index, tgtTiles, demData);
+                        continue;
+                    }
+
+                    final double lat = rowLat[i];
+                    final double lon = rowLon[i];
+                    final double alt = rowAlt[i];
 
-                    if (!getPosition(lat, lon, alt, posData)) {
-                        saveNoDataValueToTarget(index, tgtTiles, demBuffer);
+                    final boolean positionFound = sparseGrid != null ?
+                            getInterpolatedPosition(lat, lon, alt, x, y, sparseGrid, posData) :
+                            getPosition(rowEarthPoints[i], zeroDopplerTimes[i], posData);
+                    if (!positionFound) {
+                        saveNoDataValueToTarget(index, tgtTiles, demData);
                         continue;
                     }
 
                     if (!SARGeocoding.isValidCell(posData.rangeIndex, posData.azimuthIndex, lat, lon, diffLat,
                             sourceProduct.getSceneGeoCoding(), srcMaxRange, srcMaxAzimuth, posData.sensorPos)) {
-                        saveNoDataValueToTarget(index, tgtTiles, demBuffer);
+                        saveNoDataValueToTarget(index, tgtTiles, demData);
                     } else {
 
-                        final double[] localIncidenceAngles = {SARGeocoding.NonValidIncidenceAngle,
-                                SARGeocoding.NonValidIncidenceAngle};
+                        localIncidenceAngles[0] = SARGeocoding.NonValidIncidenceAngle;
+                        localIncidenceAngles[1] = SARGeocoding.NonValidIncidenceAngle;
 
-                        if (saveLocalIncidenceAngle || saveProjectedLocalIncidenceAngle || saveSigmaNought) {
-
-                            final LocalGeometry localGeometry = new LocalGeometry(
-                                    x, y, tileGeoRef, posData.earthPoint, posData.sensorPos);
+                        if (computeLocalIncidenceAngles) {
 
                             SARGeocoding.computeLocalIncidenceAngle(
-                                    localGeometry, demNoDataValue, saveLocalIncidenceAngle, saveProjectedLocalIncidenceAngle,
-                                    saveSigmaNought, x0, y0, x, y, localDEM, localIncidenceAngles); // in degrees
+                                    x0, y0, x, y, tileGeoRef, posData.earthPoint, posData.sensorPos, demNoDataValue,
+                                    saveLocalIncidenceAngle, saveProjectedLocalIncidenceAngle, saveSigmaNought,
+                                    localDEM, localIncidenceAngles, localGeometryScratch); // in degrees
 
                             if (saveLocalIncidenceAngle && localIncidenceAngles[0] != SARGeocoding.NonValidIncidenceAngle) {
-                                localIncidenceAngleBuffer.setElemDoubleAt(index, localIncidenceAngles[0]);
+                                localIncidenceAngleData[index] = (float) localIncidenceAngles[0];
                             }
 
                             if (saveProjectedLocalIncidenceAngle &&
                                     localIncidenceAngles[1] != SARGeocoding.NonValidIncidenceAngle) {
-                                projectedLocalIncidenceAngleBuffer.setElemDoubleAt(index, localIncidenceAngles[1]);
+                                projectedLocalIncidenceAngleData[index] = (float) localIncidenceAngles[1];
                             }
                         }
 
                         if (saveDEM) {
-                            demBuffer.setElemDoubleAt(index, alt);
+                            demData[index] = (float) alt;
                         }
                         if (saveLatLon) {
-                            latBuffer.setElemDoubleAt(index, lat);
-                            lonBuffer.setElemDoubleAt(index, lon);
+                            latData[index] = (float) lat;
+                            lonData[index] = (float) lon;
                         }
 
                         if (saveIncidenceAngleFromEllipsoid && incidenceAngle != null) {
-                            incidenceAngleFromEllipsoidBuffer.setElemDoubleAt(
-                                    index, incidenceAngle.getPixelDouble(posData.rangeIndex, posData.azimuthIndex));
+                            incidenceAngleFromEllipsoidData[index] =
+                                    (float) incidenceAngle.getPixelDouble(posData.rangeIndex, posData.azimuthIndex);
                         }
 
                         if (saveLayoverShadowMask) {
-                            layoverShadowMaskBuffer.setElemIntAt(index,
-                                    layoverShadowMask[(int)(posData.azimuthIndex + 0.5)][(int)(posData.rangeIndex + 0.5)]);
+                            layoverShadowMaskData[index] = layoverShadowMask.get(
+                                    (int)(posData.rangeIndex + 0.5), (int)(posData.azimuthIndex + 0.5));
                         }
 
                         double satelliteHeight = 0;
@@ -1074,7 +1156,8 @@ public class RangeDopplerGeocodingOp extends Operator {
                         }
 
                         for (TileData tileData : tgtTiles) {
-                            int[] subSwathIndex = {INVALID_SUB_SWATH_INDEX};
+                            final int[] subSwathIndex = tileData.subSwathIndex;
+                            subSwathIndex[0] = INVALID_SUB_SWATH_INDEX;
                             double v = getPixelValue(posData.azimuthIndex, posData.rangeIndex, tileData, subSwathIndex);
 
                             if (v != tileData.noDataValue && tileData.applyRadiometricNormalization) {
@@ -1086,12 +1169,12 @@ public class RangeDopplerGeocodingOp extends Operator {
                                     // use projected incidence angle
                                 } else {
                                     //v = tileData.noDataValue;
-                                    saveNoDataValueToTarget(index, tgtTiles, demBuffer);
+                                    saveNoDataValueToTarget(index, tgtTiles, demData);
                                     continue;
                                 }
                             }
 
-                            tileData.tileDataBuffer.setElemDoubleAt(index, v);
+                            tileData.setValue(index, v);
                         }
                         orthoDataProduced = true;
                     }
@@ -1105,20 +1188,57 @@ public class RangeDopplerGeocodingOp extends Operator {
         }
     }
 
-    private synchronized void createLayoverShadowMask() {
+    /**
+     * Open the scene layover/shadow mask. The mask is computed lazily per azimuth block as tiles read it and
+     * is reused from the cache folder if it was computed by a previous run for the same product, DEM and orbit.
+     */
+    private synchronized void createLayoverShadowMask() throws IOException {
 
         if (isLayoverShadowMaskAvailable) return;
 
-        final Dimension tileSize = new Dimension(sourceImageWidth, 10);
-        final Rectangle[] tileRectangles = OperatorUtils.getAllTileRectangles(sourceProduct, tileSize, 0);
-        final StatusProgressMonitor status = new StatusProgressMonitor(StatusProgressMonitor.TYPE.SUBTASK);
-        status.beginTask("Creating Layover/Shadow Mask... ", tileRectangles.length);
-        final ThreadExecutor executor = new ThreadExecutor();
+        layoverShadowMask = new LayoverShadowMaskStore(
+                new File(SystemUtils.getCacheDir(), "layover_shadow"), getLayoverShadowMaskKey(),
+                sourceImageWidth, sourceImageHeight, LAYOVER_SHADOW_BLOCK_HEIGHT, this::computeLayoverShadowMask);
+
+        isLayoverShadowMaskAvailable = true;
+    }
+
+    /**
+     * The layover/shadow mask depends on the source product geometry, the DEM and the orbit.
+     */
+    private String getLayoverShadowMaskKey() {
+
+        final StringBuilder key = new StringBuilder();
+        key.append(sourceProduct.getName()).append('|').append(sourceImageWidth).append('x').append(sourceImageHeight)
+                .append('|').append(firstLineUTC).append('|').append(lineTimeInterval)
+                .append('|').append(nearEdgeSlantRange).append('|').append(rangeSpacing).append('|').append(srgrFlag)
+                .append('|').append(demName).append('|').append(demResamplingMethod).append('|').append(demNoDataValue);
+        if (externalDEMFile != null) {
+            key.append('|').append(externalDEMFile.getAbsolutePath()).append('|').append(externalDEMFile.lastModified())
+                    .append('|').append(externalDEMApplyEGM);
+        }
+        for (OrbitStateVector osv : orbitStateVectors) {
+            key.append('|').append(osv.time_mjd).append(',').append(osv.x_pos).append(',').append(osv.y_pos)
+                    .append(',').append(osv.z_pos);
+        }
+        return key.toString();
+    }
 
-        layoverShadowMask = new byte[sourceImageHeight][sourceImageWidth];
+    /**
+     * Compute the layover/shadow mask for an azimuth block of the source image.
+     *
+     * @param blockY0 The first row of the block.
+     * @param blockH  The block height.
+     */
+    private void computeLayoverShadowMask(final int blockY0, final int blockH) {
+
+        final int stripHeight = 10;
+        final ThreadExecutor executor = new ThreadExecutor();
 
         try {
-            for (final Rectangle rectangle : tileRectangles) {
+            for (int stripY0 = blockY0; stripY0 < blockY0 + blockH; stripY0 += stripHeight) {
+                final Rectangle rectangle = new Rectangle(0, stripY0, sourceImageWidth,
+                        Math.min(stripHeight, blockY0 + blockH - stripY0));
                 final ThreadRunnable worker = new ThreadRunnable() {
 
                     @Override
@@ -1133,7 +1253,7 @@ public class RangeDopplerGeocodingOp extends Operator {
                         final double[][] localDEM = new double[h + 2][w + 2];
                         final TileGeoreferencing tileGeoRef = new TileGeoreferencing(sourceProduct, x0, y0, w, h);
                         try {
-                            final boolean valid = DEMFactory.getLocalDEM(dem, demNoDataValue, demResamplingMethod,
+                            final boolean valid = DEMPatchCache.instance().getLocalDEM(dem, demNoDataValue, demResamplingMethod,
                                     tileGeoRef, x0, y0, w, h, sourceProduct, true, localDEM);
 
                             if (!valid) {
@@ -1211,18 +1331,12 @@ public class RangeDopplerGeocodingOp extends Operator {
                     }
                 };
                 executor.execute(worker);
-                status.worked(1);
-
             }
             executor.complete();
 
         } catch (Throwable e) {
             OperatorUtils.catchOperatorException(getId(), e);
-        } finally {
-            status.done();
         }
-
-        isLayoverShadowMaskAvailable = true;
     }
 
     private static float computeElevationAngle(
@@ -1334,23 +1448,17 @@ public class RangeDopplerGeocodingOp extends Operator {
         for (int y = yMin; y <= yMax; ++y) {
             for (int x = xMin; x <= xMax; ++x) {
 
-                synchronized (layoverShadowMask) {
-                    if (layoverShadowMask[y][x] == 0) {
-                        layoverShadowMask[y][x] = value;
-                    } else if (layoverShadowMask[y][x] == 1 && value == 2){
-                        layoverShadowMask[y][x] += value;
-                    }
-                }
+                layoverShadowMask.merge(x, y, value);
             }
         }
     }
 
-    private void saveNoDataValueToTarget(final int index, final TileData[] tgtTiles, final ProductData demBuffer) {
+    private void saveNoDataValueToTarget(final int index, final TileData[] tgtTiles, final float[] demData) {
         if (saveDEM) {
-            demBuffer.setElemDoubleAt(index, demNoDataValue);
+            demData[index] = (float) demNoDataValue;
         }
         for (TileData tileData : tgtTiles) {
-            tileData.tileDataBuffer.setElemDoubleAt(index, tileData.noDataValue);
+            tileData.setValue(index, tileData.noDataValue);
         }
     }
 
@@ -1488,12 +1596,34 @@ public class RangeDopplerGeocodingOp extends Operator {
 
         GeoUtils.geo2xyzWGS84(lat, lon, alt, data.earthPoint);
 
-        double zeroDopplerTime = SARGeocoding.getEarthPointZeroDopplerTime(firstLineUTC,
-                                                                           lineTimeInterval, wavelength, data.earthPoint, orbit.sensorPosition, orbit.sensorVelocity);
+        final double zeroDopplerTime = SARGeocoding.getEarthPointZeroDopplerTime(firstLineUTC,
+                                                                           lineTimeInterval, wavelength, data.earthPoint, orbit.sensorPosition, orbit.sensorVelocity,
+                                                                           data.zeroDopplerTime);
 
         if (Double.compare(zeroDopplerTime, SARGeocoding.NonValidZeroDopplerTime) == 0) {
             return false;
         }
+        data.zeroDopplerTime = zeroDopplerTime;
+
+        return computeRangeAzimuthIndex(zeroDopplerTime, data);
+    }
+
+    /**
+     * Get the position of a target pixel whose zero Doppler time has already been solved.
+     */
+    private boolean getPosition(final PosVector earthPoint, final double zeroDopplerTime, final PositionData data) {
+
+        if (Double.compare(zeroDopplerTime, SARGeocoding.NonValidZeroDopplerTime) == 0) {
+            return false;
+        }
+
+        data.earthPoint.x = earthPoint.x;
+        data.earthPoint.y = earthPoint.y;
+        data.earthPoint.z = earthPoint.z;
+        return computeRangeAzimuthIndex(zeroDopplerTime, data);
+    }
+
+    private boolean computeRangeAzimuthIndex(double zeroDopplerTime, final PositionData data) {
 
         data.slantRange = SARGeocoding.computeSlantRangeFast(orbit, firstLineUTC, lineTimeInterval,
                 zeroDopplerTime, data.earthPoint, data.sensorPos);
@@ -1519,6 +1649,72 @@ public class RangeDopplerGeocodingOp extends Operator {
         return true;
     }
 
+    /**
+     * Run the exact range-Doppler inversion on a sparse grid over the tile, refined where the interpolation
+     * error exceeds the tolerance.
+     */
+    private SparseGeocodingGrid computeSparseGeocodingGrid(final int x0, final int y0, final int w, final int h,
+                                                           final TileGeoreferencing tileGeoRef,
+                                                           final double[][] localDEM,
+                                                           final EarthGravitationalModel96 egm) {
+
+        final SparseGeocodingGrid sparseGrid = new SparseGeocodingGrid(
+                x0, y0, w, h, sparseGridSpacing, sparseGridTolerance);
+        final GeoPos geoPos = new GeoPos();
+        final PositionData posData = new PositionData();
+
+        sparseGrid.compute((x, y, rangeAzimuth) -> {
+            double alt = localDEM[y - y0 + 1][x - x0 + 1];
+            final boolean noElevation = Double.compare(alt, demNoDataValue) == 0;
+            if (noElevation && !useAvgSceneHeight && nodataValueAtSea) {
+                return false;
+            }
+
+            tileGeoRef.getGeoPos(x, y, geoPos);
+            final double lat = geoPos.lat;
+            double lon = geoPos.lon;
+            if (lon >= 180.0) {
+                lon -= 360.0;
+            }
+
+            if (noElevation && !nodataValueAtSea) {
+                alt = egm.getEGM(lat, lon);
+            }
+
+            if (!getPosition(lat, lon, alt, posData)) {
+                return false;
+            }
+            rangeAzimuth[0] = posData.rangeIndex;
+            rangeAzimuth[1] = posData.azimuthIndex;
+            return true;
+        });
+
+        return sparseGrid;
+    }
+
+    /**
+     * Get the position of a target pixel from the interpolated range and azimuth indices of the sparse grid.
+     * Only the sensor position and slant range are evaluated, from the precomputed per-line orbit.
+     */
+    private boolean getInterpolatedPosition(final double lat, final double lon, final double alt,
+                                            final int x, final int y, final SparseGeocodingGrid sparseGrid,
+                                            final PositionData data) {
+
+        if (!sparseGrid.isValid(x, y)) {
+            return false;
+        }
+
+        GeoUtils.geo2xyzWGS84(lat, lon, alt, data.earthPoint);
+
+        data.azimuthIndex = sparseGrid.getAzimuthIndex(x, y);
+        data.rangeIndex = sparseGrid.getRangeIndex(x, y);
+
+        final double zeroDopplerTime = firstLineUTC + data.azimuthIndex * lineTimeInterval;
+        data.slantRange = SARGeocoding.computeSlantRangeFast(orbit, firstLineUTC, lineTimeInterval,
+                zeroDopplerTime, data.earthPoint, data.sensorPos);
+        return true;
+    }
+
     /**
      * Get unit for the source band corresponding to the given target band.
      *
@@ -1625,6 +1821,8 @@ public class RangeDopplerGeocodingOp extends Operator {
         final Resampling.Index imgResamplingIndex;
         final Tile sourceTileI;
         final Tile sourceTileQ;
+        final float[] floatDataBuffer;
+        final int[] subSwathIndex = {INVALID_SUB_SWATH_INDEX};
 
         TileData(final Tile tile, final Band[] srcBands, final boolean isPolsar, final boolean outputComplex,
                  final String name, final Unit.UnitType unit, final MetadataElement absRoot, final Calibrator calibrator,
@@ -1646,6 +1844,16 @@ public class RangeDopplerGeocodingOp extends Operator {
             imgResamplingIndex = imgResampling.createIndex();
             this.sourceTileI = sourceTileI;
             this.sourceTileQ = sourceTileQ;
+            this.floatDataBuffer = tileDataBuffer.getType() == ProductData.TYPE_FLOAT32 ?
+                    (float[]) tileDataBuffer.getElems() : null;
+        }
+
+        void setValue(final int index, final double v) {
+            if (floatDataBuffer != null) {
+                floatDataBuffer[index] = (float) v;
+            } else {
+                tileDataBuffer.setElemDoubleAt(index, v);
+            }
         }
     }
 
@@ -1830,6 +2038,7 @@ public class RangeDopplerGeocodingOp extends Operator {
         double azimuthIndex;
         double rangeIndex;
         double slantRange;
+        double zeroDopplerTime = SARGeocoding.NonValidZeroDopplerTime; // seed for the next zero Doppler search
     }
 
     /**
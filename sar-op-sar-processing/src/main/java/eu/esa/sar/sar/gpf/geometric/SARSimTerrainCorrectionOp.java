@@ -24,6 +24,7 @@ import eu.esa.sar.commons.OrbitStateVectors;
 import eu.esa.sar.insar.gpf.coregistration.GCPManager;
 import eu.esa.sar.insar.gpf.coregistration.WarpData;
 import eu.esa.sar.commons.CRSGeoCodingHandler;
+import eu.esa.sar.commons.DEMPatchCache;
 import eu.esa.sar.commons.SARGeocoding;
 import eu.esa.sar.commons.SARUtils;
 import org.esa.snap.core.datamodel.*;
@@ -961,7 +962,7 @@ public class SARSimTerrainCorrectionOp extends Operator {
             if (useAvgSceneHeight) {
                 DEMFactory.fillDEM(localDEM, avgSceneHeight);
             } else {
-                final boolean valid = DEMFactory.getLocalDEM(
+                final boolean valid = DEMPatchCache.instance().getLocalDEM(
                         dem, demNoDataValue, demResamplingMethod, tileGeoRef, x0, y0, w, h, sourceProduct, true, localDEM);
                 if (!valid) {
                     return;
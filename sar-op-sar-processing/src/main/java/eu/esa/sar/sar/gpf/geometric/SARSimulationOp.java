@@ -17,6 +17,7 @@ package eu.esa.sar.sar.gpf.geometric;
 
 import com.bc.ceres.core.ProgressMonitor;
 import org.apache.commons.math3.util.FastMath;
+import eu.esa.sar.commons.DEMPatchCache;
 import eu.esa.sar.commons.OrbitStateVectors;
 import eu.esa.sar.commons.SARGeocoding;
 import eu.esa.sar.insar.gpf.support.SARPosition;
@@ -775,7 +776,7 @@ public final class SARSimulationOp extends Operator {
                     }
                 } else {
 
-                    final boolean valid = DEMFactory.getLocalDEM(
+                    final boolean valid = DEMPatchCache.instance().getLocalDEM(
                             dem, demNoDataValue, demResamplingMethod, tileGeoRef, xmin, ymin, widthExt, heightExt,
                             sourceProduct, true, localDEM);
 
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.sar.gpf.geometric;
+
+/**
+ * Range and azimuth indices of the pixels of a target tile, computed with the exact range-Doppler inversion
+ * on a coarse grid only. A grid cell is filled by bilinear interpolation of its corners when the interpolated
+ * indices at the cell centre and edge midpoints agree with the exact inversion within the tolerance. Otherwise
+ * the cell is subdivided until it is either accepted or small enough to be solved exactly for every pixel.
+ */
+final class SparseGeocodingGrid {
+
+    /**
+     * Exact range-Doppler inversion for a target pixel.
+     */
+    interface PositionFunction {
+        /**
+         * @param x            The target pixel x.
+         * @param y            The target pixel y.
+         * @param rangeAzimuth The range index and azimuth index to be filled.
+         * @return true if the pixel has a valid position in the source image.
+         */
+        boolean compute(int x, int y, double[] rangeAzimuth);
+    }
+
+    private static final byte UNKNOWN = 0;
+    private static final byte EXACT = 1;
+    private static final byte INTERPOLATED = 2;
+    private static final byte INVALID = 3;
+
+    private final int x0, y0, w, h;
+    private final int spacing;
+    private final double tolerance;
+    private final double[] rangeIndex;
+    private final double[] azimuthIndex;
+    private final byte[] state;
+    private final double[] rangeAzimuth = new double[2];
+
+    private PositionFunction function;
+    private int numExact = 0;
+
+    SparseGeocodingGrid(final int x0, final int y0, final int w, final int h,
+                        final int spacing, final double tolerance) {
+        this.x0 = x0;
+        this.y0 = y0;
+        this.w = w;
+        this.h = h;
+        this.spacing = Math.max(spacing, 2);
+        this.tolerance = tolerance;
+        this.rangeIndex = new double[w * h];
+        this.azimuthIndex = new double[w * h];
+        this.state = new byte[w * h];
+    }
+
+    /**
+     * Compute the range and azimuth indices for all pixels of the tile.
+     *
+     * @param function The exact range-Doppler inversion.
+     */
+    void compute(final PositionFunction function) {
+        this.function = function;
+        try {
+            if (w < 3 || h < 3) {
+                computeExact(0, 0, w - 1, h - 1);
+                return;
+            }
+
+            for (int ya = 0; ya < h - 1; ya += spacing) {
+                final int yb = Math.min(ya + spacing, h - 1);
+                for (int xa = 0; xa < w - 1; xa += spacing) {
+                    final int xb = Math.min(xa + spacing, w - 1);
+                    refine(xa, ya, xb, yb);
+                }
+            }
+        } finally {
+            this.function = null;
+        }
+    }
+
+    boolean isValid(final int x, final int y) {
+        final byte s = state[(y - y0) * w + (x - x0)];
+        return s == EXACT || s == INTERPOLATED;
+    }
+
+    double getRangeIndex(final int x, final int y) {
+        return rangeIndex[(y - y0) * w + (x - x0)];
+    }
+
+    double getAzimuthIndex(final int x, final int y) {
+        return azimuthIndex[(y - y0) * w + (x - x0)];
+    }
+
+    /**
+     * @return the number of pixels solved with the exact inversion.
+     */
+    int getNumExact() {
+        return numExact;
+    }
+
+    private void refine(final int xa, final int ya, final int xb, final int yb) {
+
+        final boolean valid = solve(xa, ya) & solve(xb, ya) & solve(xa, yb) & solve(xb, yb);
+        if (!valid || xb - xa < 2 || yb - ya < 2) {
+            computeExact(xa, ya, xb, yb);
+            return;
+        }
+
+        final int xm = (xa + xb) / 2;
+        final int ym = (ya + yb) / 2;
+        if (isWithinTolerance(xa, ya, xb, yb, xm, ym) && isWithinTolerance(xa, ya, xb, yb, xm, ya) &&
+                isWithinTolerance(xa, ya, xb, yb, xm, yb) && isWithinTolerance(xa, ya, xb, yb, xa, ym) &&
+                isWithinTolerance(xa, ya, xb, yb, xb, ym)) {
+            fill(xa, ya, xb, yb);
+            return;
+        }
+
+        refine(xa, ya, xm, ym);
+        refine(xm, ya, xb, ym);
+        refine(xa, ym, xm, yb);
+        refine(xm, ym, xb, yb);
+    }
+
+    /**
+     * Compare the exact inversion at a check point with the bilinear interpolation of the cell corners.
+     */
+    private boolean isWithinTolerance(final int xa, final int ya, final int xb, final int yb,
+                                      final int x, final int y) {
+        if (!solve(x, y)) {
+            return false;
+        }
+        final int i = y * w + x;
+        return Math.abs(interpolate(rangeIndex, xa, ya, xb, yb, x, y) - rangeIndex[i]) <= tolerance &&
+                Math.abs(interpolate(azimuthIndex, xa, ya, xb, yb, x, y) - azimuthIndex[i]) <= tolerance;
+    }
+
+    private boolean solve(final int x, final int y) {
+        final int i = y * w + x;
+        if (state[i] == UNKNOWN || state[i] == INTERPOLATED) {
+            ++numExact;
+            if (function.compute(x0 + x, y0 + y, rangeAzimuth)) {
+                rangeIndex[i] = rangeAzimuth[0];
+                azimuthIndex[i] = rangeAzimuth[1];
+                state[i] = EXACT;
+            } else {
+                state[i] = INVALID;
+            }
+        }
+        return state[i] == EXACT;
+    }
+
+    private void computeExact(final int xa, final int ya, final int xb, final int yb) {
+        for (int y = ya; y <= yb; ++y) {
+            for (int x = xa; x <= xb; ++x) {
+                solve(x, y);
+            }
+        }
+    }
+
+    private void fill(final int xa, final int ya, final int xb, final int yb) {
+        for (int y = ya; y <= yb; ++y) {
+            for (int x = xa; x <= xb; ++x) {
+                final int i = y * w + x;
+                if (state[i] == UNKNOWN) {
+                    rangeIndex[i] = interpolate(rangeIndex, xa, ya, xb, yb, x, y);
+                    azimuthIndex[i] = interpolate(azimuthIndex, xa, ya, xb, yb, x, y);
+                    state[i] = INTERPOLATED;
+                }
+            }
+        }
+    }
+
+    private double interpolate(final double[] values, final int xa, final int ya, final int xb, final int yb,
+                               final int x, final int y) {
+        final double mu = (double) (x - xa) / (xb - xa);
+        final double nu = (double) (y - ya) / (yb - ya);
+        final double top = values[ya * w + xa] + mu * (values[ya * w + xb] - values[ya * w + xa]);
+        final double bottom = values[yb * w + xa] + mu * (values[yb * w + xb] - values[yb * w + xa]);
+        return top + nu * (bottom - top);
+    }
+}
@@ -50,6 +50,7 @@ import org.esa.snap.engine_utilities.util.Maths;
 
 import java.awt.*;
 import java.io.File;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
@@ -120,6 +121,14 @@ public final class TerrainFlatteningOp extends Operator {
             defaultValue = "1.0")
     private Double oversamplingMultiple = 1.0;
 
+    @Parameter(description = "Simulate the illuminated area once per simulation block of the scene into a disk backed raster",
+            defaultValue = "false", label = "Scene Level Simulation")
+    private Boolean sceneLevelSimulation = false;
+
+    @Parameter(description = "The simulation block size in pixels for scene level simulation", interval = "[256, 8192]",
+            defaultValue = "2048", label = "Simulation Block Size")
+    private Integer simulationBlockSize = 2048;
+
     private Product newSourceProduct = null;
     private ElevationModel dem = null;
     private FileElevationModel fileElevationModel = null;
@@ -158,6 +167,10 @@ public final class TerrainFlatteningOp extends Operator {
     private double threshold = 0.05;
     private boolean invalidSource = false;
 
+    private IlluminationAreaRaster illuminationAreaRaster = null;
+    private boolean[] simulatedBlocks = null;
+    private Object[] blockLocks = null;
+
     private static final String PRODUCT_SUFFIX = "_RTC";
 
     enum UnitType {AMPLITUDE, INTENSITY, COMPLEX, RATIO}
@@ -221,6 +234,12 @@ public final class TerrainFlatteningOp extends Operator {
             if(oversamplingMultiple == null) {
                 oversamplingMultiple = 1.0;
             }
+            if(sceneLevelSimulation == null) {
+                sceneLevelSimulation = false;
+            }
+            if(simulationBlockSize == null) {
+                simulationBlockSize = 2048;
+            }
 
             getMetadata();
 
@@ -256,6 +275,14 @@ public final class TerrainFlatteningOp extends Operator {
         if (fileElevationModel != null) {
             fileElevationModel.dispose();
         }
+        if (illuminationAreaRaster != null) {
+            try {
+                illuminationAreaRaster.close();
+            } catch (IOException e) {
+                SystemUtils.LOG.warning("Unable to delete illumination area scratch file: " + e.getMessage());
+            }
+            illuminationAreaRaster = null;
+        }
     }
 
     /**
@@ -492,19 +519,23 @@ public final class TerrainFlatteningOp extends Operator {
             final int h = targetRectangle.height;
             //System.out.println("x0 = " + x0 + ", y0 = " + y0 + ", w = " + w + ", h = " + h);
 
-            final OverlapPercentage tileOverlapPercentage = computeTileOverlapPercentage(x0, y0, w, h, pm);
-            if(tileOverlapPercentage == null) {
-                return;
-            }
-
             final double[][] gamma0ReferenceArea = new double[h][w];
             double[][] sigma0ReferenceArea = null;
             if (outputSigma0) {
                 sigma0ReferenceArea = new double[h][w];
             }
 
-            final boolean validSimulation = generateSimulatedImage(
-                    x0, y0, w, h, tileOverlapPercentage, gamma0ReferenceArea, sigma0ReferenceArea, pm);
+            final boolean validSimulation;
+            if (sceneLevelSimulation) {
+                validSimulation = readSimulatedImage(x0, y0, w, h, gamma0ReferenceArea, sigma0ReferenceArea, pm);
+            } else {
+                final OverlapPercentage tileOverlapPercentage = computeTileOverlapPercentage(x0, y0, w, h, pm);
+                if (tileOverlapPercentage == null) {
+                    return;
+                }
+                validSimulation = generateSimulatedImage(
+                        x0, y0, w, h, tileOverlapPercentage, gamma0ReferenceArea, sigma0ReferenceArea, pm);
+            }
 
             if (!validSimulation) {
                 return;
@@ -528,6 +559,99 @@ public final class TerrainFlatteningOp extends Operator {
         }
     }
 
+    /**
+     * Read the simulated image of a tile from the scene level illumination area raster, simulating the blocks
+     * covering the tile first if they have not been simulated yet.
+     *
+     * @param x0                  X coordinate of the upper left corner pixel of given tile.
+     * @param y0                  Y coordinate of the upper left corner pixel of given tile.
+     * @param w                   Width of given tile.
+     * @param h                   Height of given tile.
+     * @param gamma0ReferenceArea The simulated image for flattened gamma0 generation.
+     * @param sigma0ReferenceArea The simulated image for flattened sigma0 generation.
+     * @return Boolean flag indicating if the simulation is successful.
+     */
+    private boolean readSimulatedImage(final int x0, final int y0, final int w, final int h,
+                                       final double[][] gamma0ReferenceArea,
+                                       final double[][] sigma0ReferenceArea,
+                                       final ProgressMonitor pm) throws Exception {
+
+        final IlluminationAreaRaster raster = getIlluminationAreaRaster();
+        final int blockSize = raster.getBlockSize();
+        for (int by = y0 / blockSize; by <= (y0 + h - 1) / blockSize; ++by) {
+            for (int bx = x0 / blockSize; bx <= (x0 + w - 1) / blockSize; ++bx) {
+                if (!simulateBlock(raster, bx, by, pm)) {
+                    return false;
+                }
+            }
+        }
+
+        raster.read(0, x0, y0, w, h, gamma0ReferenceArea);
+        if (outputSigma0) {
+            raster.read(1, x0, y0, w, h, sigma0ReferenceArea);
+        }
+        return true;
+    }
+
+    private synchronized IlluminationAreaRaster getIlluminationAreaRaster() throws IOException {
+
+        if (illuminationAreaRaster == null) {
+            final int blockSize = Math.min(simulationBlockSize, Math.max(sourceImageWidth, sourceImageHeight));
+            illuminationAreaRaster = new IlluminationAreaRaster(sourceImageWidth, sourceImageHeight, blockSize,
+                    outputSigma0 ? 2 : 1, new File(SystemUtils.getCacheDir(), "temp"));
+
+            final int numBlocks = illuminationAreaRaster.getNumBlocksX() * illuminationAreaRaster.getNumBlocksY();
+            simulatedBlocks = new boolean[numBlocks];
+            blockLocks = new Object[numBlocks];
+            for (int i = 0; i < numBlocks; ++i) {
+                blockLocks[i] = new Object();
+            }
+        }
+        return illuminationAreaRaster;
+    }
+
+    /**
+     * Simulate a block of the scene once and store it in the illumination area raster. Tiles covering the same
+     * block wait for the simulation instead of repeating it with their own overlap. A failure is not caught here,
+     * it fails the tile through computeTileStack and the block is simulated again by the next tile covering it.
+     *
+     * @return false if the simulation is canceled.
+     */
+    private boolean simulateBlock(final IlluminationAreaRaster raster, final int bx, final int by,
+                                  final ProgressMonitor pm) throws Exception {
+
+        final int b = raster.getBlockIndex(bx, by);
+        synchronized (blockLocks[b]) {
+            if (simulatedBlocks[b]) {
+                return true;
+            }
+
+            final int x0 = bx * raster.getBlockSize();
+            final int y0 = by * raster.getBlockSize();
+            final int w = raster.getBlockWidth(bx);
+            final int h = raster.getBlockHeight(by);
+
+            final OverlapPercentage blockOverlapPercentage = computeTileOverlapPercentage(x0, y0, w, h, pm);
+            if (blockOverlapPercentage == null) {
+                return false;
+            }
+
+            final double[][] gamma0ReferenceArea = new double[h][w];
+            final double[][] sigma0ReferenceArea = outputSigma0 ? new double[h][w] : null;
+            if (!generateSimulatedImage(x0, y0, w, h, blockOverlapPercentage,
+                    gamma0ReferenceArea, sigma0ReferenceArea, pm)) {
+                return false;
+            }
+
+            raster.writeBlock(bx, by, 0, gamma0ReferenceArea);
+            if (outputSigma0) {
+                raster.writeBlock(bx, by, 1, sigma0ReferenceArea);
+            }
+            simulatedBlocks[b] = true;
+            return true;
+        }
+    }
+
     /**
      * Generate simulated image for normalization.
      *
@@ -598,6 +722,9 @@ public final class TerrainFlatteningOp extends Operator {
             final int nLon = (int) (overSamplingFactor * cols);
 
             final PositionData posData = new PositionData();
+            final PosVector[] earthPoints = new PosVector[nLon];
+            final double[] elevation = new double[nLon];
+            final double[] zeroDopplerTimes = new double[nLon];
             for (int i = 1; i < nLat; i++) {
                 if (pm.isCanceled()) {
                     return false;
@@ -616,16 +743,30 @@ public final class TerrainFlatteningOp extends Operator {
                 final GeoUtils.Geo2xyzWGS84 geo2xyzWGS84 = new GeoUtils.Geo2xyzWGS84(lat);
                 final LocalGeometry localGeometry = new LocalGeometry(lat, delta);
 
+                // solve the zero Doppler times of the whole row in one call
                 for (int j = 0; j < nLon; j++) {
                     final double lon = lonMin + j * delta;
-                    final double jRatio = j * ratio;
-                    selectedResampling.computeCornerBasedIndex(jRatio, iRatio, cols, rows, resamplingIndex);
+                    selectedResampling.computeCornerBasedIndex(j * ratio, iRatio, cols, rows, resamplingIndex);
                     final Double alt00 = selectedResampling.resample(resamplingRaster, resamplingIndex);
-                    if (Double.isNaN(alt00) || alt00.equals(demNoDataValue))
+                    if (Double.isNaN(alt00) || alt00.equals(demNoDataValue)) {
+                        earthPoints[j] = null;
+                        continue;
+                    }
+                    elevation[j] = alt00;
+                    earthPoints[j] = geo2xyzWGS84.getXYZ(lon, alt00);
+                }
+                SARGeocoding.getEarthPointZeroDopplerTimes(firstLineUTC, lineTimeInterval, wavelength, earthPoints,
+                        orbit.sensorPosition, orbit.sensorVelocity, zeroDopplerTimes);
+
+                for (int j = 0; j < nLon; j++) {
+                    if (earthPoints[j] == null)
                         continue;
 
-                    posData.earthPoint = geo2xyzWGS84.getXYZ(lon, alt00);
-                    if (!getPosition(x0, y0, w, h, posData))
+                    final double lon = lonMin + j * delta;
+                    final double jRatio = j * ratio;
+                    final double alt00 = elevation[j];
+                    posData.earthPoint = earthPoints[j];
+                    if (!getPosition(x0, y0, w, h, zeroDopplerTimes[j], posData))
                         continue;
 
                     selectedResampling.computeCornerBasedIndex(jRatio, iRatio - ratio, cols, rows, resamplingIndex);
@@ -736,11 +877,7 @@ public final class TerrainFlatteningOp extends Operator {
 
     //======================================
     private boolean getPosition(final int x0, final int y0, final int w, final int h,
-                                final PositionData data) {
-
-        // Optimized: Use array-based interpolation instead of Lagrange interpolation on sparse vectors
-        final double zeroDopplerTime = SARGeocoding.getEarthPointZeroDopplerTime(
-                firstLineUTC, lineTimeInterval, wavelength, data.earthPoint, orbit.sensorPosition, orbit.sensorVelocity);
+                                final double zeroDopplerTime, final PositionData data) {
 
         if (zeroDopplerTime == SARGeocoding.NonValidZeroDopplerTime) {
             return false;
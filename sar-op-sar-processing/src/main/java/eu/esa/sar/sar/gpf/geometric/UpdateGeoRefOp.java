@@ -17,6 +17,7 @@ package eu.esa.sar.sar.gpf.geometric;
 
 import com.bc.ceres.core.ProgressMonitor;
 import org.apache.commons.math3.util.FastMath;
+import eu.esa.sar.commons.DEMPatchCache;
 import eu.esa.sar.commons.OrbitStateVectors;
 import eu.esa.sar.commons.SARGeocoding;
 import eu.esa.sar.commons.SARUtils;
@@ -473,7 +474,7 @@ public final class UpdateGeoRefOp extends Operator {
                 final double[][] localDEM = new double[ymax - ymin + 2][w + 2];
                 final TileGeoreferencing tileGeoRef = new TileGeoreferencing(sourceProduct, x0, ymin, w, ymax - ymin);
 
-                final boolean valid = DEMFactory.getLocalDEM(dem, demNoDataValue, demResamplingMethod, tileGeoRef,
+                final boolean valid = DEMPatchCache.instance().getLocalDEM(dem, demNoDataValue, demResamplingMethod, tileGeoRef,
                         x0, ymin, w, ymax - ymin, sourceProduct, true, localDEM);
 
                 if (!valid) {
@@ -10,6 +10,7 @@ package eu.esa.sar.sar.gpf.pyrate;
 
 
 import com.bc.ceres.core.ProgressMonitor;
+import com.bc.ceres.core.SubProgressMonitor;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.DirectoryFileFilter;
 import org.apache.commons.io.filefilter.TrueFileFilter;
@@ -37,6 +38,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 
 @OperatorMetadata(alias = "BatchSnaphuUnwrapOp",
@@ -59,6 +61,18 @@ public class BatchSnaphuUnwrapOp extends Operator {
             label="Snaphu Install Location")
     protected File snaphuInstallLocation;
 
+    @Parameter(description = "Number of SNAPHU processes run at the same time, 0 for one per processor",
+            interval = "[0, *)", defaultValue = "0", label = "Concurrent SNAPHU processes")
+    protected int numProcesses = 0;
+
+    @Parameter(description = "Split the interferograms into the tiles of their SNAPHU configuration and unwrap " +
+            "every tile in a separate process", defaultValue = "false", label = "Unwrap tiles in separate processes")
+    protected boolean unwrapTilesSeparately = false;
+
+    @Parameter(description = "Maximum run time of a SNAPHU process in minutes, 0 for no limit",
+            interval = "[0, *)", defaultValue = "0", label = "SNAPHU process timeout (minutes)")
+    protected int processTimeout = 0;
+
 
     @TargetProduct
     private Product trgProduct;
@@ -202,49 +216,6 @@ public class BatchSnaphuUnwrapOp extends Operator {
         return snaphuBinaryLocation;
     }
 
-    void callSnaphuUnwrap(File snaphuBinary, File configFile, File logFile, ProgressMonitor pm, String msgPrefix) throws IOException {
-        File workingDir = configFile.getParentFile();
-        String command = null;
-        try(BufferedReader in = new BufferedReader(new FileReader(configFile), 1024)){
-            // SNAPHU command is on the 7th line
-            for(int x = 0; x < 6; x++){
-                in.readLine();
-            }
-            // Start at 14th character to get rid of the binary prefix and comment symbol of the command
-            command = in.readLine().substring(14);
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-        if (command != null){
-            Process proc = Runtime.getRuntime().exec(snaphuBinary.toString() + command, null, workingDir);
-            BufferedReader stdInput = new BufferedReader(new
-                    InputStreamReader(proc.getInputStream()));
-
-            BufferedReader stdError = new BufferedReader(new
-                    InputStreamReader(proc.getErrorStream()));
-
-            if (!logFile.exists()){
-                FileUtils.write(logFile, "");
-            }
-
-            // Read the output from the command
-            String s = null;
-            while ((s = stdInput.readLine()) != null) {
-                FileUtils.write(logFile, FileUtils.readFileToString(logFile, "utf-8") + "\n" + s);
-                pm.setTaskName(msgPrefix + s);
-
-            }
-            // Read any errors from the attempted command
-            while ((s = stdError.readLine()) != null) {
-
-                FileUtils.write(logFile, FileUtils.readFileToString(logFile, "utf-8") + "\n" + s);
-            }
-        }
-    }
-
-
     Product assembleUnwrappedFilesIntoSingularProduct(File directory) throws IOException {
         Product sourceProduct = getSourceProduct();
         File [] fileNames = directory.listFiles((dir, name) -> name.startsWith("UnwPhase") && name.endsWith(".hdr"));
@@ -276,17 +247,40 @@ public class BatchSnaphuUnwrapOp extends Operator {
             // Find all SNAPHU configuration files and execute them.
             File [] configFiles = getSnaphuConfigFiles(snaphuProcessingLocation);
 
-            // Move progress bar for each product processed.
-            int work = (int) ((1.0 / configFiles.length) * 100) - 1;
+            final List<SnaphuJob> jobs = new ArrayList<>();
+            final List<SnaphuTiling> tilings = new ArrayList<>();
+            for (File configFile : configFiles) {
+                final SnaphuJob job = SnaphuJob.read(configFile);
+                if (unwrapTilesSeparately) {
+                    final SnaphuTiling tiling = new SnaphuTiling(job);
+                    if (tiling.isTiled()) {
+                        pm.setTaskName("Splitting " + configFile.getName() + " into " + tiling.getNumTiles() + " tiles...");
+                        jobs.addAll(tiling.createTileJobs());
+                        tilings.add(tiling);
+                        continue;
+                    }
+                }
+                jobs.add(job);
+            }
+
+            // by default one processor per snaphu thread
+            int maxProcesses = numProcesses;
+            if (maxProcesses <= 0) {
+                int threadsPerProcess = 1;
+                for (SnaphuJob job : jobs) {
+                    threadsPerProcess = Math.max(threadsPerProcess, job.getIntValue("NPROC", 1));
+                }
+                maxProcesses = Math.max(1, Runtime.getRuntime().availableProcessors() / threadsPerProcess);
+            }
+            final SnaphuProcessPool processPool = new SnaphuProcessPool(snaphuBinary, maxProcesses, processTimeout,
+                    snaphuLogFile);
+            processPool.run(jobs, SubProgressMonitor.create(pm, 90));
 
-            for (int x = 0; x < configFiles.length; x++){
-                // Display current product indicator on the progress monitor.
-                int count = x + 1;
-                // Add prefix to progress monitor to indicate which product we are currently on.
-                String prefix = "(" + count + "/" + configFiles.length + "): ";
-                callSnaphuUnwrap(snaphuBinary, configFiles[x], snaphuLogFile, pm, prefix);
-                pm.worked(work);
+            for (SnaphuTiling tiling : tilings) {
+                tiling.assemble();
+                tiling.deleteTiles();
             }
+
             // Place all unwrapped bands into a single product.
             Product assembled = assembleUnwrappedFilesIntoSingularProduct(snaphuProcessingLocation);
             Band [] emptyTrgProductBands = getTargetProduct().getBands();
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.sar.gpf.pyrate;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A SNAPHU run described by a configuration file written by the SNAPHU export.
+ */
+final class SnaphuJob {
+
+    // the command to call snaphu is on the 7th line: "#       snaphu -f <config> <phase file> <width>"
+    private static final int COMMAND_LINE = 6;
+
+    private final File configFile;
+    private final String phaseFileName;
+    private final int width;
+    private final List<String> lines;
+
+    private SnaphuJob(final File configFile, final String phaseFileName, final int width, final List<String> lines) {
+        this.configFile = configFile;
+        this.phaseFileName = phaseFileName;
+        this.width = width;
+        this.lines = lines;
+    }
+
+    static SnaphuJob read(final File configFile) throws IOException {
+        final List<String> lines = Files.readAllLines(configFile.toPath(), StandardCharsets.UTF_8);
+        if (lines.size() <= COMMAND_LINE) {
+            throw new IOException("SNAPHU command not found in " + configFile);
+        }
+        final String[] command = lines.get(COMMAND_LINE).replace("#", "").trim().split("\\s+");
+        if (command.length < 5 || !command[1].equals("-f")) {
+            throw new IOException("SNAPHU command not found in " + configFile);
+        }
+        try {
+            return new SnaphuJob(configFile, command[3], Integer.parseInt(command[4]), lines);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid line length in SNAPHU command of " + configFile, e);
+        }
+    }
+
+    File getConfigFile() {
+        return configFile;
+    }
+
+    File getWorkingDir() {
+        return configFile.getAbsoluteFile().getParentFile();
+    }
+
+    File getPhaseFile() {
+        return new File(getWorkingDir(), phaseFileName);
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the file receiving the console output of snaphu.
+     */
+    File getConsoleFile() {
+        return new File(getWorkingDir(), configFile.getName() + ".out");
+    }
+
+    List<String> getCommand(final File snaphuBinary) {
+        return Arrays.asList(snaphuBinary.getAbsolutePath(), "-f", configFile.getName(), phaseFileName,
+                Integer.toString(width));
+    }
+
+    /**
+     * @return the value of a keyword of the configuration or null if it is not set.
+     */
+    String getValue(final String keyword) {
+        for (String line : lines) {
+            final String[] tokens = line.trim().split("\\s+", 2);
+            if (tokens.length == 2 && tokens[0].equals(keyword)) {
+                return tokens[1].trim();
+            }
+        }
+        return null;
+    }
+
+    int getIntValue(final String keyword, final int defaultValue) {
+        final String value = getValue(keyword);
+        try {
+            return value != null ? Integer.parseInt(value) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Write a copy of the configuration for another phase file.
+     *
+     * @param newConfigFile The new configuration file.
+     * @param newPhaseFile  The phase file name, relative to the directory of the configuration.
+     * @param newWidth      The line length of the phase file.
+     * @param values        The keywords to replace or add.
+     * @return the job of the new configuration.
+     * @throws IOException if the configuration cannot be written.
+     */
+    SnaphuJob derive(final File newConfigFile, final String newPhaseFile, final int newWidth,
+                     final Map<String, String> values) throws IOException {
+        final List<String> newLines = new ArrayList<>(lines.size() + values.size());
+        final List<String> replaced = new ArrayList<>();
+        for (int i = 0; i < lines.size(); ++i) {
+            final String line = lines.get(i);
+            if (i == COMMAND_LINE) {
+                newLines.add("#       snaphu -f " + newConfigFile.getName() + ' ' + newPhaseFile + ' ' + newWidth);
+                continue;
+            }
+            final String keyword = line.trim().split("\\s+", 2)[0];
+            if (!keyword.startsWith("#") && values.containsKey(keyword)) {
+                newLines.add(keyword + " \t" + values.get(keyword));
+                replaced.add(keyword);
+            } else {
+                newLines.add(line);
+            }
+        }
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (!replaced.contains(entry.getKey())) {
+                newLines.add(entry.getKey() + " \t" + entry.getValue());
+            }
+        }
+        Files.write(newConfigFile.toPath(), newLines, StandardCharsets.UTF_8);
+        return new SnaphuJob(newConfigFile, newPhaseFile, newWidth, newLines);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.sar.gpf.pyrate;
+
+import com.bc.ceres.core.ProgressMonitor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs snaphu processes, a bounded number at a time.
+ * <p>
+ * The console output of every process goes to its own file and is appended to the log file when the process
+ * completes. Processes exceeding the timeout are killed.
+ */
+final class SnaphuProcessPool {
+
+    private final File snaphuBinary;
+    private final int numProcesses;
+    private final long timeoutMinutes;
+    private final File logFile;
+
+    /**
+     * @param snaphuBinary   The snaphu executable.
+     * @param numProcesses   The maximum number of processes running at the same time.
+     * @param timeoutMinutes The maximum run time of a process or 0 for no limit.
+     * @param logFile        The file receiving the console output of all processes.
+     */
+    SnaphuProcessPool(final File snaphuBinary, final int numProcesses, final long timeoutMinutes,
+                      final File logFile) {
+        this.snaphuBinary = snaphuBinary;
+        this.numProcesses = Math.max(1, numProcesses);
+        this.timeoutMinutes = timeoutMinutes;
+        this.logFile = logFile;
+    }
+
+    /**
+     * Run the jobs and wait for their completion.
+     *
+     * @param jobs The jobs.
+     * @param pm   The progress monitor, worked once per completed job.
+     * @throws IOException if a process fails, times out or is cancelled.
+     */
+    void run(final List<SnaphuJob> jobs, final ProgressMonitor pm) throws IOException {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(numProcesses, jobs.size()));
+        final CompletionService<SnaphuJob> completionService = new ExecutorCompletionService<>(executor);
+        pm.beginTask("Unwrapping...", jobs.size());
+        try {
+            for (SnaphuJob job : jobs) {
+                completionService.submit(() -> {
+                    execute(job);
+                    return job;
+                });
+            }
+            for (int count = 1; count <= jobs.size(); ++count) {
+                final SnaphuJob job;
+                try {
+                    job = completionService.take().get();
+                } catch (ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    }
+                    throw new IOException("SNAPHU failed: " + cause.getMessage(), cause);
+                }
+                appendToLog(job);
+                pm.setTaskName("(" + count + '/' + jobs.size() + "): " + job.getConfigFile().getName() + " unwrapped");
+                pm.worked(1);
+                if (pm.isCanceled()) {
+                    throw new IOException("SNAPHU unwrapping cancelled");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for SNAPHU");
+        } finally {
+            // kills the processes still running after a failure
+            executor.shutdownNow();
+            pm.done();
+        }
+    }
+
+    private void execute(final SnaphuJob job) throws IOException, InterruptedException {
+        final Process process = new ProcessBuilder(job.getCommand(snaphuBinary))
+                .directory(job.getWorkingDir())
+                .redirectErrorStream(true)
+                .redirectOutput(job.getConsoleFile())
+                .start();
+        try {
+            if (timeoutMinutes > 0) {
+                if (!process.waitFor(timeoutMinutes, TimeUnit.MINUTES)) {
+                    throw new IOException("SNAPHU did not complete " + job.getConfigFile().getName() +
+                            " within " + timeoutMinutes + " minutes");
+                }
+            } else {
+                process.waitFor();
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException("SNAPHU failed with exit code " + process.exitValue() + " on " +
+                        job.getConfigFile().getName() + ", see " + job.getConsoleFile());
+            }
+        } finally {
+            if (process.isAlive()) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private void appendToLog(final SnaphuJob job) throws IOException {
+        final File consoleFile = job.getConsoleFile();
+        if (consoleFile.exists()) {
+            Files.write(logFile.toPath(), Files.readAllBytes(consoleFile.toPath()),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            Files.delete(consoleFile.toPath());
+        }
+    }
+}
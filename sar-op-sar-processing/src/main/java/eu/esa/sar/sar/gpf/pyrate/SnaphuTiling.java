@@ -0,0 +1,290 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.sar.gpf.pyrate;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits the interferogram of a SNAPHU configuration into overlapping tiles which are unwrapped by separate snaphu
+ * processes, and reassembles the unwrapped tiles.
+ * <p>
+ * The tile grid and overlaps are taken from the NTILEROW, NTILECOL, ROWOVRLP and COLOVRLP keywords of the
+ * configuration. Each tile is unwrapped independently, so the unwrapped tiles differ by multiples of 2 pi. When the
+ * tiles are reassembled the multiple of every tile is estimated from the median phase difference in its overlap
+ * with a tile already placed.
+ */
+final class SnaphuTiling {
+
+    static final int MIN_OVERLAP = 16;
+    private static final int BYTES_PER_SAMPLE = 4;
+    private static final double TWO_PI = 2 * Math.PI;
+    private static final ByteOrder byteOrder = ByteOrder.nativeOrder();
+
+    private final SnaphuJob job;
+    private final int width, height;
+    private final int[] rowBounds, colBounds;
+    private final int rowExtent, colExtent;
+    private final File tileDir;
+    private final List<SnaphuJob> tileJobs = new ArrayList<>();
+
+    SnaphuTiling(final SnaphuJob job) throws IOException {
+        this.job = job;
+        this.width = job.getWidth();
+        final long phaseFileLength = job.getPhaseFile().length();
+        if (width <= 0 || phaseFileLength == 0 || phaseFileLength % ((long) BYTES_PER_SAMPLE * width) != 0) {
+            throw new IOException("Unexpected size of " + job.getPhaseFile() + " for a line length of " + width);
+        }
+        this.height = (int) (phaseFileLength / ((long) BYTES_PER_SAMPLE * width));
+
+        rowExtent = Math.max(job.getIntValue("ROWOVRLP", 0), MIN_OVERLAP) / 2;
+        colExtent = Math.max(job.getIntValue("COLOVRLP", 0), MIN_OVERLAP) / 2;
+        rowBounds = split(height, job.getIntValue("NTILEROW", 1), rowExtent);
+        colBounds = split(width, job.getIntValue("NTILECOL", 1), colExtent);
+
+        final String name = job.getConfigFile().getName();
+        tileDir = new File(job.getWorkingDir(), name.substring(0, name.length() - ".conf".length()) + "_tiles");
+    }
+
+    /**
+     * @return the bounds of the tiles, limited so that every tile is larger than the overlap.
+     */
+    private static int[] split(final int size, final int numTiles, final int extent) {
+        final int n = Math.max(1, Math.min(numTiles, size / (4 * extent)));
+        final int[] bounds = new int[n + 1];
+        for (int i = 0; i <= n; ++i) {
+            bounds[i] = (int) ((long) size * i / n);
+        }
+        return bounds;
+    }
+
+    boolean isTiled() {
+        return rowBounds.length > 2 || colBounds.length > 2;
+    }
+
+    int getNumTiles() {
+        return (rowBounds.length - 1) * (colBounds.length - 1);
+    }
+
+    private int tileRow0(final int i) {
+        return Math.max(0, rowBounds[i] - rowExtent);
+    }
+
+    private int tileRow1(final int i) {
+        return Math.min(height, rowBounds[i + 1] + rowExtent);
+    }
+
+    private int tileCol0(final int j) {
+        return Math.max(0, colBounds[j] - colExtent);
+    }
+
+    private int tileCol1(final int j) {
+        return Math.min(width, colBounds[j + 1] + colExtent);
+    }
+
+    private SnaphuJob getTileJob(final int i, final int j) {
+        return tileJobs.get(i * (colBounds.length - 1) + j);
+    }
+
+    /**
+     * Write the phase and coherence of the tiles and their configurations.
+     *
+     * @return the jobs unwrapping the tiles.
+     * @throws IOException if the tiles cannot be written.
+     */
+    List<SnaphuJob> createTileJobs() throws IOException {
+        if (!tileDir.exists() && !tileDir.mkdirs()) {
+            throw new IOException("Unable to create folder " + tileDir);
+        }
+        final String corrFileName = job.getValue("CORRFILE");
+        final File corrFile = corrFileName != null ? new File(job.getWorkingDir(), corrFileName) : null;
+        final String nearRange = job.getValue("NEARRANGE");
+        final String rangeSpacing = job.getValue("DR");
+
+        tileJobs.clear();
+        for (int i = 0; i < rowBounds.length - 1; ++i) {
+            for (int j = 0; j < colBounds.length - 1; ++j) {
+                final String prefix = "tile_" + i + '_' + j;
+                final int r0 = tileRow0(i), r1 = tileRow1(i), c0 = tileCol0(j), c1 = tileCol1(j);
+
+                final String phaseName = prefix + "_phase.img";
+                copyRegion(job.getPhaseFile(), new File(tileDir, phaseName), r0, r1, c0, c1);
+
+                final Map<String, String> values = new LinkedHashMap<>();
+                if (corrFile != null && corrFile.exists()) {
+                    values.put("CORRFILE", prefix + "_corr.img");
+                    copyRegion(corrFile, new File(tileDir, prefix + "_corr.img"), r0, r1, c0, c1);
+                }
+                values.put("OUTFILE", prefix + "_unw.img");
+                values.put("LOGFILE", prefix + "_snaphu.log");
+                values.put("NTILEROW", "1");
+                values.put("NTILECOL", "1");
+                values.put("NPROC", "1");
+                if (nearRange != null && rangeSpacing != null) {
+                    try {
+                        final double near = Double.parseDouble(nearRange) + c0 * Double.parseDouble(rangeSpacing);
+                        values.put("NEARRANGE", Double.toString(near));
+                    } catch (NumberFormatException e) {
+                        // keep the near range of the interferogram
+                    }
+                }
+                tileJobs.add(job.derive(new File(tileDir, prefix + "_snaphu.conf"), phaseName, c1 - c0, values));
+            }
+        }
+        return tileJobs;
+    }
+
+    private void copyRegion(final File src, final File dst, final int r0, final int r1, final int c0, final int c1)
+            throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate((c1 - c0) * BYTES_PER_SAMPLE);
+        try (FileChannel in = FileChannel.open(src.toPath(), StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(dst.toPath(), StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int y = r0; y < r1; ++y) {
+                buffer.clear();
+                readFully(in, buffer, ((long) y * width + c0) * BYTES_PER_SAMPLE);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reassemble the unwrapped tiles into the output file of the configuration.
+     *
+     * @throws IOException if an unwrapped tile cannot be read or the output cannot be written.
+     */
+    void assemble() throws IOException {
+        final int numRows = rowBounds.length - 1, numCols = colBounds.length - 1;
+        final File outFile = new File(job.getWorkingDir(), job.getValue("OUTFILE"));
+        final int[][] cycles = new int[numRows][numCols];
+
+        try (FileChannel out = FileChannel.open(outFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int i = 0; i < numRows; ++i) {
+                for (int j = 0; j < numCols; ++j) {
+                    if (j > 0) {
+                        // the columns shared with the tile on the left
+                        cycles[i][j] = cycles[i][j - 1] + estimateCycles(i, j - 1, i, j,
+                                tileRow0(i), tileRow1(i), tileCol0(j), tileCol1(j - 1));
+                    } else if (i > 0) {
+                        // the rows shared with the tile above
+                        cycles[i][j] = cycles[i - 1][j] + estimateCycles(i - 1, j, i, j,
+                                tileRow0(i), tileRow1(i - 1), tileCol0(j), tileCol1(j));
+                    }
+                    writeCore(out, i, j, (float) (cycles[i][j] * TWO_PI));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of cycles to add to the second tile to match the first tile in a region they share.
+     */
+    private int estimateCycles(final int i1, final int j1, final int i2, final int j2,
+                               final int r0, final int r1, final int c0, final int c1) throws IOException {
+        final float[] a = readUnwrapped(i1, j1, r0, r1, c0, c1);
+        final float[] b = readUnwrapped(i2, j2, r0, r1, c0, c1);
+        final float[] diff = new float[a.length];
+        int n = 0;
+        for (int k = 0; k < a.length; ++k) {
+            final float d = a[k] - b[k];
+            if (!Float.isNaN(d) && !Float.isInfinite(d)) {
+                diff[n++] = d;
+            }
+        }
+        if (n == 0) {
+            return 0;
+        }
+        Arrays.sort(diff, 0, n);
+        return (int) Math.round(diff[n / 2] / TWO_PI);
+    }
+
+    /**
+     * @return the unwrapped phase of a region of a tile, in scene coordinates.
+     */
+    private float[] readUnwrapped(final int i, final int j, final int r0, final int r1, final int c0, final int c1)
+            throws IOException {
+        final int tileWidth = tileCol1(j) - tileCol0(j);
+        final float[] samples = new float[(r1 - r0) * (c1 - c0)];
+        final ByteBuffer buffer = ByteBuffer.allocate((c1 - c0) * BYTES_PER_SAMPLE).order(byteOrder);
+        try (FileChannel in = FileChannel.open(getUnwrappedFile(i, j).toPath(), StandardOpenOption.READ)) {
+            for (int y = r0; y < r1; ++y) {
+                buffer.clear();
+                readFully(in, buffer,
+                        ((long) (y - tileRow0(i)) * tileWidth + (c0 - tileCol0(j))) * BYTES_PER_SAMPLE);
+                buffer.flip();
+                buffer.asFloatBuffer().get(samples, (y - r0) * (c1 - c0), c1 - c0);
+            }
+        }
+        return samples;
+    }
+
+    private void writeCore(final FileChannel out, final int i, final int j, final float offset) throws IOException {
+        final int r0 = rowBounds[i], r1 = rowBounds[i + 1], c0 = colBounds[j], c1 = colBounds[j + 1];
+        final float[] samples = readUnwrapped(i, j, r0, r1, c0, c1);
+        final ByteBuffer buffer = ByteBuffer.allocate((c1 - c0) * BYTES_PER_SAMPLE).order(byteOrder);
+        for (int y = r0; y < r1; ++y) {
+            buffer.clear();
+            for (int k = (y - r0) * (c1 - c0), end = k + c1 - c0; k < end; ++k) {
+                buffer.putFloat(samples[k] + offset);
+            }
+            buffer.flip();
+            long pos = ((long) y * width + c0) * BYTES_PER_SAMPLE;
+            while (buffer.hasRemaining()) {
+                pos += out.write(buffer, pos);
+            }
+        }
+    }
+
+    /**
+     * Delete the tiles once they are reassembled.
+     */
+    void deleteTiles() throws IOException {
+        FileUtils.deleteDirectory(tileDir);
+    }
+
+    private File getUnwrappedFile(final int i, final int j) {
+        final SnaphuJob tileJob = getTileJob(i, j);
+        return new File(tileJob.getWorkingDir(), tileJob.getValue("OUTFILE"));
+    }
+
+    private static void readFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+            throws IOException {
+        long pos = position;
+        while (buffer.hasRemaining()) {
+            final int n = channel.read(buffer, pos);
+            if (n < 0) {
+                throw new EOFException("Unexpected end of file at " + pos);
+            }
+            pos += n;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.sar.gpf.geometric;
+
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for the scratch raster of the scene level Terrain Flattening simulation.
+ */
+public class TestIlluminationAreaRaster {
+
+    private static final int width = 300, height = 250, blockSize = 128;
+
+    @Test
+    public void testReadAcrossBlocks() throws Exception {
+        final File dir = new File(System.getProperty("java.io.tmpdir"));
+        try (IlluminationAreaRaster raster = new IlluminationAreaRaster(width, height, blockSize, 2, dir)) {
+            assertEquals(3, raster.getNumBlocksX());
+            assertEquals(2, raster.getNumBlocksY());
+            assertEquals(300 - 256, raster.getBlockWidth(2));
+            assertEquals(250 - 128, raster.getBlockHeight(1));
+
+            for (int by = 0; by < raster.getNumBlocksY(); ++by) {
+                for (int bx = 0; bx < raster.getNumBlocksX(); ++bx) {
+                    final double[][] gamma0 = new double[raster.getBlockHeight(by)][raster.getBlockWidth(bx)];
+                    final double[][] sigma0 = new double[raster.getBlockHeight(by)][raster.getBlockWidth(bx)];
+                    for (int y = 0; y < gamma0.length; ++y) {
+                        for (int x = 0; x < gamma0[y].length; ++x) {
+                            gamma0[y][x] = value(bx * blockSize + x, by * blockSize + y);
+                            sigma0[y][x] = -gamma0[y][x];
+                        }
+                    }
+                    raster.writeBlock(bx, by, 0, gamma0);
+                    raster.writeBlock(bx, by, 1, sigma0);
+                }
+            }
+
+            final int x0 = 100, y0 = 90, w = 200, h = 160;
+            final double[][] gamma0 = new double[h][w];
+            final double[][] sigma0 = new double[h][w];
+            raster.read(0, x0, y0, w, h, gamma0);
+            raster.read(1, x0, y0, w, h, sigma0);
+
+            for (int y = 0; y < h; ++y) {
+                for (int x = 0; x < w; ++x) {
+                    assertEquals(value(x0 + x, y0 + y), gamma0[y][x], 0.0);
+                    assertEquals(-value(x0 + x, y0 + y), sigma0[y][x], 0.0);
+                }
+            }
+        }
+    }
+
+    private static double value(final int x, final int y) {
+        return y * 1000.0 + x + 0.5;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.sar.gpf.geometric;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for the lazily filled layover/shadow mask store of the Range Doppler terrain correction.
+ */
+public class TestLayoverShadowMaskStore {
+
+    private static final int width = 50, height = 100, blockHeight = 20;
+
+    @Test
+    public void testLazyFillAndReuse() throws Exception {
+        final File dir = new File(System.getProperty("java.io.tmpdir"), "TestLayoverShadowMaskStore");
+        final String key = "product|" + System.nanoTime();
+        final AtomicInteger numFilledRows = new AtomicInteger();
+        final LayoverShadowMaskStore[] holder = new LayoverShadowMaskStore[1];
+
+        // marks layover on the diagonal and shadow on the row of every 7th line
+        final LayoverShadowMaskStore.BlockFiller filler = (y0, h) -> {
+            numFilledRows.addAndGet(h);
+            for (int y = y0; y < y0 + h; ++y) {
+                holder[0].merge(y % width, y, (byte) 1);
+                if (y % 7 == 0) {
+                    holder[0].merge(y % width, y, (byte) 2);
+                    holder[0].merge((y + 1) % width, y, (byte) 2);
+                }
+            }
+        };
+
+        try (LayoverShadowMaskStore store = new LayoverShadowMaskStore(dir, key, width, height, blockHeight, filler)) {
+            holder[0] = store;
+            assertFalse(store.isReused());
+
+            assertEquals(3, store.get(0, 0));
+            assertEquals(2, store.get(1, 0));
+            assertEquals(0, store.get(2, 0));
+            // only the first block and its neighbour have been filled
+            assertEquals(2 * blockHeight, numFilledRows.get());
+
+            assertEquals(1, store.get(55 % width, 55));
+            assertEquals(4 * blockHeight, numFilledRows.get());
+
+            for (int y = 0; y < height; ++y) {
+                store.get(0, y);
+            }
+            assertEquals(height, numFilledRows.get());
+        }
+
+        try (LayoverShadowMaskStore store = new LayoverShadowMaskStore(dir, key, width, height, blockHeight, null)) {
+            assertTrue(store.isReused());
+            assertEquals(3, store.get(0, 0));
+            assertEquals(3, store.get(98 % width, 98));
+            assertEquals(1, store.get(99 % width, 99));
+            assertEquals(0, store.get(0, 99));
+        }
+    }
+
+    @Test
+    public void testIncompleteMaskIsDiscarded() throws Exception {
+        final File dir = new File(System.getProperty("java.io.tmpdir"), "TestLayoverShadowMaskStore");
+        final String key = "product|" + System.nanoTime();
+        final File[] filesBefore = dir.listFiles();
+
+        try (LayoverShadowMaskStore store = new LayoverShadowMaskStore(dir, key, width, height, blockHeight,
+                (y0, h) -> {})) {
+            store.get(0, 0);
+        }
+        assertEquals(filesBefore == null ? 0 : filesBefore.length, dir.listFiles().length);
+
+        try (LayoverShadowMaskStore store = new LayoverShadowMaskStore(dir, key, width, height, blockHeight,
+                (y0, h) -> {})) {
+            assertFalse(store.isReused());
+        }
+    }
+
+    @Test
+    public void testCleanUp() throws Exception {
+        final File dir = new File(System.getProperty("java.io.tmpdir"), "TestLayoverShadowMaskStore-" + System.nanoTime());
+        assertTrue(dir.mkdirs());
+        final long now = System.currentTimeMillis();
+
+        final File staleTmp = createFile(dir, "a.1.tmp", 10, now - TimeUnit.DAYS.toMillis(2));
+        final File activeTmp = createFile(dir, "b.2.tmp", 10, now);
+        final File oldMask = createFile(dir, "c.mask", 10, now - TimeUnit.DAYS.toMillis(40));
+        final File mask1 = createFile(dir, "d.mask", 100, now - 3000);
+        final File mask2 = createFile(dir, "e.mask", 100, now - 2000);
+        final File mask3 = createFile(dir, "f.mask", 100, now - 1000);
+
+        LayoverShadowMaskStore.cleanUp(dir, 250, TimeUnit.DAYS.toMillis(30));
+
+        assertFalse(staleTmp.exists());
+        assertTrue(activeTmp.exists());
+        assertFalse(oldMask.exists());
+        // the least recently used masks are deleted first
+        assertFalse(mask1.exists());
+        assertTrue(mask2.exists());
+        assertTrue(mask3.exists());
+
+        for (File file : dir.listFiles()) {
+            file.delete();
+        }
+        dir.delete();
+    }
+
+    private static File createFile(final File dir, final String name, final int size, final long lastModified)
+            throws IOException {
+        final File file = new File(dir, name);
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[size]);
+        }
+        assertTrue(file.setLastModified(lastModified));
+        return file;
+    }
+}
@@ -5,8 +5,11 @@ import eu.esa.sar.commons.test.ProcessorTest;
 import eu.esa.sar.commons.test.TestData;
 import org.esa.snap.core.datamodel.Band;
 import org.esa.snap.core.datamodel.Product;
+import org.esa.snap.core.datamodel.ProductData;
+import org.esa.snap.core.datamodel.VirtualBand;
 import org.esa.snap.core.dataop.resamp.ResamplingFactory;
 import org.esa.snap.core.gpf.OperatorSpi;
+import org.esa.snap.engine_utilities.datamodel.Unit;
 import org.esa.snap.engine_utilities.util.TestUtils;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -17,6 +20,7 @@ import java.util.Arrays;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeTrue;
 
 /**
@@ -72,6 +76,79 @@ public class TestMosaic extends ProcessorTest {
         process(false, false, true, expected);
     }
 
+    /**
+     * Mosaics a product with the exact and with the sparse geocoding grid. The source bands are ramps of the pixel
+     * coordinates, so the bilinearly resampled outputs are the source positions found for each target pixel.
+     *
+     * @throws Exception general exception
+     */
+    @Test
+    public void testSparseGeocodingGrid() throws Exception {
+        final double sparseGridTolerance = 0.01;
+
+        final float[][] exact = mosaicPixelPositions(false, sparseGridTolerance);
+        final float[][] sparse = mosaicPixelPositions(true, sparseGridTolerance);
+
+        double maxDeviation = 0.0;
+        int numPixels = 0;
+        for (int i = 0; i < exact[0].length; i++) {
+            // ramps start at 0.5, so 0 is no-data
+            if (exact[0][i] == 0 || sparse[0][i] == 0) {
+                assertTrue("no-data in one mode only at " + i, exact[0][i] == sparse[0][i]);
+                continue;
+            }
+            final double deviation = Math.hypot(exact[0][i] - sparse[0][i], exact[1][i] - sparse[1][i]);
+            maxDeviation = Math.max(maxDeviation, deviation);
+            ++numPixels;
+        }
+        assertTrue("no valid pixels", numPixels > 0);
+        assertTrue("max deviation " + maxDeviation + " pixels", maxDeviation <= 2 * sparseGridTolerance);
+    }
+
+    /**
+     * @return the source x and y positions of a window of target pixels.
+     */
+    private static float[][] mosaicPixelPositions(final boolean useSparseGeocodingGrid,
+                                                  final double sparseGridTolerance) throws Exception {
+        try(final Product sourceProduct = TestUtils.readSourceProduct(inputFile1)) {
+
+            addRampBand(sourceProduct, "x_position", "X");
+            addRampBand(sourceProduct, "y_position", "Y");
+
+            final MosaicOp op = (MosaicOp) spi.createOperator();
+            assertNotNull(op);
+            op.setSourceProducts(sourceProduct);
+            op.setParameter("sourceBands", new String[]{"x_position", "y_position"});
+            op.setParameter("average", false);
+            op.setParameter("normalizeByMean", false);
+            op.setParameter("resamplingMethod", ResamplingFactory.BILINEAR_INTERPOLATION_NAME);
+            op.setParameter("useSparseGeocodingGrid", useSparseGeocodingGrid);
+            op.setParameter("sparseGridTolerance", sparseGridTolerance);
+
+            final Product targetProduct = op.getTargetProduct();
+            final Band xBand = targetProduct.getBand("x_position");
+            final Band yBand = targetProduct.getBand("y_position");
+            assertNotNull(xBand);
+            assertNotNull(yBand);
+
+            final int w = Math.min(targetProduct.getSceneRasterWidth(), 512);
+            final int h = Math.min(targetProduct.getSceneRasterHeight(), 512);
+            final int x0 = (targetProduct.getSceneRasterWidth() - w) / 2;
+            final int y0 = (targetProduct.getSceneRasterHeight() - h) / 2;
+            final float[][] positions = new float[2][w * h];
+            xBand.readPixels(x0, y0, w, h, positions[0], ProgressMonitor.NULL);
+            yBand.readPixels(x0, y0, w, h, positions[1], ProgressMonitor.NULL);
+            return positions;
+        }
+    }
+
+    private static void addRampBand(final Product product, final String name, final String expression) {
+        final VirtualBand band = new VirtualBand(name, ProductData.TYPE_FLOAT32,
+                product.getSceneRasterWidth(), product.getSceneRasterHeight(), expression);
+        band.setUnit(Unit.AMPLITUDE);
+        product.addBand(band);
+    }
+
     private void process(boolean average, boolean normalizeByMean, boolean gradientDomain, final float[] expected) throws Exception {
 
         try(final Product sourceProduct1 = TestUtils.readSourceProduct(inputFile1)) {
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.sar.gpf.geometric;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for the multigrid solver of the gradient domain mosaic.
+ */
+public class TestPoissonMultigridSolver {
+
+    private static final int width = 300, height = 200;
+
+    @Test
+    public void testRecoversHarmonicFunctionOnIrregularMask() {
+        // u = x^2 - y^2 + x y has a zero discrete Laplacian
+        final byte[][] mask = new byte[height][width];
+        final double[][] laplacian = new double[height][width];
+        final double[][] u = new double[height][width];
+        for (int r = 0; r < height; ++r) {
+            for (int c = 0; c < width; ++c) {
+                final double dr = (r - height / 2.0) / (height / 2.5);
+                final double dc = (c - width / 2.0) / (width / 2.2);
+                if (dr * dr + dc * dc < 1 && !(r % 40 < 2 && c > width / 2)) {
+                    mask[r][c] = 2;
+                } else {
+                    u[r][c] = expected(r, c);
+                }
+            }
+        }
+
+        final PoissonMultigridSolver solver = new PoissonMultigridSolver();
+        assertTrue(solver.solve(mask, laplacian, u, 100, 1e-8));
+        assertTrue(solver.getNumCycles() < 50);
+        assertTrue(solver.getResidual() < 1e-8);
+
+        for (int r = 0; r < height; ++r) {
+            for (int c = 0; c < width; ++c) {
+                assertEquals(expected(r, c), u[r][c], 1e-3);
+            }
+        }
+    }
+
+    @Test
+    public void testStopsAtMaxCycles() {
+        final byte[][] mask = new byte[height][width];
+        final double[][] laplacian = new double[height][width];
+        for (int r = 1; r < height - 1; ++r) {
+            for (int c = 1; c < width - 1; ++c) {
+                mask[r][c] = 2;
+                laplacian[r][c] = 1.0;
+            }
+        }
+
+        final PoissonMultigridSolver solver = new PoissonMultigridSolver();
+        assertFalse(solver.solve(mask, laplacian, new double[height][width], 1, 1e-12));
+        assertEquals(1, solver.getNumCycles());
+    }
+
+    private static double expected(final int r, final int c) {
+        final double x = c / 100.0, y = r / 100.0;
+        return x * x - y * y + x * y;
+    }
+}
@@ -26,11 +26,14 @@ import org.esa.snap.core.datamodel.GeoCoding;
 import org.esa.snap.core.datamodel.GeoPos;
 import org.esa.snap.core.datamodel.PixelPos;
 import org.esa.snap.core.datamodel.Product;
+import org.esa.snap.core.datamodel.ProductData;
+import org.esa.snap.core.datamodel.VirtualBand;
 import org.esa.snap.core.dataop.dem.ElevationModel;
 import org.esa.snap.core.dataop.dem.ElevationModelDescriptor;
 import org.esa.snap.core.dataop.dem.ElevationModelRegistry;
 import org.esa.snap.core.dataop.resamp.ResamplingFactory;
 import org.esa.snap.core.gpf.OperatorSpi;
+import org.esa.snap.engine_utilities.datamodel.Unit;
 import org.esa.snap.engine_utilities.gpf.TestProcessor;
 import org.esa.snap.engine_utilities.util.TestUtils;
 import org.junit.Before;
@@ -41,6 +44,7 @@ import java.util.Arrays;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeTrue;
 
 /**
@@ -201,6 +205,77 @@ public class TestRangeDopplerOp extends ProcessorTest {
         }
     }
 
+    /**
+     * Processes an IMM product in exact and in sparse grid mode. The source bands are ramps of the pixel
+     * coordinates, so the bilinearly resampled outputs are the source positions found for each target pixel.
+     *
+     * @throws Exception general exception
+     */
+    @Test
+    public void testSparseGeocodingGrid() throws Exception {
+        final double sparseGridTolerance = 0.1;
+
+        final float[][] exact = geocodePixelPositions(false, sparseGridTolerance);
+        final float[][] sparse = geocodePixelPositions(true, sparseGridTolerance);
+
+        double maxDeviation = 0.0;
+        int numPixels = 0;
+        for (int i = 0; i < exact[0].length; i++) {
+            // ramps start at 0.5, so 0 is no-data
+            if (exact[0][i] == 0 || sparse[0][i] == 0) {
+                assertTrue("no-data in one mode only at " + i, exact[0][i] == sparse[0][i]);
+                continue;
+            }
+            final double deviation = Math.hypot(exact[0][i] - sparse[0][i], exact[1][i] - sparse[1][i]);
+            maxDeviation = Math.max(maxDeviation, deviation);
+            ++numPixels;
+        }
+        assertTrue("no valid pixels", numPixels > 0);
+        assertTrue("max deviation " + maxDeviation + " pixels", maxDeviation <= 2 * sparseGridTolerance);
+    }
+
+    /**
+     * @return the source range and azimuth positions of a window of target pixels.
+     */
+    private static float[][] geocodePixelPositions(final boolean useSparseGeocodingGrid,
+                                                   final double sparseGridTolerance) throws Exception {
+        try(final Product sourceProduct = TestUtils.readSourceProduct(inputFile2)) {
+
+            addRampBand(sourceProduct, "range_position", "X");
+            addRampBand(sourceProduct, "azimuth_position", "Y");
+
+            final RangeDopplerGeocodingOp op = (RangeDopplerGeocodingOp) spi.createOperator();
+            assertNotNull(op);
+            op.setSourceProduct(sourceProduct);
+            op.setSourceBandNames(new String[]{"range_position", "azimuth_position"});
+            op.setParameter("imgResamplingMethod", ResamplingFactory.BILINEAR_INTERPOLATION_NAME);
+            op.setParameter("useSparseGeocodingGrid", useSparseGeocodingGrid);
+            op.setParameter("sparseGridTolerance", sparseGridTolerance);
+
+            final Product targetProduct = op.getTargetProduct();
+            final Band rangeBand = targetProduct.getBandAt(0);
+            final Band azimuthBand = targetProduct.getBandAt(1);
+            assertTrue(rangeBand.getName().startsWith("range_position"));
+            assertTrue(azimuthBand.getName().startsWith("azimuth_position"));
+
+            final int w = Math.min(targetProduct.getSceneRasterWidth(), 512);
+            final int h = Math.min(targetProduct.getSceneRasterHeight(), 512);
+            final int x0 = (targetProduct.getSceneRasterWidth() - w) / 2;
+            final int y0 = (targetProduct.getSceneRasterHeight() - h) / 2;
+            final float[][] positions = new float[2][w * h];
+            rangeBand.readPixels(x0, y0, w, h, positions[0], ProgressMonitor.NULL);
+            azimuthBand.readPixels(x0, y0, w, h, positions[1], ProgressMonitor.NULL);
+            return positions;
+        }
+    }
+
+    private static void addRampBand(final Product product, final String name, final String expression) {
+        final VirtualBand band = new VirtualBand(name, ProductData.TYPE_FLOAT32,
+                product.getSceneRasterWidth(), product.getSceneRasterHeight(), expression);
+        band.setUnit(Unit.AMPLITUDE);
+        product.addBand(band);
+    }
+
     @Test
     public void testProcessAllASAR() throws Exception {
         testProcessor.testProcessAllInPath(spi, SARTests.rootPathsASAR, productTypeExemptions, exceptionExemptions);
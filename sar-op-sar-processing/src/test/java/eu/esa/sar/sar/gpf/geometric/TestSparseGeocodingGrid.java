@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.sar.gpf.geometric;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for the sparse geocoding grid of the Range Doppler terrain correction.
+ */
+public class TestSparseGeocodingGrid {
+
+    private static final int x0 = 100, y0 = 200, w = 256, h = 256;
+
+    @Test
+    public void testSmoothMappingUsesFewExactSolves() {
+        final SparseGeocodingGrid.PositionFunction smooth = (x, y, rangeAzimuth) -> {
+            rangeAzimuth[0] = 0.8 * x + 0.05 * y + 1e-4 * x * y;
+            rangeAzimuth[1] = 1.2 * y - 0.03 * x;
+            return true;
+        };
+
+        final SparseGeocodingGrid grid = new SparseGeocodingGrid(x0, y0, w, h, 16, 0.1);
+        grid.compute(smooth);
+
+        assertTrue(grid.getNumExact() < w * h / 50);
+        assertMaxError(grid, smooth, 0.1);
+    }
+
+    @Test
+    public void testSteepTerrainIsRefined() {
+        final SparseGeocodingGrid.PositionFunction steep = (x, y, rangeAzimuth) -> {
+            rangeAzimuth[0] = x + 20.0 * Math.sin(x / 3.0) * Math.cos(y / 5.0);
+            rangeAzimuth[1] = y;
+            return true;
+        };
+
+        final SparseGeocodingGrid grid = new SparseGeocodingGrid(x0, y0, w, h, 16, 0.5);
+        grid.compute(steep);
+
+        assertTrue(grid.getNumExact() > w * h / 4);
+    }
+
+    @Test
+    public void testInvalidPixelsAreNotInterpolated() {
+        final SparseGeocodingGrid.PositionFunction partial = (x, y, rangeAzimuth) -> {
+            if (x > x0 + 100 && x < x0 + 120 && y > y0 + 30 && y < y0 + 40) {
+                return false;
+            }
+            rangeAzimuth[0] = x;
+            rangeAzimuth[1] = y;
+            return true;
+        };
+
+        final SparseGeocodingGrid grid = new SparseGeocodingGrid(x0, y0, w, h, 16, 0.1);
+        grid.compute(partial);
+
+        assertFalse(grid.isValid(x0 + 110, y0 + 35));
+        assertTrue(grid.isValid(x0 + 100, y0 + 35));
+        assertMaxError(grid, partial, 1e-9);
+    }
+
+    private static void assertMaxError(final SparseGeocodingGrid grid,
+                                       final SparseGeocodingGrid.PositionFunction function, final double tolerance) {
+        final double[] exact = new double[2];
+        for (int y = y0; y < y0 + h; ++y) {
+            for (int x = x0; x < x0 + w; ++x) {
+                if (function.compute(x, y, exact)) {
+                    assertTrue(grid.isValid(x, y));
+                    assertEquals(exact[0], grid.getRangeIndex(x, y), tolerance);
+                    assertEquals(exact[1], grid.getAzimuthIndex(x, y), tolerance);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2025 by SkyWatch Space Applications Inc. http://www.skywatch.com
+ *
+ * This program is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option)
+ * any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for
+ * more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, see http://www.gnu.org/licenses/
+ */
+package eu.esa.sar.sar.gpf.pyrate;
+
+import com.bc.ceres.core.ProgressMonitor;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for the tiled SNAPHU unwrapping, using a stub in place of snaphu.
+ */
+public class TestSnaphuTiling {
+
+    private static final int width = 100, height = 80;
+
+    private File dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("snaphu").toFile();
+        writeRaster(new File(dir, "Phase_ifg.snaphu.img"), 0);
+        writeRaster(new File(dir, "coh_ifg.snaphu.img"), 1);
+        Files.write(new File(dir, "Phase_ifg_snaphu.conf").toPath(), Arrays.asList(
+                "# CONFIG FOR SNAPHU",
+                "# ---------------------------------------------------------------- ",
+                "# Created by SNAP software on: 00:00:00 01/01/2025",
+                "#",
+                "# Command to call snaphu:",
+                "# ",
+                "#       snaphu -f Phase_ifg_snaphu.conf Phase_ifg.snaphu.img " + width,
+                "",
+                "CORRFILE \t\tcoh_ifg.snaphu.img",
+                "OUTFILE \t\tUnwPhase_ifg.snaphu.img",
+                "LOGFILE \t\tsnaphu.log",
+                "NEARRANGE \t\t800000.0",
+                "DR \t\t\t\t2.5",
+                "NTILEROW           2",
+                "NTILECOL           3",
+                "ROWOVRLP           10",
+                "COLOVRLP           10 ",
+                "NPROC              4"), StandardCharsets.UTF_8);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(dir);
+    }
+
+    @Test
+    public void testTilesAreAlignedWhenReassembled() throws Exception {
+        final SnaphuTiling tiling = new SnaphuTiling(SnaphuJob.read(new File(dir, "Phase_ifg_snaphu.conf")));
+        assertTrue(tiling.isTiled());
+        assertEquals(6, tiling.getNumTiles());
+
+        final List<SnaphuJob> tileJobs = tiling.createTileJobs();
+        assertEquals(6, tileJobs.size());
+        final SnaphuJob lastTile = tileJobs.get(5);
+        assertEquals("1", lastTile.getValue("NTILEROW"));
+        assertEquals("1", lastTile.getValue("NPROC"));
+        assertNotNull(lastTile.getValue("CORRFILE"));
+        // the last tile starts 8 columns before the core bounds at 66
+        assertEquals(100 - 58, lastTile.getWidth());
+        assertEquals(800000.0 + 58 * 2.5, Double.parseDouble(lastTile.getValue("NEARRANGE")), 1e-6);
+
+        // the tiles are unwrapped with different numbers of cycles relative to the first tile
+        for (int t = 0; t < tileJobs.size(); ++t) {
+            final SnaphuJob job = tileJobs.get(t);
+            final ByteBuffer tile = ByteBuffer.wrap(Files.readAllBytes(job.getPhaseFile().toPath()))
+                    .order(ByteOrder.nativeOrder());
+            final ByteBuffer unwrapped = ByteBuffer.allocate(tile.capacity()).order(ByteOrder.nativeOrder());
+            for (int k = 0; k < tile.capacity(); k += 4) {
+                unwrapped.putFloat(k, (float) (tile.getFloat(k) + 2 * Math.PI * (t * 5 % 7 - t % 2 * 4)));
+            }
+            Files.write(new File(job.getWorkingDir(), job.getValue("OUTFILE")).toPath(), unwrapped.array());
+        }
+
+        tiling.assemble();
+        checkUnwrapped(new File(dir, "UnwPhase_ifg.snaphu.img"));
+    }
+
+    @Test
+    public void testStubProcesses() throws Exception {
+        Assume.assumeFalse(System.getProperty("os.name").toLowerCase().startsWith("windows"));
+
+        final File stub = new File(dir, "snaphu");
+        Files.write(stub.toPath(), Arrays.asList(
+                "#!/bin/sh",
+                "echo \"unwrapping $3\"",
+                "cp \"$3\" \"$(awk '$1 == \"OUTFILE\" { print $2 }' \"$2\")\""), StandardCharsets.UTF_8);
+        assertTrue(stub.setExecutable(true));
+
+        final SnaphuTiling tiling = new SnaphuTiling(SnaphuJob.read(new File(dir, "Phase_ifg_snaphu.conf")));
+        final File logFile = new File(dir, "snaphu-log.log");
+        new SnaphuProcessPool(stub, 3, 1, logFile).run(tiling.createTileJobs(), ProgressMonitor.NULL);
+        tiling.assemble();
+        tiling.deleteTiles();
+
+        checkUnwrapped(new File(dir, "UnwPhase_ifg.snaphu.img"));
+        final String log = new String(Files.readAllBytes(logFile.toPath()), StandardCharsets.UTF_8);
+        assertTrue(log.contains("unwrapping tile_0_0_phase.img"));
+        assertTrue(log.contains("unwrapping tile_1_2_phase.img"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testFailingProcess() throws Exception {
+        Assume.assumeFalse(System.getProperty("os.name").toLowerCase().startsWith("windows"));
+
+        final File stub = new File(dir, "snaphu");
+        Files.write(stub.toPath(), Arrays.asList("#!/bin/sh", "exit 1"), StandardCharsets.UTF_8);
+        assertTrue(stub.setExecutable(true));
+
+        final SnaphuJob job = SnaphuJob.read(new File(dir, "Phase_ifg_snaphu.conf"));
+        new SnaphuProcessPool(stub, 2, 1, new File(dir, "snaphu-log.log")).run(Arrays.asList(job), ProgressMonitor.NULL);
+    }
+
+    private static float phase(final int x, final int y) {
+        return 0.21f * x + 0.13f * y;
+    }
+
+    private static void writeRaster(final File file, final int value) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(width * height * 4).order(ByteOrder.nativeOrder());
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                buffer.putFloat(value == 0 ? phase(x, y) : value);
+            }
+        }
+        Files.write(file.toPath(), buffer.array());
+    }
+
+    private static void checkUnwrapped(final File file) throws IOException {
+        final ByteBuffer unwrapped = ByteBuffer.wrap(Files.readAllBytes(file.toPath())).order(ByteOrder.nativeOrder());
+        assertEquals(width * height * 4, unwrapped.capacity());
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                assertEquals(phase(x, y), unwrapped.getFloat((y * width + x) * 4), 1e-3);
+            }
+        }
+    }
+}
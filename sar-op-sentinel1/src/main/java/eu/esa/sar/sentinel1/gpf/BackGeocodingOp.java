@@ -647,6 +647,7 @@ public final class BackGeocodingOp extends Operator {
                                                 final double[][] lat, final double[][] lon) throws Exception {
 
         final PositionData posData = new PositionData();
+        final PositionData slvPosData = new PositionData(posData.earthPoint);
         final PixelPos pix = new PixelPos();
         final EarthGravitationalModel96 egm = EarthGravitationalModel96.instance();
 
@@ -670,10 +671,10 @@ public final class BackGeocodingOp extends Operator {
 
                         masterAz[l][p] = posData.azimuthIndex;
                         masterRg[l][p] = posData.rangeIndex;
-                        if (getPosition(slvBurst, slaveData.sSU, posData)) {
+                        if (getPosition(slvBurst, slaveData.sSU, slvPosData)) {
 
-                            slaveAz[l][p] = posData.azimuthIndex;
-                            slaveRg[l][p] = posData.rangeIndex;
+                            slaveAz[l][p] = slvPosData.azimuthIndex;
+                            slaveRg[l][p] = slvPosData.rangeIndex;
                             noValidSlavePixPos = false;
                             continue;
                         }
@@ -690,11 +691,13 @@ public final class BackGeocodingOp extends Operator {
 
         try {
             final double zeroDopplerTimeInDays = SARGeocoding.getZeroDopplerTime(
-                    su.lineTimeInterval, su.wavelength, data.earthPoint, su.getOrbit());
+                    su.lineTimeInterval, su.wavelength, data.earthPoint, su.getOrbit(), data.zeroDopplerTime,
+                    data.sensorPos, data.sensorVel);
 
             if (zeroDopplerTimeInDays == SARGeocoding.NonValidZeroDopplerTime) {
                 return false;
             }
+            data.zeroDopplerTime = zeroDopplerTimeInDays;
 
             final double zeroDopplerTime = zeroDopplerTimeInDays * Constants.secondsInDay;
             data.azimuthIndex = (zeroDopplerTime - burst.azimuthTimeMin) / burst.gridSamplingAzimuth;
@@ -1479,6 +1482,7 @@ public final class BackGeocodingOp extends Operator {
             double[][] lat = new double[numLines][numPixels];
             double[][] lon = new double[numLines][numPixels];
             final PositionData posData = new PositionData();
+            final PositionData slvPosData = new PositionData(posData.earthPoint);
             final PixelPos pix = new PixelPos();
 
             final EarthGravitationalModel96 egm = EarthGravitationalModel96.instance();
@@ -1503,10 +1507,10 @@ public final class BackGeocodingOp extends Operator {
 
                             masterAz[l][p] = posData.azimuthIndex;
                             masterRg[l][p] = posData.rangeIndex;
-                            if (getPosition(subSwathIndex, sBurstIndex, slaveData.sSU, posData)) {
+                            if (getPosition(subSwathIndex, sBurstIndex, slaveData.sSU, slvPosData)) {
 
-                                slaveAz[l][p] = posData.azimuthIndex;
-                                slaveRg[l][p] = posData.rangeIndex;
+                                slaveAz[l][p] = slvPosData.azimuthIndex;
+                                slaveRg[l][p] = slvPosData.rangeIndex;
                                 noValidSlavePixPos = false;
                                 continue;
                             }
@@ -1681,11 +1685,13 @@ public final class BackGeocodingOp extends Operator {
             Sentinel1Utils.SubSwathInfo subSwath = su.getSubSwath()[subSwathIndex - 1];
 
             final double zeroDopplerTimeInDays = SARGeocoding.getZeroDopplerTime(
-                    su.lineTimeInterval, su.wavelength, data.earthPoint, su.getOrbit());
+                    su.lineTimeInterval, su.wavelength, data.earthPoint, su.getOrbit(), data.zeroDopplerTime,
+                    data.sensorPos, data.sensorVel);
 
             if (zeroDopplerTimeInDays == SARGeocoding.NonValidZeroDopplerTime) {
                 return false;
             }
+            data.zeroDopplerTime = zeroDopplerTimeInDays;
 
             final double zeroDopplerTime = zeroDopplerTimeInDays * Constants.secondsInDay;
 
@@ -2168,10 +2174,20 @@ public final class BackGeocodingOp extends Operator {
     }
 
     private static class PositionData {
-        final PosVector earthPoint = new PosVector();
+        final PosVector earthPoint;
         final PosVector sensorPos = new PosVector();
+        final PosVector sensorVel = new PosVector();
         double azimuthIndex;
         double rangeIndex;
+        double zeroDopplerTime = SARGeocoding.NonValidZeroDopplerTime; // seed for the next zero Doppler search
+
+        PositionData() {
+            this(new PosVector());
+        }
+
+        PositionData(final PosVector earthPoint) {
+            this.earthPoint = earthPoint;
+        }
     }
 
     public static class ResamplingRaster implements Resampling.Raster {